@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The specs the benchmarks run on, and the preparation of a generator the way {@link DefaultGenerator} does it.
+ * <p>
+ * A spec is either {@code synthetic-<count>}, generated by {@link SyntheticSpecs} with that many schemas, or the name
+ * of a spec of the openapi-generator tests under {@code 3_0/}.
+ */
+final class BenchmarkSpecs {
+    static final String SYNTHETIC = "synthetic-";
+
+    private BenchmarkSpecs() {
+    }
+
+    /**
+     * @param spec the name of the spec
+     * @return the contents of the spec, to be parsed by {@link #parse(String)}
+     */
+    static String read(String spec) {
+        if (spec.startsWith(SYNTHETIC)) {
+            try {
+                return Json.mapper().writeValueAsString(SyntheticSpecs.generate(Integer.parseInt(spec.substring(SYNTHETIC.length()))));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        try (InputStream in = BenchmarkSpecs.class.getClassLoader().getResourceAsStream("3_0/" + spec)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown spec " + spec);
+            }
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses a spec as the generator does. Each call returns a new instance, as most of the pipeline modifies the spec.
+     *
+     * @param contents the contents of the spec
+     * @return the parsed spec
+     */
+    static OpenAPI parse(String contents) {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        options.setResolveResponses(true);
+        SwaggerParseResult result = new OpenAPIParser().readContents(contents, null, options);
+        if (result.getOpenAPI() == null) {
+            throw new IllegalArgumentException("Unable to parse the spec: " + result.getMessages());
+        }
+        return result.getOpenAPI();
+    }
+
+    /**
+     * Prepares a generator and the spec before the models and operations are processed, as
+     * {@link DefaultGenerator#generate()} does.
+     *
+     * @param generatorName the name of the generator
+     * @param openAPI       the spec, which is normalized and flattened
+     * @return the generator
+     */
+    static CodegenConfig prepare(String generatorName, OpenAPI openAPI) {
+        CodegenConfig config = CodegenConfigLoader.forName(generatorName);
+        config.processOpts();
+        if (config.getUseOpenapiNormalizer()) {
+            OpenAPINormalizer.createNormalizer(openAPI, config.openapiNormalizer()).normalize();
+        }
+        if (config.getUseInlineModelResolver()) {
+            InlineModelResolver inlineModelResolver = new InlineModelResolver();
+            inlineModelResolver.setInlineSchemaNameMapping(config.inlineSchemaNameMapping());
+            inlineModelResolver.setInlineSchemaOptions(config.inlineSchemaOption());
+            inlineModelResolver.flatten(openAPI);
+        }
+        config.preprocessOpenAPI(openAPI);
+        config.setOpenAPI(openAPI);
+        return config;
+    }
+}
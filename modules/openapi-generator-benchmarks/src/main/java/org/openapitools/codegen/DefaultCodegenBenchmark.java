@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.servers.Server;
+import org.openapitools.codegen.utils.ModelUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts all the schemas, operations and properties of a spec, with a generator prepared the way
+ * {@link DefaultGenerator} does it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class DefaultCodegenBenchmark {
+    @Param({"synthetic-100", "synthetic-1000", "synthetic-5000", "synthetic-20000",
+            "petstore.yaml", "petstore-with-fake-endpoints-models-for-testing.yaml", "issue_6726.yaml"})
+    public String spec;
+
+    @Param({"java"})
+    public String generator;
+
+    private DefaultCodegen config;
+    private Map<String, Schema> schemas;
+    private final List<Map.Entry<String, Schema>> properties = new ArrayList<>();
+    private final List<OperationRef> operations = new ArrayList<>();
+
+    private static final class OperationRef {
+        final String path;
+        final String httpMethod;
+        final Operation operation;
+        final List<Server> servers;
+
+        OperationRef(String path, String httpMethod, Operation operation, List<Server> servers) {
+            this.path = path;
+            this.httpMethod = httpMethod;
+            this.operation = operation;
+            this.servers = servers;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        OpenAPI openAPI = BenchmarkSpecs.parse(BenchmarkSpecs.read(spec));
+        config = (DefaultCodegen) BenchmarkSpecs.prepare(generator, openAPI);
+        schemas = ModelUtils.getSchemas(openAPI);
+
+        for (Schema schema : schemas.values()) {
+            addProperties(schema);
+            if (schema.getAllOf() != null) {
+                for (Object item : schema.getAllOf()) {
+                    addProperties((Schema) item);
+                }
+            }
+        }
+
+        if (openAPI.getPaths() != null) {
+            for (Map.Entry<String, PathItem> path : openAPI.getPaths().entrySet()) {
+                for (Map.Entry<PathItem.HttpMethod, Operation> operation : path.getValue().readOperationsMap().entrySet()) {
+                    operations.add(new OperationRef(path.getKey(), operation.getKey().name().toLowerCase(Locale.ROOT),
+                            operation.getValue(), path.getValue().getServers()));
+                }
+            }
+        }
+    }
+
+    private void addProperties(Schema schema) {
+        Map<String, Schema> schemaProperties = schema.getProperties();
+        if (schemaProperties != null) {
+            properties.addAll(schemaProperties.entrySet());
+        }
+    }
+
+    @Benchmark
+    public void fromModel(Blackhole blackhole) {
+        for (Map.Entry<String, Schema> schema : schemas.entrySet()) {
+            blackhole.consume(config.fromModel(schema.getKey(), schema.getValue()));
+        }
+    }
+
+    @Benchmark
+    public void fromOperation(Blackhole blackhole) {
+        for (OperationRef ref : operations) {
+            blackhole.consume(config.fromOperation(ref.path, ref.httpMethod, ref.operation, ref.servers));
+        }
+    }
+
+    @Benchmark
+    public void fromProperty(Blackhole blackhole) {
+        for (Map.Entry<String, Schema> property : properties) {
+            blackhole.consume(config.fromProperty(property.getKey(), property.getValue()));
+        }
+    }
+}
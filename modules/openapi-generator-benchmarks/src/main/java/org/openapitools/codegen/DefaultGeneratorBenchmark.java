@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates the code of a freshly parsed spec from end to end, from the normalization to the rendering of every
+ * template, without writing the generated files. Each run is measured once, with a new generator and its own copy of
+ * the spec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class DefaultGeneratorBenchmark {
+    @Param({"synthetic-100", "synthetic-1000", "synthetic-5000", "synthetic-20000",
+            "petstore.yaml", "petstore-with-fake-endpoints-models-for-testing.yaml", "issue_6726.yaml"})
+    public String spec;
+
+    @Param({"java"})
+    public String generator;
+
+    private String contents;
+    private File outputDir;
+    private Generator defaultGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        contents = BenchmarkSpecs.read(spec);
+        outputDir = Files.createTempDirectory("openapi-generator-benchmarks").toFile();
+    }
+
+    @Setup(Level.Iteration)
+    public void prepare() {
+        CodegenConfig config = CodegenConfigLoader.forName(generator);
+        config.setOutputDir(outputDir.getAbsolutePath());
+        defaultGenerator = new NoOpGenerator(null)
+                .opts(new ClientOptInput().openAPI(BenchmarkSpecs.parse(contents)).config(config));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(outputDir);
+    }
+
+    @Benchmark
+    public List<File> generate() {
+        return defaultGenerator.generate();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flattens the inline schemas of a freshly parsed and normalized spec. The resolver modifies the spec, so each run is
+ * measured once on its own copy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class InlineModelResolverBenchmark {
+    @Param({"synthetic-100", "synthetic-1000", "synthetic-5000", "synthetic-20000",
+            "petstore.yaml", "petstore-with-fake-endpoints-models-for-testing.yaml", "issue_6726.yaml"})
+    public String spec;
+
+    private String contents;
+    private OpenAPI openAPI;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contents = BenchmarkSpecs.read(spec);
+    }
+
+    @Setup(Level.Iteration)
+    public void parse() {
+        openAPI = BenchmarkSpecs.parse(contents);
+        OpenAPINormalizer.createNormalizer(openAPI, Collections.emptyMap()).normalize();
+    }
+
+    @Benchmark
+    public OpenAPI flatten() {
+        new InlineModelResolver().flatten(openAPI);
+        return openAPI;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.SchemaUsage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries the schema graph of a spec prepared the way {@link DefaultGenerator} does it, which is how the generators
+ * query it while processing models.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class ModelUtilsBenchmark {
+    @Param({"synthetic-100", "synthetic-1000", "synthetic-5000", "synthetic-20000",
+            "petstore.yaml", "petstore-with-fake-endpoints-models-for-testing.yaml", "issue_6726.yaml"})
+    public String spec;
+
+    private OpenAPI openAPI;
+    private Map<String, Schema> schemas;
+    private final List<Schema> composedSchemas = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        openAPI = BenchmarkSpecs.parse(BenchmarkSpecs.read(spec));
+        BenchmarkSpecs.prepare("java", openAPI);
+        schemas = ModelUtils.getSchemas(openAPI);
+        for (Schema schema : schemas.values()) {
+            if (ModelUtils.isComposedSchema(schema)) {
+                composedSchemas.add(schema);
+            }
+        }
+    }
+
+    @Benchmark
+    public SchemaUsage schemaUsage() {
+        return ModelUtils.getSchemaUsage(openAPI);
+    }
+
+    @Benchmark
+    public Map<String, List<String>> childrenMap() {
+        return ModelUtils.getChildrenMap(openAPI);
+    }
+
+    @Benchmark
+    public void parents(Blackhole blackhole) {
+        for (Schema schema : composedSchemas) {
+            blackhole.consume(ModelUtils.getParentName(schema, schemas));
+            blackhole.consume(ModelUtils.getAllParentsName(schema, schemas, true));
+        }
+    }
+
+    @Benchmark
+    public void unaliasSchema(Blackhole blackhole) {
+        for (Schema schema : schemas.values()) {
+            blackhole.consume(ModelUtils.unaliasSchema(openAPI, schema));
+        }
+    }
+}
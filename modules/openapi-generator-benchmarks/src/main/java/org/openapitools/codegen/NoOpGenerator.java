@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import java.util.List;
+
+/**
+ * Runs the whole generation, rendering every template, with a {@link NoOpTemplateManager} which does not write the
+ * generated files.
+ */
+class NoOpGenerator extends DefaultGenerator {
+    private final List<NoOpTemplateManager.Rendering> renderings;
+
+    /**
+     * @param renderings the list to record the rendered templates in, or null
+     */
+    NoOpGenerator(List<NoOpTemplateManager.Rendering> renderings) {
+        super(false);
+        this.renderings = renderings;
+    }
+
+    @Override
+    public Generator opts(ClientOptInput opts) {
+        super.opts(opts);
+        this.templateProcessor = new NoOpTemplateManager(opts.getConfig(), renderings);
+        return this;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.openapitools.codegen.api.TemplatePathLocator;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
+import org.openapitools.codegen.templating.CommonTemplateContentLocator;
+import org.openapitools.codegen.templating.GeneratorTemplateContentLocator;
+import org.openapitools.codegen.templating.TemplateManagerOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles and executes templates like {@link TemplateManager}, but discards the generated files instead of writing
+ * them, so that benchmarks measure the generation and not the disk.
+ */
+class NoOpTemplateManager extends TemplateManager {
+    private final List<Rendering> renderings;
+
+    /**
+     * A template rendered during a generation, to render it again.
+     */
+    static final class Rendering {
+        final Map<String, Object> data;
+        final String template;
+        final File target;
+
+        Rendering(Map<String, Object> data, String template, File target) {
+            this.data = data;
+            this.template = template;
+            this.target = target;
+        }
+    }
+
+    /**
+     * @param config     the generator, which provides the templates and the templating engine
+     * @param renderings the list to record the rendered templates in, or null
+     */
+    NoOpTemplateManager(CodegenConfig config, List<Rendering> renderings) {
+        this(config.getTemplatingEngine(), new TemplatePathLocator[]{new GeneratorTemplateContentLocator(config), new CommonTemplateContentLocator()},
+                renderings);
+    }
+
+    private NoOpTemplateManager(TemplatingEngineAdapter engineAdapter, TemplatePathLocator[] templateLoaders, List<Rendering> renderings) {
+        super(new TemplateManagerOptions(false, false), engineAdapter, templateLoaders);
+        this.renderings = renderings;
+    }
+
+    @Override
+    public File write(Map<String, Object> data, String template, File target) throws IOException {
+        if (renderings != null) {
+            renderings.add(new Rendering(data, template, target));
+        }
+        return super.write(data, template, target);
+    }
+
+    @Override
+    public File writeToFile(String filename, byte[] contents) {
+        return Paths.get(filename).toFile();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalizes a freshly parsed spec with the default rules, plus the rules given by the {@code rules} parameter.
+ * The normalizer modifies the spec, so each run is measured once on its own copy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class OpenAPINormalizerBenchmark {
+    @Param({"synthetic-100", "synthetic-1000", "synthetic-5000", "synthetic-20000",
+            "petstore.yaml", "petstore-with-fake-endpoints-models-for-testing.yaml", "issue_6726.yaml"})
+    public String spec;
+
+    /**
+     * Comma-separated rules, e.g. {@code REF_AS_PARENT_IN_ALLOF=true,SIMPLIFY_ONEOF_ANYOF=true}
+     */
+    @Param({""})
+    public String rules;
+
+    private String contents;
+    private final Map<String, String> inputRules = new HashMap<>();
+    private OpenAPI openAPI;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contents = BenchmarkSpecs.read(spec);
+        for (String rule : rules.split(",")) {
+            String[] pair = rule.split("=", 2);
+            if (pair.length == 2) {
+                inputRules.put(pair[0].trim(), pair[1].trim());
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void parse() {
+        openAPI = BenchmarkSpecs.parse(contents);
+    }
+
+    @Benchmark
+    public OpenAPI normalize() {
+        OpenAPINormalizer.createNormalizer(openAPI, new HashMap<>(inputRules)).normalize();
+        return openAPI;
+    }
+}
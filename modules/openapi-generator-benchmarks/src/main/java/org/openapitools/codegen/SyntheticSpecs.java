@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.*;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.oas.models.servers.Server;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds specs of any number of schemas, with the constructs found in real specs: composition with a discriminator,
+ * enums, aliases, inline objects, maps and references across the whole spec.
+ * <p>
+ * Schemas come in groups of ten: a base with a discriminator, three children composed with allOf, an enum, an array
+ * alias and four objects. Each group is exposed by a GET and a POST operation, and every ten groups share a tag, so
+ * that the number of operations and APIs grows with the number of schemas.
+ */
+final class SyntheticSpecs {
+    static final int GROUP_SIZE = 10;
+    private static final int GROUPS_PER_TAG = 10;
+
+    private SyntheticSpecs() {
+    }
+
+    /**
+     * @param schemaCount the number of schemas, rounded up to a multiple of {@link #GROUP_SIZE}
+     * @return the spec
+     */
+    static OpenAPI generate(int schemaCount) {
+        int groups = Math.max(1, (schemaCount + GROUP_SIZE - 1) / GROUP_SIZE);
+        int total = groups * GROUP_SIZE;
+
+        Map<String, Schema> schemas = new LinkedHashMap<>();
+        Paths paths = new Paths();
+        for (int group = 0; group < groups; group++) {
+            int first = group * GROUP_SIZE;
+            schemas.put(name(first), base());
+            for (int i = first + 1; i <= first + 3; i++) {
+                schemas.put(name(i), child(first, i - 1));
+            }
+            schemas.put(name(first + 4), new StringSchema()._enum(Arrays.asList("ACTIVE", "PENDING", "CLOSED")));
+            schemas.put(name(first + 5), new ArraySchema().items(ref(first + 3)));
+            for (int i = first + 6; i < first + GROUP_SIZE; i++) {
+                // links to a model of another group, to spread the references over the whole spec
+                schemas.put(name(i), object(first + 4, (i * 7919 + 3) % total));
+            }
+
+            String tag = "group" + group / GROUPS_PER_TAG;
+            paths.addPathItem("/groups/" + group + "/items", new PathItem()
+                    .post(new Operation()
+                            .operationId("createGroup" + group + "Item")
+                            .addTagsItem(tag)
+                            .requestBody(new RequestBody().required(true).content(json(ref(first + 1))))
+                            .responses(new ApiResponses()
+                                    .addApiResponse("201", new ApiResponse().description("created").content(json(new ObjectSchema()
+                                            .addProperty("id", new StringSchema().format("uuid"))
+                                            .addProperty("item", ref(first + 1))))))));
+            paths.addPathItem("/groups/" + group + "/items/{id}", new PathItem()
+                    .get(new Operation()
+                            .operationId("getGroup" + group + "Item")
+                            .addTagsItem(tag)
+                            .addParametersItem(new PathParameter().name("id").schema(new StringSchema().format("uuid")))
+                            .addParametersItem(new QueryParameter().name("limit").schema(new IntegerSchema().minimum(BigDecimal.ONE)))
+                            .addParametersItem(new QueryParameter().name("sort").schema(new StringSchema()._enum(Arrays.asList("asc", "desc"))))
+                            .responses(new ApiResponses()
+                                    .addApiResponse("200", new ApiResponse().description("found").content(json(ref(first + 6))))
+                                    .addApiResponse("404", new ApiResponse().description("not found").content(json(new ObjectSchema()
+                                            .addProperty("code", new IntegerSchema())
+                                            .addProperty("message", new StringSchema())))))));
+        }
+
+        return new OpenAPI()
+                .openapi("3.0.3")
+                .info(new Info().title("Synthetic " + total).version("1.0.0"))
+                .addServersItem(new Server().url("http://localhost:8080/api"))
+                .paths(paths)
+                .components(new Components().schemas(schemas));
+    }
+
+    private static Schema base() {
+        return new ObjectSchema()
+                .addProperty("id", new StringSchema().format("uuid"))
+                .addProperty("kind", new StringSchema())
+                .addProperty("createdAt", new DateTimeSchema())
+                .required(Arrays.asList("id", "kind"))
+                .discriminator(new Discriminator().propertyName("kind"));
+    }
+
+    private static Schema child(int base, int previous) {
+        return new ComposedSchema()
+                .addAllOfItem(ref(base))
+                .addAllOfItem(new ObjectSchema()
+                        .addProperty("name", new StringSchema().maxLength(64))
+                        .addProperty("count", new IntegerSchema().format("int64"))
+                        .addProperty("previous", ref(previous)));
+    }
+
+    private static Schema object(int status, int link) {
+        return new ObjectSchema()
+                .addProperty("name", new StringSchema())
+                .addProperty("amount", new NumberSchema().format("double"))
+                .addProperty("tags", new ArraySchema().items(new StringSchema()))
+                .addProperty("status", ref(status))
+                .addProperty("details", new ObjectSchema()
+                        .addProperty("note", new StringSchema())
+                        .addProperty("updatedAt", new DateTimeSchema()))
+                .addProperty("counters", new MapSchema().additionalProperties(new IntegerSchema()))
+                .addProperty("link", ref(link))
+                .required(Collections.singletonList("name"));
+    }
+
+    private static Content json(Schema schema) {
+        return new Content().addMediaType("application/json", new MediaType().schema(schema));
+    }
+
+    private static Schema ref(int index) {
+        return new Schema().$ref("#/components/schemas/" + name(index));
+    }
+
+    private static String name(int index) {
+        return "Model" + index;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders again, through a {@link TemplateManager}, all the templates rendered by the generation of a spec, with the
+ * same data. {@code compileAndExecute} starts from a new template manager, so that every template is compiled, while
+ * {@code execute} reuses the templates compiled by the previous runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn"})
+public class TemplateManagerBenchmark {
+    @Param({"synthetic-100", "synthetic-1000", "synthetic-5000", "synthetic-20000",
+            "petstore.yaml", "petstore-with-fake-endpoints-models-for-testing.yaml", "issue_6726.yaml"})
+    public String spec;
+
+    @Param({"java"})
+    public String generator;
+
+    private File outputDir;
+    private CodegenConfig config;
+    private NoOpTemplateManager templateManager;
+    private final List<NoOpTemplateManager.Rendering> renderings = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        outputDir = Files.createTempDirectory("openapi-generator-benchmarks").toFile();
+        config = CodegenConfigLoader.forName(generator);
+        config.setOutputDir(outputDir.getAbsolutePath());
+        new NoOpGenerator(renderings)
+                .opts(new ClientOptInput().openAPI(BenchmarkSpecs.parse(BenchmarkSpecs.read(spec))).config(config))
+                .generate();
+        templateManager = new NoOpTemplateManager(config, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(outputDir);
+    }
+
+    @Benchmark
+    public void compileAndExecute(Blackhole blackhole) throws IOException {
+        render(new NoOpTemplateManager(config, null), blackhole);
+    }
+
+    @Benchmark
+    public void execute(Blackhole blackhole) throws IOException {
+        render(templateManager, blackhole);
+    }
+
+    private void render(TemplateManager manager, Blackhole blackhole) throws IOException {
+        for (NoOpTemplateManager.Rendering rendering : renderings) {
+            blackhole.consume(manager.write(rendering.data, rendering.template, rendering.target));
+        }
+    }
+}
@@ -35,6 +35,19 @@ import static org.openapitools.codegen.Constants.CLI_NAME;
 public class OpenAPIGenerator {
 
     public static void main(String[] args) {
+        int status = run(args);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Runs the command given by the arguments.
+     *
+     * @param args the command and its arguments
+     * @return the exit status
+     */
+    public static int run(String[] args) {
         BuildInfo buildInfo = new BuildInfo();
         Cli.CliBuilder<OpenApiGeneratorCommand> builder =
                 Cli.<OpenApiGeneratorCommand>builder(CLI_NAME)
@@ -54,7 +67,8 @@ public class OpenAPIGenerator {
                                 Validate.class,
                                 Version.class,
                                 CompletionCommand.class,
-                                GenerateBatch.class
+                                GenerateBatch.class,
+                                Daemon.class
                         );
 
         builder.withGroup("author")
@@ -73,14 +87,15 @@ public class OpenAPIGenerator {
             // it would prevent scripting using the command directly. Example:
             //     java -jar cli.jar list --short | tr ',' '\n' | xargs -I{} echo "Doing something with {}"
             if (args.length == 0) {
-                System.exit(1);
+                return 1;
             }
         } catch (ParseArgumentsUnexpectedException e) {
             System.err.printf(Locale.ROOT, "[error] %s%n%nSee '%s help' for usage.%n", e.getMessage(), CLI_NAME);
-            System.exit(1);
+            return 1;
         } catch (ParseOptionMissingException | ParseOptionMissingValueException e) {
             System.err.printf(Locale.ROOT, "[error] %s%n", e.getMessage());
-            System.exit(1);
+            return 1;
         }
+        return 0;
     }
 }
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.cmd;
+
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import org.openapitools.codegen.OpenAPIGenerator;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a JVM running to serve CLI commands over a local socket, so that repeated generations do not pay for
+ * the JVM startup, the loading of the generators and the JIT warm-up.
+ * <p>
+ * A request is the token of the daemon on a first line, then the arguments of a command, one per line, followed by an
+ * empty line. The token is generated at startup and written to a file only readable by the user running the daemon,
+ * so that other local users can't run commands with the daemon's permissions. The output of the command, including
+ * its logs, is sent back, followed by a last line {@code exit <status>}. Requests are served one at a time, as the
+ * output is captured by redirecting {@link System#out} and {@link System#err}.
+ * <p>
+ * Generators and their templates are created for each request. The compiled templates of an engine are not shared
+ * between requests: they resolve their partials through the template directories of the run which compiled them,
+ * and generators customize the compiler, so templates compiled for a previous request could render another one
+ * with the wrong partials. The daemon saves the JVM startup, the class loading and the JIT warm-up.
+ */
+@SuppressWarnings({"java:S106"})
+@Command(name = "daemon", description = "Serve commands over a local socket from a long-running JVM.")
+public class Daemon extends OpenApiGeneratorCommand {
+    private static final String STOP = "stop";
+    private static volatile boolean serving = false;
+    // the port the daemon listens on, once it is listening
+    private static volatile int listeningPort = -1;
+
+    private final Logger LOGGER = LoggerFactory.getLogger(Daemon.class);
+
+    @Option(name = {"-p", "--port"}, title = "port", description = "local port to listen on (defaults to 7777, 0 for any free port)")
+    private Integer port;
+
+    @Option(name = {"--idle-timeout"}, title = "minutes",
+            description = "stop the daemon after this many minutes without requests (defaults to 180, 0 to never stop)")
+    private Integer idleTimeout;
+
+    @Option(name = {"--token-file"}, title = "token file",
+            description = "file to write the token of the daemon to, which requests must start with "
+                    + "(defaults to ~/.openapi-generator/daemon-<port>.token)")
+    private String tokenFile;
+
+    private byte[] token;
+
+    /**
+     * @return true if commands are run by a daemon, in which case they must not exit the JVM
+     */
+    static boolean isServing() {
+        return serving;
+    }
+
+    /**
+     * @return the port the daemon listens on, or -1 if it is not listening
+     */
+    static int getListeningPort() {
+        return listeningPort;
+    }
+
+    @Override
+    void execute() {
+        int listenPort = port != null ? port : 7777;
+        long idleMinutes = idleTimeout != null ? Math.max(0, idleTimeout) : 180;
+        Path tokenPath = null;
+
+        // only accept local connections, as requests can read and write any file the daemon can
+        try (ServerSocket server = new ServerSocket(listenPort, 50, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout((int) Math.min(Integer.MAX_VALUE, TimeUnit.MINUTES.toMillis(idleMinutes)));
+            tokenPath = tokenFile != null ? Paths.get(tokenFile)
+                    : Paths.get(System.getProperty("user.home"), ".openapi-generator", "daemon-" + server.getLocalPort() + ".token");
+            token = writeToken(tokenPath);
+            LOGGER.info("Listening on {}:{}, requests must start with the token in {}",
+                    server.getInetAddress().getHostAddress(), server.getLocalPort(), tokenPath);
+            serving = true;
+            listeningPort = server.getLocalPort();
+            while (true) {
+                try (Socket socket = server.accept()) {
+                    if (!serve(socket)) {
+                        LOGGER.info("Stopped by request");
+                        return;
+                    }
+                } catch (SocketTimeoutException e) {
+                    LOGGER.info("Stopped after {} minutes without requests", idleMinutes);
+                    return;
+                } catch (IOException e) {
+                    LOGGER.warn("Failed to serve a request: {}", e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.printf(Locale.ROOT, "[error] Unable to start the daemon on port %d: %s%n", listenPort, e.getMessage());
+            exit(1);
+        } finally {
+            serving = false;
+            listeningPort = -1;
+            if (tokenPath != null && token != null) {
+                try {
+                    Files.deleteIfExists(tokenPath);
+                } catch (IOException e) {
+                    LOGGER.warn("Failed to delete {}: {}", tokenPath, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates a random token and writes it to a file only the current user can read.
+     */
+    private static byte[] writeToken(Path path) throws IOException {
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        StringBuilder hex = new StringBuilder();
+        for (byte b : random) {
+            hex.append(String.format(Locale.ROOT, "%02x", b));
+        }
+        byte[] value = hex.toString().getBytes(StandardCharsets.UTF_8);
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.deleteIfExists(path);
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(path);
+        }
+        Files.write(path, (hex + "\n").getBytes(StandardCharsets.UTF_8));
+        return value;
+    }
+
+    /**
+     * Runs the command requested on a connection.
+     *
+     * @return false if the daemon is requested to stop
+     */
+    private boolean serve(Socket socket) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        PrintStream response = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8.name());
+        String requestToken = reader.readLine();
+        if (requestToken == null
+                || !MessageDigest.isEqual(token, requestToken.trim().getBytes(StandardCharsets.UTF_8))) {
+            LOGGER.warn("Refused a request without the token of the daemon");
+            response.println("[error] The request does not start with the token of the daemon");
+            response.println("exit 1");
+            return true;
+        }
+
+        List<String> args = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null && !line.isEmpty()) {
+            args.add(line);
+        }
+
+        if (args.size() == 1 && STOP.equals(args.get(0))) {
+            response.println("exit 0");
+            return false;
+        }
+        if (!args.isEmpty() && "daemon".equals(args.get(0))) {
+            response.println("[error] The daemon is already running");
+            response.println("exit 1");
+            return true;
+        }
+
+        long start = System.nanoTime();
+        int status = run(args.toArray(new String[0]), response);
+        LOGGER.info("Served '{}' with status {} in {} ms", String.join(" ", args), status,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        response.println("exit " + status);
+        return true;
+    }
+
+    /**
+     * Runs a command, sending its output to the response.
+     *
+     * @return the exit status of the command
+     */
+    private int run(String[] args, PrintStream response) {
+        PrintStream out = System.out;
+        PrintStream err = System.err;
+        System.setOut(response);
+        System.setErr(response);
+        // global properties set by a previous command must not leak into the next one
+        GlobalSettings.reset();
+        RuntimeException failure = null;
+        try {
+            return OpenAPIGenerator.run(args);
+        } catch (ExitException e) {
+            return e.getStatus();
+        } catch (RuntimeException e) {
+            failure = e;
+            response.printf(Locale.ROOT, "[error] %s: %s%n", e.getClass().getSimpleName(), e.getMessage());
+            return 1;
+        } finally {
+            response.flush();
+            System.setOut(out);
+            System.setErr(err);
+            GlobalSettings.reset();
+            if (failure != null) {
+                // the stack trace goes to the log of the daemon, not to the client
+                LOGGER.error("Failed to serve '{}'", String.join(" ", args), failure);
+            }
+        }
+    }
+
+    /**
+     * Ends a command run by the daemon instead of exiting the JVM.
+     */
+    static final class ExitException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        ExitException(int status) {
+            super("exit " + status);
+            this.status = status;
+        }
+
+        int getStatus() {
+            return status;
+        }
+    }
+}
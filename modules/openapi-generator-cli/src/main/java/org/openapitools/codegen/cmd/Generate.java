@@ -25,11 +25,13 @@ import org.apache.commons.lang3.StringUtils;
 import org.openapitools.codegen.*;
 import org.openapitools.codegen.config.CodegenConfigurator;
 import org.openapitools.codegen.config.MergedSpecBuilder;
+import org.openapitools.codegen.config.MultiTargetGeneration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -50,6 +52,12 @@ public class Generate extends OpenApiGeneratorCommand {
             description = "generator to use (see list command for list)")
     private String generatorName;
 
+    @Option(name = {"--targets"}, title = "target generators",
+            description = "comma-separated list of generators to generate the spec with in parallel, instead of a single generator (-g). "
+                    + "Each generator writes into a subdirectory of the output directory named after it. "
+                    + "The spec is parsed once for all of them")
+    private String targets;
+
     @Option(name = {"-o", "--output"}, title = "output directory",
             description = "where to write the generated files (current dir by default)")
     private String output = "";
@@ -357,7 +365,7 @@ public class Generate extends OpenApiGeneratorCommand {
             } else if (StringUtils.isEmpty(spec)) {
                 // if user doesn't pass configFile and does not pass spec, we can fail immediately because one of these two is required to run.
                 System.err.println("[error] Required option '-i' is missing");
-                System.exit(1);
+                exit(1);
             }
 
             // if a config file wasn't specified, or we were unable to read it
@@ -384,7 +392,7 @@ public class Generate extends OpenApiGeneratorCommand {
             if (!spec.matches("^http(s)?://.*") && !new File(spec).exists()) {
                 System.err.println("[error] The spec file is not found: " + spec);
                 System.err.println("[error] Check the path of the OpenAPI spec and try again.");
-                System.exit(1);
+                exit(1);
             }
             configurator.setInputSpec(spec);
         }
@@ -524,6 +532,13 @@ public class Generate extends OpenApiGeneratorCommand {
         applyServerVariablesKvpList(serverVariableOverrides, configurator);
 
         try {
+            if (isNotEmpty(targets)) {
+                new MultiTargetGeneration(configurator, Arrays.asList(targets.split(",")))
+                        .dryRun(Boolean.TRUE.equals(isDryRun))
+                        .generate();
+                return;
+            }
+
             final ClientOptInput clientOptInput = configurator.toClientOptInput();
 
             // this null check allows us to inject for unit testing.
@@ -536,7 +551,7 @@ public class Generate extends OpenApiGeneratorCommand {
         } catch (GeneratorNotFoundException e) {
             System.err.println(e.getMessage());
             System.err.println("[error] Check the spelling of the generator's name and try again.");
-            System.exit(1);
+            exit(1);
         }
     }
 }
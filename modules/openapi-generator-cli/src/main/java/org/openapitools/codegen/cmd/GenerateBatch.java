@@ -37,6 +37,7 @@ import org.openapitools.codegen.DefaultGenerator;
 import org.openapitools.codegen.config.CodegenConfigurator;
 import org.openapitools.codegen.config.DynamicSettings;
 import org.openapitools.codegen.config.GlobalSettings;
+import org.openapitools.codegen.config.ParsedSpecCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,6 +51,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -101,9 +103,13 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
     public void execute() {
         if (configs.size() < 1) {
             LOGGER.error("No configuration file inputs specified");
-            System.exit(1);
+            exit(1);
         }
 
+        // the counters are shared by the runs of a daemon
+        failures.set(0);
+        successes.set(0);
+
         int cores = Runtime.getRuntime().availableProcessors();
         int numThreads = 2 * cores;
         if (null != threads && (threads > 0 && threads < Thread.activeCount())) {
@@ -138,7 +144,11 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
         // This allows us to create a sort of meta-config which holds configs which are otherwise required at CLI time (via generate task).
         // That is, this allows us to create a wrapper config for generatorName, inputSpec, outputDir, etc.
         SimpleModule module = getCustomDeserializationModel(includesDir);
-        List<CodegenConfigurator> configurators = configs.stream().map(config -> CodegenConfigurator.fromFile(config, module)).collect(Collectors.toList());
+        // configs often share their input spec, which is then parsed once and copied for each of them
+        ParsedSpecCache parsedSpecCache = new ParsedSpecCache();
+        List<CodegenConfigurator> configurators = configs.stream()
+                .map(config -> CodegenConfigurator.fromFile(config, module).setParsedSpecCache(parsedSpecCache))
+                .collect(Collectors.toList());
 
         // it doesn't make sense to interleave INFO level logs, so limit these to only ERROR.
         LoggerContext lc = (LoggerContext) LoggerFactory.getILoggerFactory();
@@ -149,10 +159,15 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
         ExecutorService executor = Executors.newFixedThreadPool(numThreads);
 
         // Execute each configurator on a separate pooled thread.
-        configurators.forEach(configurator -> {
-            GenerationRunner runner = new GenerationRunner(configurator, rootDir, Boolean.TRUE.equals(failFast), Boolean.TRUE.equals(clean));
-            executor.execute(runner);
-        });
+        for (CodegenConfigurator configurator : configurators) {
+            GenerationRunner runner = new GenerationRunner(configurator, rootDir, Boolean.TRUE.equals(failFast) ? executor : null, Boolean.TRUE.equals(clean));
+            try {
+                executor.execute(runner);
+            } catch (RejectedExecutionException e) {
+                // a generation failed with --fail-fast, which stopped the executor
+                break;
+            }
+        }
 
         executor.shutdown();
 
@@ -166,7 +181,7 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
             int failCount = failures.intValue();
             if (failCount > 0) {
                 System.err.println(String.format(Locale.ROOT, "[FAIL] Completed with %d failures, %d successes", failCount, successes.intValue()));
-                System.exit(1);
+                exit(1);
             } else {
                 System.out.println(String.format(Locale.ROOT, "[SUCCESS] Batch generation finished %d generators successfully.", successes.intValue()));
             }
@@ -180,13 +195,14 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
     private static class GenerationRunner implements Runnable {
         private final CodegenConfigurator configurator;
         private final Path rootDir;
-        private final boolean exitOnError;
+        // stopped on the first failure when failing fast, or null
+        private final ExecutorService failFastExecutor;
         private final boolean clean;
 
-        private GenerationRunner(CodegenConfigurator configurator, Path rootDir, boolean failFast, boolean clean) {
+        private GenerationRunner(CodegenConfigurator configurator, Path rootDir, ExecutorService failFastExecutor, boolean clean) {
             this.configurator = configurator;
             this.rootDir = rootDir;
-            this.exitOnError = failFast;
+            this.failFastExecutor = failFastExecutor;
             this.clean = clean;
         }
 
@@ -236,8 +252,10 @@ public class GenerateBatch extends OpenApiGeneratorCommand {
                 }
                 System.err.printf(Locale.ROOT, "[%s] Generation failed for %s: (%s) %s%n", Thread.currentThread().getName(), failedOn, e.getClass().getSimpleName(), e.getMessage());
                 e.printStackTrace(System.err);
-                if (exitOnError) {
-                    System.exit(1);
+                if (failFastExecutor != null) {
+                    // exiting from a pool thread would only end this thread when run by the daemon, the batch
+                    // exits with the failure once the other generations are stopped
+                    failFastExecutor.shutdownNow();
                 }
             } finally {
                 GlobalSettings.reset();
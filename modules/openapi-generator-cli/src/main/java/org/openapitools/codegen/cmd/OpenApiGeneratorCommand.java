@@ -36,4 +36,16 @@ public abstract class OpenApiGeneratorCommand implements Runnable {
      * Logic to be executed by implementing commands
      */
     abstract void execute();
+
+    /**
+     * Exits the JVM with the given status, or only ends the command when it is run by the {@link Daemon}.
+     *
+     * @param status the exit status
+     */
+    static void exit(int status) {
+        if (Daemon.isServing()) {
+            throw new Daemon.ExitException(status);
+        }
+        System.exit(status);
+    }
 }
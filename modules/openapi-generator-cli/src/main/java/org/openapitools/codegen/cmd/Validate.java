@@ -97,7 +97,7 @@ public class Validate extends OpenApiGeneratorCommand {
             sb.append(System.lineSeparator());
             sb.append("[error] Spec has ").append(errors.size()).append(" errors.");
             System.err.println(sb.toString());
-            System.exit(1);
+            exit(1);
         } else if (!warnings.isEmpty()) {
             sb.append(System.lineSeparator());
             sb.append("[info] Spec has ").append(warnings.size()).append(" recommendation(s).");
@@ -0,0 +1,105 @@
+package org.openapitools.codegen.cmd;
+
+import org.openapitools.codegen.OpenAPIGenerator;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+public class DaemonTest {
+    private Path tokenFile;
+    private Thread daemon;
+
+    @BeforeClass
+    public void startDaemon() throws Exception {
+        tokenFile = Files.createTempDirectory("daemon").resolve("daemon.token");
+        daemon = new Thread(() -> OpenAPIGenerator.run(new String[]{
+                "daemon", "--port", "0", "--idle-timeout", "5", "--token-file", tokenFile.toString()}));
+        daemon.setDaemon(true);
+        daemon.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (Daemon.getListeningPort() < 0) {
+            assertTrue(System.nanoTime() < deadline, "The daemon did not start");
+            Thread.sleep(50);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopDaemon() throws Exception {
+        if (Daemon.getListeningPort() >= 0) {
+            request(token(), "stop");
+        }
+        daemon.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    @Test
+    public void writesTheTokenForTheUserOnly() throws IOException {
+        assertEquals(token().length(), 64);
+        if (Files.getFileStore(tokenFile).supportsFileAttributeView("posix")) {
+            assertEquals(PosixFilePermissions.toString(Files.getPosixFilePermissions(tokenFile)), "rw-------");
+        }
+    }
+
+    @Test
+    public void refusesRequestsWithoutTheToken() throws IOException {
+        List<String> response = request("not-the-token", "version");
+
+        assertTrue(response.get(0).startsWith("[error]"), String.join("\n", response));
+        assertEquals(response.get(response.size() - 1), "exit 1");
+    }
+
+    @Test
+    public void servesCommands() throws IOException {
+        List<String> response = request(token(), "version");
+
+        assertEquals(response.get(response.size() - 1), "exit 0");
+    }
+
+    @Test
+    public void reportsFailuresWithoutStoppingTheDaemon() throws IOException {
+        List<String> response = request(token(), "generate", "-g", "java", "-i", "does-not-exist.yaml", "-o", "target/daemon-test");
+
+        assertEquals(response.get(response.size() - 1), "exit 1");
+        assertTrue(response.stream().anyMatch(line -> line.startsWith("[error]")), String.join("\n", response));
+        List<String> next = request(token(), "version");
+        assertEquals(next.get(next.size() - 1), "exit 0");
+    }
+
+    private String token() throws IOException {
+        return new String(Files.readAllBytes(tokenFile), StandardCharsets.UTF_8).trim();
+    }
+
+    private static List<String> request(String token, String... args) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), Daemon.getListeningPort())) {
+            Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            writer.write(token + "\n");
+            for (String arg : Arrays.asList(args)) {
+                writer.write(arg + "\n");
+            }
+            writer.write("\n");
+            writer.flush();
+
+            List<String> lines = new ArrayList<>();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+            assertFalse(lines.isEmpty(), "No response");
+            return lines;
+        }
+    }
+}
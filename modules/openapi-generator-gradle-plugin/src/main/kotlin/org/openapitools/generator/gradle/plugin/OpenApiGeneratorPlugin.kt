@@ -96,6 +96,7 @@ class OpenApiGeneratorPlugin : Plugin<Project> {
                     verbose.set(generate.verbose)
                     validateSpec.set(generate.validateSpec)
                     generatorName.set(generate.generatorName)
+                    targets.set(generate.targets)
                     outputDir.set(generate.outputDir)
                     inputSpec.set(generate.inputSpec)
                     inputSpecRootDirectory.set(generate.inputSpecRootDirectory)
@@ -44,6 +44,12 @@ open class OpenApiGeneratorGenerateExtension(project: Project) {
      */
     val generatorName = project.objects.property<String>()
 
+    /**
+     * The names of several generators to use instead of generatorName, each generating into a subdirectory of
+     * outputDir named after it. The spec is parsed once for all of them.
+     */
+    val targets = project.objects.listProperty<String>()
+
     /**
      * The output target directory into which code will be generated.
      */
@@ -0,0 +1,492 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.generator.gradle.plugin.tasks
+
+import org.gradle.api.GradleException
+import org.gradle.api.logging.Logging
+import org.gradle.api.provider.ListProperty
+import org.gradle.api.provider.MapProperty
+import org.gradle.api.provider.Property
+import org.gradle.workers.WorkAction
+import org.gradle.workers.WorkParameters
+import org.openapitools.codegen.ClientOptInput
+import org.openapitools.codegen.CodegenConstants
+import org.openapitools.codegen.DefaultGenerator
+import org.openapitools.codegen.config.CodegenConfigurator
+import org.openapitools.codegen.config.GlobalSettings
+import org.openapitools.codegen.config.MergedSpecBuilder
+import org.openapitools.codegen.config.MultiTargetGeneration
+
+/**
+ * Generates the code of a [GenerateTask] in a worker, so that independent generate tasks run concurrently.
+ *
+ * The parameters mirror the properties of the task which affect the generation. Tasks overriding
+ * `createDefaultCodegenConfigurator()` run this action directly in the build process instead.
+ */
+abstract class GenerateAction : WorkAction<GenerateAction.Parameters> {
+
+    interface Parameters : WorkParameters {
+        val verbose: Property<Boolean>
+        val validateSpec: Property<Boolean>
+        val generatorName: Property<String>
+        val targets: ListProperty<String>
+        val outputDir: Property<String>
+        val inputSpec: Property<String>
+        val inputSpecRootDirectory: Property<String>
+        val inputSpecRootDirectorySkipMerge: Property<Boolean>
+        val mergedFileName: Property<String>
+        val remoteInputSpec: Property<String>
+        val templateDir: Property<String>
+        val templateResourcePath: Property<String>
+        val auth: Property<String>
+        val globalProperties: MapProperty<String, String>
+        val configFile: Property<String>
+        val skipOverwrite: Property<Boolean>
+        val packageName: Property<String>
+        val apiPackage: Property<String>
+        val modelPackage: Property<String>
+        val modelNamePrefix: Property<String>
+        val modelNameSuffix: Property<String>
+        val apiNameSuffix: Property<String>
+        val instantiationTypes: MapProperty<String, String>
+        val typeMappings: MapProperty<String, String>
+        val additionalProperties: MapProperty<String, Any>
+        val serverVariables: MapProperty<String, String>
+        val languageSpecificPrimitives: ListProperty<String>
+        val openapiGeneratorIgnoreList: ListProperty<String>
+        val importMappings: MapProperty<String, String>
+        val schemaMappings: MapProperty<String, String>
+        val inlineSchemaNameMappings: MapProperty<String, String>
+        val inlineSchemaOptions: MapProperty<String, String>
+        val nameMappings: MapProperty<String, String>
+        val parameterNameMappings: MapProperty<String, String>
+        val modelNameMappings: MapProperty<String, String>
+        val enumNameMappings: MapProperty<String, String>
+        val operationIdNameMappings: MapProperty<String, String>
+        val openapiNormalizer: MapProperty<String, String>
+        val invokerPackage: Property<String>
+        val groupId: Property<String>
+        val id: Property<String>
+        val version: Property<String>
+        val library: Property<String>
+        val gitHost: Property<String>
+        val gitUserId: Property<String>
+        val gitRepoId: Property<String>
+        val releaseNote: Property<String>
+        val httpUserAgent: Property<String>
+        val reservedWordsMappings: MapProperty<String, String>
+        val ignoreFileOverride: Property<String>
+        val removeOperationIdPrefix: Property<Boolean>
+        val skipOperationExample: Property<Boolean>
+        val apiFilesConstrainedTo: ListProperty<String>
+        val modelFilesConstrainedTo: ListProperty<String>
+        val supportingFilesConstrainedTo: ListProperty<String>
+        val generateModelTests: Property<Boolean>
+        val generateModelDocumentation: Property<Boolean>
+        val generateApiTests: Property<Boolean>
+        val generateApiDocumentation: Property<Boolean>
+        val logToStderr: Property<Boolean>
+        val enablePostProcessFile: Property<Boolean>
+        val skipValidateSpec: Property<Boolean>
+        val generateAliasAsModel: Property<Boolean>
+        val configOptions: MapProperty<String, String>
+        val engine: Property<String>
+        val dryRun: Property<Boolean>
+    }
+
+    private val logger = Logging.getLogger(GenerateAction::class.java)
+
+    private fun <T> Property<T>.ifNotEmpty(block: Property<T>.(T) -> Unit) {
+        if (isPresent) {
+            when (val value = get()) {
+                is String -> if (value.isNotEmpty()) block(value)
+                else -> block(value)
+            }
+        }
+    }
+
+    /**
+     * Creates the configurator used when no config file is set. Overridden when a [GenerateTask] overriding its
+     * own `createDefaultCodegenConfigurator()` generates the code in the build process.
+     */
+    internal open fun createDefaultCodegenConfigurator(): CodegenConfigurator = CodegenConfigurator()
+
+    override fun execute() {
+        with(parameters) {
+            var resolvedInputSpec = ""
+
+            inputSpec.ifNotEmpty { value ->
+                resolvedInputSpec = value
+            }
+
+            remoteInputSpec.ifNotEmpty { value ->
+                resolvedInputSpec = value
+            }
+
+            inputSpecRootDirectory.ifNotEmpty { inputSpecRootDirectoryValue ->
+                val skipMerge = inputSpecRootDirectorySkipMerge.get()
+                val runMergeSpec = !skipMerge
+                if (runMergeSpec) {
+                    run {
+                        resolvedInputSpec = MergedSpecBuilder(
+                            inputSpecRootDirectoryValue,
+                            mergedFileName.getOrElse("merged")
+                        ).buildMergedSpec()
+                        logger.info("Merge input spec would be used - {}", resolvedInputSpec)
+                    }
+                }
+            }
+
+            val configurator: CodegenConfigurator = if (configFile.isPresent) {
+                CodegenConfigurator.fromFile(configFile.get())
+            } else createDefaultCodegenConfigurator()
+
+            try {
+                // worker threads are reused across tasks and must not see the settings of the previous one
+                GlobalSettings.reset()
+
+                if (globalProperties.isPresent) {
+                    globalProperties.get().forEach { (key, value) ->
+                        configurator.addGlobalProperty(key, value)
+                    }
+                }
+
+                if (supportingFilesConstrainedTo.isPresent && supportingFilesConstrainedTo.get().isNotEmpty()) {
+                    GlobalSettings.setProperty(
+                        CodegenConstants.SUPPORTING_FILES,
+                        supportingFilesConstrainedTo.get().joinToString(",")
+                    )
+                } else {
+                    GlobalSettings.clearProperty(CodegenConstants.SUPPORTING_FILES)
+                }
+
+                if (modelFilesConstrainedTo.isPresent && modelFilesConstrainedTo.get().isNotEmpty()) {
+                    GlobalSettings.setProperty(CodegenConstants.MODELS, modelFilesConstrainedTo.get().joinToString(","))
+                } else {
+                    GlobalSettings.clearProperty(CodegenConstants.MODELS)
+                }
+
+                if (apiFilesConstrainedTo.isPresent && apiFilesConstrainedTo.get().isNotEmpty()) {
+                    GlobalSettings.setProperty(CodegenConstants.APIS, apiFilesConstrainedTo.get().joinToString(","))
+                } else {
+                    GlobalSettings.clearProperty(CodegenConstants.APIS)
+                }
+
+                if (generateApiDocumentation.isPresent) {
+                    GlobalSettings.setProperty(CodegenConstants.API_DOCS, generateApiDocumentation.get().toString())
+                }
+
+                if (generateModelDocumentation.isPresent) {
+                    GlobalSettings.setProperty(CodegenConstants.MODEL_DOCS, generateModelDocumentation.get().toString())
+                }
+
+                if (generateModelTests.isPresent) {
+                    GlobalSettings.setProperty(CodegenConstants.MODEL_TESTS, generateModelTests.get().toString())
+                }
+
+                if (generateApiTests.isPresent) {
+                    GlobalSettings.setProperty(CodegenConstants.API_TESTS, generateApiTests.get().toString())
+                }
+
+                if (inputSpec.isPresent && remoteInputSpec.isPresent) {
+                    logger.warn("Both inputSpec and remoteInputSpec is specified. The remoteInputSpec will take priority over inputSpec.")
+                }
+
+                configurator.setInputSpec(resolvedInputSpec)
+
+                // now override with any specified parameters
+                verbose.ifNotEmpty { value ->
+                    configurator.setVerbose(value)
+                }
+
+                validateSpec.ifNotEmpty { value ->
+                    configurator.setValidateSpec(value)
+                }
+
+                skipOverwrite.ifNotEmpty { value ->
+                    configurator.setSkipOverwrite(value)
+                }
+
+                generatorName.ifNotEmpty { value ->
+                    configurator.setGeneratorName(value)
+                }
+
+                outputDir.ifNotEmpty { value ->
+                    configurator.setOutputDir(value)
+                }
+
+                auth.ifNotEmpty { value ->
+                    configurator.setAuth(value)
+                }
+
+                templateDir.ifNotEmpty { value ->
+                    configurator.setTemplateDir(value)
+                }
+
+                templateResourcePath.ifNotEmpty { value ->
+                    templateDir.ifNotEmpty {
+                        logger.warn("Both templateDir and templateResourcePath were configured. templateResourcePath overwrites templateDir.")
+                    }
+                    configurator.setTemplateDir(value)
+                }
+
+                packageName.ifNotEmpty { value ->
+                    configurator.setPackageName(value)
+                }
+
+                apiPackage.ifNotEmpty { value ->
+                    configurator.setApiPackage(value)
+                }
+
+                modelPackage.ifNotEmpty { value ->
+                    configurator.setModelPackage(value)
+                }
+
+                modelNamePrefix.ifNotEmpty { value ->
+                    configurator.setModelNamePrefix(value)
+                }
+
+                modelNameSuffix.ifNotEmpty { value ->
+                    configurator.setModelNameSuffix(value)
+                }
+
+                apiNameSuffix.ifNotEmpty { value ->
+                    configurator.setApiNameSuffix(value)
+                }
+
+                invokerPackage.ifNotEmpty { value ->
+                    configurator.setInvokerPackage(value)
+                }
+
+                groupId.ifNotEmpty { value ->
+                    configurator.setGroupId(value)
+                }
+
+                id.ifNotEmpty { value ->
+                    configurator.setArtifactId(value)
+                }
+
+                version.ifNotEmpty { value ->
+                    configurator.setArtifactVersion(value)
+                }
+
+                library.ifNotEmpty { value ->
+                    configurator.setLibrary(value)
+                }
+
+                gitHost.ifNotEmpty { value ->
+                    configurator.setGitHost(value)
+                }
+
+                gitUserId.ifNotEmpty { value ->
+                    configurator.setGitUserId(value)
+                }
+
+                gitRepoId.ifNotEmpty { value ->
+                    configurator.setGitRepoId(value)
+                }
+
+                releaseNote.ifNotEmpty { value ->
+                    configurator.setReleaseNote(value)
+                }
+
+                httpUserAgent.ifNotEmpty { value ->
+                    configurator.setHttpUserAgent(value)
+                }
+
+                ignoreFileOverride.ifNotEmpty { value ->
+                    configurator.setIgnoreFileOverride(value)
+                }
+
+                removeOperationIdPrefix.ifNotEmpty { value ->
+                    configurator.setRemoveOperationIdPrefix(value)
+                }
+
+                skipOperationExample.ifNotEmpty { value ->
+                    configurator.setSkipOperationExample(value)
+                }
+
+                logToStderr.ifNotEmpty { value ->
+                    configurator.setLogToStderr(value)
+                }
+
+                enablePostProcessFile.ifNotEmpty { value ->
+                    configurator.setEnablePostProcessFile(value)
+                }
+
+                skipValidateSpec.ifNotEmpty { value ->
+                    configurator.setValidateSpec(!value)
+                }
+
+                generateAliasAsModel.ifNotEmpty { value ->
+                    configurator.setGenerateAliasAsModel(value)
+                }
+
+                engine.ifNotEmpty { value ->
+                    if ("handlebars".equals(value, ignoreCase = true)) {
+                        configurator.setTemplatingEngineName("handlebars")
+                    } else {
+                        configurator.setTemplatingEngineName(value)
+                    }
+                }
+
+                if (globalProperties.isPresent) {
+                    globalProperties.get().forEach { entry ->
+                        configurator.addGlobalProperty(entry.key, entry.value)
+                    }
+                }
+
+                if (instantiationTypes.isPresent) {
+                    instantiationTypes.get().forEach { entry ->
+                        configurator.addInstantiationType(entry.key, entry.value)
+                    }
+                }
+
+                if (importMappings.isPresent) {
+                    importMappings.get().forEach { entry ->
+                        configurator.addImportMapping(entry.key, entry.value)
+                    }
+                }
+
+                if (schemaMappings.isPresent) {
+                    schemaMappings.get().forEach { entry ->
+                        configurator.addSchemaMapping(entry.key, entry.value)
+                    }
+                }
+
+                if (inlineSchemaNameMappings.isPresent) {
+                    inlineSchemaNameMappings.get().forEach { entry ->
+                        configurator.addInlineSchemaNameMapping(entry.key, entry.value)
+                    }
+                }
+
+                if (inlineSchemaOptions.isPresent) {
+                    inlineSchemaOptions.get().forEach { entry ->
+                        configurator.addInlineSchemaOption(entry.key, entry.value)
+                    }
+                }
+
+                if (nameMappings.isPresent) {
+                    nameMappings.get().forEach { entry ->
+                        configurator.addNameMapping(entry.key, entry.value)
+                    }
+                }
+
+                if (parameterNameMappings.isPresent) {
+                    parameterNameMappings.get().forEach { entry ->
+                        configurator.addParameterNameMapping(entry.key, entry.value)
+                    }
+                }
+
+                if (modelNameMappings.isPresent) {
+                    modelNameMappings.get().forEach { entry ->
+                        configurator.addModelNameMapping(entry.key, entry.value)
+                    }
+                }
+
+                if (enumNameMappings.isPresent) {
+                    enumNameMappings.get().forEach { entry ->
+                        configurator.addEnumNameMapping(entry.key, entry.value)
+                    }
+                }
+
+                if (operationIdNameMappings.isPresent) {
+                    operationIdNameMappings.get().forEach { entry ->
+                        configurator.addOperationIdNameMapping(entry.key, entry.value)
+                    }
+                }
+
+                if (openapiNormalizer.isPresent) {
+                    openapiNormalizer.get().forEach { entry ->
+                        configurator.addOpenapiNormalizer(entry.key, entry.value)
+                    }
+                }
+
+                if (typeMappings.isPresent) {
+                    typeMappings.get().forEach { entry ->
+                        configurator.addTypeMapping(entry.key, entry.value)
+                    }
+                }
+
+                if (additionalProperties.isPresent) {
+                    additionalProperties.get().forEach { entry ->
+                        configurator.addAdditionalProperty(entry.key, entry.value)
+                    }
+                }
+
+                if (serverVariables.isPresent) {
+                    serverVariables.get().forEach { entry ->
+                        configurator.addServerVariable(entry.key, entry.value)
+                    }
+                }
+
+                if (languageSpecificPrimitives.isPresent) {
+                    languageSpecificPrimitives.get().forEach {
+                        configurator.addLanguageSpecificPrimitive(it)
+                    }
+                }
+
+                if (openapiGeneratorIgnoreList.isPresent) {
+                    openapiGeneratorIgnoreList.get().forEach {
+                        configurator.addOpenapiGeneratorIgnoreList(it)
+                    }
+                }
+
+                if (reservedWordsMappings.isPresent) {
+                    reservedWordsMappings.get().forEach { entry ->
+                        configurator.addAdditionalReservedWordMapping(entry.key, entry.value)
+                    }
+                }
+
+                var dryRunSetting = false
+                dryRun.ifNotEmpty { setting ->
+                    dryRunSetting = setting
+                }
+
+                try {
+                    if (targets.isPresent && targets.get().isNotEmpty()) {
+                        MultiTargetGeneration(configurator, targets.get())
+                            .dryRun(dryRunSetting)
+                            .customize { applyConfigOptions(it) }
+                            .generate()
+                    } else {
+                        val clientOptInput = configurator.toClientOptInput()
+                        applyConfigOptions(clientOptInput)
+                        DefaultGenerator(dryRunSetting).opts(clientOptInput).generate()
+                    }
+
+                    logger.lifecycle("Successfully generated code to ${outputDir.get()}")
+                } catch (e: RuntimeException) {
+                    throw GradleException("Code generation failed.", e)
+                }
+            } finally {
+                GlobalSettings.reset()
+            }
+        }
+    }
+
+    private fun Parameters.applyConfigOptions(clientOptInput: ClientOptInput) {
+        if (configOptions.isPresent) {
+            val userSpecifiedConfigOptions = configOptions.get()
+            clientOptInput.config.cliOptions().forEach {
+                if (userSpecifiedConfigOptions.containsKey(it.opt)) {
+                    clientOptInput.config.additionalProperties()[it.opt] = userSpecifiedConfigOptions[it.opt]
+                }
+            }
+        }
+    }
+}
@@ -16,9 +16,9 @@
 
 package org.openapitools.generator.gradle.plugin.tasks
 
+import java.io.Serializable
 import javax.inject.Inject
 import org.gradle.api.DefaultTask
-import org.gradle.api.GradleException
 import org.gradle.api.Project
 import org.gradle.api.file.FileSystemOperations
 import org.gradle.api.model.ObjectFactory
@@ -40,11 +40,8 @@ import org.gradle.kotlin.dsl.listProperty
 import org.gradle.kotlin.dsl.mapProperty
 import org.gradle.kotlin.dsl.property
 import org.gradle.util.GradleVersion
-import org.openapitools.codegen.CodegenConstants
-import org.openapitools.codegen.DefaultGenerator
+import org.gradle.workers.WorkerExecutor
 import org.openapitools.codegen.config.CodegenConfigurator
-import org.openapitools.codegen.config.GlobalSettings
-import org.openapitools.codegen.config.MergedSpecBuilder
 
 /**
  * A task which generates the desired code.
@@ -56,7 +53,10 @@ import org.openapitools.codegen.config.MergedSpecBuilder
  * @author Jim Schubert
  */
 @CacheableTask
-open class GenerateTask @Inject constructor(private val objectFactory: ObjectFactory) : DefaultTask() {
+open class GenerateTask @Inject constructor(
+    private val objectFactory: ObjectFactory,
+    private val workerExecutor: WorkerExecutor
+) : DefaultTask() {
 
     /**
      * The verbosity of generation
@@ -79,13 +79,24 @@ open class GenerateTask @Inject constructor(private val objectFactory: ObjectFac
     @get:Input
     val generatorName = project.objects.property<String>()
 
+    /**
+     * The names of several generators to use instead of generatorName, each generating into a subdirectory of
+     * outputDir named after it. The spec is parsed once for all of them.
+     */
+    @get:Optional
+    @get:Input
+    val targets = project.objects.listProperty<String>()
+
     /**
      * This is the configuration for reference paths where schemas for openapi generation are stored
      * The directory which contains the additional schema files
+     *
+     * Only the paths of the files relative to this directory are part of the task's cache key, so moving the
+     * project to another location doesn't invalidate cached outputs.
      */
     @get:Optional
     @get:InputDirectory
-    @get:PathSensitive(PathSensitivity.ABSOLUTE)
+    @get:PathSensitive(PathSensitivity.RELATIVE)
     val schemaLocation = project.objects.property<String>()
 
     /**
@@ -253,6 +264,9 @@ open class GenerateTask @Inject constructor(private val objectFactory: ObjectFac
     /**
      * Sets additional properties that can be referenced by the mustache templates in the format of name=value,name=value.
      * You can also have multiple occurrences of this option.
+     *
+     * As the code is generated in a worker, values which are not serializable are passed to the templates as their
+     * string form.
      */
     @get:Optional
     @get:Input
@@ -606,6 +620,10 @@ open class GenerateTask @Inject constructor(private val objectFactory: ObjectFac
         }
     }
 
+    /**
+     * Creates the configurator used when no config file is set. The code of tasks overriding it is generated in the
+     * build process, since a worker cannot call back into the task; other tasks generate in a worker.
+     */
     protected open fun createDefaultCodegenConfigurator(): CodegenConfigurator = CodegenConfigurator()
 
     private fun createFileSystemManager(): FileSystemManager {
@@ -619,30 +637,6 @@ open class GenerateTask @Inject constructor(private val objectFactory: ObjectFac
     @Suppress("unused")
     @TaskAction
     fun doWork() {
-        var resolvedInputSpec = ""
-
-        inputSpec.ifNotEmpty { value ->
-            resolvedInputSpec = value
-        }
-
-        remoteInputSpec.ifNotEmpty { value ->
-            resolvedInputSpec = value
-        }
-
-        inputSpecRootDirectory.ifNotEmpty { inputSpecRootDirectoryValue ->
-            val skipMerge = inputSpecRootDirectorySkipMerge.get()
-            val runMergeSpec = !skipMerge
-            if (runMergeSpec) {
-                run {
-                    resolvedInputSpec = MergedSpecBuilder(
-                        inputSpecRootDirectoryValue,
-                        mergedFileName.getOrElse("merged")
-                    ).buildMergedSpec()
-                    logger.info("Merge input spec would be used - {}", resolvedInputSpec)
-                }
-            }
-        }
-
         cleanupOutput.ifNotEmpty { cleanup ->
             if (cleanup) {
                 createFileSystemManager().delete(outputDir)
@@ -652,334 +646,108 @@ open class GenerateTask @Inject constructor(private val objectFactory: ObjectFac
             }
         }
 
-        val configurator: CodegenConfigurator = if (configFile.isPresent) {
-            CodegenConfigurator.fromFile(configFile.get())
-        } else createDefaultCodegenConfigurator()
-
-        try {
-            if (globalProperties.isPresent) {
-                globalProperties.get().forEach { (key, value) ->
-                    configurator.addGlobalProperty(key, value)
-                }
-            }
-
-            if (supportingFilesConstrainedTo.isPresent && supportingFilesConstrainedTo.get().isNotEmpty()) {
-                GlobalSettings.setProperty(
-                    CodegenConstants.SUPPORTING_FILES,
-                    supportingFilesConstrainedTo.get().joinToString(",")
-                )
-            } else {
-                GlobalSettings.clearProperty(CodegenConstants.SUPPORTING_FILES)
-            }
-
-            if (modelFilesConstrainedTo.isPresent && modelFilesConstrainedTo.get().isNotEmpty()) {
-                GlobalSettings.setProperty(CodegenConstants.MODELS, modelFilesConstrainedTo.get().joinToString(","))
-            } else {
-                GlobalSettings.clearProperty(CodegenConstants.MODELS)
-            }
-
-            if (apiFilesConstrainedTo.isPresent && apiFilesConstrainedTo.get().isNotEmpty()) {
-                GlobalSettings.setProperty(CodegenConstants.APIS, apiFilesConstrainedTo.get().joinToString(","))
-            } else {
-                GlobalSettings.clearProperty(CodegenConstants.APIS)
-            }
-
-            if (generateApiDocumentation.isPresent) {
-                GlobalSettings.setProperty(CodegenConstants.API_DOCS, generateApiDocumentation.get().toString())
-            }
-
-            if (generateModelDocumentation.isPresent) {
-                GlobalSettings.setProperty(CodegenConstants.MODEL_DOCS, generateModelDocumentation.get().toString())
-            }
-
-            if (generateModelTests.isPresent) {
-                GlobalSettings.setProperty(CodegenConstants.MODEL_TESTS, generateModelTests.get().toString())
-            }
-
-            if (generateApiTests.isPresent) {
-                GlobalSettings.setProperty(CodegenConstants.API_TESTS, generateApiTests.get().toString())
-            }
-
-            if (inputSpec.isPresent && remoteInputSpec.isPresent) {
-                logger.warn("Both inputSpec and remoteInputSpec is specified. The remoteInputSpec will take priority over inputSpec.")
-            }
-
-            configurator.setInputSpec(resolvedInputSpec)
-
-            // now override with any specified parameters
-            verbose.ifNotEmpty { value ->
-                configurator.setVerbose(value)
-            }
-
-            validateSpec.ifNotEmpty { value ->
-                configurator.setValidateSpec(value)
-            }
-
-            skipOverwrite.ifNotEmpty { value ->
-                configurator.setSkipOverwrite(value)
-            }
-
-            generatorName.ifNotEmpty { value ->
-                configurator.setGeneratorName(value)
-            }
-
-            outputDir.ifNotEmpty { value ->
-                configurator.setOutputDir(value)
-            }
-
-            auth.ifNotEmpty { value ->
-                configurator.setAuth(value)
-            }
-
-            templateDir.ifNotEmpty { value ->
-                configurator.setTemplateDir(value)
-            }
-
-            templateResourcePath.ifNotEmpty { value ->
-                templateDir.ifNotEmpty {
-                    logger.warn("Both templateDir and templateResourcePath were configured. templateResourcePath overwrites templateDir.")
-                }
-                configurator.setTemplateDir(value)
-            }
-
-            packageName.ifNotEmpty { value ->
-                configurator.setPackageName(value)
-            }
-
-            apiPackage.ifNotEmpty { value ->
-                configurator.setApiPackage(value)
-            }
-
-            modelPackage.ifNotEmpty { value ->
-                configurator.setModelPackage(value)
-            }
-
-            modelNamePrefix.ifNotEmpty { value ->
-                configurator.setModelNamePrefix(value)
-            }
-
-            modelNameSuffix.ifNotEmpty { value ->
-                configurator.setModelNameSuffix(value)
-            }
-
-            apiNameSuffix.ifNotEmpty { value ->
-                configurator.setApiNameSuffix(value)
-            }
-
-            invokerPackage.ifNotEmpty { value ->
-                configurator.setInvokerPackage(value)
-            }
-
-            groupId.ifNotEmpty { value ->
-                configurator.setGroupId(value)
-            }
-
-            id.ifNotEmpty { value ->
-                configurator.setArtifactId(value)
-            }
-
-            version.ifNotEmpty { value ->
-                configurator.setArtifactVersion(value)
-            }
-
-            library.ifNotEmpty { value ->
-                configurator.setLibrary(value)
-            }
-
-            gitHost.ifNotEmpty { value ->
-                configurator.setGitHost(value)
-            }
-
-            gitUserId.ifNotEmpty { value ->
-                configurator.setGitUserId(value)
-            }
-
-            gitRepoId.ifNotEmpty { value ->
-                configurator.setGitRepoId(value)
-            }
-
-            releaseNote.ifNotEmpty { value ->
-                configurator.setReleaseNote(value)
-            }
-
-            httpUserAgent.ifNotEmpty { value ->
-                configurator.setHttpUserAgent(value)
-            }
-
-            ignoreFileOverride.ifNotEmpty { value ->
-                configurator.setIgnoreFileOverride(value)
-            }
-
-            removeOperationIdPrefix.ifNotEmpty { value ->
-                configurator.setRemoveOperationIdPrefix(value)
-            }
-
-            skipOperationExample.ifNotEmpty { value ->
-                configurator.setSkipOperationExample(value)
-            }
-
-            logToStderr.ifNotEmpty { value ->
-                configurator.setLogToStderr(value)
-            }
-
-            enablePostProcessFile.ifNotEmpty { value ->
-                configurator.setEnablePostProcessFile(value)
-            }
-
-            skipValidateSpec.ifNotEmpty { value ->
-                configurator.setValidateSpec(!value)
-            }
-
-            generateAliasAsModel.ifNotEmpty { value ->
-                configurator.setGenerateAliasAsModel(value)
-            }
-
-            engine.ifNotEmpty { value ->
-                if ("handlebars".equals(value, ignoreCase = true)) {
-                    configurator.setTemplatingEngineName("handlebars")
-                } else {
-                    configurator.setTemplatingEngineName(value)
-                }
-            }
-
-            if (globalProperties.isPresent) {
-                globalProperties.get().forEach { entry ->
-                    configurator.addGlobalProperty(entry.key, entry.value)
-                }
-            }
-
-            if (instantiationTypes.isPresent) {
-                instantiationTypes.get().forEach { entry ->
-                    configurator.addInstantiationType(entry.key, entry.value)
-                }
-            }
-
-            if (importMappings.isPresent) {
-                importMappings.get().forEach { entry ->
-                    configurator.addImportMapping(entry.key, entry.value)
-                }
-            }
-
-            if (schemaMappings.isPresent) {
-                schemaMappings.get().forEach { entry ->
-                    configurator.addSchemaMapping(entry.key, entry.value)
-                }
-            }
-
-            if (inlineSchemaNameMappings.isPresent) {
-                inlineSchemaNameMappings.get().forEach { entry ->
-                    configurator.addInlineSchemaNameMapping(entry.key, entry.value)
-                }
-            }
-
-            if (inlineSchemaOptions.isPresent) {
-                inlineSchemaOptions.get().forEach { entry ->
-                    configurator.addInlineSchemaOption(entry.key, entry.value)
-                }
-            }
-
-            if (nameMappings.isPresent) {
-                nameMappings.get().forEach { entry ->
-                    configurator.addNameMapping(entry.key, entry.value)
-                }
-            }
-
-            if (parameterNameMappings.isPresent) {
-                parameterNameMappings.get().forEach { entry ->
-                    configurator.addParameterNameMapping(entry.key, entry.value)
-                }
-            }
-
-            if (modelNameMappings.isPresent) {
-                modelNameMappings.get().forEach { entry ->
-                    configurator.addModelNameMapping(entry.key, entry.value)
-                }
-            }
-
-            if (enumNameMappings.isPresent) {
-                enumNameMappings.get().forEach { entry ->
-                    configurator.addEnumNameMapping(entry.key, entry.value)
-                }
-            }
-
-            if (operationIdNameMappings.isPresent) {
-                operationIdNameMappings.get().forEach { entry ->
-                    configurator.addOperationIdNameMapping(entry.key, entry.value)
-                }
-            }
-
-            if (openapiNormalizer.isPresent) {
-                openapiNormalizer.get().forEach { entry ->
-                    configurator.addOpenapiNormalizer(entry.key, entry.value)
-                }
-            }
-
-            if (typeMappings.isPresent) {
-                typeMappings.get().forEach { entry ->
-                    configurator.addTypeMapping(entry.key, entry.value)
-                }
-            }
-
-            if (additionalProperties.isPresent) {
-                additionalProperties.get().forEach { entry ->
-                    configurator.addAdditionalProperty(entry.key, entry.value)
-                }
-            }
-
-            if (serverVariables.isPresent) {
-                serverVariables.get().forEach { entry ->
-                    configurator.addServerVariable(entry.key, entry.value)
-                }
-            }
-
-            if (languageSpecificPrimitives.isPresent) {
-                languageSpecificPrimitives.get().forEach {
-                    configurator.addLanguageSpecificPrimitive(it)
-                }
-            }
-
-            if (openapiGeneratorIgnoreList.isPresent) {
-                openapiGeneratorIgnoreList.get().forEach {
-                    configurator.addOpenapiGeneratorIgnoreList(it)
-                }
-            }
+        if (overridesCreateDefaultCodegenConfigurator()) {
+            logger.info("${javaClass.name} overrides createDefaultCodegenConfigurator(), generating in the build process instead of a worker.")
+            val parameters = objectFactory.newInstance(GenerateAction.Parameters::class.java)
+            copyTo(parameters)
+            val task = this
+            object : GenerateAction() {
+                override fun getParameters(): Parameters = parameters
+                override fun createDefaultCodegenConfigurator(): CodegenConfigurator = task.createDefaultCodegenConfigurator()
+            }.execute()
+            return
+        }
 
-            if (reservedWordsMappings.isPresent) {
-                reservedWordsMappings.get().forEach { entry ->
-                    configurator.addAdditionalReservedWordMapping(entry.key, entry.value)
-                }
-            }
+        workerExecutor.classLoaderIsolation().submit(GenerateAction::class.java) { copyTo(this) }
+    }
 
-            var dryRunSetting = false
-            dryRun.ifNotEmpty { setting ->
-                dryRunSetting = setting
+    private fun overridesCreateDefaultCodegenConfigurator(): Boolean {
+        var type: Class<*> = javaClass
+        while (type != GenerateTask::class.java) {
+            if (type.declaredMethods.any { it.name == "createDefaultCodegenConfigurator" && it.parameterCount == 0 }) {
+                return true
             }
+            type = type.superclass
+        }
+        return false
+    }
 
-            val clientOptInput = configurator.toClientOptInput()
-            val codegenConfig = clientOptInput.config
-
-            if (configOptions.isPresent) {
-                val userSpecifiedConfigOptions = configOptions.get()
-                codegenConfig.cliOptions().forEach {
-                    if (userSpecifiedConfigOptions.containsKey(it.opt)) {
-                        clientOptInput.config.additionalProperties()[it.opt] = userSpecifiedConfigOptions[it.opt]
-                    }
+    private fun copyTo(parameters: GenerateAction.Parameters) {
+        parameters.verbose.set(verbose)
+        parameters.validateSpec.set(validateSpec)
+        parameters.generatorName.set(generatorName)
+        parameters.targets.set(targets)
+        parameters.outputDir.set(outputDir)
+        parameters.inputSpec.set(inputSpec)
+        parameters.inputSpecRootDirectory.set(inputSpecRootDirectory)
+        parameters.inputSpecRootDirectorySkipMerge.set(inputSpecRootDirectorySkipMerge)
+        parameters.mergedFileName.set(mergedFileName)
+        parameters.remoteInputSpec.set(remoteInputSpec)
+        parameters.templateDir.set(templateDir)
+        parameters.templateResourcePath.set(templateResourcePath)
+        parameters.auth.set(auth)
+        parameters.globalProperties.set(globalProperties)
+        parameters.configFile.set(configFile)
+        parameters.skipOverwrite.set(skipOverwrite)
+        parameters.packageName.set(packageName)
+        parameters.apiPackage.set(apiPackage)
+        parameters.modelPackage.set(modelPackage)
+        parameters.modelNamePrefix.set(modelNamePrefix)
+        parameters.modelNameSuffix.set(modelNameSuffix)
+        parameters.apiNameSuffix.set(apiNameSuffix)
+        parameters.instantiationTypes.set(instantiationTypes)
+        parameters.typeMappings.set(typeMappings)
+        parameters.additionalProperties.set(additionalProperties.map { properties ->
+            properties.mapValues { (_, value) ->
+                when (value) {
+                    is String, is Boolean, is Number -> value
+                    is CharSequence -> value.toString()
+                    is Serializable -> value
+                    else -> value.toString()
                 }
             }
-
-            try {
-                val out = services.get(StyledTextOutputFactory::class.java).create("openapi")
-                out.withStyle(StyledTextOutput.Style.Success)
-
-                DefaultGenerator(dryRunSetting).opts(clientOptInput).generate()
-
-                out.println("Successfully generated code to ${outputDir.get()}")
-            } catch (e: RuntimeException) {
-                throw GradleException("Code generation failed.", e)
-            }
-        } finally {
-            GlobalSettings.reset()
-        }
+        })
+        parameters.serverVariables.set(serverVariables)
+        parameters.languageSpecificPrimitives.set(languageSpecificPrimitives)
+        parameters.openapiGeneratorIgnoreList.set(openapiGeneratorIgnoreList)
+        parameters.importMappings.set(importMappings)
+        parameters.schemaMappings.set(schemaMappings)
+        parameters.inlineSchemaNameMappings.set(inlineSchemaNameMappings)
+        parameters.inlineSchemaOptions.set(inlineSchemaOptions)
+        parameters.nameMappings.set(nameMappings)
+        parameters.parameterNameMappings.set(parameterNameMappings)
+        parameters.modelNameMappings.set(modelNameMappings)
+        parameters.enumNameMappings.set(enumNameMappings)
+        parameters.operationIdNameMappings.set(operationIdNameMappings)
+        parameters.openapiNormalizer.set(openapiNormalizer)
+        parameters.invokerPackage.set(invokerPackage)
+        parameters.groupId.set(groupId)
+        parameters.id.set(id)
+        parameters.version.set(version)
+        parameters.library.set(library)
+        parameters.gitHost.set(gitHost)
+        parameters.gitUserId.set(gitUserId)
+        parameters.gitRepoId.set(gitRepoId)
+        parameters.releaseNote.set(releaseNote)
+        parameters.httpUserAgent.set(httpUserAgent)
+        parameters.reservedWordsMappings.set(reservedWordsMappings)
+        parameters.ignoreFileOverride.set(ignoreFileOverride)
+        parameters.removeOperationIdPrefix.set(removeOperationIdPrefix)
+        parameters.skipOperationExample.set(skipOperationExample)
+        parameters.apiFilesConstrainedTo.set(apiFilesConstrainedTo)
+        parameters.modelFilesConstrainedTo.set(modelFilesConstrainedTo)
+        parameters.supportingFilesConstrainedTo.set(supportingFilesConstrainedTo)
+        parameters.generateModelTests.set(generateModelTests)
+        parameters.generateModelDocumentation.set(generateModelDocumentation)
+        parameters.generateApiTests.set(generateApiTests)
+        parameters.generateApiDocumentation.set(generateApiDocumentation)
+        parameters.logToStderr.set(logToStderr)
+        parameters.enablePostProcessFile.set(enablePostProcessFile)
+        parameters.skipValidateSpec.set(skipValidateSpec)
+        parameters.generateAliasAsModel.set(generateAliasAsModel)
+        parameters.configOptions.set(configOptions)
+        parameters.engine.set(engine)
+        parameters.dryRun.set(dryRun)
     }
 }
 
@@ -25,7 +25,6 @@ import org.gradle.kotlin.dsl.listProperty
 import org.gradle.work.DisableCachingByDefault
 import org.openapitools.codegen.CodegenConfigLoader
 import org.openapitools.codegen.CodegenType
-import org.openapitools.codegen.meta.GeneratorMetadata
 import org.openapitools.codegen.meta.Stability
 
 /**
@@ -47,7 +46,7 @@ open class GeneratorsTask : DefaultTask() {
 
     @TaskAction
     fun doWork() {
-        val generators = CodegenConfigLoader.getAll()
+        val generators = CodegenConfigLoader.getAllEntries()
 
         val out = services.get(StyledTextOutputFactory::class.java).create("openapi")
 
@@ -72,17 +71,16 @@ open class GeneratorsTask : DefaultTask() {
                 append(type.name).append(" generators:")
                 append(System.lineSeparator())
 
-                generators.filter { it.tag == type }
+                generators.filter { it.type == type }
                         .sortedBy { it.name }
                         .forEach { generator ->
 
-                            val meta: GeneratorMetadata? = generator.generatorMetadata
-                            val include = stabilities.contains(meta?.stability)
+                            val include = stabilities.contains(generator.stability)
                             if (include) {
                                 append("    - ")
                                 append(generator.name)
 
-                                meta?.stability?.let {
+                                generator.stability?.let {
                                     if (it != Stability.STABLE) {
                                         append(" (${it.value()})")
                                     }
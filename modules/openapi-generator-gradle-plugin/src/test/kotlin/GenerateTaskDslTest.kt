@@ -622,4 +622,100 @@ class GenerateTaskDslTest : TestBase() {
             "Expected a successful run, but found ${result.task(":openApiGenerate")?.outcome}"
         )
     }
+
+    @Test
+    fun `generate tasks should run concurrently without sharing their settings`() {
+        // Arrange
+        val projectFiles = mapOf(
+            "spec.yaml" to javaClass.classLoader.getResourceAsStream("specs/petstore-v3.0.yaml")
+        )
+        withProject(
+            """
+        plugins {
+          id 'org.openapi.generator'
+        }
+        task buildGoClient(type: org.openapitools.generator.gradle.plugin.tasks.GenerateTask) {
+            generatorName = "go"
+            inputSpec = file("spec.yaml").absolutePath
+            outputDir = file("build/go").absolutePath
+        }
+        task buildKotlinClient(type: org.openapitools.generator.gradle.plugin.tasks.GenerateTask) {
+            generatorName = "kotlin"
+            inputSpec = file("spec.yaml").absolutePath
+            outputDir = file("build/kotlin").absolutePath
+            globalProperties = [
+                    modelDocs: "false"
+            ]
+        }
+    """.trimIndent(),
+            projectFiles
+        )
+
+        // Act
+        val result = GradleRunner.create()
+            .withProjectDir(temp)
+            .withArguments("--parallel", "buildGoClient", "buildKotlinClient")
+            .withPluginClasspath()
+            .build()
+
+        // Assert
+        assertEquals(TaskOutcome.SUCCESS, result.task(":buildGoClient")?.outcome)
+        assertEquals(TaskOutcome.SUCCESS, result.task(":buildKotlinClient")?.outcome)
+        assertTrue(File(temp, "build/go/docs/Pet.md").isFile, "The go client should have model docs.")
+        assertTrue(File(temp, "build/kotlin/docs/PetsApi.md").isFile, "The kotlin client should have api docs.")
+        assertFalse(File(temp, "build/kotlin/docs/Pet.md").exists(), "The kotlin client should not have model docs.")
+    }
+
+    @Test
+    fun `openApiGenerate should use an overridden default configurator`() {
+        // Arrange
+        val projectFiles = mapOf(
+            "spec.yaml" to javaClass.classLoader.getResourceAsStream("specs/petstore-v3.0.yaml")
+        )
+        withProject(
+            """
+        import javax.inject.Inject
+        import org.gradle.workers.WorkerExecutor
+        import org.openapitools.codegen.config.CodegenConfigurator
+        import org.openapitools.generator.gradle.plugin.tasks.GenerateTask
+
+        plugins {
+          id 'org.openapi.generator'
+        }
+
+        abstract class CustomGenerateTask extends GenerateTask {
+            @Inject
+            CustomGenerateTask(ObjectFactory objectFactory, WorkerExecutor workerExecutor) {
+                super(objectFactory, workerExecutor)
+            }
+
+            @Override
+            protected CodegenConfigurator createDefaultCodegenConfigurator() {
+                return new CodegenConfigurator().setPackageName("fromoverride")
+            }
+        }
+
+        task buildGoClient(type: CustomGenerateTask) {
+            generatorName = "go"
+            inputSpec = file("spec.yaml").absolutePath
+            outputDir = file("build/go").absolutePath
+        }
+    """.trimIndent(),
+            projectFiles
+        )
+
+        // Act
+        val result = GradleRunner.create()
+            .withProjectDir(temp)
+            .withArguments("buildGoClient")
+            .withPluginClasspath()
+            .build()
+
+        // Assert
+        assertEquals(TaskOutcome.SUCCESS, result.task(":buildGoClient")?.outcome)
+        assertTrue(
+            File(temp, "build/go/client.go").readText().contains("package fromoverride"),
+            "The go client should use the package name set by the overridden configurator."
+        )
+    }
 }
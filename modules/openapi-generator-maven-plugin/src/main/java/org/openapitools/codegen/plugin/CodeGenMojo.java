@@ -44,6 +44,7 @@ import org.openapitools.codegen.auth.AuthParser;
 import org.openapitools.codegen.config.CodegenConfigurator;
 import org.openapitools.codegen.config.GlobalSettings;
 import org.openapitools.codegen.config.MergedSpecBuilder;
+import org.openapitools.codegen.config.MultiTargetGeneration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonatype.plexus.build.incremental.BuildContext;
@@ -89,6 +90,15 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter(name = "generatorName", property = "openapi.generator.maven.plugin.generatorName")
     private String generatorName;
 
+    /**
+     * The names of several generators to use instead of generatorName, each generating into a subdirectory of the
+     * output directory named after it. The spec is parsed once for all of them. With
+     * {@link #addCompileSourceRoot} or {@link #addTestCompileSourceRoot}, the source folder of each target is added
+     * to the project, and {@link #configHelp} prints the options of each target.
+     */
+    @Parameter(name = "targets", property = "openapi.generator.maven.plugin.targets")
+    private List<String> targets;
+
     /**
      * Location of the output directory.
      */
@@ -710,7 +720,7 @@ public class CodeGenMojo extends AbstractMojo {
 
             if (isNotEmpty(generatorName)) {
                 configurator.setGeneratorName(generatorName);
-            } else {
+            } else if (getTargets().isEmpty()) {
                 LOGGER.error("A generator name (generatorName) is required.");
                 throw new MojoExecutionException("The generator requires 'generatorName'. Refer to documentation for a list of options.");
             }
@@ -979,33 +989,41 @@ public class CodeGenMojo extends AbstractMojo {
                 }
             }
 
-            final ClientOptInput input = configurator.toClientOptInput();
-            final CodegenConfig config = input.getConfig();
-
-            if (configOptions != null) {
-                for (CliOption langCliOption : config.cliOptions()) {
-                    if (configOptions.containsKey(langCliOption.getOpt())) {
-                        input.getConfig().additionalProperties()
-                                .put(langCliOption.getOpt(), configOptions.get(langCliOption.getOpt()));
+            if (!getTargets().isEmpty()) {
+                if (configHelp) {
+                    for (String target : getTargets()) {
+                        System.out.println(target + ":");
+                        printConfigHelp(CodegenConfigLoader.forName(target));
                     }
+                    return;
                 }
-            }
+                GlobalSettings.log();
+                new MultiTargetGeneration(configurator, getTargets())
+                        .dryRun(dryRun)
+                        .customize(targetInput -> {
+                            applyConfigOptions(targetInput);
+                            adjustAdditionalProperties(targetInput.getConfig());
+                        })
+                        .generate();
+            } else {
+                final ClientOptInput input = configurator.toClientOptInput();
+                final CodegenConfig config = input.getConfig();
+
+                applyConfigOptions(input);
 
-            if (configHelp) {
-                for (CliOption langCliOption : config.cliOptions()) {
-                    System.out.println("\t" + langCliOption.getOpt());
-                    System.out.println("\t    "
-                            + langCliOption.getOptionHelp().replaceAll("\n", "\n\t    "));
-                    System.out.println();
+                if (configHelp) {
+                    printConfigHelp(config);
+                    return;
                 }
-                return;
+                adjustAdditionalProperties(config);
+                GlobalSettings.log();
+                new DefaultGenerator(dryRun).opts(input).generate();
             }
-            adjustAdditionalProperties(config);
-            GlobalSettings.log();
-            new DefaultGenerator(dryRun).opts(input).generate();
 
             if (buildContext != null) {
-                buildContext.refresh(new File(getCompileSourceRoot()));
+                for (String compileSourceRoot : getCompileSourceRoots()) {
+                    buildContext.refresh(new File(compileSourceRoot));
+                }
             }
 
             // Store a checksum of the input spec
@@ -1084,13 +1102,39 @@ public class CodeGenMojo extends AbstractMojo {
         return new File(output.getPath() + File.separatorChar + ".openapi-generator" + File.separatorChar + name + "-" + mojo.getExecutionId() + ".sha256");
     }
 
-    private String getCompileSourceRoot() {
+    /**
+     * @return the distinct, non-blank generator names of {@link #targets}
+     */
+    private List<String> getTargets() {
+        final Set<String> names = new LinkedHashSet<>();
+        if (targets != null) {
+            for (String target : targets) {
+                if (target != null && !target.trim().isEmpty()) {
+                    names.add(target.trim());
+                }
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * @return the source folder of the generated code, or of each target, which generates into a subdirectory of
+     * the output directory named after it
+     */
+    private List<String> getCompileSourceRoots() {
         final Object sourceFolderObject =
                 configOptions == null ? null : configOptions
                         .get(CodegenConstants.SOURCE_FOLDER);
         final String sourceFolder = sourceFolderObject != null ? sourceFolderObject.toString() : "src/main/java";
 
-        return output.getPath() + File.separatorChar + sourceFolder;
+        if (getTargets().isEmpty()) {
+            return Collections.singletonList(output.getPath() + File.separatorChar + sourceFolder);
+        }
+        final List<String> compileSourceRoots = new ArrayList<>();
+        for (String target : getTargets()) {
+            compileSourceRoots.add(output.getPath() + File.separatorChar + target + File.separatorChar + sourceFolder);
+        }
+        return compileSourceRoots;
     }
 
     private void addCompileSourceRootIfConfigured() throws MojoExecutionException {
@@ -1098,9 +1142,29 @@ public class CodeGenMojo extends AbstractMojo {
             if (addTestCompileSourceRoot) {
                 throw new MojoExecutionException("Either 'addCompileSourceRoot' or 'addTestCompileSourceRoot' may be active, not both.");
             }
-            project.addCompileSourceRoot(getCompileSourceRoot());
+            getCompileSourceRoots().forEach(project::addCompileSourceRoot);
         } else if (addTestCompileSourceRoot) {
-            project.addTestCompileSourceRoot(getCompileSourceRoot());
+            getCompileSourceRoots().forEach(project::addTestCompileSourceRoot);
+        }
+    }
+
+    private void printConfigHelp(final CodegenConfig config) {
+        for (CliOption langCliOption : config.cliOptions()) {
+            System.out.println("\t" + langCliOption.getOpt());
+            System.out.println("\t    "
+                    + langCliOption.getOptionHelp().replaceAll("\n", "\n\t    "));
+            System.out.println();
+        }
+    }
+
+    private void applyConfigOptions(final ClientOptInput input) {
+        if (configOptions != null) {
+            for (CliOption langCliOption : input.getConfig().cliOptions()) {
+                if (configOptions.containsKey(langCliOption.getOpt())) {
+                    input.getConfig().additionalProperties()
+                            .put(langCliOption.getOpt(), configOptions.get(langCliOption.getOpt()));
+                }
+            }
         }
     }
 
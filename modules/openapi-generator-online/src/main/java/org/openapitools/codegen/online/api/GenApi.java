@@ -24,7 +24,11 @@ package org.openapitools.codegen.online.api;
 
 import io.swagger.annotations.*;
 import org.openapitools.codegen.CliOption;
+import org.openapitools.codegen.online.model.ArtifactMetrics;
+import org.openapitools.codegen.online.model.CacheMetrics;
 import org.openapitools.codegen.online.model.GeneratorInput;
+import org.openapitools.codegen.online.model.JobMetrics;
+import org.openapitools.codegen.online.model.JobStatus;
 import org.openapitools.codegen.online.model.ResponseCode;
 import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
@@ -83,6 +87,101 @@ public interface GenApi {
     }
 
 
+    @ApiOperation(value = "Queues the generation of a client library", nickname = "submitClientJob", notes = "Accepts a `GeneratorInput` options map for spec location and generation options. The returned job is polled with `/jobs/{jobId}` until it is completed.", response = JobStatus.class, tags = {"clients", "jobs",})
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "job queued", response = JobStatus.class),
+            @ApiResponse(code = 503, message = "too many jobs queued")})
+    @RequestMapping(value = "/gen/jobs/clients/{language}",
+            produces = {"application/json"},
+            method = RequestMethod.POST)
+    default ResponseEntity<JobStatus> submitClientJob(@ApiParam(value = "The target language for the client library", required = true) @PathVariable("language") String language, @ApiParam(value = "Configuration for building the client library", required = true) @Valid @RequestBody GeneratorInput generatorInput) {
+        return getDelegate().submitClientJob(language, generatorInput);
+    }
+
+
+    @ApiOperation(value = "Queues the generation of a server library", nickname = "submitServerJob", notes = "Accepts a `GeneratorInput` options map for spec location and generation options. The returned job is polled with `/jobs/{jobId}` until it is completed.", response = JobStatus.class, tags = {"servers", "jobs",})
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "job queued", response = JobStatus.class),
+            @ApiResponse(code = 503, message = "too many jobs queued")})
+    @RequestMapping(value = "/gen/jobs/servers/{framework}",
+            produces = {"application/json"},
+            method = RequestMethod.POST)
+    default ResponseEntity<JobStatus> submitServerJob(@ApiParam(value = "framework", required = true) @PathVariable("framework") String framework, @ApiParam(value = "parameters", required = true) @Valid @RequestBody GeneratorInput generatorInput) {
+        return getDelegate().submitServerJob(framework, generatorInput);
+    }
+
+
+    @ApiOperation(value = "Gets the status of a generation job", nickname = "getJob", notes = "", response = JobStatus.class, tags = {"jobs",})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "successful operation", response = JobStatus.class),
+            @ApiResponse(code = 404, message = "job not found")})
+    @RequestMapping(value = "/gen/jobs/{jobId}",
+            produces = {"application/json"},
+            method = RequestMethod.GET)
+    default ResponseEntity<JobStatus> getJob(@ApiParam(value = "", required = true) @PathVariable("jobId") String jobId) {
+        return getDelegate().getJob(jobId);
+    }
+
+
+    @ApiOperation(value = "Cancels a generation job", nickname = "cancelJob", notes = "Removes a queued job from the queue or interrupts a running job, which stops once its spec is parsed or at the next file it generates. Completed jobs are unaffected.", response = JobStatus.class, tags = {"jobs",})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "successful operation", response = JobStatus.class),
+            @ApiResponse(code = 404, message = "job not found")})
+    @RequestMapping(value = "/gen/jobs/{jobId}",
+            produces = {"application/json"},
+            method = RequestMethod.DELETE)
+    default ResponseEntity<JobStatus> cancelJob(@ApiParam(value = "", required = true) @PathVariable("jobId") String jobId) {
+        return getDelegate().cancelJob(jobId);
+    }
+
+
+    @ApiOperation(value = "Downloads the code generated by a job", nickname = "downloadJob", notes = "The code can be downloaded just once, after which the job is removed.", response = MultipartFile.class, tags = {"jobs",})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "successful operation", response = MultipartFile.class),
+            @ApiResponse(code = 404, message = "job not found"),
+            @ApiResponse(code = 409, message = "job not completed"),
+            @ApiResponse(code = 410, message = "generated code expired")})
+    @RequestMapping(value = "/gen/jobs/{jobId}/download",
+            produces = {"application/octet-stream"},
+            method = RequestMethod.GET)
+    default ResponseEntity<Resource> downloadJob(@ApiParam(value = "", required = true) @PathVariable("jobId") String jobId) {
+        return getDelegate().downloadJob(jobId);
+    }
+
+
+    @ApiOperation(value = "Gets metrics of the generation jobs", nickname = "jobMetrics", notes = "", response = JobMetrics.class, tags = {"jobs",})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "successful operation", response = JobMetrics.class)})
+    @RequestMapping(value = "/gen/jobs/metrics",
+            produces = {"application/json"},
+            method = RequestMethod.GET)
+    default ResponseEntity<JobMetrics> jobMetrics() {
+        return getDelegate().jobMetrics();
+    }
+
+
+    @ApiOperation(value = "Gets metrics of the generated code waiting to be downloaded", nickname = "artifactMetrics", notes = "", response = ArtifactMetrics.class, tags = {"clients", "servers", "jobs",})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "successful operation", response = ArtifactMetrics.class)})
+    @RequestMapping(value = "/gen/artifacts/metrics",
+            produces = {"application/json"},
+            method = RequestMethod.GET)
+    default ResponseEntity<ArtifactMetrics> artifactMetrics() {
+        return getDelegate().artifactMetrics();
+    }
+
+
+    @ApiOperation(value = "Gets metrics of the cache of generated code", nickname = "cacheMetrics", notes = "", response = CacheMetrics.class, tags = {"clients", "servers", "jobs",})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "successful operation", response = CacheMetrics.class)})
+    @RequestMapping(value = "/gen/cache/metrics",
+            produces = {"application/json"},
+            method = RequestMethod.GET)
+    default ResponseEntity<CacheMetrics> cacheMetrics() {
+        return getDelegate().cacheMetrics();
+    }
+
+
     @ApiOperation(value = "Returns options for a client library", nickname = "getClientOptions", notes = "", tags = {"clients",})
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "successful operation")})
@@ -18,7 +18,11 @@
 package org.openapitools.codegen.online.api;
 
 import org.openapitools.codegen.CliOption;
+import org.openapitools.codegen.online.model.ArtifactMetrics;
+import org.openapitools.codegen.online.model.CacheMetrics;
 import org.openapitools.codegen.online.model.GeneratorInput;
+import org.openapitools.codegen.online.model.JobMetrics;
+import org.openapitools.codegen.online.model.JobStatus;
 import org.openapitools.codegen.online.model.ResponseCode;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
@@ -108,6 +112,85 @@ public interface GenApiDelegate {
 
     }
 
+    /**
+     * @param language       The target generator (language is a misnomer here, but kept for API consistency).
+     * @param generatorInput The configuration settings to be used during client generation.
+     * @return A {@link ResponseEntity} of the queued {@link JobStatus}.
+     * @see GenApi#submitClientJob
+     */
+    default ResponseEntity<JobStatus> submitClientJob(String language, GeneratorInput generatorInput) {
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+
+    }
+
+    /**
+     * @param framework      The target generator name.
+     * @param generatorInput The configuration settings to be used during server generation.
+     * @return A {@link ResponseEntity} of the queued {@link JobStatus}.
+     * @see GenApi#submitServerJob
+     */
+    default ResponseEntity<JobStatus> submitServerJob(String framework, GeneratorInput generatorInput) {
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+
+    }
+
+    /**
+     * @param jobId The unique id of the job, provided in a {@link JobStatus} response.
+     * @return A {@link ResponseEntity} of the {@link JobStatus}.
+     * @see GenApi#getJob
+     */
+    default ResponseEntity<JobStatus> getJob(String jobId) {
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+
+    }
+
+    /**
+     * @param jobId The unique id of the job, provided in a {@link JobStatus} response.
+     * @return A {@link ResponseEntity} of the {@link JobStatus} after cancellation.
+     * @see GenApi#cancelJob
+     */
+    default ResponseEntity<JobStatus> cancelJob(String jobId) {
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+
+    }
+
+    /**
+     * @param jobId The unique id of a completed job, provided in a {@link JobStatus} response.
+     * @return A {@link ResponseEntity} of the generated {@link Resource}.
+     * @see GenApi#downloadJob
+     */
+    default ResponseEntity<Resource> downloadJob(String jobId) {
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+
+    }
+
+    /**
+     * @return A {@link ResponseEntity} of the {@link JobMetrics}.
+     * @see GenApi#jobMetrics
+     */
+    default ResponseEntity<JobMetrics> jobMetrics() {
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+
+    }
+
+    /**
+     * @return A {@link ResponseEntity} of the {@link ArtifactMetrics}.
+     * @see GenApi#artifactMetrics
+     */
+    default ResponseEntity<ArtifactMetrics> artifactMetrics() {
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+
+    }
+
+    /**
+     * @return A {@link ResponseEntity} of the {@link CacheMetrics}.
+     * @see GenApi#cacheMetrics
+     */
+    default ResponseEntity<CacheMetrics> cacheMetrics() {
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+
+    }
+
     /**
      * @param language The target generator (language is a misnomer here, but kept for API consistency).
      * @return A {@link ResponseEntity} of {@link CliOption}, grouped by language (generator name).
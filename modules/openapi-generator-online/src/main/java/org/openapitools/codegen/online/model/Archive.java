@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * Generated code, zipped. The archive is the first bytes of a buffer, which is handed over as written instead of
+ * being copied into an array of its exact size.
+ */
+public final class Archive {
+    private final byte[] buffer;
+    private final int length;
+
+    public Archive(byte[] buffer, int length) {
+        if (length < 0 || length > buffer.length) {
+            throw new IllegalArgumentException("Invalid archive length " + length);
+        }
+        this.buffer = buffer;
+        this.length = length;
+    }
+
+    public static Archive of(byte[] bytes) {
+        return new Archive(bytes, bytes.length);
+    }
+
+    /**
+     * @return the size of the archive, in bytes
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return the size of the buffer holding the archive, which is the memory it retains
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * @return a new stream reading the archive
+     */
+    public InputStream openStream() {
+        return new ByteArrayInputStream(buffer, 0, length);
+    }
+}
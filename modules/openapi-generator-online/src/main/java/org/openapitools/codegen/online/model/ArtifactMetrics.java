@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.model;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ArtifactMetrics {
+    @ApiModelProperty(value = "Number of generated codes waiting to be downloaded")
+    private int entries;
+
+    @ApiModelProperty(value = "Size of the generated codes waiting to be downloaded, in bytes")
+    private long bytes;
+
+    @ApiModelProperty(value = "Maximum size of the generated codes waiting to be downloaded, in bytes")
+    private long maxBytes;
+
+    @ApiModelProperty(value = "Time after which generated code which is not downloaded expires, in minutes")
+    private long ttlMinutes;
+
+    @ApiModelProperty(value = "Number of generated codes stored")
+    private long stored;
+
+    @ApiModelProperty(value = "Number of generated codes downloaded")
+    private long downloaded;
+
+    @ApiModelProperty(value = "Number of generated codes which expired before being downloaded")
+    private long expired;
+
+    @ApiModelProperty(value = "Number of generated codes evicted to make room for newer ones")
+    private long evicted;
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.model;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CacheMetrics {
+    @ApiModelProperty(value = "Number of generated codes cached")
+    private int entries;
+
+    @ApiModelProperty(value = "Size of the generated codes cached, in bytes")
+    private long bytes;
+
+    @ApiModelProperty(value = "Maximum size of the generated codes cached, in bytes")
+    private long maxBytes;
+
+    @ApiModelProperty(value = "Number of requests answered from the cache")
+    private long hits;
+
+    @ApiModelProperty(value = "Number of cacheable requests which were generated")
+    private long misses;
+
+    @ApiModelProperty(value = "Ratio of the cacheable requests answered from the cache")
+    private double hitRate;
+
+    @ApiModelProperty(value = "Number of generated codes evicted to make room for newer ones")
+    private long evicted;
+}
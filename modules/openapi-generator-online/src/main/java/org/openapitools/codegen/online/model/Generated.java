@@ -23,6 +23,6 @@ import lombok.Setter;
 @Getter
 @Setter
 public class Generated {
-    private String filename;
+    private Archive archive;
     private String friendlyName;
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.model;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class JobMetrics {
+    @ApiModelProperty(value = "Number of workers generating code")
+    private int workers;
+
+    @ApiModelProperty(value = "Maximum number of jobs waiting for a worker")
+    private int queueCapacity;
+
+    @ApiModelProperty(value = "Number of jobs waiting for a worker")
+    private int queued;
+
+    @ApiModelProperty(value = "Number of jobs being generated")
+    private int running;
+
+    @ApiModelProperty(value = "Number of jobs accepted")
+    private long submitted;
+
+    @ApiModelProperty(value = "Number of jobs refused because the queue was full")
+    private long rejected;
+
+    @ApiModelProperty(value = "Number of jobs completed")
+    private long completed;
+
+    @ApiModelProperty(value = "Number of jobs failed")
+    private long failed;
+
+    @ApiModelProperty(value = "Number of jobs cancelled")
+    private long cancelled;
+
+    @ApiModelProperty(value = "Average time spent in the queue by the started jobs, in milliseconds")
+    private long averageQueueWaitMillis;
+
+    @ApiModelProperty(value = "Longest time spent in the queue by a started job, in milliseconds")
+    private long maxQueueWaitMillis;
+
+    @ApiModelProperty(value = "Average generation time of the completed and failed jobs, in milliseconds")
+    private long averageGenerationMillis;
+
+    @ApiModelProperty(value = "Longest generation time of a completed or failed job, in milliseconds")
+    private long maxGenerationMillis;
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.service;
+
+import org.openapitools.codegen.online.model.Archive;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Buffers the generated code while it is zipped, failing once it grows larger than {@code maxBytes}, so that
+ * code which could not be stored anyway is not buffered entirely. Writing also fails once the generating thread is
+ * interrupted, e.g. as its job is cancelled, which stops the generation at its next file.
+ */
+final class ArchiveBuffer extends OutputStream {
+    private final long maxBytes;
+    private byte[] buffer = new byte[8192];
+    private int count;
+    private boolean exceeded;
+
+    ArchiveBuffer(long maxBytes) {
+        this.maxBytes = Math.min(maxBytes, Integer.MAX_VALUE - 8);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureCapacity(1);
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureCapacity(len);
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    /**
+     * @return whether writing failed because the archive grew larger than the maximum size
+     */
+    boolean isExceeded() {
+        return exceeded;
+    }
+
+    /**
+     * @return the archive written, backed by this buffer
+     */
+    Archive toArchive() {
+        // the buffer doubles as it grows, it is only handed over as is when little of it is unused
+        if (buffer.length - count > count / 8) {
+            buffer = Arrays.copyOf(buffer, count);
+        }
+        return new Archive(buffer, count);
+    }
+
+    private void ensureCapacity(int len) throws IOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("The generation was cancelled");
+        }
+        long required = (long) count + len;
+        if (required > maxBytes) {
+            exceeded = true;
+            throw new IOException("The generated code is larger than " + maxBytes + " bytes");
+        }
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, (int) Math.min(maxBytes, Math.max(required, 2L * buffer.length)));
+        }
+    }
+}
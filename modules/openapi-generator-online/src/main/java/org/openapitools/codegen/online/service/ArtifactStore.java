@@ -0,0 +1,234 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.service;
+
+import lombok.Getter;
+import org.openapitools.codegen.online.model.Archive;
+import org.openapitools.codegen.online.model.ArtifactMetrics;
+import org.openapitools.codegen.online.model.Generated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the generated code until it is downloaded.
+ * <p>
+ * Code which is not downloaded within {@code generator.artifacts.ttl-minutes} (defaults to 30) expires, and the
+ * oldest code is evicted when the code held exceeds {@code generator.artifacts.max-bytes} (defaults to 256 MB).
+ * Expired code is removed every {@code generator.artifacts.cleanup-interval-seconds} (defaults to 60).
+ * <p>
+ * The same archive, e.g. code returned by the {@link ResultCache} for identical requests, is accounted for once, and
+ * not at all while the result cache holds it, since the cache accounts for it then.
+ */
+@Service
+public class ArtifactStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactStore.class);
+
+    @Getter private final long ttlMillis;
+    @Getter private final long maxBytes;
+    private final ScheduledExecutorService cleaner;
+    private final ResultCache resultCache;
+    // in insertion order, so that the oldest artifacts are evicted first
+    private final Map<String, Entry> artifacts = new LinkedHashMap<>();
+    // the number of entries holding each archive, and the archives accounted for in bytes
+    private final Map<Archive, Integer> references = new IdentityHashMap<>();
+    private final Set<Archive> accounted = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private long bytes;
+    private long stored;
+    private long downloaded;
+    private long expired;
+    private long evicted;
+
+    public ArtifactStore(long ttlMinutes, long maxBytes, long cleanupIntervalSeconds) {
+        this(ttlMinutes, maxBytes, cleanupIntervalSeconds, null);
+    }
+
+    @Autowired
+    public ArtifactStore(@Value("${generator.artifacts.ttl-minutes:30}") long ttlMinutes,
+                         @Value("${generator.artifacts.max-bytes:268435456}") long maxBytes,
+                         @Value("${generator.artifacts.cleanup-interval-seconds:60}") long cleanupIntervalSeconds,
+                         ResultCache resultCache) {
+        this.resultCache = resultCache;
+        if (resultCache != null) {
+            resultCache.addReleaseListener(this::uncached);
+        }
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(Math.max(1, ttlMinutes));
+        this.maxBytes = Math.max(1, maxBytes);
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "generator-artifact-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, cleanupIntervalSeconds);
+        this.cleaner.scheduleWithFixedDelay(this::removeExpired, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stores generated code, evicting the oldest code if the store is full.
+     *
+     * @param id        the id the code is downloaded with
+     * @param generated the generated code
+     * @throws ResponseStatusException with status 507 if the code is larger than the store
+     */
+    public synchronized void put(String id, Generated generated) {
+        long size = generated.getArchive().capacity();
+        if (size > maxBytes) {
+            throw new ResponseStatusException(HttpStatus.INSUFFICIENT_STORAGE,
+                    "The generated code is too large to be stored (" + size + " bytes)");
+        }
+        Entry previous = artifacts.put(id, new Entry(generated, System.currentTimeMillis()));
+        if (previous != null) {
+            release(previous);
+        }
+        retain(generated.getArchive());
+        stored++;
+
+        evict(id);
+    }
+
+    /**
+     * Removes generated code from the store, e.g. to download it.
+     *
+     * @param id the id of the code
+     * @return the generated code, unless it does not exist, expired or was evicted
+     */
+    public synchronized Optional<Generated> take(String id) {
+        Entry entry = artifacts.remove(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        release(entry);
+        if (entry.isExpired(System.currentTimeMillis())) {
+            expired++;
+            return Optional.empty();
+        }
+        downloaded++;
+        return Optional.of(entry.generated);
+    }
+
+    /**
+     * Removes the generated code which was not downloaded in time.
+     */
+    public synchronized void removeExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Entry> entries = artifacts.values().iterator();
+        while (entries.hasNext()) {
+            Entry entry = entries.next();
+            // entries are in insertion order, so the following ones are more recent
+            if (!entry.isExpired(now)) {
+                break;
+            }
+            release(entry);
+            expired++;
+            entries.remove();
+        }
+    }
+
+    /**
+     * Accounts for an archive the result cache no longer holds, if it is still stored.
+     */
+    private synchronized void uncached(Archive archive) {
+        if (references.containsKey(archive) && accounted.add(archive)) {
+            bytes += archive.capacity();
+            evict(null);
+        }
+    }
+
+    private void retain(Archive archive) {
+        if (references.merge(archive, 1, Integer::sum) == 1
+                && (resultCache == null || !resultCache.holds(archive))) {
+            accounted.add(archive);
+            bytes += archive.capacity();
+        }
+    }
+
+    private void release(Entry entry) {
+        Archive archive = entry.generated.getArchive();
+        if (references.merge(archive, -1, Integer::sum) == 0) {
+            references.remove(archive);
+            if (accounted.remove(archive)) {
+                bytes -= archive.capacity();
+            }
+        }
+    }
+
+    private void evict(String keptId) {
+        Iterator<Map.Entry<String, Entry>> oldest = artifacts.entrySet().iterator();
+        while (bytes > maxBytes && oldest.hasNext()) {
+            Map.Entry<String, Entry> entry = oldest.next();
+            if (!entry.getKey().equals(keptId)) {
+                LOGGER.info("Evicting generated code {} ({} bytes)", entry.getKey(), entry.getValue().size());
+                release(entry.getValue());
+                evicted++;
+                oldest.remove();
+            }
+        }
+    }
+
+    public synchronized ArtifactMetrics getMetrics() {
+        ArtifactMetrics metrics = new ArtifactMetrics();
+        metrics.setEntries(artifacts.size());
+        metrics.setBytes(bytes);
+        metrics.setMaxBytes(maxBytes);
+        metrics.setTtlMinutes(TimeUnit.MILLISECONDS.toMinutes(ttlMillis));
+        metrics.setStored(stored);
+        metrics.setDownloaded(downloaded);
+        metrics.setExpired(expired);
+        metrics.setEvicted(evicted);
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdownNow();
+    }
+
+    private final class Entry {
+        private final Generated generated;
+        private final long storedAt;
+
+        private Entry(Generated generated, long storedAt) {
+            this.generated = generated;
+            this.storedAt = storedAt;
+        }
+
+        private long size() {
+            return generated.getArchive().capacity();
+        }
+
+        private boolean isExpired(long now) {
+            return now - storedAt >= ttlMillis;
+        }
+    }
+}
@@ -17,18 +17,24 @@
 
 package org.openapitools.codegen.online.service;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.openapitools.codegen.CliOption;
-import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenConfigIndex;
 import org.openapitools.codegen.CodegenConfigLoader;
 import org.openapitools.codegen.CodegenType;
 import org.openapitools.codegen.online.api.GenApiDelegate;
+import org.openapitools.codegen.online.model.Archive;
+import org.openapitools.codegen.online.model.ArtifactMetrics;
+import org.openapitools.codegen.online.model.CacheMetrics;
 import org.openapitools.codegen.online.model.Generated;
 import org.openapitools.codegen.online.model.GeneratorInput;
+import org.openapitools.codegen.online.model.JobMetrics;
+import org.openapitools.codegen.online.model.JobStatus;
 import org.openapitools.codegen.online.model.ResponseCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -39,28 +45,22 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.*;
 
 @Service
 public class GenApiService implements GenApiDelegate {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenApiService.class);
 
     private static List<String> clients = new ArrayList<>();
     private static List<String> servers = new ArrayList<>();
-    private static Map<String, Generated> fileMap = new HashMap<>();
 
     static {
-        List<CodegenConfig> extensions = CodegenConfigLoader.getAll();
-        for (CodegenConfig config : extensions) {
-            if (config.getTag().equals(CodegenType.CLIENT)
-                    || config.getTag().equals(CodegenType.DOCUMENTATION)) {
+        List<CodegenConfigIndex.Entry> extensions = CodegenConfigLoader.getAllEntries();
+        for (CodegenConfigIndex.Entry config : extensions) {
+            if (config.getType() == CodegenType.CLIENT
+                    || config.getType() == CodegenType.DOCUMENTATION) {
                 clients.add(config.getName());
-            } else if (config.getTag().equals(CodegenType.SERVER)) {
+            } else if (config.getType() == CodegenType.SERVER) {
                 servers.add(config.getName());
             }
         }
@@ -72,6 +72,15 @@ public class GenApiService implements GenApiDelegate {
     @Autowired
     private NativeWebRequest request;
 
+    @Autowired
+    private JobQueue jobQueue;
+
+    @Autowired
+    private ArtifactStore artifactStore;
+
+    @Autowired
+    private ResultCache resultCache;
+
     @Override
     public Optional<NativeWebRequest> getRequest() {
         return Optional.ofNullable(request);
@@ -79,39 +88,28 @@ public class GenApiService implements GenApiDelegate {
 
     @Override
     public ResponseEntity<Resource> downloadFile(String fileId) {
-        Generated g = fileMap.get(fileId);
-        System.out.println("looking for fileId " + fileId);
-        System.out.println("got filename " + g.getFilename());
-
-        File file = new File(g.getFilename());
-        Path path = Paths.get(file.getAbsolutePath());
-        ByteArrayResource resource;
-        try {
-            resource = new ByteArrayResource(Files.readAllBytes(path));
-        } catch (FileNotFoundException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found", e);
-        } catch (IOException e) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "I/O error while reading file", e);
-        }
-        try {
-            FileUtils.deleteDirectory(file.getParentFile());
-        } catch (IOException e) {
-            System.out.println("failed to delete file " + file.getAbsolutePath());
-        }
+        LOGGER.debug("Looking for file {}", fileId);
+        Generated g = artifactStore.take(fileId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found"));
+        return download(g.getArchive(), g.getFriendlyName());
+    }
+
+    private ResponseEntity<Resource> download(Archive archive, String friendlyName) {
         return ResponseEntity
                 .ok()
                 .contentType(MediaType.valueOf("application/zip"))
                 .header("Content-Disposition",
-                        "attachment; filename=\"" + g.getFriendlyName() + "-generated.zip\"")
+                        "attachment; filename=\"" + friendlyName + "-generated.zip\"")
                 .header("Accept-Range", "bytes")
-                //.header("Content-Length", bytes.length)
-                .body(resource);
+                .contentLength(archive.length())
+                .body(new InputStreamResource(archive.openStream()));
     }
 
     @Override
     public ResponseEntity<ResponseCode> generateClient(String language, GeneratorInput generatorInput) {
-        String filename = Generator.generateClient(language, generatorInput);
-        return getResponse(filename, language + "-client");
+        Archive archive = resultCache.get(language, Generator.Type.CLIENT, generatorInput,
+                () -> Generator.generateClient(language, generatorInput, artifactStore.getMaxBytes()));
+        return getResponse(archive, language + "-client");
     }
 
     @Override
@@ -151,29 +149,105 @@ public class GenApiService implements GenApiDelegate {
         if (framework == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Framework is required");
         }
-        String filename = Generator.generateServer(framework, generatorInput);
-        System.out.println("generated name: " + filename);
+        Archive archive = resultCache.get(framework, Generator.Type.SERVER, generatorInput,
+                () -> Generator.generateServer(framework, generatorInput, artifactStore.getMaxBytes()));
+
+        return getResponse(archive, framework + "-server");
+    }
+
+    @Override
+    public ResponseEntity<JobStatus> submitClientJob(String language, GeneratorInput generatorInput) {
+        JobQueue.Job job = jobQueue.submit(language, Generator.Type.CLIENT, generatorInput);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(getJobStatus(job));
+    }
+
+    @Override
+    public ResponseEntity<JobStatus> submitServerJob(String framework, GeneratorInput generatorInput) {
+        if (framework == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Framework is required");
+        }
+        JobQueue.Job job = jobQueue.submit(framework, Generator.Type.SERVER, generatorInput);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(getJobStatus(job));
+    }
 
-        return getResponse(filename, framework + "-server");
+    @Override
+    public ResponseEntity<JobStatus> getJob(String jobId) {
+        return jobQueue.get(jobId)
+                .map(job -> ResponseEntity.ok().body(getJobStatus(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    private ResponseEntity<ResponseCode> getResponse(String filename, String friendlyName) {
+    @Override
+    public ResponseEntity<JobStatus> cancelJob(String jobId) {
+        return jobQueue.cancel(jobId)
+                .map(job -> ResponseEntity.ok().body(getJobStatus(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Override
+    public ResponseEntity<Resource> downloadJob(String jobId) {
+        JobQueue.Job job = jobQueue.get(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found"));
+        if (job.getState() != JobStatus.State.COMPLETED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Job is " + job.getState().name().toLowerCase(Locale.ROOT));
+        }
+        jobQueue.remove(jobId);
+        Generated g = artifactStore.take(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.GONE, "The generated code expired"));
+        return download(g.getArchive(), g.getFriendlyName());
+    }
+
+    @Override
+    public ResponseEntity<JobMetrics> jobMetrics() {
+        return ResponseEntity.ok().body(jobQueue.getMetrics());
+    }
+
+    @Override
+    public ResponseEntity<ArtifactMetrics> artifactMetrics() {
+        return ResponseEntity.ok().body(artifactStore.getMetrics());
+    }
+
+    @Override
+    public ResponseEntity<CacheMetrics> cacheMetrics() {
+        return ResponseEntity.ok().body(resultCache.getMetrics());
+    }
+
+    private JobStatus getJobStatus(JobQueue.Job job) {
+        JobStatus status = new JobStatus();
+        JobStatus.State state = job.getState();
+        status.setId(job.getId());
+        status.setGenerator(job.getGenerator());
+        status.setState(state);
+        status.setError(job.getError());
+        status.setQueueWaitMillis(job.getQueueWaitMillis());
+        status.setGenerationMillis(job.getGenerationMillis());
+        status.setLink(getUriBuilder().path("/api/gen/jobs/").path(job.getId()).toUriString());
+        if (state == JobStatus.State.COMPLETED) {
+            status.setDownloadLink(getUriBuilder().path("/api/gen/jobs/").path(job.getId()).path("/download").toUriString());
+        }
+        return status;
+    }
+
+    private UriComponentsBuilder getUriBuilder() {
         String host = System.getenv("GENERATOR_HOST");
 
-        UriComponentsBuilder uriBuilder;
         if (!StringUtils.isBlank(host)) {
-            uriBuilder = UriComponentsBuilder.fromUriString(host);
+            return UriComponentsBuilder.fromUriString(host);
         } else {
-            uriBuilder = ServletUriComponentsBuilder.fromCurrentContextPath();
+            return ServletUriComponentsBuilder.fromCurrentContextPath();
         }
+    }
+
+    private ResponseEntity<ResponseCode> getResponse(Archive archive, String friendlyName) {
+        UriComponentsBuilder uriBuilder = getUriBuilder();
 
-        if (filename != null) {
+        if (archive != null) {
             String code = UUID.randomUUID().toString();
             Generated g = new Generated();
-            g.setFilename(filename);
+            g.setArchive(archive);
             g.setFriendlyName(friendlyName);
-            fileMap.put(code, g);
-            System.out.println(code + ", " + filename);
+            artifactStore.put(code, g);
+            LOGGER.debug("Stored {} as {}, {} bytes", friendlyName, code, archive.length());
             String link = uriBuilder.path("/api/gen/download/").path(code).toUriString();
             return ResponseEntity.ok().body(new ResponseCode(code, link));
         } else {
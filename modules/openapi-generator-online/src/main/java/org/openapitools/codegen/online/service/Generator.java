@@ -23,6 +23,7 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.parser.core.models.AuthorizationValue;
 import io.swagger.v3.parser.core.models.ParseOptions;
 import org.openapitools.codegen.*;
+import org.openapitools.codegen.online.model.Archive;
 import org.openapitools.codegen.online.model.GeneratorInput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,8 +31,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.File;
-import java.nio.file.Files;
 import java.util.*;
+import java.util.zip.ZipOutputStream;
 
 public class Generator {
     private static Logger LOGGER = LoggerFactory.getLogger(Generator.class);
@@ -65,15 +66,23 @@ public class Generator {
         }
     }
 
-    public static String generateClient(String language, GeneratorInput opts) {
-        return generate(language, opts, Type.CLIENT);
+    /**
+     * @param maxBytes the maximum size of the zipped code
+     * @return the generated code, zipped
+     */
+    public static Archive generateClient(String language, GeneratorInput opts, long maxBytes) {
+        return generate(language, opts, Type.CLIENT, maxBytes);
     }
 
-    public static String generateServer(String language, GeneratorInput opts) {
-        return generate(language, opts, Type.SERVER);
+    /**
+     * @param maxBytes the maximum size of the zipped code
+     * @return the generated code, zipped
+     */
+    public static Archive generateServer(String language, GeneratorInput opts, long maxBytes) {
+        return generate(language, opts, Type.SERVER, maxBytes);
     }
 
-    private static String generate(String language, GeneratorInput opts, Type type) {
+    private static Archive generate(String language, GeneratorInput opts, Type type, long maxBytes) {
         LOGGER.debug(String.format(Locale.ROOT, "generate %s for %s", type.getTypeName(), language));
         if (opts == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No options were supplied");
@@ -116,8 +125,9 @@ public class Generator {
         String destPath = language + "-" + type.getTypeName();
 
         ClientOptInput clientOptInput = new ClientOptInput();
-        String outputFolder = getTmpFolder().getAbsolutePath() + File.separator + destPath;
-        String outputFilename = outputFolder + "-bundle.zip";
+        // files are zipped in memory, so the output folder is never created
+        String outputFolder = System.getProperty("java.io.tmpdir") + File.separator + "codegen-" + UUID.randomUUID()
+                + File.separator + destPath;
 
         clientOptInput.openAPI(openapi);
 
@@ -145,46 +155,34 @@ public class Generator {
 
         codegenConfig.setOutputDir(outputFolder);
 
+        // a cancelled job stops between parsing and generating, or at the next generated file
+        if (Thread.currentThread().isInterrupted()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "The generation was cancelled");
+        }
+
         clientOptInput.config(codegenConfig);
 
-        try {
-            List<File> files = new DefaultGenerator().opts(clientOptInput).generate();
-            if (files.size() > 0) {
-                List<File> filesToAdd = new ArrayList<>();
-                LOGGER.debug("adding to {}", outputFolder);
-                filesToAdd.add(new File(outputFolder));
-                ZipUtil zip = new ZipUtil();
-                zip.compressFiles(filesToAdd, outputFilename);
-            } else {
+        ArchiveBuffer archive = new ArchiveBuffer(maxBytes);
+        try (ZipOutputStream zip = new ZipOutputStream(archive)) {
+            DefaultGenerator generator = new DefaultGenerator();
+            generator.setArchive(zip, destPath);
+            List<File> files = generator.opts(clientOptInput).generate();
+            if (files.isEmpty()) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                         "A target generation was attempted, but no files were created!");
             }
-            for (File file : files) {
-                try {
-                    file.delete();
-                } catch (Exception e) {
-                    LOGGER.error("unable to delete file " + file.getAbsolutePath(), e);
-                }
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "The generation was cancelled", e);
             }
-            try {
-                new File(outputFolder).delete();
-            } catch (Exception e) {
-                LOGGER.error("unable to delete output folder " + outputFolder, e);
+            if (archive.isExceeded()) {
+                throw new ResponseStatusException(HttpStatus.INSUFFICIENT_STORAGE,
+                        "The generated code is too large to be stored (more than " + maxBytes + " bytes)");
             }
-        } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unable to build target: " + e.getMessage(), e);
         }
-        return outputFilename;
-    }
-
-    private static File getTmpFolder() {
-        try {
-            File outputFolder = Files.createTempDirectory("codegen-tmp").toFile();
-            outputFolder.deleteOnExit();
-            return outputFolder;
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException("Cannot access tmp folder");
-        }
+        return archive.toArchive();
     }
 }
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.service;
+
+import lombok.Getter;
+import org.openapitools.codegen.online.model.Archive;
+import org.openapitools.codegen.online.model.Generated;
+import org.openapitools.codegen.online.model.GeneratorInput;
+import org.openapitools.codegen.online.model.JobMetrics;
+import org.openapitools.codegen.online.model.JobStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs generation jobs on a bounded pool of workers, so that large specs do not hold the servlet threads.
+ * <p>
+ * The number of workers and of jobs waiting for a worker are set by the {@code generator.jobs.workers} (defaults to
+ * the number of processors) and {@code generator.jobs.queue-capacity} (defaults to 100) properties. Jobs submitted
+ * while the queue is full are refused.
+ */
+@Service
+public class JobQueue {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobQueue.class);
+
+    @Getter private final int workers;
+    @Getter private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+    private final ArtifactStore artifactStore;
+    private final ResultCache resultCache;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong queueWaitNanos = new AtomicLong();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+    private final AtomicLong generated = new AtomicLong();
+    private final AtomicLong generationNanos = new AtomicLong();
+    private final AtomicLong maxGenerationNanos = new AtomicLong();
+
+    public JobQueue(ArtifactStore artifactStore,
+                    ResultCache resultCache,
+                    @Value("${generator.jobs.workers:0}") int workers,
+                    @Value("${generator.jobs.queue-capacity:100}") int queueCapacity) {
+        this.artifactStore = artifactStore;
+        this.resultCache = resultCache;
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = Math.max(1, queueCapacity);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.workers, this.workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "generator-job-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queues the generation of a client or server.
+     *
+     * @param generator the generator name
+     * @param type      whether a client or a server is generated
+     * @param input     the generation settings
+     * @return the queued job
+     * @throws ResponseStatusException with status 503 if the queue is full
+     */
+    public Job submit(String generator, Generator.Type type, GeneratorInput input) {
+        if (input == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No options were supplied");
+        }
+        removeFinished();
+        Job job = new Job(UUID.randomUUID().toString(), generator, generator + "-" + type.getTypeName());
+        // the task is set before the job can be seen, so that it can be cancelled as soon as it is listed
+        FutureTask<Void> task = new FutureTask<>(() -> run(job, type, input), null);
+        job.future = task;
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            rejected.incrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many generation jobs are queued, please retry later", e);
+        }
+        submitted.incrementAndGet();
+        return job;
+    }
+
+    /**
+     * @param id the job id
+     * @return the job, if it exists
+     */
+    public Optional<Job> get(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Cancels a job, which is removed from the queue or interrupted if it is running. A running job stops once its
+     * spec is parsed, or at the next file it generates, and its result is dropped. Completed jobs are unaffected.
+     *
+     * @param id the job id
+     * @return the job, if it exists
+     */
+    public Optional<Job> cancel(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        synchronized (job) {
+            if (job.state == JobStatus.State.QUEUED || job.state == JobStatus.State.RUNNING) {
+                if (job.state == JobStatus.State.QUEUED) {
+                    // a running job finishes once its worker stops, a queued one never runs
+                    job.finishedAt = System.nanoTime();
+                }
+                job.state = JobStatus.State.CANCELLED;
+                cancelled.incrementAndGet();
+                job.future.cancel(true);
+            }
+        }
+        // free the place of the job in the queue
+        executor.purge();
+        return Optional.of(job);
+    }
+
+    /**
+     * Forgets a job, e.g. once its result is downloaded.
+     *
+     * @param id the job id
+     */
+    public void remove(String id) {
+        jobs.remove(id);
+    }
+
+    /**
+     * Forgets the jobs which finished before their generated code would expire, so that jobs which are never
+     * downloaded are not kept.
+     */
+    private void removeFinished() {
+        long expiredBefore = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(artifactStore.getTtlMillis());
+        jobs.values().removeIf(job -> job.finishedAt != 0 && job.finishedAt - expiredBefore < 0);
+    }
+
+    public JobMetrics getMetrics() {
+        JobMetrics metrics = new JobMetrics();
+        metrics.setWorkers(workers);
+        metrics.setQueueCapacity(queueCapacity);
+        metrics.setQueued(executor.getQueue().size());
+        metrics.setRunning(running.get());
+        metrics.setSubmitted(submitted.get());
+        metrics.setRejected(rejected.get());
+        metrics.setCompleted(completed.get());
+        metrics.setFailed(failed.get());
+        metrics.setCancelled(cancelled.get());
+        long startedJobs = started.get();
+        long generatedJobs = generated.get();
+        metrics.setAverageQueueWaitMillis(startedJobs == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(queueWaitNanos.get() / startedJobs));
+        metrics.setMaxQueueWaitMillis(TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos.get()));
+        metrics.setAverageGenerationMillis(generatedJobs == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(generationNanos.get() / generatedJobs));
+        metrics.setMaxGenerationMillis(TimeUnit.NANOSECONDS.toMillis(maxGenerationNanos.get()));
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job, Generator.Type type, GeneratorInput input) {
+        long start = System.nanoTime();
+        synchronized (job) {
+            if (job.state != JobStatus.State.QUEUED) {
+                return;
+            }
+            job.state = JobStatus.State.RUNNING;
+            job.startedAt = start;
+        }
+        started.incrementAndGet();
+        queueWaitNanos.addAndGet(start - job.submittedAt);
+        maxQueueWaitNanos.accumulateAndGet(start - job.submittedAt, Math::max);
+        running.incrementAndGet();
+
+        Archive archive = null;
+        String error = null;
+        try {
+            archive = resultCache.get(job.getGenerator(), type, input, () -> type == Generator.Type.CLIENT
+                    ? Generator.generateClient(job.getGenerator(), input, artifactStore.getMaxBytes())
+                    : Generator.generateServer(job.getGenerator(), input, artifactStore.getMaxBytes()));
+        } catch (ResponseStatusException e) {
+            error = e.getReason();
+        } catch (RuntimeException e) {
+            LOGGER.error("Generation job {} failed", job.getId(), e);
+            error = e.getMessage();
+        } finally {
+            running.decrementAndGet();
+        }
+
+        long end = System.nanoTime();
+        generated.incrementAndGet();
+        generationNanos.addAndGet(end - start);
+        maxGenerationNanos.accumulateAndGet(end - start, Math::max);
+
+        synchronized (job) {
+            job.finishedAt = end;
+            // the result of a cancelled job is dropped
+            if (job.state == JobStatus.State.CANCELLED) {
+                return;
+            }
+            if (error == null && archive != null) {
+                Generated result = new Generated();
+                result.setArchive(archive);
+                result.setFriendlyName(job.getFriendlyName());
+                try {
+                    artifactStore.put(job.getId(), result);
+                    job.state = JobStatus.State.COMPLETED;
+                    completed.incrementAndGet();
+                    return;
+                } catch (ResponseStatusException e) {
+                    error = e.getReason();
+                }
+            }
+            job.state = JobStatus.State.FAILED;
+            job.error = error;
+            failed.incrementAndGet();
+        }
+    }
+
+    /**
+     * A generation job. Its state is updated by the worker running it.
+     */
+    public static final class Job {
+        @Getter private final String id;
+        @Getter private final String generator;
+        @Getter private final String friendlyName;
+        private final long submittedAt = System.nanoTime();
+        private volatile JobStatus.State state = JobStatus.State.QUEUED;
+        private volatile long startedAt;
+        private volatile long finishedAt;
+        private volatile String error;
+        private volatile Future<?> future;
+
+        private Job(String id, String generator, String friendlyName) {
+            this.id = id;
+            this.generator = generator;
+            this.friendlyName = friendlyName;
+        }
+
+        public JobStatus.State getState() {
+            return state;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        /**
+         * @return the time spent in the queue, or null if the job did not start
+         */
+        public Long getQueueWaitMillis() {
+            return startedAt == 0 ? null : TimeUnit.NANOSECONDS.toMillis(startedAt - submittedAt);
+        }
+
+        /**
+         * @return the generation time, or null if the generation did not complete
+         */
+        public Long getGenerationMillis() {
+            return finishedAt == 0 || startedAt == 0 ? null : TimeUnit.NANOSECONDS.toMillis(finishedAt - startedAt);
+        }
+    }
+}
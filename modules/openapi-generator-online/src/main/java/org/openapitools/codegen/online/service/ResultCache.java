@@ -0,0 +1,250 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.online.service;
+
+import lombok.Getter;
+import org.openapitools.codegen.online.model.Archive;
+import org.openapitools.codegen.online.model.CacheMetrics;
+import org.openapitools.codegen.online.model.GeneratorInput;
+import org.openapitools.codegen.utils.ImplementationVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Caches the generated code by the content of the request, so that generating the same spec with the same
+ * generator and options again returns the code previously generated.
+ * <p>
+ * Requests are keyed by a SHA-256 hash of the generator, the spec, the sorted options, the normalizer rules and
+ * the version of OpenAPI Generator. Only requests with an inline spec and without authorization are cached, as the
+ * content of a spec URL, or of the references of a spec, can change between requests. The least recently used code
+ * is evicted once the cached code exceeds {@code generator.cache.max-bytes} (defaults to 128 MB, 0 disables the cache).
+ * Concurrent identical requests are generated once, the other requests waiting for that code.
+ */
+@Service
+public class ResultCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultCache.class);
+
+    @Getter private final long maxBytes;
+    private final Map<String, Archive> results = new LinkedHashMap<>(16, 0.75f, true);
+    // the code being generated, so that identical requests received meanwhile wait for it
+    private final Map<String, CompletableFuture<Archive>> pending = new HashMap<>();
+    private final Set<Archive> cached = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<Consumer<Archive>> releaseListeners = new CopyOnWriteArrayList<>();
+
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evicted;
+
+    public ResultCache(@Value("${generator.cache.max-bytes:134217728}") long maxBytes) {
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+    /**
+     * Returns the code generated for the same request, or generates and caches it.
+     *
+     * @param generator the generator name
+     * @param type      whether a client or a server is generated
+     * @param input     the generation settings
+     * @param generate  generates the code, zipped
+     * @return the generated code, zipped
+     */
+    public Archive get(String generator, Generator.Type type, GeneratorInput input, Supplier<Archive> generate) {
+        String key = key(generator, type, input);
+        if (key == null) {
+            return generate.get();
+        }
+        CompletableFuture<Archive> generation;
+        synchronized (this) {
+            Archive result = results.get(key);
+            if (result != null) {
+                hits++;
+                LOGGER.debug("Returning cached {} {} ({})", generator, type.getTypeName(), key);
+                return result;
+            }
+            generation = pending.get(key);
+            if (generation != null) {
+                hits++;
+                LOGGER.debug("Waiting for {} {} being generated ({})", generator, type.getTypeName(), key);
+            } else {
+                misses++;
+                pending.put(key, new CompletableFuture<>());
+            }
+        }
+        if (generation != null) {
+            return await(generation);
+        }
+
+        Archive result;
+        try {
+            result = generate.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                pending.remove(key).completeExceptionally(e);
+            }
+            throw e;
+        }
+        put(key, result);
+        return result;
+    }
+
+    /**
+     * Registers a listener called with the archives which are no longer cached, e.g. so that another holder of an
+     * archive accounts for its memory from then on.
+     *
+     * @param listener called outside the lock of the cache
+     */
+    public void addReleaseListener(Consumer<Archive> listener) {
+        releaseListeners.add(listener);
+    }
+
+    /**
+     * @param archive an archive
+     * @return whether this very archive is cached, and accounted for by the cache
+     */
+    public synchronized boolean holds(Archive archive) {
+        return cached.contains(archive);
+    }
+
+    public synchronized CacheMetrics getMetrics() {
+        CacheMetrics metrics = new CacheMetrics();
+        metrics.setEntries(results.size());
+        metrics.setBytes(bytes);
+        metrics.setMaxBytes(maxBytes);
+        metrics.setHits(hits);
+        metrics.setMisses(misses);
+        metrics.setHitRate(hits + misses == 0 ? 0 : (double) hits / (hits + misses));
+        metrics.setEvicted(evicted);
+        return metrics;
+    }
+
+    private void put(String key, Archive result) {
+        List<Archive> released = new ArrayList<>();
+        synchronized (this) {
+            pending.remove(key).complete(result);
+            if (result == null || result.capacity() > maxBytes) {
+                return;
+            }
+            Archive previous = results.put(key, result);
+            cached.add(result);
+            if (previous != null) {
+                bytes -= previous.capacity();
+                release(previous, released);
+            }
+            bytes += result.capacity();
+
+            // in access order, so that the least recently used results are evicted first
+            Iterator<Map.Entry<String, Archive>> eldest = results.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Archive> entry = eldest.next();
+                bytes -= entry.getValue().capacity();
+                evicted++;
+                eldest.remove();
+                release(entry.getValue(), released);
+            }
+        }
+        for (Archive archive : released) {
+            for (Consumer<Archive> listener : releaseListeners) {
+                listener.accept(archive);
+            }
+        }
+    }
+
+    private void release(Archive archive, List<Archive> released) {
+        if (archive != null && cached.remove(archive)) {
+            released.add(archive);
+        }
+    }
+
+    private static Archive await(CompletableFuture<Archive> generation) {
+        try {
+            return generation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the code being generated", e);
+        } catch (ExecutionException e) {
+            // the same request fails the same way
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @return the key of the request, or null if it is not cached
+     */
+    private String key(String generator, Generator.Type type, GeneratorInput input) {
+        if (maxBytes == 0 || input == null || input.getAuthorizationValue() != null
+                || input.getSpec() == null || "{}".equals(input.getSpec().toString())) {
+            return null;
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        update(digest, ImplementationVersion.read());
+        update(digest, generator);
+        update(digest, type.getTypeName());
+        update(digest, input.getSpec().toString());
+        // prefix the options and the rules with their count, so that they cannot be confused
+        update(digest, String.valueOf(input.getOptions() == null ? 0 : input.getOptions().size()));
+        if (input.getOptions() != null) {
+            for (Map.Entry<String, String> option : new TreeMap<>(input.getOptions()).entrySet()) {
+                update(digest, option.getKey());
+                update(digest, option.getValue());
+            }
+        }
+        update(digest, String.valueOf(input.getOpenapiNormalizer() == null ? 0 : input.getOpenapiNormalizer().size()));
+        if (input.getOpenapiNormalizer() != null) {
+            // rules are applied in order, so that the last one wins for a given rule name
+            for (String rule : input.getOpenapiNormalizer()) {
+                update(digest, rule);
+            }
+        }
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(String.format(Locale.ROOT, "%02x", b));
+        }
+        return key.toString();
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        // prefix values with their length, so that consecutive values cannot be confused
+        byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+}
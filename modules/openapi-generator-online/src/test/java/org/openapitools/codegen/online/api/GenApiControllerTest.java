@@ -3,6 +3,7 @@ package org.openapitools.codegen.online.api;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.openapitools.codegen.online.model.JobStatus;
 import org.openapitools.codegen.online.model.ResponseCode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -12,9 +13,11 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.util.Assert;
 
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.text.MatchesPattern.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -102,6 +105,15 @@ public class GenApiControllerTest {
                 .andExpect(content().contentType("application/zip"))
                 .andExpect(status().isOk())
                 .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, not(0)));
+
+        // the code can be downloaded just once
+        mockMvc.perform(get("http://test.com:1234/api/gen/download/" + code))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("http://test.com:1234/api/gen/artifacts/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.downloaded").value(greaterThan(0)))
+                .andExpect(jsonPath("$.maxBytes").value(greaterThan(0)));
     }
 
     @Test
@@ -162,4 +174,57 @@ public class GenApiControllerTest {
         Assert.isTrue(lengthOfNormalized <= lengthOfNotNormalized, "Using the normalizer should result in a smaller or equal file size");
 
     }
+
+    @Test
+    public void generateClientJob() throws Exception {
+        String result = mockMvc.perform(post("http://test.com:1234/api/gen/jobs/clients/java")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"openAPIUrl\": \"" + OPENAPI_URL + "\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(matchesPattern(UUID_REGEX)))
+                .andExpect(jsonPath("$.link").value(matchesPattern("http\\:\\/\\/test.com\\:1234\\/api\\/gen\\/jobs\\/" + UUID_REGEX)))
+                .andReturn().getResponse().getContentAsString();
+
+        String id = new ObjectMapper().readValue(result, JobStatus.class).getId();
+
+        JobStatus job;
+        long deadline = System.currentTimeMillis() + 120_000;
+        do {
+            Thread.sleep(100);
+            job = new ObjectMapper().readValue(mockMvc.perform(get("http://test.com:1234/api/gen/jobs/" + id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(), JobStatus.class);
+        } while ((job.getState() == JobStatus.State.QUEUED || job.getState() == JobStatus.State.RUNNING)
+                && System.currentTimeMillis() < deadline);
+
+        Assert.isTrue(job.getState() == JobStatus.State.COMPLETED, "The job should be completed: " + job.getError());
+        Assert.notNull(job.getQueueWaitMillis(), "The queue wait time should be reported");
+        Assert.notNull(job.getGenerationMillis(), "The generation time should be reported");
+        Assert.isTrue(job.getDownloadLink().endsWith("/api/gen/jobs/" + id + "/download"), "The download link should be provided");
+
+        mockMvc.perform(get("http://test.com:1234/api/gen/jobs/" + id + "/download"))
+                .andExpect(content().contentType("application/zip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, not(0)));
+
+        // the code can be downloaded just once
+        mockMvc.perform(get("http://test.com:1234/api/gen/jobs/" + id + "/download"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("http://test.com:1234/api/gen/jobs/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.workers").value(greaterThan(0)))
+                .andExpect(jsonPath("$.completed").value(greaterThan(0)));
+    }
+
+    @Test
+    public void unknownJob() throws Exception {
+        mockMvc.perform(get("http://test.com:1234/api/gen/jobs/unknown"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("http://test.com:1234/api/gen/jobs/unknown"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("http://test.com:1234/api/gen/jobs/unknown/download"))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,67 @@
+package org.openapitools.codegen.online.service;
+
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.online.model.Archive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArchiveBufferTest {
+
+    @Test
+    public void archiveIsReadFromTheBuffer() throws IOException {
+        ArchiveBuffer buffer = new ArchiveBuffer(1024 * 1024);
+        try (ZipOutputStream zip = new ZipOutputStream(buffer)) {
+            zip.putNextEntry(new ZipEntry("java-client/README.md"));
+            zip.write(new byte[20000]);
+            zip.closeEntry();
+        }
+
+        Archive archive = buffer.toArchive();
+        try (InputStream in = archive.openStream(); ZipInputStream zip = new ZipInputStream(in)) {
+            assertEquals("java-client/README.md", zip.getNextEntry().getName());
+        }
+        assertFalse(buffer.isExceeded());
+    }
+
+    @Test
+    public void mostlyUnusedBuffersAreTrimmed() throws IOException {
+        ArchiveBuffer grown = new ArchiveBuffer(1024 * 1024);
+        grown.write(new byte[9000]);
+        Archive trimmed = grown.toArchive();
+        assertEquals(9000, trimmed.length());
+        assertEquals(9000, trimmed.capacity());
+
+        ArchiveBuffer full = new ArchiveBuffer(1024 * 1024);
+        full.write(new byte[8000]);
+        Archive handedOver = full.toArchive();
+        assertEquals(8000, handedOver.length());
+        assertEquals(8192, handedOver.capacity());
+    }
+
+    @Test
+    public void writingPastTheMaximumSizeFails() {
+        ArchiveBuffer buffer = new ArchiveBuffer(10);
+        assertThrows(IOException.class, () -> buffer.write(new byte[11]));
+        assertTrue(buffer.isExceeded());
+        assertEquals(0, buffer.toArchive().length());
+    }
+
+    @Test
+    public void writingFailsOnceTheThreadIsInterrupted() {
+        ArchiveBuffer buffer = new ArchiveBuffer(1024);
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(InterruptedIOException.class, () -> buffer.write(1));
+        } finally {
+            Thread.interrupted();
+        }
+        assertFalse(buffer.isExceeded());
+    }
+}
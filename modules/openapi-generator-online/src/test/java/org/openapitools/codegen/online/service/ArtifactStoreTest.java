@@ -0,0 +1,86 @@
+package org.openapitools.codegen.online.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.online.model.Archive;
+import org.openapitools.codegen.online.model.ArtifactMetrics;
+import org.openapitools.codegen.online.model.Generated;
+import org.openapitools.codegen.online.model.GeneratorInput;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtifactStoreTest {
+
+    @Test
+    public void oldestArtifactsAreEvicted() {
+        ArtifactStore store = new ArtifactStore(30, 10, 60);
+        try {
+            store.put("a", generated(4));
+            store.put("b", generated(4));
+            store.put("c", generated(4));
+
+            assertFalse(store.take("a").isPresent());
+            assertEquals(4, store.take("b").get().getArchive().length());
+            assertEquals(4, store.take("c").get().getArchive().length());
+            // the code can be taken just once
+            assertFalse(store.take("c").isPresent());
+
+            ArtifactMetrics metrics = store.getMetrics();
+            assertEquals(0, metrics.getEntries());
+            assertEquals(0, metrics.getBytes());
+            assertEquals(3, metrics.getStored());
+            assertEquals(2, metrics.getDownloaded());
+            assertEquals(1, metrics.getEvicted());
+        } finally {
+            store.shutdown();
+        }
+    }
+
+    @Test
+    public void artifactLargerThanTheStoreIsRefused() {
+        ArtifactStore store = new ArtifactStore(30, 10, 60);
+        try {
+            assertThrows(ResponseStatusException.class, () -> store.put("a", generated(11)));
+            assertEquals(0, store.getMetrics().getEntries());
+        } finally {
+            store.shutdown();
+        }
+    }
+
+    @Test
+    public void archivesHeldByTheResultCacheAreAccountedOnce() throws Exception {
+        ResultCache cache = new ResultCache(8);
+        ArtifactStore store = new ArtifactStore(30, 10, 60, cache);
+        try {
+            GeneratorInput input = new GeneratorInput();
+            input.setSpec(new ObjectMapper().readTree("{\"openapi\":\"3.0.0\"}"));
+            Archive archive = cache.get("a", Generator.Type.CLIENT, input, () -> Archive.of(new byte[4]));
+            store.put("a1", generated(archive));
+            store.put("a2", generated(archive));
+            assertEquals(0, store.getMetrics().getBytes());
+
+            // evicts the archive from the cache, so that the store accounts for it
+            cache.get("b", Generator.Type.CLIENT, input, () -> Archive.of(new byte[8]));
+            assertEquals(4, store.getMetrics().getBytes());
+
+            assertTrue(store.take("a1").isPresent());
+            assertEquals(4, store.getMetrics().getBytes());
+            assertTrue(store.take("a2").isPresent());
+            assertEquals(0, store.getMetrics().getBytes());
+        } finally {
+            store.shutdown();
+        }
+    }
+
+    private static Generated generated(int size) {
+        return generated(Archive.of(new byte[size]));
+    }
+
+    private static Generated generated(Archive archive) {
+        Generated generated = new Generated();
+        generated.setArchive(archive);
+        generated.setFriendlyName("java-client");
+        return generated;
+    }
+}
@@ -0,0 +1,112 @@
+package org.openapitools.codegen.online.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.openapitools.codegen.online.model.Archive;
+import org.openapitools.codegen.online.model.CacheMetrics;
+import org.openapitools.codegen.online.model.GeneratorInput;
+
+import java.util.Collections;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultCacheTest {
+
+    @Test
+    public void sameRequestIsGeneratedOnce() throws Exception {
+        ResultCache cache = new ResultCache(1024);
+        AtomicInteger generations = new AtomicInteger();
+
+        Archive first = cache.get("java", Generator.Type.CLIENT, input("{\"openapi\":\"3.0.0\"}", "x"),
+                () -> Archive.of(new byte[generations.incrementAndGet()]));
+        Archive second = cache.get("java", Generator.Type.CLIENT, input("{\"openapi\":\"3.0.0\"}", "x"),
+                () -> Archive.of(new byte[generations.incrementAndGet()]));
+        assertSame(first, second);
+
+        // any difference in the request is generated again
+        cache.get("java", Generator.Type.CLIENT, input("{\"openapi\":\"3.0.0\"}", "y"), () -> Archive.of(new byte[generations.incrementAndGet()]));
+        cache.get("java", Generator.Type.SERVER, input("{\"openapi\":\"3.0.0\"}", "x"), () -> Archive.of(new byte[generations.incrementAndGet()]));
+        cache.get("kotlin", Generator.Type.CLIENT, input("{\"openapi\":\"3.0.0\"}", "x"), () -> Archive.of(new byte[generations.incrementAndGet()]));
+        cache.get("java", Generator.Type.CLIENT, input("{\"openapi\":\"3.0.1\"}", "x"), () -> Archive.of(new byte[generations.incrementAndGet()]));
+        assertEquals(5, generations.get());
+
+        CacheMetrics metrics = cache.getMetrics();
+        assertEquals(1, metrics.getHits());
+        assertEquals(5, metrics.getMisses());
+        assertEquals(5, metrics.getEntries());
+    }
+
+    @Test
+    public void leastRecentlyUsedResultsAreEvicted() throws Exception {
+        ResultCache cache = new ResultCache(10);
+        cache.get("a", Generator.Type.CLIENT, input("{\"openapi\":\"3.0.0\"}", "x"), () -> Archive.of(new byte[4]));
+        cache.get("b", Generator.Type.CLIENT, input("{\"openapi\":\"3.0.0\"}", "x"), () -> Archive.of(new byte[4]));
+        // uses "a", so that "b" is evicted
+        cache.get("a", Generator.Type.CLIENT, input("{\"openapi\":\"3.0.0\"}", "x"), () -> fail("should be cached"));
+        cache.get("c", Generator.Type.CLIENT, input("{\"openapi\":\"3.0.0\"}", "x"), () -> Archive.of(new byte[4]));
+
+        cache.get("a", Generator.Type.CLIENT, input("{\"openapi\":\"3.0.0\"}", "x"), () -> fail("should be cached"));
+        AtomicInteger generations = new AtomicInteger();
+        cache.get("b", Generator.Type.CLIENT, input("{\"openapi\":\"3.0.0\"}", "x"), () -> Archive.of(new byte[generations.incrementAndGet()]));
+        assertEquals(1, generations.get());
+        assertTrue(cache.getMetrics().getEvicted() > 0);
+        assertTrue(cache.getMetrics().getBytes() <= 10);
+    }
+
+    @Test
+    public void concurrentIdenticalRequestsAreGeneratedOnce() throws Exception {
+        ResultCache cache = new ResultCache(1024);
+        AtomicInteger generations = new AtomicInteger();
+        CountDownLatch generating = new CountDownLatch(1);
+        CountDownLatch generated = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Archive> first = executor.submit(() -> cache.get("java", Generator.Type.CLIENT, input("{\"openapi\":\"3.0.0\"}", "x"), () -> {
+                generations.incrementAndGet();
+                generating.countDown();
+                try {
+                    assertTrue(generated.await(30, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return Archive.of(new byte[1]);
+            }));
+            assertTrue(generating.await(30, TimeUnit.SECONDS));
+            Future<Archive> second = executor.submit(() -> cache.get("java", Generator.Type.CLIENT, input("{\"openapi\":\"3.0.0\"}", "x"),
+                    () -> Archive.of(new byte[generations.incrementAndGet()])));
+            // the second request waits for the code being generated
+            while (cache.getMetrics().getHits() == 0) {
+                Thread.sleep(10);
+            }
+            generated.countDown();
+
+            assertSame(first.get(30, TimeUnit.SECONDS), second.get(30, TimeUnit.SECONDS));
+            assertEquals(1, generations.get());
+            assertEquals(1, cache.getMetrics().getMisses());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void specUrlIsNotCached() {
+        ResultCache cache = new ResultCache(1024);
+        GeneratorInput input = new GeneratorInput();
+        input.setOpenAPIUrl("https://example.com/openapi.yaml");
+        AtomicInteger generations = new AtomicInteger();
+
+        cache.get("java", Generator.Type.CLIENT, input, () -> Archive.of(new byte[generations.incrementAndGet()]));
+        cache.get("java", Generator.Type.CLIENT, input, () -> Archive.of(new byte[generations.incrementAndGet()]));
+        assertEquals(2, generations.get());
+        assertEquals(0, cache.getMetrics().getEntries());
+    }
+
+    private static GeneratorInput input(String spec, String packageName) throws Exception {
+        GeneratorInput input = new GeneratorInput();
+        input.setSpec(new ObjectMapper().readTree(spec));
+        input.setOptions(Collections.singletonMap("packageName", packageName));
+        return input;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import org.openapitools.codegen.api.TemplatePathLocator;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
+import org.openapitools.codegen.templating.TemplateManagerOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Manages templates like {@link TemplateManager}, but writes the generated files as entries of a zip archive
+ * instead of writing them to the output directory, e.g. to stream the generated code without touching the disk.
+ * <p>
+ * Entries are named after the path of the files relative to the output directory, prefixed with an optional root
+ * folder. The archive is not closed, which is left to the caller once the generation completes.
+ */
+public class ArchiveTemplateManager extends TemplateManager {
+    private final Logger LOGGER = LoggerFactory.getLogger(ArchiveTemplateManager.class);
+
+    private final Path outputDir;
+    private final String rootFolder;
+    private final ZipOutputStream archive;
+    private final Set<String> entries = new HashSet<>();
+
+    /**
+     * Constructs a new instance of a {@link ArchiveTemplateManager}
+     *
+     * @param options         The {@link TemplateManagerOptions} for reading and writing templates
+     * @param engineAdapter   The adaptor to underlying templating engine
+     * @param templateLoaders Loaders which define where we look for templates
+     * @param outputDir       The output directory the entries are relative to
+     * @param rootFolder      The folder the entries are put in, or null to put them at the root of the archive
+     * @param archive         The archive to write to
+     */
+    public ArchiveTemplateManager(
+            TemplateManagerOptions options,
+            TemplatingEngineAdapter engineAdapter,
+            TemplatePathLocator[] templateLoaders,
+            String outputDir,
+            String rootFolder,
+            ZipOutputStream archive) {
+        super(options, engineAdapter, templateLoaders);
+        this.outputDir = Paths.get(outputDir).toAbsolutePath().normalize();
+        this.rootFolder = rootFolder == null || rootFolder.isEmpty() ? "" : rootFolder + "/";
+        this.archive = archive;
+    }
+
+    /**
+     * Write bytes to an entry of the archive
+     *
+     * @param filename The name of file to write, in the output directory
+     * @param contents The contents bytes.  Typically, this is a UTF-8 formatted string.
+     * @return File representing the written file in the output directory, which does not exist on disk.
+     * @throws IOException If the entry cannot be written.
+     */
+    @Override
+    public synchronized File writeToFile(String filename, byte[] contents) throws IOException {
+        Path path = Paths.get(filename).toAbsolutePath().normalize();
+        if (!path.startsWith(outputDir)) {
+            LOGGER.warn("skipping file {} outside of the output directory {}", filename, outputDir);
+            return null;
+        }
+
+        String entryName = rootFolder + outputDir.relativize(path).toString().replace(File.separatorChar, '/');
+        if (!entries.add(entryName)) {
+            LOGGER.warn("skipping duplicate archive entry {}", entryName);
+            return path.toFile();
+        }
+
+        LOGGER.debug("writing archive entry {}", entryName);
+        archive.putNextEntry(new ZipEntry(entryName));
+        archive.write(contents);
+        archive.closeEntry();
+        return path.toFile();
+    }
+}
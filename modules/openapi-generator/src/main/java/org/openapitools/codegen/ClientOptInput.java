@@ -23,6 +23,7 @@ import lombok.Getter;
 import org.openapitools.codegen.api.TemplateDefinition;
 import org.openapitools.codegen.auth.AuthParser;
 import org.openapitools.codegen.config.GeneratorSettings;
+import org.openapitools.codegen.config.ParsedSpecCache;
 
 import java.util.List;
 
@@ -33,6 +34,11 @@ public class ClientOptInput {
     private List<AuthorizationValue> auths;
     // not deprecated as this is added to match other functionality, we need to move to Context<?> instead of ClientOptInput.
     @Getter private List<TemplateDefinition> userDefinedTemplates;
+    // identifies the parsed input spec in the spec snapshots, see SpecSnapshots
+    @Getter private String specSnapshotKey;
+    // shares the pre-processed spec with the other generations using the same cache
+    @Getter private ParsedSpecCache parsedSpecCache;
+    @Getter private String parsedSpecKey;
 
     public ClientOptInput openAPI(OpenAPI openAPI) {
         this.setOpenAPI(openAPI);
@@ -54,6 +60,17 @@ public class ClientOptInput {
         return this;
     }
 
+    public ClientOptInput specSnapshotKey(String specSnapshotKey) {
+        this.specSnapshotKey = specSnapshotKey;
+        return this;
+    }
+
+    public ClientOptInput parsedSpecCache(ParsedSpecCache parsedSpecCache, String parsedSpecKey) {
+        this.parsedSpecCache = parsedSpecCache;
+        this.parsedSpecKey = parsedSpecKey;
+        return this;
+    }
+
     @Deprecated
     public ClientOptInput auth(String urlEncodedAuthString) {
         this.setAuth(urlEncodedAuthString);
@@ -317,6 +317,13 @@ public interface CodegenConfig {
 
     void setEnablePostProcessFile(boolean isEnablePostProcessFile);
 
+    /**
+     * Sets the batches collecting the external post-processor commands, or null to run each command immediately.
+     *
+     * @param postProcessorBatches the batches
+     */
+    void setPostProcessorBatches(PostProcessorBatches postProcessorBatches);
+
     /**
      * Set the OpenAPI instance. This method needs to be called right after the instantiation of the Codegen class.
      *
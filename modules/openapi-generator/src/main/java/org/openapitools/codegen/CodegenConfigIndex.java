@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import lombok.Getter;
+import org.openapitools.codegen.meta.GeneratorMetadata;
+import org.openapitools.codegen.meta.Stability;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * An index of the generators registered as {@link CodegenConfig} services, so that a generator can be looked up by
+ * name, and the generators listed, without instantiating every generator.
+ * <p>
+ * The index is read from {@link #LOCATION}, with a line per generator: {@code name=class,type,stability}. The index
+ * of the built-in generators is written by {@link #main(String[])} to {@code src/main/resources}, and a test fails
+ * when it is out of date. Generators which are not in an index, e.g. from other jars, are still found by
+ * instantiating them.
+ */
+public final class CodegenConfigIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CodegenConfigIndex.class);
+
+    public static final String LOCATION = "META-INF/openapi-generator/generators.properties";
+
+    private static volatile Map<String, Entry> entries;
+
+    private CodegenConfigIndex() {
+    }
+
+    /**
+     * A generator, as described by the index.
+     */
+    @Getter
+    public static final class Entry {
+        private final String name;
+        private final String className;
+        private final CodegenType type;
+        private final Stability stability;
+
+        public Entry(String name, String className, CodegenType type, Stability stability) {
+            this.name = name;
+            this.className = className;
+            this.type = type;
+            this.stability = stability;
+        }
+
+        static Entry of(CodegenConfig config) {
+            GeneratorMetadata meta = config.getGeneratorMetadata();
+            return new Entry(config.getName(), config.getClass().getName(), config.getTag(),
+                    meta == null ? null : meta.getStability());
+        }
+    }
+
+    /**
+     * @return the indexed generators by name, read once from all the indexes on the classpath
+     */
+    static Map<String, Entry> getEntries() {
+        Map<String, Entry> result = entries;
+        if (result == null) {
+            synchronized (CodegenConfigIndex.class) {
+                result = entries;
+                if (result == null) {
+                    result = Collections.unmodifiableMap(read(CodegenConfig.class.getClassLoader()));
+                    entries = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    static Map<String, Entry> read(ClassLoader classLoader) {
+        Map<String, Entry> result = new LinkedHashMap<>();
+        try {
+            Enumeration<URL> indexes = classLoader.getResources(LOCATION);
+            while (indexes.hasMoreElements()) {
+                URL index = indexes.nextElement();
+                try (Reader reader = new InputStreamReader(index.openStream(), StandardCharsets.UTF_8)) {
+                    Properties properties = new Properties();
+                    properties.load(reader);
+                    for (String name : new TreeSet<>(properties.stringPropertyNames())) {
+                        String[] values = properties.getProperty(name).split(",", -1);
+                        if (values.length != 3) {
+                            LOGGER.warn("Ignoring invalid generator {} in {}", name, index);
+                            continue;
+                        }
+                        result.putIfAbsent(name, new Entry(name, values[0],
+                                values[1].isEmpty() ? null : CodegenType.valueOf(values[1]),
+                                values[2].isEmpty() ? null : Stability.valueOf(values[2])));
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warn("Unable to read the generator index, generators will be looked up by instantiating them: {}", e.getMessage());
+            return new LinkedHashMap<>();
+        }
+        return result;
+    }
+
+    static void write(Collection<Entry> generators, Writer writer) throws IOException {
+        writer.write("# Generated by " + CodegenConfigIndex.class.getName() + ", do not edit\n");
+        List<Entry> sorted = new ArrayList<>(generators);
+        sorted.sort(Comparator.comparing(Entry::getName));
+        for (Entry entry : sorted) {
+            writer.write(entry.getName() + "=" + entry.getClassName()
+                    + "," + (entry.getType() == null ? "" : entry.getType().name())
+                    + "," + (entry.getStability() == null ? "" : entry.getStability().name()) + "\n");
+        }
+    }
+
+    /**
+     * Writes the index of the generators registered on the classpath.
+     *
+     * @param args the resources directory to write the index to, e.g. {@code src/main/resources}
+     * @throws IOException if the index cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path index = Paths.get(args[0]).resolve(LOCATION);
+        Files.createDirectories(index.getParent());
+        try (Writer writer = Files.newBufferedWriter(index, StandardCharsets.UTF_8)) {
+            write(registered(), writer);
+        }
+        LOGGER.info("Indexed the generators in {}", index);
+    }
+
+    /**
+     * @return the generators registered on the classpath, by instantiating all of them
+     */
+    static List<Entry> registered() {
+        List<Entry> generators = new ArrayList<>();
+        for (CodegenConfig config : ServiceLoader.load(CodegenConfig.class, CodegenConfig.class.getClassLoader())) {
+            generators.add(Entry.of(config));
+        }
+        return generators;
+    }
+}
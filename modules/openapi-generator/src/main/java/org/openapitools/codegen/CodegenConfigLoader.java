@@ -17,23 +17,42 @@
 
 package org.openapitools.codegen;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.ServiceLoader;
+import java.util.*;
 
 public class CodegenConfigLoader {
     /**
      * Tries to load config class with SPI first, then with class name directly from classpath
+     * <p>
+     * Generators listed in the {@link CodegenConfigIndex} are looked up by name, so that only the generator found
+     * is instantiated. Other generators are instantiated until one matches.
      *
      * @param name name of config, or full qualified class name in classpath
      * @return config class
      */
     public static CodegenConfig forName(String name) {
-        ServiceLoader<CodegenConfig> loader = ServiceLoader.load(CodegenConfig.class, CodegenConfig.class.getClassLoader());
+        Map<String, CodegenConfigIndex.Entry> index = CodegenConfigIndex.getEntries();
+        CodegenConfigIndex.Entry indexed = index.get(name);
+        Set<String> indexedClasses = new HashSet<>();
+        index.values().forEach(entry -> indexedClasses.add(entry.getClassName()));
 
         StringBuilder availableConfigs = new StringBuilder();
+        List<ServiceLoader.Provider<CodegenConfig>> unindexed = new ArrayList<>();
+        for (ServiceLoader.Provider<CodegenConfig> provider : providers()) {
+            String className = provider.type().getName();
+            if (indexed != null && indexed.getClassName().equals(className)) {
+                return provider.get();
+            }
+            if (indexedClasses.contains(className)) {
+                index.values().stream()
+                        .filter(entry -> entry.getClassName().equals(className))
+                        .forEach(entry -> availableConfigs.append(entry.getName()).append("\n"));
+            } else {
+                unindexed.add(provider);
+            }
+        }
 
-        for (CodegenConfig config : loader) {
+        for (ServiceLoader.Provider<CodegenConfig> provider : unindexed) {
+            CodegenConfig config = provider.get();
             if (config.getName().equals(name)) {
                 return config;
             }
@@ -57,4 +76,33 @@ public class CodegenConfigLoader {
         }
         return output;
     }
+
+    /**
+     * Lists the name, type and stability of the available generators, only instantiating the generators which are
+     * not in the {@link CodegenConfigIndex}.
+     *
+     * @return the available generators
+     */
+    public static List<CodegenConfigIndex.Entry> getAllEntries() {
+        Map<String, List<CodegenConfigIndex.Entry>> indexByClass = new HashMap<>();
+        CodegenConfigIndex.getEntries().values()
+                .forEach(entry -> indexByClass.computeIfAbsent(entry.getClassName(), k -> new ArrayList<>()).add(entry));
+
+        List<CodegenConfigIndex.Entry> output = new ArrayList<>();
+        for (ServiceLoader.Provider<CodegenConfig> provider : providers()) {
+            List<CodegenConfigIndex.Entry> indexed = indexByClass.get(provider.type().getName());
+            if (indexed != null) {
+                output.addAll(indexed);
+            } else {
+                output.add(CodegenConfigIndex.Entry.of(provider.get()));
+            }
+        }
+        return output;
+    }
+
+    private static List<ServiceLoader.Provider<CodegenConfig>> providers() {
+        List<ServiceLoader.Provider<CodegenConfig>> providers = new ArrayList<>();
+        ServiceLoader.load(CodegenConfig.class, CodegenConfig.class.getClassLoader()).stream().forEach(providers::add);
+        return providers;
+    }
 }
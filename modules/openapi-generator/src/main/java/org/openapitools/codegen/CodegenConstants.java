@@ -34,6 +34,11 @@ public class CodegenConstants {
     public static final String API_DOCS = "apiDocs";
 
     public static final String SKIP_FORM_MODEL = "skipFormModel";
+    public static final String PARALLEL_GENERATION = "parallelGeneration";
+    public static final String STREAM_MODELS = "streamModels";
+    public static final String INCREMENTAL_GENERATION = "incrementalGeneration";
+    public static final String SPEC_SNAPSHOT_DIR = "specSnapshotDir";
+    public static final String POST_PROCESS_BATCH_SIZE = "postProcessBatchSize";
     /* /end System Properties */
 
     public static final String API_NAME = "apiName";
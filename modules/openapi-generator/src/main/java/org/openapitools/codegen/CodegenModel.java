@@ -24,6 +24,7 @@ import lombok.Setter;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * CodegenModel represents a schema object in a OpenAPI document.
@@ -77,7 +78,9 @@ public class CodegenModel implements IJsonSchemaValidationProperties {
     @Getter @Setter
     public String title;
     @Getter @Setter
-    public String description, classVarName, modelJson, dataType, xmlPrefix, xmlNamespace, xmlName;
+    public String description, classVarName, dataType, xmlPrefix, xmlNamespace, xmlName;
+    public String modelJson;
+    private Supplier<String> modelJsonSupplier;
     @Getter @Setter
     public String classFilename; // store the class file name, mainly used for import
     @Getter @Setter
@@ -952,7 +955,6 @@ public class CodegenModel implements IJsonSchemaValidationProperties {
                 Objects.equals(title, that.title) &&
                 Objects.equals(description, that.description) &&
                 Objects.equals(classVarName, that.classVarName) &&
-                Objects.equals(modelJson, that.modelJson) &&
                 Objects.equals(dataType, that.dataType) &&
                 Objects.equals(xmlPrefix, that.xmlPrefix) &&
                 Objects.equals(xmlNamespace, that.xmlNamespace) &&
@@ -997,7 +999,7 @@ public class CodegenModel implements IJsonSchemaValidationProperties {
     public int hashCode() {
         return Objects.hash(getParent(), getParentSchema(), getInterfaces(), getAllParents(), getParentModel(),
                 getInterfaceModels(), getChildren(), permits, anyOf, oneOf, allOf, getName(), getSchemaName(), getClassname(), getTitle(),
-                getDescription(), getClassVarName(), getModelJson(), getDataType(), getXmlPrefix(), getXmlNamespace(),
+                getDescription(), getClassVarName(), getDataType(), getXmlPrefix(), getXmlNamespace(),
                 getXmlName(), getClassFilename(), getUnescapedDescription(), getDiscriminator(), getDefaultValue(),
                 getArrayModelType(), isAlias, isString, isInteger, isLong, isNumber, isNumeric, isFloat, isDouble,
                 isDate, isDateTime, isNull, hasValidation, isShort, isUnboundedInteger, isBoolean,
@@ -1014,6 +1016,33 @@ public class CodegenModel implements IJsonSchemaValidationProperties {
                 format, dependentRequired, contains);
     }
 
+    public String getModelJson() {
+        // not stored, the supplier caches it and the template data stays the same whether it was accessed or not
+        return modelJson == null && modelJsonSupplier != null ? modelJsonSupplier.get() : modelJson;
+    }
+
+    public void setModelJson(String modelJson) {
+        this.modelJson = modelJson;
+        this.modelJsonSupplier = null;
+    }
+
+    /**
+     * Sets a supplier computing the pretty printed JSON of the schema on first access, as most templates never use it.
+     *
+     * @param modelJsonSupplier supplier of the pretty printed JSON of the schema
+     */
+    public void setModelJsonSupplier(Supplier<String> modelJsonSupplier) {
+        this.modelJson = null;
+        this.modelJsonSupplier = modelJsonSupplier;
+    }
+
+    /**
+     * @return the model JSON if it has been computed, otherwise the supplier computing it
+     */
+    Object getModelJsonSource() {
+        return modelJson != null ? modelJson : modelJsonSupplier;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("CodegenModel{");
@@ -1034,7 +1063,6 @@ public class CodegenModel implements IJsonSchemaValidationProperties {
         sb.append(", title='").append(title).append('\'');
         sb.append(", description='").append(description).append('\'');
         sb.append(", classVarName='").append(classVarName).append('\'');
-        sb.append(", modelJson='").append(modelJson).append('\'');
         sb.append(", dataType='").append(dataType).append('\'');
         sb.append(", xmlPrefix='").append(xmlPrefix).append('\'');
         sb.append(", xmlNamespace='").append(xmlNamespace).append('\'');
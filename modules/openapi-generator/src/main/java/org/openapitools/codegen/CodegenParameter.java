@@ -22,6 +22,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * Describes a single operation parameter in the OAS specification.
@@ -43,6 +44,7 @@ public class CodegenParameter implements IJsonSchemaValidationProperties {
     public String example; // example value (x-example)
     public Map<String, Example> examples;
     public String jsonSchema;
+    private Supplier<String> jsonSchemaSupplier;
     public boolean isString, isNumeric, isInteger, isLong, isNumber, isFloat, isDouble, isDecimal, isByteArray, isBinary,
             isBoolean, isDate, isDateTime, isUuid, isUri, isEmail, isPassword, isFreeFormObject, isAnyType, isShort, isUnboundedInteger;
     public boolean isArray, isMap;
@@ -181,6 +183,7 @@ public class CodegenParameter implements IJsonSchemaValidationProperties {
         output.setUniqueItemsBoolean(this.uniqueItemsBoolean);
         output.multipleOf = this.multipleOf;
         output.jsonSchema = this.jsonSchema;
+        output.jsonSchemaSupplier = this.jsonSchemaSupplier;
         output.defaultValue = this.defaultValue;
         output.enumDefaultValue = this.enumDefaultValue;
         output.example = this.example;
@@ -292,7 +295,7 @@ public class CodegenParameter implements IJsonSchemaValidationProperties {
                 unescapedDescription, baseType, containerType, containerTypeMapped, defaultValue,
                 enumDefaultValue, enumName, style, isDeepObject, isMatrix, isAllowEmptyValue, example, examples,
                 isFormStyle, isSpaceDelimited, isPipeDelimited,
-                jsonSchema, isString, isNumeric, isInteger, isLong, isNumber, isFloat, isDouble, isDecimal,
+                isString, isNumeric, isInteger, isLong, isNumber, isFloat, isDouble, isDecimal,
                 isByteArray, isBinary, isBoolean, isDate, isDateTime, isUuid, isUri, isEmail, isPassword,
                 isFreeFormObject, isAnyType, isArray, isMap, queryIsJsonMimeType, isOptional, isFile, isEnum, isEnumRef, _enum, allowableValues,
                 items, mostInnerItems, additionalProperties, vars, requiredVars, vendorExtensions, hasValidation,
@@ -393,7 +396,6 @@ public class CodegenParameter implements IJsonSchemaValidationProperties {
                 Objects.equals(isAllowEmptyValue, that.isAllowEmptyValue) &&
                 Objects.equals(example, that.example) &&
                 Objects.equals(examples, that.examples) &&
-                Objects.equals(jsonSchema, that.jsonSchema) &&
                 Objects.equals(_enum, that._enum) &&
                 Objects.equals(allowableValues, that.allowableValues) &&
                 Objects.equals(items, that.items) &&
@@ -424,6 +426,40 @@ public class CodegenParameter implements IJsonSchemaValidationProperties {
         return isEnum || isEnumRef;
     }
 
+    public String getJsonSchema() {
+        // not stored, the supplier caches it and the template data stays the same whether it was accessed or not
+        return jsonSchema == null && jsonSchemaSupplier != null ? jsonSchemaSupplier.get() : jsonSchema;
+    }
+
+    public void setJsonSchema(String jsonSchema) {
+        this.jsonSchema = jsonSchema;
+        this.jsonSchemaSupplier = null;
+    }
+
+    /**
+     * @return true if the JSON schema is set, without computing it
+     */
+    public boolean hasJsonSchema() {
+        return jsonSchema != null || jsonSchemaSupplier != null;
+    }
+
+    /**
+     * Sets a supplier computing the pretty printed JSON schema on first access, as most templates never use it.
+     *
+     * @param jsonSchemaSupplier supplier of the pretty printed JSON schema
+     */
+    public void setJsonSchemaSupplier(Supplier<String> jsonSchemaSupplier) {
+        this.jsonSchema = null;
+        this.jsonSchemaSupplier = jsonSchemaSupplier;
+    }
+
+    /**
+     * @return the JSON schema if it has been computed, otherwise the supplier computing it
+     */
+    Object getJsonSchemaSource() {
+        return jsonSchema != null ? jsonSchema : jsonSchemaSupplier;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("CodegenParameter{");
@@ -461,7 +497,6 @@ public class CodegenParameter implements IJsonSchemaValidationProperties {
         sb.append(", allowEmptyValue='").append(isAllowEmptyValue).append('\'');
         sb.append(", example='").append(example).append('\'');
         sb.append(", examples='").append(examples).append('\'');
-        sb.append(", jsonSchema='").append(jsonSchema).append('\'');
         sb.append(", isString=").append(isString);
         sb.append(", isNumeric=").append(isNumeric);
         sb.append(", isInteger=").append(isInteger);
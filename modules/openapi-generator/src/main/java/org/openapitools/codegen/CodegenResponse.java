@@ -21,6 +21,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 public class CodegenResponse implements IJsonSchemaValidationProperties {
     public final List<CodegenProperty> headers = new ArrayList<CodegenProperty>();
@@ -74,6 +75,7 @@ public class CodegenResponse implements IJsonSchemaValidationProperties {
     public boolean isVoid = false;
     public Object schema;
     public String jsonSchema;
+    private Supplier<String> jsonSchemaSupplier;
     public Map<String, Object> vendorExtensions = new HashMap<String, Object>();
     private Integer maxProperties;
     private Integer minProperties;
@@ -112,7 +114,7 @@ public class CodegenResponse implements IJsonSchemaValidationProperties {
         return Objects.hash(headers, code, message, examples, dataType, baseType, containerType, containerTypeMapped, hasHeaders,
                 isString, isNumeric, isInteger, isLong, isNumber, isFloat, isDouble, isDecimal, isByteArray, isBoolean, isDate,
                 isDateTime, isUuid, isEmail, isPassword, isModel, isFreeFormObject, isAnyType, isDefault, simpleType, primitiveType,
-                isMap, isOptional, isArray, isBinary, isFile, schema, jsonSchema, vendorExtensions, items, additionalProperties,
+                isMap, isOptional, isArray, isBinary, isFile, schema, vendorExtensions, items, additionalProperties,
                 vars, requiredVars, isNull, isVoid, hasValidation, isShort, isUnboundedInteger,
                 getMaxProperties(), getMinProperties(), uniqueItems, getMaxItems(), getMinItems(), getMaxLength(),
                 getMinLength(), exclusiveMinimum, exclusiveMaximum, getMinimum(), getMaximum(), getPattern(),
@@ -188,7 +190,6 @@ public class CodegenResponse implements IJsonSchemaValidationProperties {
                 Objects.equals(containerType, that.containerType) &&
                 Objects.equals(containerTypeMapped, that.containerTypeMapped) &&
                 Objects.equals(schema, that.schema) &&
-                Objects.equals(jsonSchema, that.jsonSchema) &&
                 Objects.equals(vendorExtensions, that.vendorExtensions) &&
                 Objects.equals(getMaxProperties(), that.getMaxProperties()) &&
                 Objects.equals(getMinProperties(), that.getMinProperties()) &&
@@ -571,6 +572,33 @@ public class CodegenResponse implements IJsonSchemaValidationProperties {
         this.isUuid = isUuid;
     }
 
+    public String getJsonSchema() {
+        // not stored, the supplier caches it and the template data stays the same whether it was accessed or not
+        return jsonSchema == null && jsonSchemaSupplier != null ? jsonSchemaSupplier.get() : jsonSchema;
+    }
+
+    public void setJsonSchema(String jsonSchema) {
+        this.jsonSchema = jsonSchema;
+        this.jsonSchemaSupplier = null;
+    }
+
+    /**
+     * Sets a supplier computing the pretty printed JSON schema on first access, as most templates never use it.
+     *
+     * @param jsonSchemaSupplier supplier of the pretty printed JSON schema
+     */
+    public void setJsonSchemaSupplier(Supplier<String> jsonSchemaSupplier) {
+        this.jsonSchema = null;
+        this.jsonSchemaSupplier = jsonSchemaSupplier;
+    }
+
+    /**
+     * @return the JSON schema if it has been computed, otherwise the supplier computing it
+     */
+    Object getJsonSchemaSource() {
+        return jsonSchema != null ? jsonSchema : jsonSchemaSupplier;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("CodegenResponse{");
@@ -617,7 +645,6 @@ public class CodegenResponse implements IJsonSchemaValidationProperties {
         sb.append(", isBinary=").append(isBinary);
         sb.append(", isFile=").append(isFile);
         sb.append(", schema=").append(schema);
-        sb.append(", jsonSchema='").append(jsonSchema).append('\'');
         sb.append(", vendorExtensions=").append(vendorExtensions);
         sb.append(", maxProperties=").append(maxProperties);
         sb.append(", minProperties=").append(minProperties);
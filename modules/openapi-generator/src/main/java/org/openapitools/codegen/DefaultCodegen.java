@@ -69,6 +69,7 @@ import org.openapitools.codegen.templating.mustache.*;
 import org.openapitools.codegen.utils.ExamplesUtils;
 import org.openapitools.codegen.utils.ModelUtils;
 import org.openapitools.codegen.utils.OneOfImplementorAdditionalData;
+import org.openapitools.codegen.utils.SchemaGraph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -286,6 +287,8 @@ public class DefaultCodegen implements CodegenConfig {
     protected String ignoreFilePathOverride;
     // flag to indicate whether to use environment variable to post process file
     protected boolean enablePostProcessFile = false;
+    // when set, external post-processor commands are batched instead of being run immediately
+    private PostProcessorBatches postProcessorBatches;
     private TemplatingEngineAdapter templatingEngine = new MustacheEngineAdapter();
     // flag to indicate whether to use the utils.OneOfImplementorAdditionalData related logic
     protected boolean useOneOfInterfaces = false;
@@ -315,6 +318,8 @@ public class DefaultCodegen implements CodegenConfig {
 
     // make openapi available to all methods
     protected OpenAPI openAPI;
+    // the index used by ModelUtils lookups on openAPI, registered as long as this codegen holds it
+    private SchemaGraph schemaGraph;
 
     // A cache to efficiently lookup a Schema instance based on the return value of `toModelName()`.
     private Map<String, Schema> modelNameToSchemaCache;
@@ -728,13 +733,13 @@ public class DefaultCodegen implements CodegenConfig {
         final Map<String, List<CodegenProperty>> allVarsDependencyMap = models.entrySet().stream()
                 .collect(Collectors.toMap(Entry::getKey, entry -> getModelDependencies(entry.getValue().getAllVars())));
 
-        models.keySet().forEach(name -> setCircularReferencesOnProperties(name, allVarsDependencyMap));
+        setCircularReferencesOnProperties(models.keySet(), allVarsDependencyMap);
 
         // for vars
         final Map<String, List<CodegenProperty>> varsDependencyMap = models.entrySet().stream()
                 .collect(Collectors.toMap(Entry::getKey, entry -> getModelDependencies(entry.getValue().getVars())));
 
-        models.keySet().forEach(name -> setCircularReferencesOnProperties(name, varsDependencyMap));
+        setCircularReferencesOnProperties(models.keySet(), varsDependencyMap);
 
         // for oneOf
         final Map<String, List<CodegenProperty>> oneOfDependencyMap = models.entrySet().stream()
@@ -742,7 +747,7 @@ public class DefaultCodegen implements CodegenConfig {
                         (entry.getValue().getComposedSchemas() != null && entry.getValue().getComposedSchemas().getOneOf() != null)
                                 ? entry.getValue().getComposedSchemas().getOneOf() : new ArrayList<CodegenProperty>())));
 
-        models.keySet().forEach(name -> setCircularReferencesOnProperties(name, oneOfDependencyMap));
+        setCircularReferencesOnProperties(models.keySet(), oneOfDependencyMap);
     }
 
     private List<CodegenProperty> getModelDependencies(List<CodegenProperty> vars) {
@@ -757,35 +762,87 @@ public class DefaultCodegen implements CodegenConfig {
                 .collect(Collectors.toList());
     }
 
-    private void setCircularReferencesOnProperties(final String root,
+    private static String getDependencyName(CodegenProperty prop) {
+        return prop.isContainer ? prop.items.dataType : prop.dataType;
+    }
+
+    /**
+     * Marks a property as circular reference when the model it refers to depends on the model declaring it,
+     * that is when both models belong to the same strongly connected component of the dependency graph.
+     */
+    private void setCircularReferencesOnProperties(final Set<String> roots,
                                                    final Map<String, List<CodegenProperty>> dependencyMap) {
-        dependencyMap.getOrDefault(root, new ArrayList<>())
-                .forEach(prop -> {
-                    final List<String> unvisited =
-                            Collections.singletonList(prop.isContainer ? prop.items.dataType : prop.dataType);
-                    prop.isCircularReference = isCircularReference(root,
-                            new HashSet<>(),
-                            new ArrayList<>(unvisited),
-                            dependencyMap);
-                });
-    }
-
-    private boolean isCircularReference(final String root,
-                                        final Set<String> visited,
-                                        final List<String> unvisited,
-                                        final Map<String, List<CodegenProperty>> dependencyMap) {
-        for (int i = 0; i < unvisited.size(); i++) {
-            final String next = unvisited.get(i);
-            if (!visited.contains(next)) {
-                if (next.equals(root)) {
-                    return true;
+        final Map<String, Integer> components = getStronglyConnectedComponents(dependencyMap);
+        for (String root : roots) {
+            final Integer rootComponent = components.get(root);
+            dependencyMap.getOrDefault(root, Collections.emptyList())
+                    .forEach(prop -> {
+                        final String dependency = getDependencyName(prop);
+                        prop.isCircularReference = dependency.equals(root)
+                                || (rootComponent != null && rootComponent.equals(components.get(dependency)));
+                    });
+        }
+    }
+
+    /**
+     * Computes the strongly connected components of the dependency graph with Tarjan's algorithm,
+     * using an explicit stack so that long dependency chains do not overflow the call stack.
+     *
+     * @param dependencyMap the dependencies of each model
+     * @return the component of each model, identified by the index of its root
+     */
+    private static Map<String, Integer> getStronglyConnectedComponents(final Map<String, List<CodegenProperty>> dependencyMap) {
+        final Map<String, Integer> index = new HashMap<>();
+        final Map<String, Integer> lowLink = new HashMap<>();
+        final Map<String, Integer> components = new HashMap<>();
+        final Deque<String> stack = new ArrayDeque<>();
+        final Set<String> onStack = new HashSet<>();
+        final Deque<Entry<String, Iterator<CodegenProperty>>> frames = new ArrayDeque<>();
+
+        for (String start : dependencyMap.keySet()) {
+            if (index.containsKey(start)) {
+                continue;
+            }
+            String node = start;
+            while (node != null || !frames.isEmpty()) {
+                if (node != null) {
+                    // first visit
+                    index.put(node, index.size());
+                    lowLink.put(node, index.get(node));
+                    stack.push(node);
+                    onStack.add(node);
+                    frames.push(new AbstractMap.SimpleEntry<>(node,
+                            dependencyMap.getOrDefault(node, Collections.emptyList()).iterator()));
+                    node = null;
+                }
+
+                final Entry<String, Iterator<CodegenProperty>> frame = frames.peek();
+                final String current = frame.getKey();
+                if (frame.getValue().hasNext()) {
+                    final String dependency = getDependencyName(frame.getValue().next());
+                    if (!index.containsKey(dependency)) {
+                        node = dependency;
+                    } else if (onStack.contains(dependency)) {
+                        lowLink.put(current, Math.min(lowLink.get(current), index.get(dependency)));
+                    }
+                } else {
+                    frames.pop();
+                    if (!frames.isEmpty()) {
+                        final String parent = frames.peek().getKey();
+                        lowLink.put(parent, Math.min(lowLink.get(parent), lowLink.get(current)));
+                    }
+                    if (lowLink.get(current).equals(index.get(current))) {
+                        String member;
+                        do {
+                            member = stack.pop();
+                            onStack.remove(member);
+                            components.put(member, index.get(current));
+                        } while (!member.equals(current));
+                    }
                 }
-                dependencyMap.getOrDefault(next, new ArrayList<>())
-                        .forEach(prop -> unvisited.add(prop.isContainer ? prop.items.dataType : prop.dataType));
-                visited.add(next);
             }
         }
-        return false;
+        return components;
     }
 
     // override with any special post-processing
@@ -969,6 +1026,9 @@ public class DefaultCodegen implements CodegenConfig {
 
         // Multiple operations rely on proper type aliases, so we should always update them
         typeAliases = getAllAliases(ModelUtils.getSchemas(openAPI));
+
+        // the document is no longer modified, index parents, children and aliases of its schemas
+        schemaGraph = SchemaGraph.index(openAPI);
     }
 
     // override with any message to be shown right before the process finishes
@@ -3062,7 +3122,7 @@ public class DefaultCodegen implements CodegenConfig {
         m.classname = toModelName(name);
         m.classVarName = toVarName(name);
         m.classFilename = toModelFilename(name);
-        m.modelJson = Json.pretty(schema);
+        m.setModelJsonSupplier(PrettyJson.of(schema));
         m.externalDocumentation = schema.getExternalDocs();
         if (schema.getExtensions() != null && !schema.getExtensions().isEmpty()) {
             m.getVendorExtensions().putAll(schema.getExtensions());
@@ -3565,36 +3625,21 @@ public class DefaultCodegen implements CodegenConfig {
         Map<String, Schema> schemas = ModelUtils.getSchemas(openAPI);
         String currentSchemaName = thisSchemaName;
         Set<String> keys = schemas.keySet();
+        SchemaGraph graph = SchemaGraph.of(openAPI);
+        boolean indexed = graph != null && graph.isUnchanged();
 
         int count = 0;
         // hack: avoid infinite loop on potential self-references in event our checks fail.
         while (100000 > count++) {
-            for (String childName : keys) {
+            for (String childName : indexed ? graph.getAllOfChildren(currentSchemaName) : keys) {
                 if (childName.equals(thisSchemaName)) {
                     continue;
                 }
-                Schema child = schemas.get(childName);
-                if (ModelUtils.isComposedSchema(child)) {
-                    List<Schema> parents = child.getAllOf();
-                    if (parents != null) {
-                        for (Schema parent : parents) {
-                            String ref = parent.get$ref();
-                            if (ref == null) {
-                                // for schemas with no ref, it is not possible to build the discriminator map
-                                // because ref is how we get the model name
-                                // we hit this use case when an allOf composed schema contains an inline schema
-                                continue;
-                            }
-                            String parentName = ModelUtils.getSimpleRef(ref);
-                            if (parentName != null && parentName.equals(currentSchemaName)) {
-                                if (queue.contains(childName) || descendentSchemas.stream().anyMatch(i -> childName.equals(i.getMappingName()))) {
-                                    throw new RuntimeException("Stack overflow hit when looking for " + thisSchemaName + " an infinite loop starting and ending at " + childName + " was seen");
-                                }
-                                queue.add(childName);
-                                break;
-                            }
-                        }
+                if (indexed || hasAllOfParent(schemas.get(childName), currentSchemaName)) {
+                    if (queue.contains(childName) || descendentSchemas.stream().anyMatch(i -> childName.equals(i.getMappingName()))) {
+                        throw new RuntimeException("Stack overflow hit when looking for " + thisSchemaName + " an infinite loop starting and ending at " + childName + " was seen");
                     }
+                    queue.add(childName);
                 }
             }
             if (queue.size() == 0) {
@@ -3614,6 +3659,21 @@ public class DefaultCodegen implements CodegenConfig {
         return descendentSchemas;
     }
 
+    private static boolean hasAllOfParent(Schema child, String parentName) {
+        if (ModelUtils.isComposedSchema(child) && child.getAllOf() != null) {
+            for (Object parent : child.getAllOf()) {
+                String ref = ((Schema) parent).get$ref();
+                // for schemas with no ref, it is not possible to build the discriminator map
+                // because ref is how we get the model name
+                // we hit this use case when an allOf composed schema contains an inline schema
+                if (ref != null && parentName.equals(ModelUtils.getSimpleRef(ref))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     protected CodegenDiscriminator createDiscriminator(String schemaName, Schema schema) {
         Discriminator sourceDiscriminator = recursiveGetDiscriminator(schema, new ArrayList<Schema>());
         if (sourceDiscriminator == null) {
@@ -4021,7 +4081,7 @@ public class DefaultCodegen implements CodegenConfig {
             property.example = "ERROR_TO_EXAMPLE_VALUE";
         }
 
-        property.jsonSchema = Json.pretty(Json.mapper().convertValue(p, TreeMap.class));
+        property.setJsonSchemaSupplier(PrettyJson.sorted(p));
 
         if (p.getDeprecated() != null) {
             property.deprecated = p.getDeprecated();
@@ -5036,7 +5096,7 @@ public class DefaultCodegen implements CodegenConfig {
         if (examples != null && !examples.isEmpty())
             r.examples = unaliasExamples(examples);
 
-        r.jsonSchema = Json.pretty(response);
+        r.setJsonSchemaSupplier(PrettyJson.of(response));
         if (response.getExtensions() != null && !response.getExtensions().isEmpty()) {
             r.vendorExtensions.putAll(response.getExtensions());
         }
@@ -5313,11 +5373,11 @@ public class DefaultCodegen implements CodegenConfig {
         if (parameter.getDeprecated() != null) {
             codegenParameter.isDeprecated = parameter.getDeprecated();
         }
-        codegenParameter.jsonSchema = Json.pretty(parameter);
+        codegenParameter.setJsonSchemaSupplier(PrettyJson.of(parameter));
 
         if (GlobalSettings.getProperty("debugParser") != null) {
             LOGGER.info("working on Parameter {}", parameter.getName());
-            LOGGER.info("JSON schema: {}", codegenParameter.jsonSchema);
+            LOGGER.info("JSON schema: {}", codegenParameter.getJsonSchema());
         }
 
         if (parameter.getExtensions() != null && !parameter.getExtensions().isEmpty()) {
@@ -6666,7 +6726,7 @@ public class DefaultCodegen implements CodegenConfig {
             return "value";
         }
 
-        SanitizeNameOptions opts = new SanitizeNameOptions(name, removeCharRegEx, exceptionList);
+        SanitizeNameOptions opts = new SanitizeNameOptions(name, removeCharRegEx, exceptionList, Boolean.TRUE.equals(allowUnicodeIdentifiers));
 
         return sanitizedNameCache.get(opts, sanitizeNameOptions -> {
             String modifiable = sanitizeNameOptions.getName();
@@ -6704,7 +6764,7 @@ public class DefaultCodegen implements CodegenConfig {
 
             // remove everything else other than word, number and _
             // $php_variable => php_variable
-            if (allowUnicodeIdentifiers) { //could be converted to a single line with ?: operator
+            if (sanitizeNameOptions.isAllowUnicodeIdentifiers()) { //could be converted to a single line with ?: operator
                 modifiable = Pattern.compile(sanitizeNameOptions.getRemoveCharRegEx(), Pattern.UNICODE_CHARACTER_CLASS).matcher(modifiable).replaceAll("");
             } else {
                 modifiable = modifiable.replaceAll(sanitizeNameOptions.getRemoveCharRegEx(), "");
@@ -7522,7 +7582,7 @@ public class DefaultCodegen implements CodegenConfig {
         codegenParameter.isFormParam = Boolean.TRUE;
         codegenParameter.description = escapeText(codegenProperty.description);
         codegenParameter.unescapedDescription = codegenProperty.getDescription();
-        codegenParameter.jsonSchema = Json.pretty(propertySchema);
+        codegenParameter.setJsonSchemaSupplier(PrettyJson.of(propertySchema));
         codegenParameter.containerType = codegenProperty.containerType;
         codegenParameter.containerTypeMapped = codegenProperty.containerTypeMapped;
 
@@ -8169,8 +8229,8 @@ public class DefaultCodegen implements CodegenConfig {
     }
 
     private void addJsonSchemaForBodyRequestInCaseItsNotPresent(CodegenParameter codegenParameter, RequestBody body) {
-        if (codegenParameter.jsonSchema == null)
-            codegenParameter.jsonSchema = Json.pretty(body);
+        if (!codegenParameter.hasJsonSchema())
+            codegenParameter.setJsonSchemaSupplier(PrettyJson.of(body));
     }
 
     protected void addOption(String key, String description, String defaultValue) {
@@ -8336,12 +8396,22 @@ public class DefaultCodegen implements CodegenConfig {
     }
 
     /**
-     * Executes an external command for file post processing.
+     * Executes an external command for file post processing. When post-processor batches are set, the command is
+     * added to its batch and run later with the other files of the batch.
      *
-     * @param commandArr an array of commands and arguments. They will be concatenated with space and tokenized again.
-     * @return Whether the execution passed (true) or failed (false)
+     * @param commandArr an array of commands and arguments, the last one being the file to process. They will be
+     *                   concatenated with space and tokenized again.
+     * @return Whether the execution passed (true) or failed (false), true when the command is batched
      */
     protected boolean executePostProcessor(String[] commandArr) {
+        if (postProcessorBatches != null && commandArr.length > 1) {
+            postProcessorBatches.add(commandArr, this::runPostProcessor);
+            return true;
+        }
+        return runPostProcessor(commandArr);
+    }
+
+    private boolean runPostProcessor(String[] commandArr) {
         final String command = String.join(" ", commandArr);
         try {
             // we don't use the array variant here, because the command passed in by the user is often not only a single binary
@@ -8392,6 +8462,11 @@ public class DefaultCodegen implements CodegenConfig {
         this.enablePostProcessFile = enablePostProcessFile;
     }
 
+    @Override
+    public void setPostProcessorBatches(PostProcessorBatches postProcessorBatches) {
+        this.postProcessorBatches = postProcessorBatches;
+    }
+
     /**
      * Get the boolean value indicating the state of the option for updating only changed files
      */
@@ -8521,7 +8596,7 @@ public class DefaultCodegen implements CodegenConfig {
      */
     @Getter
     private static class SanitizeNameOptions {
-        public SanitizeNameOptions(String name, String removeCharRegEx, List<String> exceptions) {
+        public SanitizeNameOptions(String name, String removeCharRegEx, List<String> exceptions, boolean allowUnicodeIdentifiers) {
             this.name = name;
             this.removeCharRegEx = removeCharRegEx;
             if (exceptions != null) {
@@ -8529,11 +8604,14 @@ public class DefaultCodegen implements CodegenConfig {
             } else {
                 this.exceptions = Collections.emptyList();
             }
+            this.allowUnicodeIdentifiers = allowUnicodeIdentifiers;
         }
 
         private final String name;
         private final String removeCharRegEx;
         private final List<String> exceptions;
+        // the cache is shared by all generator instances, which may not allow the same identifiers
+        private final boolean allowUnicodeIdentifiers;
 
         @Override
         public boolean equals(Object o) {
@@ -8542,12 +8620,13 @@ public class DefaultCodegen implements CodegenConfig {
             SanitizeNameOptions that = (SanitizeNameOptions) o;
             return Objects.equals(getName(), that.getName()) &&
                     Objects.equals(getRemoveCharRegEx(), that.getRemoveCharRegEx()) &&
-                    Objects.equals(getExceptions(), that.getExceptions());
+                    Objects.equals(getExceptions(), that.getExceptions()) &&
+                    isAllowUnicodeIdentifiers() == that.isAllowUnicodeIdentifiers();
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(getName(), getRemoveCharRegEx(), getExceptions());
+            return Objects.hash(getName(), getRemoveCharRegEx(), getExceptions(), isAllowUnicodeIdentifiers());
         }
     }
 
@@ -48,7 +48,6 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.Writer;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -56,9 +55,14 @@ import java.nio.file.Path;
 import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.zip.ZipOutputStream;
 
 import static org.apache.commons.lang3.StringUtils.removeStart;
 import static org.openapitools.codegen.CodegenConstants.X_INTERNAL;
@@ -94,6 +98,14 @@ public class DefaultGenerator implements Generator {
     @Getter protected TemplateProcessor templateProcessor = null;
 
     private List<TemplateDefinition> userDefinedTemplates = new ArrayList<>();
+    private ExecutorService renderExecutor = null;
+    private final List<PendingFile> pendingFiles = new ArrayList<>();
+    private GenerationFingerprints fingerprints = null;
+    // the usage of the schemas by the paths, computed once the spec is pre-processed
+    private SchemaUsage schemaUsage;
+    private PostProcessorBatches postProcessorBatches = null;
+    private ZipOutputStream archive = null;
+    private String archiveRootFolder = null;
     private String generatorCheck = "spring";
     private String templateCheck = "apiController.mustache";
 
@@ -133,11 +145,13 @@ public class DefaultGenerator implements Generator {
 
             TemplatePathLocator commonTemplateLocator = new CommonTemplateContentLocator();
             TemplatePathLocator generatorTemplateLocator = new GeneratorTemplateContentLocator(this.config);
-            this.templateProcessor = new TemplateManager(
-                    templateManagerOptions,
-                    templatingEngine,
-                    new TemplatePathLocator[]{generatorTemplateLocator, commonTemplateLocator}
-            );
+            TemplatePathLocator[] templateLocators = new TemplatePathLocator[]{generatorTemplateLocator, commonTemplateLocator};
+            if (this.archive != null) {
+                this.templateProcessor = new ArchiveTemplateManager(templateManagerOptions, templatingEngine,
+                        templateLocators, this.config.getOutputDir(), this.archiveRootFolder, this.archive);
+            } else {
+                this.templateProcessor = new TemplateManager(templateManagerOptions, templatingEngine, templateLocators);
+            }
         }
 
         String ignoreFileLocation = this.config.getIgnoreFilePathOverride();
@@ -157,6 +171,19 @@ public class DefaultGenerator implements Generator {
         return this;
     }
 
+    /**
+     * Writes the generated files as entries of a zip archive instead of writing them to the output directory.
+     * Files are not post-processed nor generated incrementally in this mode, as they do not exist on disk.
+     * Must be called before {@link #opts(ClientOptInput)}; the archive is left open once the generation completes.
+     *
+     * @param archive    the archive to write to
+     * @param rootFolder the folder the entries are put in, or null to put them at the root of the archive
+     */
+    public void setArchive(ZipOutputStream archive, String rootFolder) {
+        this.archive = archive;
+        this.archiveRootFolder = rootFolder;
+    }
+
     /**
      * Programmatically disable the output of .openapi-generator/VERSION, .openapi-generator-ignore,
      * or other metadata files used by OpenAPI Generator.
@@ -255,34 +282,47 @@ public class DefaultGenerator implements Generator {
             config.importMapping().putAll(opts.getGeneratorSettings().getImportMappings());
         }
 
-        // normalize the spec
+        // normalize the spec, with the additional rule of 3.1 specs
+        boolean normalize = false;
         try {
             if (config.getUseOpenapiNormalizer()) {
                 SemVer version = new SemVer(openAPI.getOpenapi());
                 if (version.atLeast("3.1.0")) {
                     config.openapiNormalizer().put("NORMALIZE_31SPEC", "true");
                 }
-                OpenAPINormalizer openapiNormalizer = OpenAPINormalizer.createNormalizer(openAPI, config.openapiNormalizer());
-                openapiNormalizer.normalize();
+                normalize = true;
             }
         } catch (Exception e) {
             LOGGER.error("An exception occurred in OpenAPI Normalizer. Please report the issue via https://github.com/openapitools/openapi-generator/issues/new/: ");
             e.printStackTrace();
         }
 
-        // resolve inline models
-        if (config.getUseInlineModelResolver()) {
-            InlineModelResolver inlineModelResolver = new InlineModelResolver();
-            inlineModelResolver.setInlineSchemaNameMapping(config.inlineSchemaNameMapping());
-            inlineModelResolver.setInlineSchemaOptions(config.inlineSchemaOption());
-
-            inlineModelResolver.flatten(openAPI);
+        SpecSnapshots snapshots = SpecSnapshots.fromGlobalSettings();
+        String snapshotKey = snapshots != null && opts != null && opts.getSpecSnapshotKey() != null
+                ? SpecSnapshots.preprocessedKey(opts.getSpecSnapshotKey(), config) : null;
+        OpenAPI snapshot = snapshotKey != null ? snapshots.loadOpenAPI(snapshotKey) : null;
+        if (snapshot != null) {
+            openAPI = snapshot;
+        } else {
+            boolean normalizeSpec = normalize;
+            if (opts != null && opts.getParsedSpecCache() != null && opts.getParsedSpecKey() != null) {
+                // shared with the other generations of the spec using the same rules and options
+                openAPI = opts.getParsedSpecCache().preprocess(SpecSnapshots.preprocessedKey(opts.getParsedSpecKey(), config),
+                        openAPI, spec -> preprocessSpec(spec, normalizeSpec));
+            } else {
+                preprocessSpec(openAPI, normalizeSpec);
+            }
+            if (snapshotKey != null) {
+                // saved before the generator pre-processes the spec, as it may also configure the generator
+                snapshots.saveOpenAPI(snapshotKey, openAPI);
+            }
         }
 
         config.preprocessOpenAPI(openAPI);
 
         // set OpenAPI to make these available to all methods
         config.setOpenAPI(openAPI);
+        schemaUsage = ModelUtils.getSchemaUsage(openAPI);
 
         if (!config.additionalProperties().containsKey("generatorVersion")) {
             config.additionalProperties().put("generatorVersion", ImplementationVersion.read());
@@ -308,6 +348,31 @@ public class DefaultGenerator implements Generator {
         }
     }
 
+    /**
+     * Normalizes the spec and resolves its inline models, which only depends on the normalizer rules and inline model
+     * options of the generator.
+     */
+    private void preprocessSpec(OpenAPI spec, boolean normalize) {
+        try {
+            if (normalize) {
+                OpenAPINormalizer openapiNormalizer = OpenAPINormalizer.createNormalizer(spec, config.openapiNormalizer());
+                openapiNormalizer.normalize();
+            }
+        } catch (Exception e) {
+            LOGGER.error("An exception occurred in OpenAPI Normalizer. Please report the issue via https://github.com/openapitools/openapi-generator/issues/new/: ");
+            e.printStackTrace();
+        }
+
+        // resolve inline models
+        if (config.getUseInlineModelResolver()) {
+            InlineModelResolver inlineModelResolver = new InlineModelResolver();
+            inlineModelResolver.setInlineSchemaNameMapping(config.inlineSchemaNameMapping());
+            inlineModelResolver.setInlineSchemaOptions(config.inlineSchemaOption());
+
+            inlineModelResolver.flatten(spec);
+        }
+    }
+
     private void configureOpenAPIInfo() {
         Info info = this.openAPI.getInfo();
         if (info == null) {
@@ -389,13 +454,7 @@ public class DefaultGenerator implements Generator {
                 if (modelTestFile.exists()) {
                     this.templateProcessor.skip(modelTestFile.toPath(), "Test files never overwrite an existing file of the same name.");
                 } else {
-                    File written = processTemplateToFile(models, templateName, filename, generateModelTests, CodegenConstants.MODEL_TESTS, config.modelTestFileFolder());
-                    if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "model-test");
-                        }
-                    }
+                    generateFile(files, models, templateName, filename, generateModelTests, CodegenConstants.MODEL_TESTS, config.modelTestFileFolder(), "model-test");
                 }
             } else if (dryRun) {
                 Path skippedPath = java.nio.file.Paths.get(filename);
@@ -410,41 +469,28 @@ public class DefaultGenerator implements Generator {
             String suffix = docExtension != null ? docExtension : config.modelDocTemplateFiles().get(templateName);
             String filename = config.modelDocFileFolder() + File.separator + config.toModelDocFilename(modelName) + suffix;
 
-            File written = processTemplateToFile(models, templateName, filename, generateModelDocumentation, CodegenConstants.MODEL_DOCS);
-            if (written != null) {
-                files.add(written);
-                if (config.isEnablePostProcessFile() && !dryRun) {
-                    config.postProcessFile(written, "model-doc");
-                }
-            }
+            generateFile(files, models, templateName, filename, generateModelDocumentation, CodegenConstants.MODEL_DOCS, "model-doc");
         }
     }
 
     private void generateModel(List<File> files, Map<String, Object> models, String modelName) throws IOException {
         for (String templateName : config.modelTemplateFiles().keySet()) {
-            File written;
             if (config.templateOutputDirs().containsKey(templateName)) {
                 String outputDir = config.getOutputDir() + File.separator + config.templateOutputDirs().get(templateName);
                 String filename = config.modelFilename(templateName, modelName, outputDir);
-                written = processTemplateToFile(models, templateName, filename, generateModels, CodegenConstants.MODELS, outputDir);
+                generateFile(files, models, templateName, filename, generateModels, CodegenConstants.MODELS, outputDir, "model");
             } else {
                 String filename = config.modelFilename(templateName, modelName);
-                written = processTemplateToFile(models, templateName, filename, generateModels, CodegenConstants.MODELS);
-            }
-            if (written != null) {
-                files.add(written);
-                if (config.isEnablePostProcessFile() && !dryRun) {
-                    config.postProcessFile(written, "model");
-                }
+                generateFile(files, models, templateName, filename, generateModels, CodegenConstants.MODELS, "model");
             }
         }
     }
 
     void generateModels(List<File> files, List<ModelMap> allModels, List<String> unusedModels, List<ModelMap> aliasModels) {
-        generateModels(files, allModels, unusedModels, aliasModels, new ArrayList<>(), DefaultGenerator.this::modelKeys);
+        generateModels(files, allModels, new HashSet<>(unusedModels), aliasModels, new HashSet<>(), DefaultGenerator.this::modelKeys);
     }
 
-    void generateModels(List<File> files, List<ModelMap> allModels, List<String> unusedModels, List<ModelMap> aliasModels, List<String> processedModels, Supplier<Set<String>> modelKeysSupplier) {
+    void generateModels(List<File> files, List<ModelMap> allModels, Set<String> unusedModels, List<ModelMap> aliasModels, Set<String> processedModels, Supplier<Set<String>> modelKeysSupplier) {
         if (!generateModels) {
             // TODO: Process these anyway and add to dryRun info
             LOGGER.info("Skipping generation of models.");
@@ -463,6 +509,11 @@ public class DefaultGenerator implements Generator {
                 Boolean.valueOf(GlobalSettings.getProperty(CodegenConstants.SKIP_FORM_MODEL)) :
                 getGeneratorPropertyDefaultSwitch(CodegenConstants.SKIP_FORM_MODEL, true);
 
+        // share additional properties with all models rather than copying them, and release models once written
+        boolean streamModels = GlobalSettings.getProperty(CodegenConstants.STREAM_MODELS) != null ?
+                Boolean.parseBoolean(GlobalSettings.getProperty(CodegenConstants.STREAM_MODELS)) :
+                getGeneratorPropertyDefaultSwitch(CodegenConstants.STREAM_MODELS, false);
+
         // process models only
         for (String name : modelKeys) {
             processedModels.add(name);
@@ -513,7 +564,11 @@ public class DefaultGenerator implements Generator {
                 schemaMap.put(name, schema);
                 ModelsMap models = processModels(config, schemaMap);
                 models.put("classname", config.toModelName(name));
-                models.putAll(config.additionalProperties());
+                if (streamModels) {
+                    models.setParent(config.additionalProperties());
+                } else {
+                    models.putAll(config.additionalProperties());
+                }
                 allProcessedModels.put(name, models);
             } catch (Exception e) {
                 throw new RuntimeException("Could not process model '" + name + "'" + ".Please make sure that your schema is correct!", e);
@@ -544,9 +599,20 @@ public class DefaultGenerator implements Generator {
             }
         }
 
+        if (streamModels) {
+            // the map returned by postProcessAllModels may not support removal
+            allProcessedModels = new LinkedHashMap<>(allProcessedModels);
+        }
+
         // generate files based on processed models
-        for (String modelName : allProcessedModels.keySet()) {
-            ModelsMap models = allProcessedModels.get(modelName);
+        for (Iterator<Map.Entry<String, ModelsMap>> it = allProcessedModels.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, ModelsMap> entry = it.next();
+            String modelName = entry.getKey();
+            ModelsMap models = entry.getValue();
+            if (streamModels) {
+                // only the CodegenModel is kept (in allModels) for APIs and supporting files
+                it.remove();
+            }
             models.put("modelPackage", config.modelPackage());
             try {
                 //don't generate models that have a schema mapping
@@ -583,6 +649,7 @@ public class DefaultGenerator implements Generator {
                 throw new RuntimeException("Could not generate model '" + modelName + "'", e);
             }
         }
+        collectPendingFiles();
         if (GlobalSettings.getProperty("debugModels") != null) {
             LOGGER.info("############ Model info ############");
             Json.prettyPrint(allModels);
@@ -592,7 +659,7 @@ public class DefaultGenerator implements Generator {
     /**
      * this method guesses the schema type of in parent model used variable and if the schema type is available it let the generate the model for the type of this variable
      */
-    private void generateModelsForVariable(List<File> files, List<ModelMap> allModels, List<String> unusedModels, List<ModelMap> aliasModels, List<String> processedModels, CodegenProperty variable) {
+    private void generateModelsForVariable(List<File> files, List<ModelMap> allModels, Set<String> unusedModels, List<ModelMap> aliasModels, Set<String> processedModels, CodegenProperty variable) {
         if (variable == null) {
             return;
         }
@@ -761,30 +828,23 @@ public class DefaultGenerator implements Generator {
                 addAuthenticationSwitches(operation);
 
                 for (String templateName : config.apiTemplateFiles().keySet()) {
-                    File written = null;
                     if (config.templateOutputDirs().containsKey(templateName)) {
                         String outputDir = config.getOutputDir() + File.separator + config.templateOutputDirs().get(templateName);
                         String filename = config.apiFilename(templateName, tag, outputDir);
                         // do not overwrite apiController file for spring server
                         if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
-                            written = processTemplateToFile(operation, templateName, filename, generateApis, CodegenConstants.APIS, outputDir);
+                            generateFile(files, operation, templateName, filename, generateApis, CodegenConstants.APIS, outputDir, "api");
                         } else {
                             LOGGER.info("Implementation file {} is not overwritten", filename);
                         }
                     } else {
                         String filename = config.apiFilename(templateName, tag);
                         if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
-                            written = processTemplateToFile(operation, templateName, filename, generateApis, CodegenConstants.APIS);
+                            generateFile(files, operation, templateName, filename, generateApis, CodegenConstants.APIS, "api");
                         } else {
                             LOGGER.info("Implementation file {} is not overwritten", filename);
                         }
                     }
-                    if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "api");
-                        }
-                    }
                 }
 
                 // to generate api test files
@@ -795,32 +855,21 @@ public class DefaultGenerator implements Generator {
                     if (apiTestFile.exists()) {
                         this.templateProcessor.skip(apiTestFile.toPath(), "Test files never overwrite an existing file of the same name.");
                     } else {
-                        File written = processTemplateToFile(operation, templateName, filename, generateApiTests, CodegenConstants.API_TESTS, config.apiTestFileFolder());
-                        if (written != null) {
-                            files.add(written);
-                            if (config.isEnablePostProcessFile() && !dryRun) {
-                                config.postProcessFile(written, "api-test");
-                            }
-                        }
+                        generateFile(files, operation, templateName, filename, generateApiTests, CodegenConstants.API_TESTS, config.apiTestFileFolder(), "api-test");
                     }
                 }
 
                 // to generate api documentation files
                 for (String templateName : config.apiDocTemplateFiles().keySet()) {
                     String filename = config.apiDocFilename(templateName, tag);
-                    File written = processTemplateToFile(operation, templateName, filename, generateApiDocumentation, CodegenConstants.API_DOCS);
-                    if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "api-doc");
-                        }
-                    }
+                    generateFile(files, operation, templateName, filename, generateApiDocumentation, CodegenConstants.API_DOCS, "api-doc");
                 }
 
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
             }
         }
+        collectPendingFiles();
         if (GlobalSettings.getProperty("debugOperations") != null) {
             LOGGER.info("############ Operation info ############");
             Json.prettyPrint(allOperations);
@@ -920,30 +969,23 @@ public class DefaultGenerator implements Generator {
                 addAuthenticationSwitches(operation);
 
                 for (String templateName : config.apiTemplateFiles().keySet()) {
-                    File written = null;
                     if (config.templateOutputDirs().containsKey(templateName)) {
                         String outputDir = config.getOutputDir() + File.separator + config.templateOutputDirs().get(templateName);
                         String filename = config.apiFilename(templateName, tag, outputDir);
                         // do not overwrite apiController file for spring server
                         if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
-                            written = processTemplateToFile(operation, templateName, filename, generateWebhooks, CodegenConstants.WEBHOOKS, outputDir);
+                            generateFile(files, operation, templateName, filename, generateWebhooks, CodegenConstants.WEBHOOKS, outputDir, "api");
                         } else {
                             LOGGER.info("Implementation file {} is not overwritten", filename);
                         }
                     } else {
                         String filename = config.apiFilename(templateName, tag);
                         if (apiFilePreCheck(filename, generatorCheck, templateName, templateCheck)) {
-                            written = processTemplateToFile(operation, templateName, filename, generateWebhooks, CodegenConstants.WEBHOOKS);
+                            generateFile(files, operation, templateName, filename, generateWebhooks, CodegenConstants.WEBHOOKS, "api");
                         } else {
                             LOGGER.info("Implementation file {} is not overwritten", filename);
                         }
                     }
-                    if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "api");
-                        }
-                    }
                 }
 
                 // to generate api test files
@@ -954,32 +996,21 @@ public class DefaultGenerator implements Generator {
                     if (apiTestFile.exists()) {
                         this.templateProcessor.skip(apiTestFile.toPath(), "Test files never overwrite an existing file of the same name.");
                     } else {
-                        File written = processTemplateToFile(operation, templateName, filename, generateApiTests, CodegenConstants.API_TESTS, config.apiTestFileFolder());
-                        if (written != null) {
-                            files.add(written);
-                            if (config.isEnablePostProcessFile() && !dryRun) {
-                                config.postProcessFile(written, "api-test");
-                            }
-                        }
+                        generateFile(files, operation, templateName, filename, generateApiTests, CodegenConstants.API_TESTS, config.apiTestFileFolder(), "api-test");
                     }
                 }
 
                 // to generate api documentation files
                 for (String templateName : config.apiDocTemplateFiles().keySet()) {
                     String filename = config.apiDocFilename(templateName, tag);
-                    File written = processTemplateToFile(operation, templateName, filename, generateApiDocumentation, CodegenConstants.API_DOCS);
-                    if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "api-doc");
-                        }
-                    }
+                    generateFile(files, operation, templateName, filename, generateApiDocumentation, CodegenConstants.API_DOCS, "api-doc");
                 }
 
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
             }
         }
+        collectPendingFiles();
         if (GlobalSettings.getProperty("debugOperations") != null) {
             LOGGER.info("############ Operation info ############");
             Json.prettyPrint(allWebhooks);
@@ -1007,11 +1038,6 @@ public class DefaultGenerator implements Generator {
         // use the entries provided by the users to pre-populate .openapi-generator-ignore
         try {
             LOGGER.info("Writing file " + ignoreFileNameTarget + " (which is always overwritten when the option `openapiGeneratorIgnoreFile` is enabled.)");
-            new File(config.outputFolder()).mkdirs();
-            if (!ignoreFile.createNewFile()) {
-                // file may already exist, do nothing
-            }
-
             String header = String.join("\n",
                     "# IMPORTANT: this file is generated with the option `openapiGeneratorIgnoreList` enabled",
                     "# (--openapi-generator-ignore-list in CLI for example) so the entries below are pre-populated based",
@@ -1046,16 +1072,28 @@ public class DefaultGenerator implements Generator {
                     "# The following entries are pre-populated based on the input obtained via",
                     "# the option `openapiGeneratorIgnoreList` (--openapi-generator-ignore-list in CLI for example).",
                     "");
-            Writer fileWriter = Files.newBufferedWriter(ignoreFile.toPath(), StandardCharsets.UTF_8);
-            fileWriter.write(header);
+            StringBuilder content = new StringBuilder(header);
             // add entries provided by the users
             for (String entry : config.getOpenapiGeneratorIgnoreList()) {
-                fileWriter.write(entry);
-                fileWriter.write("\n");
+                content.append(entry).append("\n");
+            }
+            byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+            if (archive == null) {
+                new File(config.outputFolder()).mkdirs();
+                Files.write(ignoreFile.toPath(), bytes);
+                // re-create ignore processor based on the newly-created .openapi-generator-ignore
+                this.ignoreProcessor = new CodegenIgnoreProcessor(ignoreFile);
+            } else {
+                this.templateProcessor.writeToFile(ignoreFileNameTarget, bytes);
+                // the ignore processor only reads its rules from a file
+                Path rules = Files.createTempFile("openapi-generator-ignore", null);
+                try {
+                    Files.write(rules, bytes);
+                    this.ignoreProcessor = new CodegenIgnoreProcessor(rules.toFile());
+                } finally {
+                    Files.deleteIfExists(rules);
+                }
             }
-            fileWriter.close();
-            // re-create ignore processor based on the newly-created .openapi-generator-ignore
-            this.ignoreProcessor = new CodegenIgnoreProcessor(ignoreFile);
         } catch (IOException e) {
             throw new RuntimeException("Failed to generate .openapi-generator-ignore when the option `openapiGeneratorIgnoreList` is enabled: ", e);
         }
@@ -1082,7 +1120,7 @@ public class DefaultGenerator implements Generator {
 
                 if (!of.isDirectory()) {
                     // check that its not a dryrun and the files in the directory aren't ignored before we make the directory
-                    if (!dryRun && ignoreProcessor.allowsFile(new File(outputFilename)) && !of.mkdirs()) {
+                    if (!dryRun && archive == null && ignoreProcessor.allowsFile(new File(outputFilename)) && !of.mkdirs()) {
                         once(LOGGER).debug("Output directory {} not created. It {}.", outputFolder, of.exists() ? "already exists." : "may not have appropriate permissions.");
                     }
                 }
@@ -1093,13 +1131,7 @@ public class DefaultGenerator implements Generator {
                     shouldGenerate = supportingFilesToGenerate.contains(support.getDestinationFilename());
                 }
 
-                File written = processTemplateToFile(bundle, support.getTemplateFile(), outputFilename, shouldGenerate, CodegenConstants.SUPPORTING_FILES);
-                if (written != null) {
-                    files.add(written);
-                    if (config.isEnablePostProcessFile() && !dryRun) {
-                        config.postProcessFile(written, "supporting-file");
-                    }
-                }
+                generateFile(files, bundle, support.getTemplateFile(), outputFilename, shouldGenerate, CodegenConstants.SUPPORTING_FILES, "supporting-file");
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate supporting file '" + support + "'", e);
             }
@@ -1118,13 +1150,7 @@ public class DefaultGenerator implements Generator {
                     if (shouldGenerate && supportingFilesToGenerate != null && !supportingFilesToGenerate.isEmpty()) {
                         shouldGenerate = supportingFilesToGenerate.contains(openapiGeneratorIgnore);
                     }
-                    File written = processTemplateToFile(bundle, openapiGeneratorIgnore, ignoreFileNameTarget, shouldGenerate, CodegenConstants.SUPPORTING_FILES);
-                    if (written != null) {
-                        files.add(written);
-                        if (config.isEnablePostProcessFile() && !dryRun) {
-                            config.postProcessFile(written, "openapi-generator-ignore");
-                        }
-                    }
+                    generateFile(files, bundle, openapiGeneratorIgnore, ignoreFileNameTarget, shouldGenerate, CodegenConstants.SUPPORTING_FILES, "openapi-generator-ignore");
                 } catch (Exception e) {
                     throw new RuntimeException("Could not generate supporting file '" + ignoreFileNameTarget + "'", e);
                 }
@@ -1133,6 +1159,7 @@ public class DefaultGenerator implements Generator {
             }
         }
 
+        collectPendingFiles();
         generateVersionMetadata(files);
     }
 
@@ -1284,21 +1311,54 @@ public class DefaultGenerator implements Generator {
         // generate .openapi-generator-ignore if the option openapiGeneratorIgnoreFile is enabled
         generateOpenapiGeneratorIgnoreFile();
 
+        int parallelism = getParallelism();
+        if (parallelism > 1 && !dryRun) {
+            LOGGER.info("Generating files with {} threads", parallelism);
+            renderExecutor = Executors.newFixedThreadPool(parallelism);
+        }
+
+        int postProcessBatchSize = getPostProcessBatchSize();
+        if (postProcessBatchSize > 1 && config.isEnablePostProcessFile() && !dryRun && archive == null) {
+            int threads = parallelism > 1 ? parallelism : Runtime.getRuntime().availableProcessors();
+            LOGGER.info("Post-processing files in batches of {} with {} threads", postProcessBatchSize, threads);
+            LOGGER.warn("Each post-processor command is passed up to {} files: a post-processor handling only its first argument, e.g. a script using $1, leaves the other files unprocessed", postProcessBatchSize);
+            postProcessorBatches = new PostProcessorBatches(postProcessBatchSize, threads);
+            config.setPostProcessorBatches(postProcessorBatches);
+        }
+
+        boolean incrementalGeneration = GlobalSettings.getProperty(CodegenConstants.INCREMENTAL_GENERATION) != null ?
+                Boolean.parseBoolean(GlobalSettings.getProperty(CodegenConstants.INCREMENTAL_GENERATION)) :
+                getGeneratorPropertyDefaultSwitch(CodegenConstants.INCREMENTAL_GENERATION, false);
+        fingerprints = null;
+        if (incrementalGeneration && !dryRun && archive == null) {
+            fingerprints = GenerationFingerprints.load(
+                    java.nio.file.Paths.get(config.getOutputDir()),
+                    java.nio.file.Paths.get(config.outputFolder(), METADATA_DIR, GenerationFingerprints.FILENAME),
+                    GenerationFingerprints.runFingerprint(config, ImplementationVersion.read()));
+        }
+
         List<File> files = new ArrayList<>();
-        // models
-        List<String> filteredSchemas = ModelUtils.getSchemasUsedOnlyInFormParam(openAPI);
-        List<ModelMap> allModels = new ArrayList<>();
-        List<ModelMap> aliasModels = new ArrayList<>();
-        generateModels(files, allModels, filteredSchemas, aliasModels);
-        // apis
-        List<OperationsMap> allOperations = new ArrayList<>();
-        generateApis(files, allOperations, allModels);
-        // webhooks
-        List<WebhooksMap> allWebhooks = new ArrayList<>();
-        generateWebhooks(files, allWebhooks, allModels);
-        // supporting files
-        Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels, aliasModels, allWebhooks);
-        generateSupportingFiles(files, bundle);
+        try {
+            // models
+            List<String> filteredSchemas = schemaUsage.getSchemasUsedOnlyInFormParam();
+            List<ModelMap> allModels = new ArrayList<>();
+            List<ModelMap> aliasModels = new ArrayList<>();
+            generateModels(files, allModels, filteredSchemas, aliasModels);
+            // apis
+            List<OperationsMap> allOperations = new ArrayList<>();
+            generateApis(files, allOperations, allModels);
+            // webhooks
+            List<WebhooksMap> allWebhooks = new ArrayList<>();
+            generateWebhooks(files, allWebhooks, allModels);
+            // supporting files
+            Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels, aliasModels, allWebhooks);
+            generateSupportingFiles(files, bundle);
+        } finally {
+            if (renderExecutor != null) {
+                renderExecutor.shutdownNow();
+                renderExecutor = null;
+            }
+        }
 
         if (dryRun) {
             boolean verbose = Boolean.parseBoolean(GlobalSettings.getProperty("verbose"));
@@ -1344,9 +1404,24 @@ public class DefaultGenerator implements Generator {
             }
         }
 
+        if (postProcessorBatches != null) {
+            // run the remaining post-processor commands before the generation completes
+            if (!postProcessorBatches.finish()) {
+                LOGGER.warn("Not every generated file was post-processed");
+            }
+            postProcessorBatches = null;
+            config.setPostProcessorBatches(null);
+        }
+
         // post-process
         config.postProcess();
 
+        if (fingerprints != null) {
+            // saved after post-processing, which may modify generated files
+            fingerprints.save();
+            fingerprints = null;
+        }
+
         // reset GlobalSettings, so that the running thread can be reused for another generator-run
         GlobalSettings.reset();
 
@@ -1433,6 +1508,19 @@ public class DefaultGenerator implements Generator {
     private final Set<String> seenFiles = new HashSet<>();
 
     private File processTemplateToFile(Map<String, Object> templateData, String templateName, String outputFilename, boolean shouldGenerate, String skippedByOption, String intendedOutputDir) throws IOException {
+        File target = resolveTargetFile(outputFilename, shouldGenerate, skippedByOption, intendedOutputDir);
+        if (target == null) {
+            return null;
+        }
+        return this.templateProcessor.write(templateData, templateName, target);
+    }
+
+    /**
+     * Applies the ignore file, generate options and output directory constraints to a file about to be generated.
+     *
+     * @return The target file, or null if the file was ignored or skipped
+     */
+    private File resolveTargetFile(String outputFilename, boolean shouldGenerate, String skippedByOption, String intendedOutputDir) {
         String adjustedOutputFilename = outputFilename.replaceAll("//", "/").replace('/', File.separatorChar);
         File target = new File(adjustedOutputFilename);
         if (ignoreProcessor.allowsFile(target)) {
@@ -1447,7 +1535,7 @@ public class DefaultGenerator implements Generator {
                     LOGGER.warn("Duplicate file path detected. Not all operating systems can handle case sensitive file paths. path={}", absoluteTarget.toString());
                 }
                 seenFiles.add(absoluteTarget.toString());
-                return this.templateProcessor.write(templateData, templateName, target);
+                return target;
             } else {
                 this.templateProcessor.skip(target.toPath(), String.format(Locale.ROOT, "Skipped by %s options supplied by user.", skippedByOption));
                 return null;
@@ -1458,6 +1546,143 @@ public class DefaultGenerator implements Generator {
         }
     }
 
+    private void generateFile(List<File> files, Map<String, Object> templateData, String templateName, String outputFilename, boolean shouldGenerate, String skippedByOption, String fileType) throws IOException {
+        generateFile(files, templateData, templateName, outputFilename, shouldGenerate, skippedByOption, this.config.getOutputDir(), fileType);
+    }
+
+    /**
+     * Renders a template to a file and tracks the written file. When parallel generation is enabled, rendering and
+     * writing are handed to the render executor, and the written file is tracked by {@link #collectPendingFiles()}.
+     *
+     * @param files    The list tracking generated files
+     * @param fileType The file type passed to {@link CodegenConfig#postProcessFile(File, String)}
+     */
+    private void generateFile(List<File> files, Map<String, Object> templateData, String templateName, String outputFilename, boolean shouldGenerate, String skippedByOption, String intendedOutputDir, String fileType) throws IOException {
+        File target = resolveTargetFile(outputFilename, shouldGenerate, skippedByOption, intendedOutputDir);
+        if (target == null) {
+            return;
+        }
+
+        String fingerprint = null;
+        if (fingerprints != null) {
+            fingerprint = fingerprints.fingerprint(templateName, templateData);
+            if (fingerprints.isUpToDate(target, fingerprint)) {
+                this.templateProcessor.skip(target.toPath(), "Unchanged since the previous generation.");
+                fingerprints.record(target, fingerprint);
+                files.add(target);
+                return;
+            }
+        }
+
+        if (renderExecutor == null) {
+            addGeneratedFile(files, this.templateProcessor.write(templateData, templateName, target), fileType, fingerprint);
+        } else {
+            Future<File> written = renderExecutor.submit(GlobalSettings.propagate(() -> this.templateProcessor.write(templateData, templateName, target)));
+            pendingFiles.add(new PendingFile(files, target, written, fileType, fingerprint));
+        }
+    }
+
+    private void addGeneratedFile(List<File> files, File written, String fileType, String fingerprint) {
+        if (written != null) {
+            files.add(written);
+            if (fingerprint != null) {
+                fingerprints.record(written, fingerprint);
+            }
+            postProcessFile(written, fileType);
+        }
+    }
+
+    private void postProcessFile(File written, String fileType) {
+        if (config.isEnablePostProcessFile() && !dryRun && archive == null) {
+            if (postProcessorBatches != null) {
+                postProcessorBatches.setFileType(fileType);
+            }
+            config.postProcessFile(written, fileType);
+        }
+    }
+
+    /**
+     * Waits for the files handed to the render executor and tracks them in the order they were requested,
+     * so that parallel generation yields the same file list as sequential generation.
+     */
+    private void collectPendingFiles() {
+        try {
+            for (PendingFile pending : pendingFiles) {
+                try {
+                    addGeneratedFile(pending.files, pending.written.get(), pending.fileType, pending.fingerprint);
+                } catch (ExecutionException e) {
+                    throw new RuntimeException("Could not generate file '" + pending.target + "'", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating files", e);
+        } finally {
+            pendingFiles.clear();
+            if (fingerprints != null) {
+                // the next generation phase may modify template data fingerprinted so far
+                fingerprints.clearDigests();
+            }
+        }
+    }
+
+    /**
+     * Reads the {@link CodegenConstants#PARALLEL_GENERATION} property: true for one thread per processor,
+     * or the number of threads used to render files.
+     *
+     * @return the number of threads used to render files, 1 when files are generated sequentially
+     */
+    private int getParallelism() {
+        String value = GlobalSettings.getProperty(CodegenConstants.PARALLEL_GENERATION);
+        if (value == null) {
+            value = generatorPropertyDefaults.get(CodegenConstants.PARALLEL_GENERATION);
+        }
+        if (StringUtils.isEmpty(value) || "false".equalsIgnoreCase(value)) {
+            return 1;
+        }
+        if ("true".equalsIgnoreCase(value)) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid value '{}' for {}, expected true, false or a number of threads. Files are generated sequentially.", value, CodegenConstants.PARALLEL_GENERATION);
+            return 1;
+        }
+    }
+
+    private int getPostProcessBatchSize() {
+        String value = GlobalSettings.getProperty(CodegenConstants.POST_PROCESS_BATCH_SIZE);
+        if (value == null) {
+            value = generatorPropertyDefaults.get(CodegenConstants.POST_PROCESS_BATCH_SIZE);
+        }
+        if (StringUtils.isEmpty(value)) {
+            return 1;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Invalid value '{}' for {}, expected a number of files. Files are post-processed one at a time.", value, CodegenConstants.POST_PROCESS_BATCH_SIZE);
+            return 1;
+        }
+    }
+
+    private static final class PendingFile {
+        private final List<File> files;
+        private final File target;
+        private final Future<File> written;
+        private final String fileType;
+        private final String fingerprint;
+
+        private PendingFile(List<File> files, File target, Future<File> written, String fileType, String fingerprint) {
+            this.files = files;
+            this.target = target;
+            this.written = written;
+            this.fileType = fileType;
+            this.fingerprint = fingerprint;
+        }
+    }
+
     public Map<String, List<CodegenOperation>> processPaths(Paths paths) {
         Map<String, List<CodegenOperation>> ops = new TreeMap<>();
         // when input file is not valid and doesn't contain any paths
@@ -1940,9 +2165,7 @@ public class DefaultGenerator implements Generator {
                 File written = this.templateProcessor.writeToFile(versionMetadata, (ImplementationVersion.read() + "\n").getBytes(StandardCharsets.UTF_8));
                 if (written != null) {
                     files.add(versionMetadataFile);
-                    if (config.isEnablePostProcessFile() && !dryRun) {
-                        config.postProcessFile(written, "openapi-generator-version");
-                    }
+                    postProcessFile(written, "openapi-generator-version");
                 }
             } catch (IOException e) {
                 throw new RuntimeException("Could not generate supporting file '" + versionMetadata + "'", e);
@@ -0,0 +1,443 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samskivert.mustache.Mustache;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Json31;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.oas.models.media.Schema;
+import org.openapitools.codegen.api.TemplatingEngineAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tracks a fingerprint of the inputs of every generated file in {@code .openapi-generator/FINGERPRINTS}, so that
+ * a later generation can skip rendering files whose inputs did not change.
+ * <p>
+ * The fingerprint of a file is derived from the template name and the complete data passed to the template. The
+ * generator, its version, library, templating engine, options and user template directory are captured once as
+ * the run fingerprint; when any of them changes, every file is rendered again. A file is also rendered again when
+ * it was modified or removed since the previous generation.
+ */
+public class GenerationFingerprints {
+    public static final String FILENAME = "FINGERPRINTS";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationFingerprints.class);
+    private static final String RUN_PREFIX = "run ";
+    private static final String CODEGEN_PACKAGE = GenerationFingerprints.class.getPackage().getName() + ".";
+    private static final Map<Class<?>, SortedMap<String, Accessor>> PROPERTIES = new ConcurrentHashMap<>();
+    // the generation timestamp changes on every run, files are not generated again for it alone
+    private static final Set<String> IGNORED_KEYS = new HashSet<>(Arrays.asList("generatedDate", "generatedYear"));
+
+    private final Path outputDir;
+    private final Path indexFile;
+    private final String runFingerprint;
+    private final Map<String, Entry> previous;
+    private final Map<String, String> current = new ConcurrentHashMap<>();
+    private final Map<Object, byte[]> digests = new IdentityHashMap<>();
+    private int cycles = 0;
+
+    private GenerationFingerprints(Path outputDir, Path indexFile, String runFingerprint, Map<String, Entry> previous) {
+        this.outputDir = outputDir;
+        this.indexFile = indexFile;
+        this.runFingerprint = runFingerprint;
+        this.previous = previous;
+    }
+
+    /**
+     * Loads the fingerprints recorded by the previous generation into the given output directory. Recorded
+     * fingerprints are discarded when they were created by a run with a different run fingerprint.
+     *
+     * @param outputDir      The output directory
+     * @param indexFile      The fingerprint index file
+     * @param runFingerprint The fingerprint of the inputs shared by every file, see {@link #runFingerprint(CodegenConfig, String)}
+     * @return The fingerprints of the previous generation
+     */
+    public static GenerationFingerprints load(Path outputDir, Path indexFile, String runFingerprint) {
+        Map<String, Entry> previous = new HashMap<>();
+        if (Files.isRegularFile(indexFile)) {
+            try {
+                List<String> lines = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+                if (!lines.isEmpty() && lines.get(0).equals(RUN_PREFIX + runFingerprint)) {
+                    for (String line : lines.subList(1, lines.size())) {
+                        String[] parts = line.split(" ", 4);
+                        if (parts.length == 4) {
+                            previous.put(parts[3], new Entry(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+                        }
+                    }
+                } else {
+                    LOGGER.info("Generator inputs changed since the previous generation, all files will be generated");
+                }
+            } catch (IOException | NumberFormatException e) {
+                LOGGER.warn("Unable to read {}, all files will be generated", indexFile, e);
+                previous.clear();
+            }
+        }
+        return new GenerationFingerprints(outputDir.toAbsolutePath().normalize(), indexFile, runFingerprint, previous);
+    }
+
+    /**
+     * Computes the fingerprint of the inputs shared by every generated file.
+     *
+     * @param config           The generator configuration, after its options are processed
+     * @param generatorVersion The version of openapi-generator
+     * @return The run fingerprint
+     */
+    public static String runFingerprint(CodegenConfig config, String generatorVersion) {
+        MessageDigest md = newDigest();
+        GenerationFingerprints fingerprints = new GenerationFingerprints(null, null, null, Collections.emptyMap());
+        fingerprints.update(md, generatorVersion);
+        fingerprints.update(md, config.getClass().getName());
+        fingerprints.update(md, config.getName());
+        fingerprints.update(md, config.getLibrary());
+        fingerprints.update(md, config.getTemplatingEngine() == null ? null : config.getTemplatingEngine().getIdentifier());
+        fingerprints.update(md, config.additionalProperties());
+        String templateDir = config.templateDir();
+        if (templateDir != null) {
+            Path templatePath = new File(templateDir).toPath();
+            if (Files.isDirectory(templatePath)) {
+                try (Stream<Path> templates = Files.walk(templatePath)) {
+                    for (Path template : templates.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                        fingerprints.update(md, templatePath.relativize(template).toString());
+                        md.update(Files.readAllBytes(template));
+                    }
+                } catch (IOException e) {
+                    // an unreadable template directory cannot be compared with the previous generation
+                    fingerprints.update(md, UUID.randomUUID().toString());
+                }
+            }
+        }
+        return toHex(md.digest());
+    }
+
+    /**
+     * Computes the fingerprint of a file generated from the given template and template data.
+     *
+     * @param templateName The template name
+     * @param templateData The data passed to the template
+     * @return The file fingerprint
+     */
+    public String fingerprint(String templateName, Map<String, Object> templateData) {
+        MessageDigest md = newDigest();
+        update(md, templateName);
+        update(md, templateData);
+        return toHex(md.digest());
+    }
+
+    /**
+     * Checks whether the target file was generated from the same inputs by the previous generation and has not
+     * been modified since.
+     *
+     * @param target      The file to generate
+     * @param fingerprint The fingerprint of the inputs of the file
+     * @return true if the file does not need to be generated again
+     */
+    public boolean isUpToDate(File target, String fingerprint) {
+        Entry entry = previous.get(relativize(target));
+        if (entry == null || !entry.fingerprint.equals(fingerprint)) {
+            return false;
+        }
+        File file = target.getAbsoluteFile();
+        return file.isFile() && file.length() == entry.length && file.lastModified() == entry.lastModified;
+    }
+
+    /**
+     * Records the fingerprint of a generated or up-to-date file.
+     *
+     * @param file        The generated file
+     * @param fingerprint The fingerprint of the inputs of the file
+     */
+    public void record(File file, String fingerprint) {
+        current.put(relativize(file), fingerprint);
+    }
+
+    /**
+     * Forgets the fingerprints computed for objects of the template data. To be called whenever previously
+     * fingerprinted template data may have been modified.
+     */
+    public void clearDigests() {
+        digests.clear();
+    }
+
+    /**
+     * Writes the fingerprints of the files recorded by this generation. Sizes and modification times are read
+     * at this point, so that changes made by post-processing are not mistaken for user modifications.
+     */
+    public void save() {
+        StringBuilder sb = new StringBuilder(RUN_PREFIX).append(runFingerprint).append('\n');
+        new TreeMap<>(current).forEach((relativePath, fingerprint) -> {
+            File file = outputDir.resolve(relativePath).toFile();
+            if (file.isFile()) {
+                sb.append(fingerprint).append(' ').append(file.length()).append(' ').append(file.lastModified())
+                        .append(' ').append(relativePath).append('\n');
+            }
+        });
+        try {
+            Files.createDirectories(indexFile.getParent());
+            Files.write(indexFile, sb.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write {}", indexFile, e);
+        }
+    }
+
+    private String relativize(File file) {
+        return outputDir.relativize(file.toPath().toAbsolutePath().normalize()).toString().replace(File.separatorChar, '/');
+    }
+
+    private void update(MessageDigest md, String value) {
+        if (value == null) {
+            md.update((byte) 0);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            md.update((byte) 1);
+            md.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+            md.update(bytes);
+        }
+    }
+
+    private void update(MessageDigest md, Object value) {
+        if (value == null || value instanceof CharSequence) {
+            update(md, value == null ? null : value.toString());
+        } else if (value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum) {
+            update(md, value.getClass().getSimpleName() + ":" + value);
+        } else if (value instanceof PrettyJson) {
+            // the JSON is derived from its source, which is fingerprinted instead of printing it
+            update(md, ((PrettyJson) value).getSource());
+        } else if (value instanceof Supplier) {
+            // other lazily computed values delegate to template data fingerprinted on its own, calling them would
+            // compute values that templates may never use
+            update(md, typeName(value));
+        } else if (value instanceof CodegenConfig || value instanceof TemplatingEngineAdapter
+                || value instanceof Mustache.Lambda || value.getClass().isSynthetic()) {
+            // captured by the run fingerprint
+            update(md, typeName(value));
+        } else {
+            md.update(digest(value));
+        }
+    }
+
+    /**
+     * Computes the digest of a composite object. Digests are memoized by identity, as models are shared by the
+     * data of many files, unless the object is part of a reference cycle.
+     */
+    private byte[] digest(Object value) {
+        synchronized (digests) {
+            byte[] digest = digests.get(value);
+            if (digest != null) {
+                return digest;
+            }
+            if (digests.containsKey(value)) {
+                // reference cycle, the object is being fingerprinted
+                cycles++;
+                return new byte[0];
+            }
+            digests.put(value, null);
+            int cyclesBefore = cycles;
+            MessageDigest md = newDigest();
+            update(md, value.getClass().getName());
+            updateContents(md, value);
+            digest = md.digest();
+            if (cycles == cyclesBefore) {
+                digests.put(value, digest);
+            } else {
+                digests.remove(value);
+            }
+            return digest;
+        }
+    }
+
+    private void updateContents(MessageDigest md, Object value) {
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            List<Map.Entry<?, ?>> entries = new ArrayList<>(map.entrySet());
+            entries.sort(Comparator.comparing(e -> String.valueOf(e.getKey())));
+            for (Map.Entry<?, ?> e : entries) {
+                if (IGNORED_KEYS.contains(String.valueOf(e.getKey()))) {
+                    continue;
+                }
+                update(md, String.valueOf(e.getKey()));
+                update(md, e.getValue());
+            }
+        } else if (value instanceof Set) {
+            // the iteration order of a set is not meaningful
+            List<String> elements = new ArrayList<>();
+            for (Object element : (Set<?>) value) {
+                MessageDigest elementDigest = newDigest();
+                update(elementDigest, element);
+                elements.add(toHex(elementDigest.digest()));
+            }
+            Collections.sort(elements);
+            elements.forEach(element -> update(md, element));
+        } else if (value instanceof Iterable) {
+            for (Object element : (Iterable<?>) value) {
+                update(md, element);
+            }
+        } else if (value.getClass().isArray()) {
+            for (int i = 0; i < Array.getLength(value); i++) {
+                update(md, Array.get(value, i));
+            }
+        } else if (isCodegenType(value.getClass())) {
+            for (Map.Entry<String, Accessor> property : properties(value.getClass()).entrySet()) {
+                update(md, property.getKey());
+                try {
+                    update(md, property.getValue().get(value));
+                } catch (InvocationTargetException e) {
+                    update(md, typeName(e.getCause()));
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    update(md, value.toString());
+                }
+            }
+        } else if (value instanceof Schema || value.getClass().getName().startsWith("io.swagger.v3.oas.models.")) {
+            // OpenAPI models are fingerprinted through their serialization, which is what templates render from them
+            try {
+                update(md, mapper(value).writeValueAsString(value));
+            } catch (JsonProcessingException | RuntimeException e) {
+                update(md, value.toString());
+            }
+        } else {
+            update(md, value.toString());
+        }
+    }
+
+    /**
+     * Lists the properties of a codegen type templates can read: its public instance fields and the public getters
+     * declared by codegen types, sorted by name. Lazily computed JSON is read from its source, so that it is not
+     * computed for files that are not generated again.
+     */
+    private static SortedMap<String, Accessor> properties(Class<?> type) {
+        return PROPERTIES.computeIfAbsent(type, t -> {
+            SortedMap<String, Accessor> properties = new TreeMap<>();
+            for (Field field : t.getFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())
+                        && Modifier.isPublic(field.getDeclaringClass().getModifiers())) {
+                    properties.putIfAbsent(field.getName(), field::get);
+                }
+            }
+            for (Method method : t.getMethods()) {
+                String name = propertyName(method);
+                if (name != null) {
+                    properties.putIfAbsent(name, method::invoke);
+                }
+            }
+            if (CodegenModel.class.isAssignableFrom(t)) {
+                properties.put("modelJson", target -> ((CodegenModel) target).getModelJsonSource());
+            } else if (CodegenProperty.class.isAssignableFrom(t)) {
+                properties.put("jsonSchema", target -> ((CodegenProperty) target).getJsonSchemaSource());
+            } else if (CodegenParameter.class.isAssignableFrom(t)) {
+                properties.put("jsonSchema", target -> ((CodegenParameter) target).getJsonSchemaSource());
+            } else if (CodegenResponse.class.isAssignableFrom(t)) {
+                properties.put("jsonSchema", target -> ((CodegenResponse) target).getJsonSchemaSource());
+            }
+            return properties;
+        });
+    }
+
+    private static String propertyName(Method method) {
+        String name = method.getName();
+        int prefix = name.startsWith("get") ? 3 : name.startsWith("is") ? 2 : 0;
+        if (prefix == 0 || name.length() == prefix || !Character.isUpperCase(name.charAt(prefix))
+                || method.getParameterCount() != 0 || method.getReturnType() == void.class
+                || Modifier.isStatic(method.getModifiers())
+                || !Modifier.isPublic(method.getDeclaringClass().getModifiers())
+                || !isCodegenType(method.getDeclaringClass())) {
+            return null;
+        }
+        return Character.toLowerCase(name.charAt(prefix)) + name.substring(prefix + 1);
+    }
+
+    private static boolean isCodegenType(Class<?> type) {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            if (c.getName().startsWith(CODEGEN_PACKAGE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ObjectMapper mapper(Object model) {
+        boolean openapi31 = (model instanceof Schema && ((Schema<?>) model).getSpecVersion() == SpecVersion.V31)
+                || (model instanceof OpenAPI && ((OpenAPI) model).getSpecVersion() == SpecVersion.V31);
+        return openapi31 ? Json31.mapper() : Json.mapper();
+    }
+
+    /**
+     * The class name of a lambda contains an identifier that differs between runs, its functional interface is
+     * used instead.
+     */
+    private static String typeName(Object value) {
+        Class<?> type = value.getClass();
+        if (type.isSynthetic() && type.getName().contains("$$Lambda")) {
+            return type.getInterfaces().length > 0 ? type.getInterfaces()[0].getName() : Object.class.getName();
+        }
+        return type.getName();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format(Locale.ROOT, "%02x", b));
+        }
+        return sb.toString();
+    }
+
+    @FunctionalInterface
+    private interface Accessor {
+        Object get(Object target) throws ReflectiveOperationException;
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final long length;
+        private final long lastModified;
+
+        private Entry(String fingerprint, long length, long lastModified) {
+            this.fingerprint = fingerprint;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -17,7 +17,6 @@
 
 package org.openapitools.codegen;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -36,12 +35,20 @@ import org.openapitools.codegen.utils.ModelUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 public class InlineModelResolver {
     private OpenAPI openAPI;
     private Map<String, Schema> addedModels = new HashMap<>();
-    private Map<String, String> generatedSignature = new HashMap<>();
+    private Map<Signature, String> generatedSignature = new HashMap<>();
+    private Schema unmatchedSchema;
+    private Signature unmatchedSignature;
     private Map<String, String> inlineSchemaNameMapping = new HashMap<>();
     private Map<String, String> inlineSchemaOptions = new HashMap<>();
     private Set<String> inlineSchemaNameMappingValues = new HashSet<>();
@@ -757,11 +764,13 @@ public class InlineModelResolver {
         }
 
         try {
-            String json = structureMapper.writeValueAsString(model);
-            if (generatedSignature.containsKey(json)) {
-                return generatedSignature.get(json);
-            }
-        } catch (JsonProcessingException e) {
+            Signature signature = Signature.of(model);
+            String existing = generatedSignature.get(signature);
+            // a schema that is not matched is registered right after, before anything can change it
+            unmatchedSchema = existing == null ? model : null;
+            unmatchedSignature = existing == null ? signature : null;
+            return existing;
+        } catch (IOException e) {
             e.printStackTrace();
         }
 
@@ -770,13 +779,64 @@ public class InlineModelResolver {
 
     private void addGenerated(String name, Schema model) {
         try {
-            String json = structureMapper.writeValueAsString(model);
-            generatedSignature.put(json, name);
-        } catch (JsonProcessingException e) {
+            Signature signature = model == unmatchedSchema ? unmatchedSignature : Signature.of(model);
+            unmatchedSchema = null;
+            unmatchedSignature = null;
+            generatedSignature.put(signature, name);
+        } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * A schema serialized with the structure mapper, as it was when the signature was computed. Its SHA-256 digest
+     * is computed along with the serialization and serves as a precomputed hash, while equality still compares the
+     * serializations, so that schemas with colliding digests are never merged.
+     */
+    private static final class Signature {
+        private final byte[] digest;
+        private final byte[] serialization;
+        private final int hashCode;
+
+        private Signature(byte[] digest, byte[] serialization) {
+            this.digest = digest;
+            this.serialization = serialization;
+            this.hashCode = Arrays.hashCode(digest);
+        }
+
+        static Signature of(Schema model) throws IOException {
+            MessageDigest messageDigest;
+            try {
+                messageDigest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            ByteArrayOutputStream serialization = new ByteArrayOutputStream();
+            try (OutputStream out = new DigestOutputStream(serialization, messageDigest)) {
+                structureMapper.writeValue(out, model);
+            }
+            return new Signature(messageDigest.digest(), serialization.toByteArray());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Signature)) {
+                return false;
+            }
+            Signature other = (Signature) o;
+            return hashCode == other.hashCode && Arrays.equals(digest, other.digest)
+                    && Arrays.equals(serialization, other.serialization);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     /**
      * Sanitizes the input so that it's valid name for a class or interface
      * <p>
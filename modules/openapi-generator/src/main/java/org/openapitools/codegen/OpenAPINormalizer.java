@@ -34,7 +34,10 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Constructor;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import static org.openapitools.codegen.CodegenConstants.X_INTERNAL;
@@ -49,6 +52,10 @@ public class OpenAPINormalizer {
 
     private TreeSet<String> anyTypeTreeSet = new TreeSet<>();
 
+    // number of applications and time spent (in nanoseconds) by rule
+    private final Map<String, long[]> ruleTimings = new HashMap<>();
+    private long nestedRuleNanos;
+
     protected static final Logger LOGGER = LoggerFactory.getLogger(OpenAPINormalizer.class);
 
     Set<String> ruleNames = new TreeSet<>();
@@ -352,11 +359,32 @@ public class OpenAPINormalizer {
             this.openAPI.getComponents().setSchemas(new HashMap<String, Schema>());
         }
 
+        long start = System.nanoTime();
         normalizeInfo();
         normalizePaths();
         normalizeComponentsSecuritySchemes();
         normalizeComponentsSchemas();
         normalizeComponentsResponses();
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("OpenAPI Normalizer completed in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            getRuleTimings().forEach((ruleName, nanos) -> LOGGER.debug("OpenAPI Normalizer rule {} applied {} time(s) in {} ms",
+                    ruleName, ruleTimings.get(ruleName)[0], TimeUnit.NANOSECONDS.toMillis(nanos)));
+        }
+    }
+
+    /**
+     * Get the time spent by each enabled rule during {@link #normalize()}, most expensive first. The time of a rule
+     * excludes the time of the rules applied while it runs.
+     *
+     * @return the time in nanoseconds by rule name
+     */
+    public Map<String, Long> getRuleTimings() {
+        Map<String, Long> timings = new LinkedHashMap<>();
+        ruleTimings.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[1]).reversed())
+                .forEach(e -> timings.put(e.getKey(), e.getValue()[1]));
+        return timings;
     }
 
     /**
@@ -402,7 +430,7 @@ public class OpenAPINormalizer {
                 if (filter.parse()) {
                     // Iterates over each HTTP method in methodMap, retrieves the corresponding Operations from the PathItem,
                     // and marks it as internal (`x-internal=true`) if the method/operationId/tag/path is not in the filters.
-                    filter.apply(pathsEntry.getKey(), path, methodMap);
+                    acceptRule(FILTER, path, p -> filter.apply(pathsEntry.getKey(), p, methodMap));
                 }
             }
 
@@ -435,17 +463,17 @@ public class OpenAPINormalizer {
      * @param operation Operation
      */
     protected void normalizeOperation(Operation operation) {
-        processRemoveXInternalFromOperation(operation);
+        acceptRule(REMOVE_X_INTERNAL, operation, this::processRemoveXInternalFromOperation);
 
-        processKeepOnlyFirstTagInOperation(operation);
+        acceptRule(KEEP_ONLY_FIRST_TAG_IN_OPERATION, operation, this::processKeepOnlyFirstTagInOperation);
 
-        processSetTagsForAllOperations(operation);
+        acceptRule(SET_TAGS_FOR_ALL_OPERATIONS, operation, this::processSetTagsForAllOperations);
 
-        processSetTagsToOperationId(operation);
+        acceptRule(SET_TAGS_TO_OPERATIONID, operation, this::processSetTagsToOperationId);
 
-        processSetTagsToVendorExtension(operation);
+        acceptRule(SET_TAGS_TO_VENDOR_EXTENSION, operation, this::processSetTagsToVendorExtension);
 
-        processFixDuplicatedOperationId(operation);
+        acceptRule(FIX_DUPLICATED_OPERATIONID, operation, this::processFixDuplicatedOperationId);
     }
 
     /**
@@ -465,7 +493,7 @@ public class OpenAPINormalizer {
             } else if (mediaType.getSchema() == null) {
                 continue;
             } else {
-                Schema newSchema = normalizeSchema(mediaType.getSchema(), new HashSet<>());
+                Schema newSchema = normalizeSchema(mediaType.getSchema(), newVisitedSchemas());
                 mediaType.setSchema(newSchema);
             }
         }
@@ -513,7 +541,7 @@ public class OpenAPINormalizer {
             }
 
             if (parameter.getSchema() != null) {
-                Schema newSchema = normalizeSchema(parameter.getSchema(), new HashSet<>());
+                Schema newSchema = normalizeSchema(parameter.getSchema(), newVisitedSchemas());
                 parameter.setSchema(newSchema);
             }
         }
@@ -559,7 +587,7 @@ public class OpenAPINormalizer {
 
         for (String headerKey : headers.keySet()) {
             Header h = headers.get(headerKey);
-            Schema updatedHeader = normalizeSchema(h.getSchema(), new HashSet<>());
+            Schema updatedHeader = normalizeSchema(h.getSchema(), newVisitedSchemas());
             h.setSchema(updatedHeader);
         }
     }
@@ -620,7 +648,7 @@ public class OpenAPINormalizer {
                 fixSelfReferenceSchema(schemaName, schema);
 
                 // normalize the schemas
-                schemas.put(schemaName, normalizeSchema(schema, new HashSet<>()));
+                schemas.put(schemaName, normalizeSchema(schema, newVisitedSchemas()));
             }
         }
     }
@@ -711,7 +739,7 @@ public class OpenAPINormalizer {
 
         markSchemaAsVisited(schema, visitedSchemas);
 
-        processNormalizeOtherThanObjectWithProperties(schema);
+        acceptRule(REMOVE_PROPERTIES_FROM_TYPE_OTHER_THAN_OBJECT, schema, this::processNormalizeOtherThanObjectWithProperties);
 
         if (ModelUtils.isArraySchema(schema)) { // array
             Schema result = normalizeArraySchema(schema);
@@ -819,6 +847,16 @@ public class OpenAPINormalizer {
         }
     }
 
+    /**
+     * Create the collection of visited schemas for a traversal. Schemas are compared by identity, as their
+     * equality is deep and changes while they are normalized.
+     *
+     * @return an empty collection of visited schemas
+     */
+    protected Set<Schema> newVisitedSchemas() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
     /**
      * Add the schema to the collection of visited schemas.
      *
@@ -832,27 +870,28 @@ public class OpenAPINormalizer {
     }
 
     protected Schema normalizeArraySchema(Schema schema) {
-        Schema result = processNormalize31Spec(schema, new HashSet<>());
-        return processSetArraytoNullable(result);
+        Set<Schema> visitedSchemas = newVisitedSchemas();
+        Schema result = applyRule(NORMALIZE_31SPEC, schema, s -> processNormalize31Spec(s, visitedSchemas));
+        return applyRule(SET_CONTAINER_TO_NULLABLE, result, this::processSetArraytoNullable);
     }
 
     protected Schema normalizeMapSchema(Schema schema) {
-        return processSetMapToNullable(schema);
+        return applyRule(SET_CONTAINER_TO_NULLABLE, schema, this::processSetMapToNullable);
     }
 
     protected Schema normalizeSimpleSchema(Schema schema, Set<Schema> visitedSchemas) {
-        Schema result = processNormalize31Spec(schema, visitedSchemas);
-        return processSetPrimitiveTypesToNullable(result);
+        Schema result = applyRule(NORMALIZE_31SPEC, schema, s -> processNormalize31Spec(s, visitedSchemas));
+        return applyRule(SET_PRIMITIVE_TYPES_TO_NULLABLE, result, this::processSetPrimitiveTypesToNullable);
     }
 
     protected void normalizeBooleanSchema(Schema schema, Set<Schema> visitedSchemas) {
-        processSimplifyBooleanEnum(schema);
-        processSetPrimitiveTypesToNullable(schema);
+        acceptRule(SIMPLIFY_BOOLEAN_ENUM, schema, this::processSimplifyBooleanEnum);
+        applyRule(SET_PRIMITIVE_TYPES_TO_NULLABLE, schema, this::processSetPrimitiveTypesToNullable);
     }
 
     protected void normalizeIntegerSchema(Schema schema, Set<Schema> visitedSchemas) {
-        processAddUnsignedToIntegerWithInvalidMaxValue(schema);
-        processSetPrimitiveTypesToNullable(schema);
+        acceptRule(ADD_UNSIGNED_TO_INTEGER_WITH_INVALID_MAX_VALUE, schema, this::processAddUnsignedToIntegerWithInvalidMaxValue);
+        applyRule(SET_PRIMITIVE_TYPES_TO_NULLABLE, schema, this::processSetPrimitiveTypesToNullable);
     }
 
     protected void normalizeProperties(Map<String, Schema> properties, Set<Schema> visitedSchemas) {
@@ -875,7 +914,7 @@ public class OpenAPINormalizer {
                     property.getExtensions().remove(X_INTERNAL);
                 }
             }
-            Schema newProperty = normalizeSchema(property, new HashSet<>());
+            Schema newProperty = normalizeSchema(property, newVisitedSchemas());
             propertiesEntry.setValue(newProperty);
         }
     }
@@ -972,7 +1011,7 @@ public class OpenAPINormalizer {
         }
 
         // process rules here
-        processUseAllOfRefAsParent(schema);
+        acceptRule(REF_AS_PARENT_IN_ALLOF, schema, this::processUseAllOfRefAsParent);
 
         return schema;
     }
@@ -985,7 +1024,7 @@ public class OpenAPINormalizer {
         }
 
         // process rule to refactor properties into allOf sub-schema
-        schema = processRefactorAllOfWithPropertiesOnly(schema);
+        schema = applyRule(REFACTOR_ALLOF_WITH_PROPERTIES_ONLY, schema, this::processRefactorAllOfWithPropertiesOnly);
 
         for (Object item : schema.getAllOf()) {
             if (!(item instanceof Schema)) {
@@ -1002,10 +1041,10 @@ public class OpenAPINormalizer {
         // Remove duplicate oneOf entries
         ModelUtils.deduplicateOneOfSchema(schema);
 
-        schema = processSimplifyOneOfEnum(schema);
+        schema = applyRule(SIMPLIFY_ONEOF_ANYOF_ENUM, schema, this::processSimplifyOneOfEnum);
 
         // simplify first as the schema may no longer be a oneOf after processing the rule below
-        schema = processSimplifyOneOf(schema);
+        schema = applyRule(SIMPLIFY_ONEOF_ANYOF, schema, this::processSimplifyOneOf);
 
         // if it's still a oneOf, loop through the sub-schemas
         if (schema.getOneOf() != null) {
@@ -1025,6 +1064,7 @@ public class OpenAPINormalizer {
             }
         } else {
             // normalize it as it's no longer an oneOf
+            visitedSchemas.remove(schema);
             schema = normalizeSchema(schema, visitedSchemas);
         }
 
@@ -1033,7 +1073,7 @@ public class OpenAPINormalizer {
 
     protected Schema normalizeAnyOf(Schema schema, Set<Schema> visitedSchemas) {
         //transform anyOf into enums if needed
-        schema = processSimplifyAnyOfEnum(schema);
+        schema = applyRule(SIMPLIFY_ONEOF_ANYOF_ENUM, schema, this::processSimplifyAnyOfEnum);
         if (schema.getAnyOf() == null) {
             return schema;
         }
@@ -1055,10 +1095,15 @@ public class OpenAPINormalizer {
         }
 
         // process rules here
-        schema = processSimplifyAnyOf(schema);
+        schema = applyRule(SIMPLIFY_ONEOF_ANYOF, schema, this::processSimplifyAnyOf);
 
         // last rule to process as the schema may become String schema (not "anyOf") after the completion
-        return normalizeSchema(processSimplifyAnyOfStringAndEnumString(schema), visitedSchemas);
+        schema = applyRule(SIMPLIFY_ANYOF_STRING_AND_ENUM_STRING, schema, this::processSimplifyAnyOfStringAndEnumString);
+        if (schema.getAnyOf() == null) {
+            // normalize it as it's no longer an anyOf
+            visitedSchemas.remove(schema);
+        }
+        return normalizeSchema(schema, visitedSchemas);
     }
 
     protected Schema normalizeComplexComposedSchema(Schema schema, Set<Schema> visitedSchemas) {
@@ -1067,11 +1112,52 @@ public class OpenAPINormalizer {
             normalizeProperties(schema.getProperties(), visitedSchemas);
         }
 
-        processRemoveAnyOfOneOfAndKeepPropertiesOnly(schema);
+        acceptRule(REMOVE_ANYOF_ONEOF_AND_KEEP_PROPERTIES_ONLY, schema, this::processRemoveAnyOfOneOfAndKeepPropertiesOnly);
 
         return normalizeSchema(schema, visitedSchemas);
     }
 
+    /**
+     * Apply a rule to a schema, recording its time if the rule is enabled.
+     *
+     * @param ruleName the name of the rule
+     * @param schema   Schema
+     * @param rule     the rule processing the schema
+     * @return the processed schema
+     */
+    protected Schema applyRule(String ruleName, Schema schema, UnaryOperator<Schema> rule) {
+        if (!getRule(ruleName)) {
+            return rule.apply(schema);
+        }
+        long start = System.nanoTime();
+        long outerNestedRuleNanos = nestedRuleNanos;
+        nestedRuleNanos = 0;
+        try {
+            return rule.apply(schema);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long[] timing = ruleTimings.computeIfAbsent(ruleName, k -> new long[2]);
+            timing[0]++;
+            timing[1] += elapsed - nestedRuleNanos;
+            nestedRuleNanos = outerNestedRuleNanos + elapsed;
+        }
+    }
+
+    /**
+     * Apply a rule to an element of the document, recording its time if the rule is enabled.
+     *
+     * @param ruleName the name of the rule
+     * @param element  the element, e.g. Schema, Operation
+     * @param rule     the rule processing the element
+     * @param <T>      the type of the element
+     */
+    protected <T> void acceptRule(String ruleName, T element, Consumer<T> rule) {
+        applyRule(ruleName, null, s -> {
+            rule.accept(element);
+            return null;
+        });
+    }
+
     // ===================== a list of rules =====================
     // all rules (functions ) start with the word "process"
 
@@ -1725,7 +1811,7 @@ public class OpenAPINormalizer {
 
         // at this point the schema becomes a simple allOf (no properties) with an additional schema containing
         // the properties. Normalize it before returning.
-        return normalizeSchema(schema, new HashSet<>());
+        return normalizeSchema(schema, newVisitedSchemas());
     }
 
     /**
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Collects the external post-processor commands run on generated files, e.g. {@code gofmt -w file.go}, and runs
+ * them with several files per command, e.g. {@code gofmt -w a.go b.go c.go}, with several commands at a time.
+ * <p>
+ * A command is expected to end with the path of the file to process, which is the case of the post-processors of
+ * the generators shipped with OpenAPI Generator. The tool run by the command must then accept several files: a
+ * script processing its first argument only leaves the other files of a batch unprocessed. Files are batched by
+ * command and by file type, so that the time spent is reported by file type when the batches complete.
+ */
+public class PostProcessorBatches {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostProcessorBatches.class);
+
+    private final int batchSize;
+    private final ExecutorService executor;
+    private final Map<List<String>, Batch> batches = new LinkedHashMap<>();
+    private final Map<String, Timing> timings = new TreeMap<>();
+    private final List<Future<Boolean>> submitted = new ArrayList<>();
+    private String fileType = "";
+
+    /**
+     * @param batchSize the maximum number of files passed to a command
+     * @param threads   the number of commands run at a time
+     */
+    public PostProcessorBatches(int batchSize, int threads) {
+        this.batchSize = Math.max(1, batchSize);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads),
+                new ThreadFactoryBuilder().setNameFormat("post-processor-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Sets the type of the files post-processed next, as passed to {@link CodegenConfig#postProcessFile(java.io.File, String)}.
+     *
+     * @param fileType the file type, e.g. "model", "api"
+     */
+    public void setFileType(String fileType) {
+        this.fileType = fileType == null ? "" : fileType;
+    }
+
+    /**
+     * Adds the file of a post-processor command to the batch of the command, running the batch once it is full.
+     *
+     * @param commandArr the command, its arguments and the path of the file to process as the last item
+     * @param runner     runs a command, returning whether it succeeded
+     */
+    public synchronized void add(String[] commandArr, Predicate<String[]> runner) {
+        List<String> key = new ArrayList<>(commandArr.length);
+        key.add(fileType);
+        key.addAll(Arrays.asList(commandArr).subList(0, commandArr.length - 1));
+        Batch batch = batches.computeIfAbsent(key, k -> new Batch(fileType, Arrays.copyOf(commandArr, commandArr.length - 1), runner));
+        batch.files.add(commandArr[commandArr.length - 1]);
+        if (batch.files.size() >= batchSize) {
+            submit(batch);
+        }
+    }
+
+    /**
+     * Runs the remaining batches, waits for all the commands to complete and logs the time spent by file type.
+     *
+     * @return true if all the commands succeeded
+     */
+    public boolean finish() {
+        synchronized (this) {
+            batches.values().forEach(this::submit);
+            batches.clear();
+        }
+        int failures = 0;
+        boolean interrupted = false;
+        try {
+            // a failed command does not stop the others, every command completes before the executor is shut down
+            for (Future<Boolean> future : submitted) {
+                try {
+                    if (!future.get()) {
+                        failures++;
+                    }
+                } catch (ExecutionException e) {
+                    LOGGER.error("Error running the post-processor: {}", e.getCause().getMessage());
+                    failures++;
+                }
+            }
+        } catch (InterruptedException e) {
+            LOGGER.error("Interrupted while waiting for the post-processor commands");
+            Thread.currentThread().interrupt();
+            interrupted = true;
+        } finally {
+            executor.shutdownNow();
+        }
+        if (failures > 0) {
+            LOGGER.error("{} of {} post-processor command(s) failed", failures, submitted.size());
+        }
+        boolean succeeded = failures == 0 && !interrupted;
+        timings.forEach((type, timing) -> LOGGER.info("Post-processed {} {} file(s) with {} command(s) in {} ms",
+                timing.files.get(), type.isEmpty() ? "other" : type, timing.commands.get(),
+                TimeUnit.NANOSECONDS.toMillis(timing.nanos.get())));
+        return succeeded;
+    }
+
+    /**
+     * @return the number of files post-processed by file type, once {@link #finish()} returned
+     */
+    public Map<String, Integer> getProcessedFiles() {
+        Map<String, Integer> processedFiles = new TreeMap<>();
+        timings.forEach((type, timing) -> processedFiles.put(type, timing.files.get()));
+        return processedFiles;
+    }
+
+    private void submit(Batch batch) {
+        if (batch.files.isEmpty()) {
+            return;
+        }
+        String[] command = new String[batch.command.length + batch.files.size()];
+        System.arraycopy(batch.command, 0, command, 0, batch.command.length);
+        for (int i = 0; i < batch.files.size(); i++) {
+            command[batch.command.length + i] = batch.files.get(i);
+        }
+        int files = batch.files.size();
+        batch.files.clear();
+
+        Timing timing = timings.computeIfAbsent(batch.fileType, k -> new Timing());
+        Predicate<String[]> runner = batch.runner;
+        submitted.add(executor.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                return runner.test(command);
+            } finally {
+                timing.nanos.addAndGet(System.nanoTime() - start);
+                timing.commands.incrementAndGet();
+                timing.files.addAndGet(files);
+            }
+        }));
+    }
+
+    private static final class Batch {
+        private final String fileType;
+        private final String[] command;
+        private final Predicate<String[]> runner;
+        private final List<String> files = new ArrayList<>();
+
+        private Batch(String fileType, String[] command, Predicate<String[]> runner) {
+            this.fileType = fileType;
+            this.command = command;
+            this.runner = runner;
+        }
+    }
+
+    private static final class Timing {
+        private final AtomicInteger files = new AtomicInteger();
+        private final AtomicInteger commands = new AtomicInteger();
+        private final AtomicLong nanos = new AtomicLong();
+    }
+}
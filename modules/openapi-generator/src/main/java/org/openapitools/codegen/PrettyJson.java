@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import io.swagger.v3.core.util.Json;
+
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Pretty prints an object of the specification as JSON on first access. The source object is kept, so that
+ * {@link GenerationFingerprints} can fingerprint it without printing it.
+ */
+final class PrettyJson implements Supplier<String> {
+    private final Object source;
+    private final boolean sortKeys;
+    private transient volatile String value;
+
+    private PrettyJson(Object source, boolean sortKeys) {
+        this.source = source;
+        this.sortKeys = sortKeys;
+    }
+
+    static PrettyJson of(Object source) {
+        return new PrettyJson(source, false);
+    }
+
+    static PrettyJson sorted(Object source) {
+        return new PrettyJson(source, true);
+    }
+
+    Object getSource() {
+        return source;
+    }
+
+    @Override
+    public String get() {
+        String result = value;
+        if (result == null) {
+            result = Json.pretty(sortKeys ? Json.mapper().convertValue(source, TreeMap.class) : source);
+            value = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.openapitools.codegen.config.SpecTree;
+import org.openapitools.codegen.utils.ImplementationVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stores the specs read and pre-processed by a generation in a directory, so that a later generation of the same spec
+ * skips parsing, normalizing and resolving the inline models of the spec.
+ * <p>
+ * Two snapshots are stored per spec: the result of the parse, keyed by the contents of the spec files, the parse
+ * options and the generator version, and the spec once normalized and flattened, additionally keyed by the normalizer
+ * rules and inline model options. Specs read from a URL, or referring to files by URL, are not snapshotted.
+ * <p>
+ * Snapshots are JSON documents holding the tree of the spec, see {@link SpecTree}, which is deserialized without
+ * reading and resolving the spec again. OAS 3.1 specs are not snapshotted once pre-processed: the normalizer sets the
+ * 3.0 type of their schemas next to their 3.1 types, which neither serialization of the spec keeps.
+ */
+public class SpecSnapshots {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecSnapshots.class);
+    // changes of the format are also covered by the generator version, which is part of the keys
+    private static final int FORMAT_VERSION = 3;
+    private static final String EXTENSION = ".snapshot";
+    private static final String PARSE_RESULT = "parseResult";
+    private static final String OPENAPI = "openapi";
+    // reads decimals as written, e.g. a maximum of 10.0 is not read as 10
+    private static final ObjectMapper MAPPER = Json.mapper().copy()
+            .setNodeFactory(JsonNodeFactory.withExactBigDecimals(true))
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    private static final Pattern EXTERNAL_REF = Pattern.compile("\\$ref[\"']?\\s*:\\s*[\"']?([^\"'#\\s,}]+)");
+
+    private final Path directory;
+
+    public SpecSnapshots(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return the snapshots stored in the directory set by the {@code specSnapshotDir} global property, or null when
+     * the property is not set
+     */
+    public static SpecSnapshots fromGlobalSettings() {
+        String directory = GlobalSettings.getProperty(CodegenConstants.SPEC_SNAPSHOT_DIR);
+        if (directory == null || directory.trim().isEmpty()) {
+            return null;
+        }
+        return new SpecSnapshots(Paths.get(directory.trim()));
+    }
+
+    /**
+     * Computes the key of the result of parsing a spec.
+     *
+     * @param inputSpec the location of the spec
+     * @param auths     the authorization values the spec is read with, or null
+     * @param options   the parse options
+     * @return the key, or null if the spec or a file it refers to is not a local file
+     */
+    public static String specKey(String inputSpec, List<AuthorizationValue> auths, ParseOptions options) {
+        if (inputSpec == null || inputSpec.contains("://")) {
+            return null;
+        }
+        MessageDigest md = newDigest();
+        update(md, "spec");
+        update(md, Integer.toString(FORMAT_VERSION));
+        update(md, ImplementationVersion.read());
+        try {
+            update(md, options == null ? null : Json.mapper().writeValueAsString(options));
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        if (auths != null) {
+            for (AuthorizationValue auth : auths) {
+                update(md, auth.getType() + ":" + auth.getKeyName() + ":" + auth.getValue());
+            }
+        }
+
+        // the spec files are hashed in the order they are referred to, starting with the input spec
+        Deque<Path> pending = new ArrayDeque<>();
+        Set<Path> visited = new HashSet<>();
+        Path spec;
+        try {
+            spec = Paths.get(inputSpec).toAbsolutePath().normalize();
+        } catch (InvalidPathException e) {
+            return null;
+        }
+        pending.add(spec);
+        visited.add(spec);
+        while (!pending.isEmpty()) {
+            Path file = pending.removeFirst();
+            update(md, file.toString());
+            byte[] contents;
+            try {
+                contents = Files.readAllBytes(file);
+            } catch (IOException e) {
+                // the parse reports the missing file, which does not change as long as the file is missing
+                update(md, (String) null);
+                continue;
+            }
+            md.update(contents);
+            Matcher matcher = EXTERNAL_REF.matcher(new String(contents, StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                String ref = matcher.group(1);
+                if (ref.contains("://")) {
+                    LOGGER.debug("Not snapshotting {}, which refers to {}", inputSpec, ref);
+                    return null;
+                }
+                try {
+                    Path referred = file.resolveSibling(ref).normalize();
+                    if (visited.add(referred)) {
+                        pending.add(referred);
+                    }
+                } catch (InvalidPathException e) {
+                    return null;
+                }
+            }
+        }
+        return toHex(md.digest());
+    }
+
+    /**
+     * Computes the key of a spec once normalized and flattened.
+     *
+     * @param specKey the key of the parsed spec, see {@link #specKey(String, List, ParseOptions)}
+     * @param config  the generator configuration, after its options are processed
+     * @return the key
+     */
+    public static String preprocessedKey(String specKey, CodegenConfig config) {
+        MessageDigest md = newDigest();
+        update(md, "preprocessed");
+        update(md, specKey);
+        update(md, Boolean.toString(config.getUseOpenapiNormalizer()));
+        update(md, new TreeMap<>(config.openapiNormalizer()));
+        update(md, Boolean.toString(config.getUseInlineModelResolver()));
+        update(md, new TreeMap<>(config.inlineSchemaNameMapping()));
+        update(md, new TreeMap<>(config.inlineSchemaOption()));
+        return toHex(md.digest());
+    }
+
+    /**
+     * @param key the key of the parsed spec
+     * @return the stored result of the parse, or null
+     */
+    public SwaggerParseResult loadParseResult(String key) {
+        return load(key, SwaggerParseResult.class);
+    }
+
+    public void saveParseResult(String key, SwaggerParseResult result) {
+        save(key, result);
+    }
+
+    /**
+     * @param key the key of the pre-processed spec
+     * @return the stored pre-processed spec, or null
+     */
+    public OpenAPI loadOpenAPI(String key) {
+        return load(key, OpenAPI.class);
+    }
+
+    public void saveOpenAPI(String key, OpenAPI openAPI) {
+        if (openAPI.getSpecVersion() == SpecVersion.V31) {
+            LOGGER.debug("Not snapshotting the pre-processed OAS 3.1 spec {}", key);
+            return;
+        }
+        save(key, openAPI);
+    }
+
+    private <T> T load(String key, Class<T> type) {
+        Path file = directory.resolve(key + EXTENSION);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            Object value = read(in);
+            if (!type.isInstance(value)) {
+                throw new IOException("Expected a " + type.getName());
+            }
+            LOGGER.info("Loaded the spec snapshot {}", file);
+            return type.cast(value);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Ignoring the invalid spec snapshot {}: {}", file, e.getMessage());
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // written again by the generation
+            }
+            return null;
+        }
+    }
+
+    private void save(String key, Object value) {
+        Path file = directory.resolve(key + EXTENSION);
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, key, ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16)) {
+                write(value, out);
+            }
+            // concurrent generations of the same spec write the same snapshot
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            LOGGER.debug("Wrote the spec snapshot {}", file);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Unable to write the spec snapshot {}: {}", file, e.getMessage());
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // only a leftover temporary file
+                }
+            }
+        }
+    }
+
+    static void write(Object value, OutputStream out) throws IOException {
+        ObjectNode snapshot = Json.mapper().createObjectNode();
+        snapshot.put("format", FORMAT_VERSION);
+        OpenAPI openAPI;
+        if (value instanceof SwaggerParseResult) {
+            SwaggerParseResult result = (SwaggerParseResult) value;
+            snapshot.put("kind", PARSE_RESULT);
+            snapshot.put("openapi31", result.isOpenapi31());
+            snapshot.set("messages", Json.mapper().valueToTree(result.getMessages()));
+            openAPI = result.getOpenAPI();
+        } else {
+            snapshot.put("kind", OPENAPI);
+            openAPI = (OpenAPI) value;
+        }
+        if (openAPI != null) {
+            snapshot.set("spec", SpecTree.of(openAPI).getTree());
+        }
+        MAPPER.writeValue(out, snapshot);
+    }
+
+    static Object read(InputStream in) throws IOException {
+        JsonNode snapshot = MAPPER.readTree(in);
+        if (snapshot == null || snapshot.path("format").asInt() != FORMAT_VERSION) {
+            throw new IOException("Not a spec snapshot of this version");
+        }
+        OpenAPI openAPI = null;
+        if (snapshot.hasNonNull("spec")) {
+            openAPI = SpecTree.of(snapshot.get("spec")).read();
+            if (openAPI == null) {
+                throw new IOException("Unable to read the spec of the snapshot");
+            }
+        }
+
+        String kind = snapshot.path("kind").asText();
+        if (OPENAPI.equals(kind) && openAPI != null) {
+            return openAPI;
+        }
+        if (!PARSE_RESULT.equals(kind)) {
+            throw new IOException("Unknown snapshot " + kind);
+        }
+        SwaggerParseResult result = new SwaggerParseResult().openapi31(snapshot.path("openapi31").asBoolean());
+        JsonNode messages = snapshot.get("messages");
+        if (messages != null && messages.isArray()) {
+            List<String> list = new ArrayList<>();
+            messages.forEach(message -> list.add(message.asText()));
+            result.setMessages(list);
+        }
+        result.setOpenAPI(openAPI);
+        return result;
+    }
+
+    private static void update(MessageDigest md, String value) {
+        if (value == null) {
+            md.update((byte) 0);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            md.update((byte) 1);
+            md.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+            md.update(bytes);
+        }
+    }
+
+    private static void update(MessageDigest md, Map<String, String> values) {
+        update(md, Integer.toString(values.size()));
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            update(md, entry.getKey());
+            update(md, entry.getValue());
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format(Locale.ROOT, "%02x", b));
+        }
+        return sb.toString();
+    }
+}
@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
@@ -30,6 +31,7 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
     private final TemplateManagerOptions options;
     private final TemplatingEngineAdapter engineAdapter;
     private final TemplatePathLocator[] templateLoaders;
+    private final Map<String, TemplateContent> templateContents = new ConcurrentHashMap<>();
 
     private final Logger LOGGER = LoggerFactory.getLogger(TemplateManager.class);
 
@@ -75,7 +77,29 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
      */
     @Override
     public String getFullTemplateContents(String name) {
-        return readTemplate(getFullTemplateFile(name));
+        return readCachedTemplate(getFullTemplateFile(name));
+    }
+
+    /**
+     * Reads a template's contents from the specified location, reusing the contents read previously.
+     * Templates on the file system are read again once their modification time or size changes.
+     *
+     * @param name The location of the template
+     * @return The raw template contents
+     */
+    private String readCachedTemplate(String name) {
+        TemplateContent cached = templateContents.get(name);
+        if (cached != null && cached.isCurrent()) {
+            return cached.content;
+        }
+
+        // classpath resources take precedence over files, see getInputStream
+        File file = this.getClass().getClassLoader().getResource(getCPResourcePath(name)) == null ? new File(name) : null;
+        long lastModified = file == null ? 0L : file.lastModified();
+        long length = file == null ? 0L : file.length();
+        String content = readTemplate(name);
+        templateContents.put(name, new TemplateContent(content, file, lastModified, length));
+        return content;
     }
 
     /**
@@ -264,4 +288,23 @@ public class TemplateManager implements TemplatingExecutor, TemplateProcessor {
     private boolean filesEqual(File file1, File file2) throws IOException {
         return file1.exists() && file2.exists() && Arrays.equals(Files.readAllBytes(file1.toPath()), Files.readAllBytes(file2.toPath()));
     }
+
+    private static final class TemplateContent {
+        private final String content;
+        private final File file;
+        private final long lastModified;
+        private final long length;
+
+        private TemplateContent(String content, File file, long lastModified, long length) {
+            this.content = content;
+            this.file = file;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        private boolean isCurrent() {
+            // classpath resources can't change while generating
+            return file == null || (file.lastModified() == lastModified && file.length() == length);
+        }
+    }
 }
@@ -82,6 +82,9 @@ public class CodegenConfigurator {
     private Map<String, String> reservedWordsMappings = new HashMap<>();
     private Map<String, String> serverVariables = new HashMap<>();
     private String auth;
+    private ParsedSpecCache parsedSpecCache;
+    private String specSnapshotKey;
+    private String parsedSpecKey;
 
     private List<TemplateDefinition> userDefinedTemplates = new ArrayList<>();
 
@@ -352,6 +355,57 @@ public class CodegenConfigurator {
         return this;
     }
 
+    /**
+     * Reads the input spec through a cache shared with other configurators, e.g. those of a batch, so that a spec
+     * used by several of them is parsed once.
+     *
+     * @param parsedSpecCache the cache, or null to parse the input spec on every call to {@link #toContext()}
+     * @return this configurator
+     */
+    public CodegenConfigurator setParsedSpecCache(ParsedSpecCache parsedSpecCache) {
+        this.parsedSpecCache = parsedSpecCache;
+        return this;
+    }
+
+    /**
+     * Creates a configurator with the same settings as this one, which generates with another generator into a
+     * subdirectory of the output directory named after the generator.
+     *
+     * @param generatorName the generator of the target
+     * @return the configurator of the target
+     */
+    public CodegenConfigurator forTarget(String generatorName) {
+        CodegenConfigurator target = new CodegenConfigurator();
+        target.generatorSettingsBuilder = GeneratorSettings.newBuilder(generatorSettingsBuilder.build());
+        target.workflowSettingsBuilder = WorkflowSettings.newBuilder(workflowSettingsBuilder.build());
+        target.inputSpec = inputSpec;
+        target.templatingEngineName = templatingEngineName;
+        target.globalProperties.putAll(globalProperties);
+        target.instantiationTypes.putAll(instantiationTypes);
+        target.typeMappings.putAll(typeMappings);
+        target.additionalProperties.putAll(additionalProperties);
+        target.importMappings.putAll(importMappings);
+        target.schemaMappings.putAll(schemaMappings);
+        target.inlineSchemaNameMappings.putAll(inlineSchemaNameMappings);
+        target.inlineSchemaOptions.putAll(inlineSchemaOptions);
+        target.nameMappings.putAll(nameMappings);
+        target.parameterNameMappings.putAll(parameterNameMappings);
+        target.modelNameMappings.putAll(modelNameMappings);
+        target.enumNameMappings.putAll(enumNameMappings);
+        target.operationIdNameMappings.putAll(operationIdNameMappings);
+        target.openapiNormalizer.putAll(openapiNormalizer);
+        target.languageSpecificPrimitives.addAll(languageSpecificPrimitives);
+        target.openapiGeneratorIgnoreList.addAll(openapiGeneratorIgnoreList);
+        target.reservedWordsMappings.putAll(reservedWordsMappings);
+        target.serverVariables.putAll(serverVariables);
+        target.auth = auth;
+        target.parsedSpecCache = parsedSpecCache;
+        target.userDefinedTemplates.addAll(userDefinedTemplates);
+
+        return target.setGeneratorName(generatorName)
+                .setOutputDir(new File(workflowSettingsBuilder.build().getOutputDir(), generatorName).getPath());
+    }
+
     public CodegenConfigurator setEnableMinimalUpdate(boolean enableMinimalUpdate) {
         workflowSettingsBuilder.withEnableMinimalUpdate(enableMinimalUpdate);
         return this;
@@ -684,7 +738,7 @@ public class CodegenConfigurator {
         ParseOptions options = new ParseOptions();
         options.setResolve(true);
         options.setResolveResponses(true);
-        SwaggerParseResult result = new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
+        SwaggerParseResult result = readSpec(authorizationValues, options);
 
         // TODO: Move custom validations to a separate type as part of a "Workflow"
         Set<String> validationMessages = new HashSet<>(null != result.getMessages() ? result.getMessages() : new ArrayList<>());
@@ -702,7 +756,7 @@ public class CodegenConfigurator {
                 // Wrap the getUnusedSchemas() in try catch block so it catches the NPE
                 // when the input spec file is not correct
                 try {
-                    List<String> unusedModels = ModelUtils.getUnusedSchemas(specification);
+                    List<String> unusedModels = ModelUtils.getSchemaUsage(specification).getUnusedSchemas();
                     if (unusedModels != null) {
                         unusedModels.forEach(name -> warnings.add("Unused model: " + name));
                     }
@@ -741,6 +795,22 @@ public class CodegenConfigurator {
         return new Context<>(specification, generatorSettings, workflowSettings);
     }
 
+    private SwaggerParseResult readSpec(List<AuthorizationValue> authorizationValues, ParseOptions options) {
+        SpecSnapshots snapshots = SpecSnapshots.fromGlobalSettings();
+        specSnapshotKey = snapshots != null ? SpecSnapshots.specKey(inputSpec, authorizationValues, options) : null;
+        SwaggerParseResult result = specSnapshotKey != null ? snapshots.loadParseResult(specSnapshotKey) : null;
+        parsedSpecKey = parsedSpecCache != null ? parsedSpecCache.keyOf(inputSpec, authorizationValues, options) : null;
+        if (result == null) {
+            result = parsedSpecCache != null
+                    ? parsedSpecCache.readLocation(inputSpec, authorizationValues, options)
+                    : new OpenAPIParser().readLocation(inputSpec, authorizationValues, options);
+            if (specSnapshotKey != null) {
+                snapshots.saveParseResult(specSnapshotKey, result);
+            }
+        }
+        return result;
+    }
+
     public ClientOptInput toClientOptInput() {
         Context<?> context = toContext();
         WorkflowSettings workflowSettings = context.getWorkflowSettings();
@@ -807,7 +877,9 @@ public class CodegenConfigurator {
         ClientOptInput input = new ClientOptInput()
                 .config(config)
                 .generatorSettings(generatorSettings)
-                .userDefinedTemplates(userDefinedTemplates);
+                .userDefinedTemplates(userDefinedTemplates)
+                .specSnapshotKey(specSnapshotKey)
+                .parsedSpecCache(parsedSpecCache, parsedSpecKey);
 
         return input.openAPI((OpenAPI) context.getSpecDocument());
     }
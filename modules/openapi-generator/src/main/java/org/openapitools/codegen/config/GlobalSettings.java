@@ -22,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.Properties;
+import java.util.concurrent.Callable;
 
 /**
  * GlobalSettings encapsulates SystemProperties, since the codegen mechanism heavily relies on a stable,
@@ -29,7 +30,8 @@ import java.util.Properties;
  * with Code, that uses System.setProperties (e.g. maven-surefire-plugin).
  * <p>
  * This provides a set of properties specific to the executing thread, such that the generator may not modify system properties
- * consumed by other threads.
+ * consumed by other threads. Threads started by the executing thread start with a copy of its properties, and tasks
+ * submitted to existing threads can be run with them through {@link #propagate(Callable)}.
  *
  * @author gndrm
  * @since 2018
@@ -47,6 +49,12 @@ public class GlobalSettings {
                 .forEach((k,v) -> copy.put(String.valueOf(k), String.valueOf(v)));
             return copy;
         }
+
+        @Override
+        protected Properties childValue(Properties parentValue) {
+            // threads started by a generation (or by a batch of them) start from its settings, but must not change them
+            return copy(parentValue);
+        }
     };
 
     public static String getProperty(String key, String defaultValue) {
@@ -69,6 +77,33 @@ public class GlobalSettings {
         properties.remove();
     }
 
+    /**
+     * Wraps a task submitted to another thread, e.g. of a pool, to run it with a copy of the settings of the
+     * submitting thread. The settings of the executing thread are restored once the task completes.
+     *
+     * @param task the task
+     * @param <T>  the type of the task result
+     * @return the wrapped task
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        Properties settings = copy(properties.get());
+        return () -> {
+            Properties previous = properties.get();
+            properties.set(settings);
+            try {
+                return task.call();
+            } finally {
+                properties.set(previous);
+            }
+        };
+    }
+
+    private static Properties copy(Properties settings) {
+        Properties copy = new Properties();
+        copy.putAll(settings);
+        return copy;
+    }
+
     public static void log() {
         if(LOGGER.isDebugEnabled()) {
             StringWriter stringWriter = new StringWriter();
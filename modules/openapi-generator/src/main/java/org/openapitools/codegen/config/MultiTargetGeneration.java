@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenConfigLoader;
+import org.openapitools.codegen.DefaultGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Generates the same spec with several generators ("targets") in parallel, each target generating into a
+ * subdirectory of the output directory named after its generator, see {@link CodegenConfigurator#forTarget(String)}.
+ * <p>
+ * The targets share the work which does not depend on the generator: the spec is parsed once, and normalized and
+ * flattened once for the targets using the same normalizer rules and inline model options. Each target gets its own
+ * copy of the spec, as generators modify it.
+ */
+public class MultiTargetGeneration {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultiTargetGeneration.class);
+
+    private final CodegenConfigurator configurator;
+    private final List<String> targets;
+    private int threads;
+    private boolean dryRun;
+    private Consumer<ClientOptInput> customizer = input -> {
+    };
+
+    /**
+     * @param configurator the settings shared by the targets
+     * @param targets      the generator names of the targets
+     */
+    public MultiTargetGeneration(CodegenConfigurator configurator, Collection<String> targets) {
+        this.configurator = configurator;
+        Set<String> names = new LinkedHashSet<>();
+        for (String target : targets) {
+            if (target != null && !target.trim().isEmpty()) {
+                names.add(target.trim());
+            }
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("At least one target generator must be specified");
+        }
+        this.targets = new ArrayList<>(names);
+        this.threads = Math.min(this.targets.size(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param threads the number of targets generated at the same time
+     * @return this generation
+     */
+    public MultiTargetGeneration threads(int threads) {
+        this.threads = Math.max(1, threads);
+        return this;
+    }
+
+    public MultiTargetGeneration dryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+        return this;
+    }
+
+    /**
+     * @param customizer adjusts the input of each target, e.g. its generator options, before generating it
+     * @return this generation
+     */
+    public MultiTargetGeneration customize(Consumer<ClientOptInput> customizer) {
+        this.customizer = Objects.requireNonNull(customizer);
+        return this;
+    }
+
+    public List<String> getTargets() {
+        return Collections.unmodifiableList(targets);
+    }
+
+    /**
+     * Generates all targets. A failing target does not stop the others; the first failure is thrown once all
+     * targets completed, with the other failures suppressed.
+     *
+     * @return the generated files of each target, by generator name
+     */
+    public Map<String, List<File>> generate() {
+        // fails fast on a misspelled target, before generating any
+        for (String target : targets) {
+            CodegenConfigLoader.forName(target);
+        }
+
+        ParsedSpecCache parsedSpecCache = new ParsedSpecCache();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, targets.size()));
+        try {
+            Map<String, Future<List<File>>> results = new LinkedHashMap<>();
+            for (String target : targets) {
+                CodegenConfigurator targetConfigurator = configurator.forTarget(target).setParsedSpecCache(parsedSpecCache);
+                // each target runs with its own copy of the caller's settings, e.g. the apis or models to generate
+                results.put(target, executor.submit(GlobalSettings.propagate(() -> generate(target, targetConfigurator))));
+            }
+
+            Map<String, List<File>> files = new LinkedHashMap<>();
+            RuntimeException failure = null;
+            for (Map.Entry<String, Future<List<File>>> result : results.entrySet()) {
+                try {
+                    files.put(result.getKey(), result.getValue().get());
+                } catch (ExecutionException e) {
+                    RuntimeException error = new RuntimeException("Could not generate " + result.getKey() + ": " + e.getCause().getMessage(), e.getCause());
+                    if (failure == null) {
+                        failure = error;
+                    } else {
+                        failure.addSuppressed(error);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            LOGGER.info("Generated {} targets, parsing the spec {} time(s)", targets.size(), parsedSpecCache.getParses());
+            return files;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating " + targets, e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<File> generate(String target, CodegenConfigurator targetConfigurator) {
+        LOGGER.info("Generating {}", target);
+        ClientOptInput input = targetConfigurator.toClientOptInput();
+        customizer.accept(input);
+        return new DefaultGenerator(dryRun).opts(input).generate();
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.hash.Hashing;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.parser.core.models.AuthorizationValue;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Parses each spec once for a group of generations, e.g. the configs of a batch, which often share the same input spec.
+ * <p>
+ * Specs are keyed by their location, authorization values and parse options. The generation modifies the spec it is
+ * given (normalization, inline model resolution, ...), so the parsed spec is kept as a {@link SpecTree} and each call
+ * reads its own copy of it, which skips reading and resolving the spec again. Likewise, the specs normalized and
+ * flattened by a generation can be shared with the generations using the same normalizer rules and inline model
+ * options, see {@link #preprocess(String, OpenAPI, Consumer)}.
+ */
+public class ParsedSpecCache {
+    private final Logger LOGGER = LoggerFactory.getLogger(ParsedSpecCache.class);
+
+    private final ConcurrentMap<Key, Future<Entry>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Future<SpecTree>> preprocessed = new ConcurrentHashMap<>();
+    private final AtomicInteger parses = new AtomicInteger();
+    private final AtomicInteger hits = new AtomicInteger();
+
+    /**
+     * Parses a spec like {@link OpenAPIParser#readLocation(String, List, ParseOptions)}, only reading the spec the
+     * first time it is requested. Concurrent requests of a spec wait for it to be parsed once.
+     *
+     * @param location the location of the spec
+     * @param auths    the authorization values to read the spec with, or null
+     * @param options  the parse options
+     * @return the result of the parse, with a spec which can be modified by the caller
+     */
+    public SwaggerParseResult readLocation(String location, List<AuthorizationValue> auths, ParseOptions options) {
+        Key key = new Key(location, auths, options);
+        FutureTask<Entry> task = new FutureTask<>(() -> new Entry(new OpenAPIParser().readLocation(location, auths, options)));
+        Future<Entry> entry = entries.putIfAbsent(key, task);
+        if (entry == null) {
+            entry = task;
+            parses.incrementAndGet();
+            task.run();
+        } else {
+            hits.incrementAndGet();
+            LOGGER.debug("Reusing the parsed spec {}", location);
+        }
+
+        return await(entries, key, entry, "parse " + location).copy();
+    }
+
+    /**
+     * Computes the key of a spec, which identifies the spec parsed by
+     * {@link #readLocation(String, List, ParseOptions)} with the same arguments. The authorization values are hashed,
+     * so that the key does not hold credentials.
+     *
+     * @param location the location of the spec
+     * @param auths    the authorization values to read the spec with, or null
+     * @param options  the parse options
+     * @return the key of the spec
+     */
+    public String keyOf(String location, List<AuthorizationValue> auths, ParseOptions options) {
+        return new Key(location, auths, options).toString();
+    }
+
+    /**
+     * Pre-processes a spec once for all the generations requesting the same pre-processing. The first request
+     * pre-processes the given spec, later requests get a copy of the pre-processed spec instead, and concurrent
+     * requests wait for the first one. OAS 3.1 specs are pre-processed by every request.
+     *
+     * @param key          the key of the pre-processing, derived from the key of the parsed spec, see
+     *                     {@link #keyOf(String, List, ParseOptions)}, and from the pre-processing options
+     * @param openAPI      the spec to pre-process, returned by {@link #readLocation(String, List, ParseOptions)}
+     * @param preprocessor pre-processes a spec in place
+     * @return the pre-processed spec, which can be modified by the caller
+     */
+    public OpenAPI preprocess(String key, OpenAPI openAPI, Consumer<OpenAPI> preprocessor) {
+        if (openAPI.getSpecVersion() == SpecVersion.V31) {
+            // the normalizer sets the 3.0 type of 3.1 schemas, which their 3.1 serialization does not keep
+            preprocessor.accept(openAPI);
+            return openAPI;
+        }
+        FutureTask<SpecTree> task = new FutureTask<>(() -> {
+            preprocessor.accept(openAPI);
+            // the caller keeps modifying the spec, so its tree is kept
+            return SpecTree.of(openAPI);
+        });
+        Future<SpecTree> entry = preprocessed.putIfAbsent(key, task);
+        if (entry == null) {
+            task.run();
+            await(preprocessed, key, task, "pre-process the spec");
+            return openAPI;
+        }
+        LOGGER.debug("Reusing the pre-processed spec {}", key);
+        return await(preprocessed, key, entry, "pre-process the spec").read();
+    }
+
+    private static <K, V> V await(ConcurrentMap<K, Future<V>> futures, K key, Future<V> future, String action) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // let the next request try again, e.g. after a network failure
+            futures.remove(key, future);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Unable to " + action, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to " + action, e);
+        }
+    }
+
+    /**
+     * @return the number of specs parsed
+     */
+    public int getParses() {
+        return parses.get();
+    }
+
+    /**
+     * @return the number of specs served without being parsed
+     */
+    public int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * A parsed spec, kept as a tree, from which each request reads its own copy.
+     */
+    private static final class Entry {
+        private final List<String> messages;
+        private final boolean openapi31;
+        private final SpecTree spec;
+
+        Entry(SwaggerParseResult result) {
+            this.messages = result.getMessages();
+            this.openapi31 = result.isOpenapi31();
+            this.spec = result.getOpenAPI() == null ? null : SpecTree.of(result.getOpenAPI());
+        }
+
+        SwaggerParseResult copy() {
+            SwaggerParseResult copy = new SwaggerParseResult().openapi31(openapi31);
+            copy.setMessages(messages == null ? null : new ArrayList<>(messages));
+            copy.setOpenAPI(spec == null ? null : spec.read());
+            return copy;
+        }
+    }
+
+    private static final class Key {
+        private final String location;
+        private final List<Auth> auths = new ArrayList<>();
+        private final String options;
+
+        Key(String location, List<AuthorizationValue> auths, ParseOptions options) {
+            this.location = normalize(location);
+            if (auths != null) {
+                for (AuthorizationValue auth : auths) {
+                    this.auths.add(new Auth(auth));
+                }
+            }
+            try {
+                this.options = options == null ? "" : Json.mapper().writeValueAsString(options);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // the same file may be referred to by different paths
+        private static String normalize(String location) {
+            if (location == null || location.contains("://")) {
+                return location;
+            }
+            try {
+                return Paths.get(location).toAbsolutePath().normalize().toString();
+            } catch (InvalidPathException e) {
+                return location;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(location, key.location) && auths.equals(key.auths) && options.equals(key.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(location, auths, options);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(location == null ? "" : location);
+            for (Auth auth : auths) {
+                sb.append('\n').append(auth);
+            }
+            return sb.append('\n').append(options).toString();
+        }
+    }
+
+    /**
+     * An authorization value, compared by its name, value, type and the locations it applies to.
+     */
+    private static final class Auth {
+        private final String keyName;
+        private final String value;
+        private final String type;
+        private final Predicate<URL> urlMatcher;
+
+        Auth(AuthorizationValue auth) {
+            this.keyName = auth.getKeyName();
+            this.value = auth.getValue();
+            this.type = auth.getType();
+            this.urlMatcher = auth.getUrlMatcher();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Auth auth = (Auth) o;
+            return Objects.equals(keyName, auth.keyName) && Objects.equals(value, auth.value)
+                    && Objects.equals(type, auth.type) && Objects.equals(urlMatcher, auth.urlMatcher);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(keyName, value, type, urlMatcher);
+        }
+
+        @Override
+        public String toString() {
+            // the credentials are hashed, as the key may be logged, and the matcher only identifies it in this process
+            String hashed = value == null ? null : Hashing.sha256().hashString(value, StandardCharsets.UTF_8).toString();
+            return type + ":" + keyName + ":" + hashed + ":" + System.identityHashCode(urlMatcher);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Json31;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.util.OpenAPIDeserializer;
+
+/**
+ * A spec held as the Jackson tree of its serialization by {@link Json#mapper()}, or {@link Json31#mapper()} for OAS 3.1
+ * specs, from which copies of the spec are read.
+ * <p>
+ * Copies are built from the tree by the deserializer of the parser, which skips reading and resolving the spec, rather
+ * than by the mapper, which would infer the type of the schemas without one from their properties. The tree is never
+ * modified, so that copies can be read concurrently.
+ */
+public final class SpecTree {
+    // the default node factory strips the trailing zeros of decimals, e.g. a maximum of 10 would read as 1E+1
+    private static final ObjectMapper JSON = Json.mapper().copy().setNodeFactory(JsonNodeFactory.withExactBigDecimals(true));
+    private static final ObjectMapper JSON31 = Json31.mapper().copy().setNodeFactory(JsonNodeFactory.withExactBigDecimals(true));
+
+    private final JsonNode tree;
+
+    private SpecTree(JsonNode tree) {
+        this.tree = tree;
+    }
+
+    /**
+     * @param openAPI a resolved spec
+     * @return the tree of the spec, which is not affected by later changes of the spec
+     */
+    public static SpecTree of(OpenAPI openAPI) {
+        return new SpecTree(mapper(openAPI).valueToTree(openAPI));
+    }
+
+    /**
+     * @param tree the tree of a resolved spec, as returned by {@link #getTree()}
+     * @return the spec tree, taking over the given tree
+     */
+    public static SpecTree of(JsonNode tree) {
+        return new SpecTree(tree);
+    }
+
+    /**
+     * @param openAPI a spec
+     * @return the mapper serializing the spec, depending on its version, which keeps the decimals of its trees as is
+     */
+    public static ObjectMapper mapper(OpenAPI openAPI) {
+        return openAPI.getSpecVersion() == SpecVersion.V31 ? JSON31 : JSON;
+    }
+
+    public JsonNode getTree() {
+        return tree;
+    }
+
+    /**
+     * @return a new copy of the spec
+     */
+    public OpenAPI read() {
+        // the tree is already resolved, and the messages of the parse are kept by the caller
+        return new OpenAPIDeserializer().deserialize(tree, null, new ParseOptions()).getOpenAPI();
+    }
+}
@@ -56,7 +56,7 @@ public class BashClientCodegen extends DefaultCodegen implements CodegenConfig {
     protected String apiDocPath = "docs/";
     protected String modelDocPath = "docs/";
 
-    protected static int emptyMethodNameCounter = 0;
+    protected int emptyMethodNameCounter = 0;
 
     public static final String CURL_OPTIONS = "curlOptions";
     public static final String PROCESS_MARKDOWN = "processMarkdown";
@@ -51,7 +51,7 @@ public class CLibcurlClientCodegen extends DefaultCodegen implements CodegenConf
     protected String modelDocPath = "docs/";
     protected boolean useJsonUnformatted = false;
 
-    protected static int emptyMethodNameCounter = 0;
+    protected int emptyMethodNameCounter = 0;
 
     public CLibcurlClientCodegen() {
         super();
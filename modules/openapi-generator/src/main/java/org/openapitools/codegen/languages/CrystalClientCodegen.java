@@ -44,7 +44,7 @@ import static org.openapitools.codegen.utils.StringUtils.underscore;
 public class CrystalClientCodegen extends DefaultCodegen {
     private final Logger LOGGER = LoggerFactory.getLogger(CrystalClientCodegen.class);
     private static final String NUMERIC_ENUM_PREFIX = "N";
-    protected static int emptyMethodNameCounter = 0;
+    protected int emptyMethodNameCounter = 0;
 
     @Setter protected String shardName = "openapi_client";
     @Setter protected String moduleName = "OpenAPIClient";
@@ -40,7 +40,7 @@ import static org.openapitools.codegen.utils.StringUtils.underscore;
 public class PerlClientCodegen extends DefaultCodegen implements CodegenConfig {
     private final Logger LOGGER = LoggerFactory.getLogger(PerlClientCodegen.class);
 
-    protected static int emptyFunctionNameCounter = 0;
+    protected int emptyFunctionNameCounter = 0;
     public static final String MODULE_NAME = "moduleName";
     public static final String MODULE_VERSION = "moduleVersion";
     @Setter protected String moduleName = "WWW::OpenAPIClient";
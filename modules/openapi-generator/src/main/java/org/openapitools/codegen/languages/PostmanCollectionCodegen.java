@@ -53,13 +53,13 @@ public class PostmanCollectionCodegen extends DefaultCodegen implements CodegenC
     // default guid placeholder name
     public static final String POSTMAN_GUID_PLACEHOLDER_NAME = "postmanGuidPlaceholderName";
     protected static final String POSTMAN_GUID_PLACEHOLDER_NAME_DEFAULT_VALUE = "UNIQUE_REFERENCE";
-    protected static String postmanGuidPlaceholderName = POSTMAN_GUID_PLACEHOLDER_NAME_DEFAULT_VALUE;
+    protected String postmanGuidPlaceholderName = POSTMAN_GUID_PLACEHOLDER_NAME_DEFAULT_VALUE;
     // replace placeholder `ISO_TIMESTAMP` with Postman {{isoTimestamp}}
     protected Boolean postmanIsoTimestamp = true;
     public static final String POSTMAN_ISO_TIMESTAMP = "postmanIsoTimestamp";
     public static final String POSTMAN_ISO_TIMESTAMP_PLACEHOLDER_NAME = "postmanIsoTimestampPlaceholderName";
     public static final String POSTMAN_ISO_TIMESTAMP_PLACEHOLDER_NAME_DEFAULT_VALUE = "ISO_TIMESTAMP";
-    protected static String postmanIsoTimestampPlaceholderName = POSTMAN_ISO_TIMESTAMP_PLACEHOLDER_NAME_DEFAULT_VALUE;
+    protected String postmanIsoTimestampPlaceholderName = POSTMAN_ISO_TIMESTAMP_PLACEHOLDER_NAME_DEFAULT_VALUE;
 
     public static final String REQUEST_PARAMETER_GENERATION = "requestParameterGeneration";
     public static final String REQUEST_PARAMETER_GENERATION_DEFAULT_VALUE = "Example";
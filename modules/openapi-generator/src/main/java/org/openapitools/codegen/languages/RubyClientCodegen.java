@@ -56,7 +56,7 @@ public class RubyClientCodegen extends AbstractRubyCodegen {
     public static final String USE_AUTOLOAD = "useAutoload";
     private final Logger LOGGER = LoggerFactory.getLogger(RubyClientCodegen.class);
     private static final String NUMERIC_ENUM_PREFIX = "N";
-    protected static int emptyMethodNameCounter = 0;
+    protected int emptyMethodNameCounter = 0;
     @Setter protected String gemName;
     @Setter protected String moduleName;
     @Setter protected String gemVersion = "1.0.0";
@@ -1150,7 +1150,7 @@ public class TypeScriptFetchClientCodegen extends AbstractTypeScriptClientCodege
             this.style = cp.style;
             this.nameInLowerCase = cp.nameInLowerCase;
             this.example = cp.example;
-            this.jsonSchema = cp.jsonSchema;
+            this.setJsonSchemaSupplier(cp::getJsonSchema);
             this.isString = cp.isString;
             this.isNumeric = cp.isNumeric;
             this.isInteger = cp.isInteger;
@@ -1296,7 +1296,7 @@ public class TypeScriptFetchClientCodegen extends AbstractTypeScriptClientCodege
             this.minLength = cp.minLength;
             this.pattern = cp.pattern;
             this.example = cp.example;
-            this.jsonSchema = cp.jsonSchema;
+            this.setJsonSchemaSupplier(cp::getJsonSchema);
             this.minimum = cp.minimum;
             this.maximum = cp.maximum;
             this.multipleOf = cp.multipleOf;
@@ -1558,7 +1558,7 @@ public class TypeScriptFetchClientCodegen extends AbstractTypeScriptClientCodege
             this.title = cm.title;
             this.description = cm.description;
             this.classVarName = cm.classVarName;
-            this.modelJson = cm.modelJson;
+            this.setModelJsonSupplier(cm::getModelJson);
             this.dataType = cm.dataType;
             this.xmlPrefix = cm.xmlPrefix;
             this.xmlNamespace = cm.xmlNamespace;
@@ -1,15 +1,414 @@
 package org.openapitools.codegen.model;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 public class ModelsMap extends HashMap<String, Object> {
 
+    // shared values (such as additional properties) seen for keys which aren't set on this map
+    private Map<String, Object> parent;
+    // keys of the parent removed through this map
+    private Set<String> removed;
+
     public ModelsMap() {
     }
 
+    /**
+     * Sets a map whose entries are seen through this map for the keys not set on it, without being copied into it:
+     * lookups, {@link #size()}, iteration and copies of this map include them. The parent is never modified through
+     * this map: updating an entry of the parent copies it into this map, removing it hides it from this map.
+     *
+     * @param parent the shared values, or null
+     */
+    public void setParent(Map<String, Object> parent) {
+        this.parent = parent;
+        this.removed = null;
+    }
+
+    public Map<String, Object> getParent() {
+        return parent;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = super.get(key);
+        if (value == null && inherits(key)) {
+            return parent.get(key);
+        }
+        return value;
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        return containsKey(key) ? get(key) : defaultValue;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return super.containsKey(key) || inherits(key);
+    }
+
+    private boolean inherits(Object key) {
+        return parent != null && !super.containsKey(key) && (removed == null || !removed.contains(key))
+                && parent.containsKey(key);
+    }
+
+    private void hide(Object key) {
+        if (parent != null && key instanceof String && parent.containsKey(key)) {
+            if (removed == null) {
+                removed = new HashSet<>();
+            }
+            removed.add((String) key);
+        }
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        if (parent == null) {
+            return super.put(key, value);
+        }
+        Object previous = get(key);
+        super.put(key, value);
+        return previous;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        if (parent == null) {
+            super.putAll(m);
+        } else {
+            m.forEach(this::put);
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (parent == null) {
+            return super.remove(key);
+        }
+        Object previous = get(key);
+        super.remove(key);
+        hide(key);
+        return previous;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        if (parent == null) {
+            return super.remove(key, value);
+        }
+        if (containsKey(key) && Objects.equals(get(key), value)) {
+            remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        if (parent != null) {
+            parent.keySet().forEach(this::hide);
+        }
+    }
+
+    @Override
+    public Object putIfAbsent(String key, Object value) {
+        if (parent == null) {
+            return super.putIfAbsent(key, value);
+        }
+        Object current = get(key);
+        if (current == null) {
+            current = put(key, value);
+        }
+        return current;
+    }
+
+    @Override
+    public Object replace(String key, Object value) {
+        if (parent == null) {
+            return super.replace(key, value);
+        }
+        return containsKey(key) ? put(key, value) : null;
+    }
+
+    @Override
+    public boolean replace(String key, Object oldValue, Object newValue) {
+        if (parent == null) {
+            return super.replace(key, oldValue, newValue);
+        }
+        if (containsKey(key) && Objects.equals(get(key), oldValue)) {
+            put(key, newValue);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super Object, ?> function) {
+        if (parent == null) {
+            super.replaceAll(function);
+        } else {
+            for (String key : new ArrayList<>(keySet())) {
+                put(key, function.apply(key, get(key)));
+            }
+        }
+    }
+
+    @Override
+    public Object computeIfAbsent(String key, Function<? super String, ?> mappingFunction) {
+        if (parent == null) {
+            return super.computeIfAbsent(key, mappingFunction);
+        }
+        Object value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public Object computeIfPresent(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        if (parent == null) {
+            return super.computeIfPresent(key, remappingFunction);
+        }
+        Object oldValue = get(key);
+        if (oldValue == null) {
+            return null;
+        }
+        return putOrRemove(key, remappingFunction.apply(key, oldValue));
+    }
+
+    @Override
+    public Object compute(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        if (parent == null) {
+            return super.compute(key, remappingFunction);
+        }
+        return putOrRemove(key, remappingFunction.apply(key, get(key)));
+    }
+
+    @Override
+    public Object merge(String key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        if (parent == null) {
+            return super.merge(key, value, remappingFunction);
+        }
+        Object oldValue = get(key);
+        return putOrRemove(key, oldValue == null ? value : remappingFunction.apply(oldValue, value));
+    }
+
+    private Object putOrRemove(String key, Object value) {
+        if (value == null) {
+            remove(key);
+        } else {
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public Object clone() {
+        ModelsMap clone = (ModelsMap) super.clone();
+        if (removed != null) {
+            clone.removed = new HashSet<>(removed);
+        }
+        return clone;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return parent == null ? super.containsValue(value) : values().contains(value);
+    }
+
+    @Override
+    public int size() {
+        if (parent == null) {
+            return super.size();
+        }
+        int size = super.size();
+        for (String key : parent.keySet()) {
+            if (inherits(key)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        if (parent == null) {
+            return super.entrySet();
+        }
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private final Iterator<Map.Entry<String, Object>> own = ModelsMap.super.entrySet().iterator();
+                    private final Iterator<Map.Entry<String, Object>> inherited = parent.entrySet().iterator();
+                    // the next entry of the parent, own entries are not read ahead so that they can be removed
+                    private Map.Entry<String, Object> next;
+                    private Map.Entry<String, Object> last;
+                    private boolean lastFromOwn;
+
+                    @Override
+                    public boolean hasNext() {
+                        if (next != null || own.hasNext()) {
+                            return true;
+                        }
+                        while (next == null && inherited.hasNext()) {
+                            Map.Entry<String, Object> entry = inherited.next();
+                            if (inherits(entry.getKey())) {
+                                next = new InheritedEntry(entry.getKey(), entry.getValue());
+                            }
+                        }
+                        return next != null;
+                    }
+
+                    @Override
+                    public Map.Entry<String, Object> next() {
+                        if (own.hasNext()) {
+                            last = own.next();
+                            lastFromOwn = true;
+                            return last;
+                        }
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        last = next;
+                        lastFromOwn = false;
+                        next = null;
+                        return last;
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last == null) {
+                            throw new IllegalStateException();
+                        }
+                        if (lastFromOwn) {
+                            own.remove();
+                        }
+                        hide(last.getKey());
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ModelsMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<String> keySet() {
+        if (parent == null) {
+            return super.keySet();
+        }
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<String> iterator() {
+                Iterator<Map.Entry<String, Object>> entries = entrySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public String next() {
+                        return entries.next().getKey();
+                    }
+
+                    @Override
+                    public void remove() {
+                        entries.remove();
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object key) {
+                return containsKey(key);
+            }
+
+            @Override
+            public int size() {
+                return ModelsMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Collection<Object> values() {
+        if (parent == null) {
+            return super.values();
+        }
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Object> iterator() {
+                Iterator<Map.Entry<String, Object>> entries = entrySet().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Object next() {
+                        return entries.next().getValue();
+                    }
+
+                    @Override
+                    public void remove() {
+                        entries.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return ModelsMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        if (parent == null) {
+            super.forEach(action);
+        } else {
+            for (Map.Entry<String, Object> entry : entrySet()) {
+                action.accept(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * An entry of the parent, which is copied into this map when its value is set.
+     */
+    private final class InheritedEntry extends AbstractMap.SimpleEntry<String, Object> {
+        private InheritedEntry(String key, Object value) {
+            super(key, value);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
     public void setModels(List<ModelMap> modelMaps) {
         put("models", modelMaps);
     }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.templating;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caches compiled templates keyed by template name and content hash, so a template used for every model or API
+ * is parsed only once. A cached entry is reused only when the template content is unchanged.
+ *
+ * @param <T> The compiled template type of the underlying templating engine
+ */
+public class CompiledTemplateCache<T> {
+    private final Map<Key, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Returns the compiled template for the given name and content, compiling and caching it on a miss.
+     *
+     * @param templateName    The template name (e.g. model.mustache)
+     * @param templateContent The raw template contents
+     * @param compiler        Compiles the raw template contents
+     * @return The compiled template
+     */
+    public T get(String templateName, String templateContent, Function<String, T> compiler) {
+        Key key = new Key(templateName, templateContent.hashCode());
+        Entry<T> entry = entries.get(key);
+        if (entry != null && entry.content.equals(templateContent)) {
+            hits.incrementAndGet();
+            return entry.template;
+        }
+
+        misses.incrementAndGet();
+        T template = compiler.apply(templateContent);
+        entries.put(key, new Entry<>(templateContent, template));
+        return template;
+    }
+
+    /**
+     * Removes all cached templates. Counters are left untouched.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return The number of compiled templates currently cached
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return The number of lookups served from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of lookups which required compiling the template
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static final class Key {
+        private final String name;
+        private final int contentHash;
+
+        private Key(String name, int contentHash) {
+            this.name = name;
+            this.contentHash = contentHash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return contentHash == key.contentHash && name.equals(key.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, contentHash);
+        }
+    }
+
+    private static final class Entry<T> {
+        private final String content;
+        private final T template;
+
+        private Entry(String content, T template) {
+            this.content = content;
+            this.template = template;
+        }
+    }
+}
@@ -7,12 +7,21 @@ import org.openapitools.codegen.api.TemplatePathLocator;
 
 import java.io.File;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Locates templates according to {@link CodegenConfig} settings.
  */
 public class GeneratorTemplateContentLocator implements TemplatePathLocator {
+    // file systems with a coarse timestamp granularity may not tell recent changes apart
+    private static final long MODIFICATION_TIME_GRANULARITY_MILLIS = 2000L;
+
     private final CodegenConfig codegenConfig;
+    private final Map<List<String>, ResolvedTemplate> resolvedTemplates = new ConcurrentHashMap<>();
 
     /**
      * Constructs a new instance of {@link GeneratorTemplateContentLocator} for the provided {@link CodegenConfig}
@@ -58,6 +67,41 @@ public class GeneratorTemplateContentLocator implements TemplatePathLocator {
     @Override
     public String getFullTemplatePath(String relativeTemplateFile) {
         CodegenConfig config = this.codegenConfig;
+        List<String> key = Arrays.asList(config.templateDir(), config.getLibrary(), config.embeddedTemplateDir(), relativeTemplateFile);
+        ResolvedTemplate cached = resolvedTemplates.get(key);
+        if (cached != null && cached.isValid()) {
+            return cached.path;
+        }
+
+        long probedAt = System.currentTimeMillis();
+        Map<File, Long> probedDirectories = new HashMap<>();
+        String resolved = resolveFullTemplatePath(relativeTemplateFile, probedDirectories);
+        ResolvedTemplate resolvedTemplate = new ResolvedTemplate(resolved, resolved != null && new File(resolved).exists(), probedDirectories);
+        // a template missing from a user directory may be added to it later
+        if ((resolved != null || !resolvedTemplate.probedUserDirectory())
+                && !resolvedTemplate.probedDirectoryModifiedAfter(probedAt - MODIFICATION_TIME_GRANULARITY_MILLIS)) {
+            resolvedTemplates.put(key, resolvedTemplate);
+        } else {
+            resolvedTemplates.remove(key);
+        }
+        return resolved;
+    }
+
+    /**
+     * Checks whether a template file exists on the file system, recording the modification time of its directory so
+     * that a file added to it later is found.
+     */
+    private static boolean fileExists(String path, Map<File, Long> probedDirectories) {
+        File file = new File(path);
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null) {
+            probedDirectories.put(directory, directory.lastModified());
+        }
+        return file.exists();
+    }
+
+    private String resolveFullTemplatePath(String relativeTemplateFile, Map<File, Long> probedDirectories) {
+        CodegenConfig config = this.codegenConfig;
 
         //check the supplied template library folder for the file
         final String library = config.getLibrary();
@@ -66,7 +110,7 @@ public class GeneratorTemplateContentLocator implements TemplatePathLocator {
             final String libTemplateFile = buildLibraryFilePath(config.templateDir(), library, relativeTemplateFile);
             // looks for user-defined file or classpath
             // supports template dir which refers to local file system or custom path in classpath as defined by templateDir
-            if (new File(libTemplateFile).exists() || classpathTemplateExists(libTemplateFile)) {
+            if (fileExists(libTemplateFile, probedDirectories) || classpathTemplateExists(libTemplateFile)) {
                 return libTemplateFile;
             }
         }
@@ -76,7 +120,7 @@ public class GeneratorTemplateContentLocator implements TemplatePathLocator {
         final String template = config.templateDir() + File.separator + relativeTemplateFile;
         // looks for user-defined file or classpath
         // supports template dir which refers to local file system or custom path in classpath as defined by templateDir
-        if (new File(template).exists() || classpathTemplateExists(template)) {
+        if (fileExists(template, probedDirectories) || classpathTemplateExists(template)) {
             return template;
         }
 
@@ -99,4 +143,41 @@ public class GeneratorTemplateContentLocator implements TemplatePathLocator {
 
         return null;
     }
+
+    private static final class ResolvedTemplate {
+        private final String path;
+        private final boolean onFileSystem;
+        // the directories looked into on the file system, with their modification time (0 if they didn't exist)
+        private final Map<File, Long> probedDirectories;
+
+        private ResolvedTemplate(String path, boolean onFileSystem, Map<File, Long> probedDirectories) {
+            this.path = path;
+            this.onFileSystem = onFileSystem;
+            this.probedDirectories = probedDirectories;
+        }
+
+        private boolean probedUserDirectory() {
+            return probedDirectories.values().stream().anyMatch(lastModified -> lastModified != 0L);
+        }
+
+        private boolean probedDirectoryModifiedAfter(long time) {
+            return probedDirectories.values().stream().anyMatch(lastModified -> lastModified >= time);
+        }
+
+        /**
+         * @return false if the template was removed, or if a file was added to or removed from a directory looked into
+         * before the template was found, so that it must be resolved again
+         */
+        private boolean isValid() {
+            if (onFileSystem && !new File(path).exists()) {
+                return false;
+            }
+            for (Map.Entry<File, Long> directory : probedDirectories.entrySet()) {
+                if (directory.getKey().lastModified() != directory.getValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -20,6 +20,7 @@ import com.github.jknack.handlebars.Context;
 import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.Jackson2Helper;
 import com.github.jknack.handlebars.Template;
+import com.github.jknack.handlebars.cache.ConcurrentMapTemplateCache;
 import com.github.jknack.handlebars.context.JavaBeanValueResolver;
 import com.github.jknack.handlebars.context.MapValueResolver;
 import com.github.jknack.handlebars.context.MethodValueResolver;
@@ -29,7 +30,6 @@ import com.github.jknack.handlebars.io.AbstractTemplateLoader;
 import com.github.jknack.handlebars.io.StringTemplateSource;
 import com.github.jknack.handlebars.io.TemplateLoader;
 import com.github.jknack.handlebars.io.TemplateSource;
-import lombok.Setter;
 import org.openapitools.codegen.api.AbstractTemplatingEngineAdapter;
 import org.openapitools.codegen.api.TemplatingExecutor;
 import org.openapitools.codegen.templating.handlebars.AccessAwareFieldValueResolver;
@@ -48,7 +48,9 @@ public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
     // We use this as a simple lookup for valid file name extensions. This adapter will inspect .mustache (built-in) and infer the relevant handlebars filename
     private final String[] canCompileFromExtensions = {".handlebars", ".hbs", ".mustache"};
     private boolean infiniteLoops = false;
-    @Setter private boolean prettyPrint = false;
+    private boolean prettyPrint = false;
+    private Handlebars handlebars;
+    private TemplatingExecutor handlebarsExecutor;
 
     /**
      * Provides an identifier used to load the adapter. This could be a name, uuid, or any other string.
@@ -63,13 +65,6 @@ public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
     @Override
     public String compileTemplate(TemplatingExecutor executor,
                                   Map<String, Object> bundle, String templateFile) throws IOException {
-        TemplateLoader loader = new AbstractTemplateLoader() {
-            @Override
-            public TemplateSource sourceAt(String location) {
-                return findTemplate(executor, location);
-            }
-        };
-
         Context context = Context
                 .newBuilder(bundle)
                 .resolver(
@@ -79,19 +74,57 @@ public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
                         AccessAwareFieldValueResolver.INSTANCE)
                 .build();
 
-        Handlebars handlebars = new Handlebars(loader);
-        handlebars.registerHelperMissing((obj, options) -> {
+        Template tmpl = getTemplate(executor, templateFile);
+        return tmpl.apply(context);
+    }
+
+    /**
+     * Returns the compiled template, compiling it unless its content is unchanged since it was last compiled.
+     *
+     * @param executor     From where we can fetch the templates content
+     * @param templateFile The name of the template
+     * @return The compiled template
+     * @throws IOException if the template cannot be compiled
+     */
+    Template getTemplate(TemplatingExecutor executor, String templateFile) throws IOException {
+        return getHandlebars(executor).compile(templateFile);
+    }
+
+    /**
+     * Returns the configured engine for the executor, creating it on first use. Compiled templates and partials are
+     * kept in the engine's template cache and recompiled only when their content hash changes.
+     *
+     * @param executor From where we can fetch the templates content
+     * @return The configured Handlebars engine
+     */
+    private synchronized Handlebars getHandlebars(TemplatingExecutor executor) {
+        if (handlebars != null && handlebarsExecutor == executor) {
+            return handlebars;
+        }
+
+        TemplateLoader loader = new AbstractTemplateLoader() {
+            @Override
+            public TemplateSource sourceAt(String location) {
+                return findTemplate(executor, location);
+            }
+        };
+
+        // StringTemplateSource reports the content hash as its last modified date, so reloading recompiles changed templates only
+        Handlebars engine = new Handlebars(loader).with(new ConcurrentMapTemplateCache().setReload(true));
+        engine.registerHelperMissing((obj, options) -> {
             LOGGER.warn(String.format(Locale.ROOT, "Unregistered helper name '%s', processing template:%n%s", options.helperName, options.fn.text()));
             return "";
         });
-        handlebars.registerHelper("json", Jackson2Helper.INSTANCE);
-        StringHelpers.register(handlebars);
-        handlebars.registerHelpers(ConditionalHelpers.class);
-        handlebars.registerHelpers(org.openapitools.codegen.templating.handlebars.StringHelpers.class);
-        handlebars.setInfiniteLoops(infiniteLoops);
-        handlebars.setPrettyPrint(prettyPrint);
-        Template tmpl = handlebars.compile(templateFile);
-        return tmpl.apply(context);
+        engine.registerHelper("json", Jackson2Helper.INSTANCE);
+        StringHelpers.register(engine);
+        engine.registerHelpers(ConditionalHelpers.class);
+        engine.registerHelpers(org.openapitools.codegen.templating.handlebars.StringHelpers.class);
+        engine.setInfiniteLoops(infiniteLoops);
+        engine.setPrettyPrint(prettyPrint);
+
+        handlebars = engine;
+        handlebarsExecutor = executor;
+        return engine;
     }
 
     @SuppressWarnings("java:S108")
@@ -136,10 +169,21 @@ public class HandlebarsEngineAdapter extends AbstractTemplatingEngineAdapter {
      * @param infiniteLoops Whether to enable (true) or disable (false)
      * @return this object
      */
-    public HandlebarsEngineAdapter infiniteLoops(boolean infiniteLoops) {
+    public synchronized HandlebarsEngineAdapter infiniteLoops(boolean infiniteLoops) {
         this.infiniteLoops = infiniteLoops;
+        this.handlebars = null;
         return this;
     }
 
+    /**
+     * Enable/disable prettyPrint setting for the Handlebars engine.
+     *
+     * @param prettyPrint Whether to enable (true) or disable (false)
+     */
+    public synchronized void setPrettyPrint(boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
+        this.handlebars = null;
+    }
+
 }
 
@@ -19,7 +19,6 @@ package org.openapitools.codegen.templating;
 import com.samskivert.mustache.Mustache;
 import com.samskivert.mustache.Template;
 import lombok.Getter;
-import lombok.Setter;
 import org.openapitools.codegen.CodegenConstants;
 import org.openapitools.codegen.api.TemplatingEngineAdapter;
 import org.openapitools.codegen.api.TemplatingExecutor;
@@ -48,9 +47,29 @@ public class MustacheEngineAdapter implements TemplatingEngineAdapter {
     }
 
     private final String[] extensions = {"mustache"};
-    @Getter @Setter
+    @Getter
     Mustache.Compiler compiler = Mustache.compiler();
 
+    /**
+     * Compiled templates for this adapter. Partials are loaded once per compiled template and are therefore cached along with it.
+     * The cache is not shared between adapters, as the partials come from the executor of the run which compiled the template.
+     */
+    @Getter
+    private final CompiledTemplateCache<Template> templateCache = new CompiledTemplateCache<>();
+
+    // compiled templates resolve partials through the executor they were compiled with
+    private TemplatingExecutor cachedExecutor;
+
+    /**
+     * Sets the compiler used for templates, discarding any templates compiled with the previous compiler.
+     *
+     * @param compiler The mustache compiler
+     */
+    public void setCompiler(Mustache.Compiler compiler) {
+        this.compiler = compiler;
+        templateCache.clear();
+    }
+
     /**
      * Compiles a template into a string
      *
@@ -62,10 +81,16 @@ public class MustacheEngineAdapter implements TemplatingEngineAdapter {
      */
     @Override
     public String compileTemplate(TemplatingExecutor executor, Map<String, Object> bundle, String templateFile) throws IOException {
-        Template tmpl = compiler
+        synchronized (templateCache) {
+            if (cachedExecutor != executor) {
+                templateCache.clear();
+                cachedExecutor = executor;
+            }
+        }
+        Template tmpl = templateCache.get(templateFile, executor.getFullTemplateContents(templateFile), content -> compiler
                 .withLoader(name -> findTemplate(executor, name))
                 .defaultValue("")
-                .compile(executor.getFullTemplateContents(templateFile));
+                .compile(content));
         StringWriter out = new StringWriter();
 
         // the value of bundle[MUSTACHE_PARENT_CONTEXT] is used a parent content in mustache.
@@ -129,106 +129,77 @@ public class ModelUtils {
     }
 
     /**
-     * Return the list of all schemas in the 'components/schemas' section used in the openAPI specification
+     * Return the list of all schemas in the 'components/schemas' section used in the openAPI specification.
+     * Traverses the paths on each call, use {@link #getSchemaUsage(OpenAPI)} when the usage is needed more than once.
      *
      * @param openAPI specification
      * @return schemas a list of used schemas
      */
     public static List<String> getAllUsedSchemas(OpenAPI openAPI) {
-        Map<String, List<String>> childrenMap = getChildrenMap(openAPI);
-        List<String> allUsedSchemas = new ArrayList<String>();
-        visitOpenAPI(openAPI, (s, t) -> {
-            if (s.get$ref() != null) {
-                String ref = getSimpleRef(s.get$ref());
-                if (!allUsedSchemas.contains(ref)) {
-                    allUsedSchemas.add(ref);
-                }
-                if (childrenMap.containsKey(ref)) {
-                    for (String child : childrenMap.get(ref)) {
-                        if (!allUsedSchemas.contains(child)) {
-                            allUsedSchemas.add(child);
-                        }
-                    }
-                }
-            }
-        });
-        return allUsedSchemas;
+        return getSchemaUsage(openAPI).getUsedSchemas();
     }
 
     /**
-     * Return the list of unused schemas in the 'components/schemas' section of an openAPI specification
+     * Return the list of unused schemas in the 'components/schemas' section of an openAPI specification.
+     * Traverses the paths on each call, use {@link #getSchemaUsage(OpenAPI)} when the usage is needed more than once.
      *
      * @param openAPI specification
      * @return schemas a list of unused schemas
      */
     public static List<String> getUnusedSchemas(OpenAPI openAPI) {
-        final Map<String, List<String>> childrenMap;
-        Map<String, List<String>> tmpChildrenMap;
-        try {
-            tmpChildrenMap = getChildrenMap(openAPI);
-        } catch (NullPointerException npe) {
-            // in rare cases, such as a spec document with only one top-level oneOf schema and multiple referenced schemas,
-            // the stream used in getChildrenMap will raise an NPE. Rather than modify getChildrenMap which is used by getAllUsedSchemas,
-            // we'll catch here as a workaround for this edge case.
-            tmpChildrenMap = new HashMap<>();
-        }
-
-        childrenMap = tmpChildrenMap;
-        List<String> unusedSchemas = new ArrayList<String>();
-
-        if (openAPI != null) {
-            Map<String, Schema> schemas = getSchemas(openAPI);
-            unusedSchemas.addAll(schemas.keySet());
-
-            visitOpenAPI(openAPI, (s, t) -> {
-                if (s.get$ref() != null) {
-                    String ref = getSimpleRef(s.get$ref());
-                    unusedSchemas.remove(ref);
-                    if (childrenMap.containsKey(ref)) {
-                        unusedSchemas.removeAll(childrenMap.get(ref));
-                    }
-                }
-            });
+        if (openAPI == null) {
+            return new ArrayList<>();
         }
-        return unusedSchemas;
+        return getSchemaUsage(openAPI).getUnusedSchemas();
     }
 
     /**
-     * Return the list of schemas in the 'components/schemas' used only in a 'application/x-www-form-urlencoded' or 'multipart/form-data' mime time
+     * Return the list of schemas in the 'components/schemas' used only in a 'application/x-www-form-urlencoded' or 'multipart/form-data' mime time.
+     * Traverses the paths on each call, use {@link #getSchemaUsage(OpenAPI)} when the usage is needed more than once.
      *
      * @param openAPI specification
      * @return schemas a list of schemas
      */
     public static List<String> getSchemasUsedOnlyInFormParam(OpenAPI openAPI) {
-        List<String> schemasUsedInFormParam = new ArrayList<String>();
-        List<String> schemasUsedInOtherCases = new ArrayList<String>();
+        return getSchemaUsage(openAPI).getSchemasUsedOnlyInFormParam();
+    }
 
+    /**
+     * Traverses all paths of an OpenAPI instance once to collect the schemas referenced by the paths, from which
+     * the used, unused and form-only schemas are derived.
+     *
+     * @param openAPI specification
+     * @return the usage of the schemas in the 'components/schemas' section
+     */
+    public static SchemaUsage getSchemaUsage(OpenAPI openAPI) {
+        Set<String> refs = new LinkedHashSet<>();
+        List<String> formParamRefs = new ArrayList<>();
+        Set<String> otherRefs = new HashSet<>();
         visitOpenAPI(openAPI, (s, t) -> {
             if (s != null && s.get$ref() != null) {
                 String ref = getSimpleRef(s.get$ref());
+                refs.add(ref);
                 if ("application/x-www-form-urlencoded".equalsIgnoreCase(t) ||
                         "multipart/form-data".equalsIgnoreCase(t)) {
-                    schemasUsedInFormParam.add(ref);
+                    formParamRefs.add(ref);
                 } else {
-                    schemasUsedInOtherCases.add(ref);
+                    otherRefs.add(ref);
                 }
             }
         });
-        return schemasUsedInFormParam.stream().filter(n -> !schemasUsedInOtherCases.contains(n)).collect(Collectors.toList());
+        return new SchemaUsage(openAPI, refs, formParamRefs, otherRefs);
     }
 
     /**
-     * Private method used by several methods ({@link #getAllUsedSchemas(OpenAPI)},
-     * {@link #getUnusedSchemas(OpenAPI)},
-     * {@link #getSchemasUsedOnlyInFormParam(OpenAPI)}, ...) to traverse all paths of an
-     * OpenAPI instance and call the visitor functional interface when a schema is found.
+     * Private method used by several methods ({@link #getSchemaUsage(OpenAPI)}, {@link #getAllSchemas(OpenAPI)}, ...)
+     * to traverse all paths of an OpenAPI instance and call the visitor functional interface when a schema is found.
      *
      * @param openAPI specification
      * @param visitor functional interface (can be defined as a lambda) called each time a schema is found.
      */
     private static void visitOpenAPI(OpenAPI openAPI, OpenAPISchemaVisitor visitor) {
         Map<String, PathItem> paths = openAPI.getPaths();
-        List<String> visitedSchemas = new ArrayList<>();
+        Set<String> visitedSchemas = new HashSet<>();
 
         if (paths != null) {
             for (PathItem path : paths.values()) {
@@ -237,7 +208,7 @@ public class ModelUtils {
         }
     }
 
-    private static void visitPathItem(PathItem pathItem, OpenAPI openAPI, OpenAPISchemaVisitor visitor, List<String> visitedSchemas) {
+    private static void visitPathItem(PathItem pathItem, OpenAPI openAPI, OpenAPISchemaVisitor visitor, Set<String> visitedSchemas) {
         List<Operation> allOperations = pathItem.readOperations();
         if (allOperations != null) {
             for (Operation operation : allOperations) {
@@ -287,7 +258,7 @@ public class ModelUtils {
     }
 
     private static void visitParameters(OpenAPI openAPI, List<Parameter> parameters, OpenAPISchemaVisitor visitor,
-                                        List<String> visitedSchemas) {
+                                        Set<String> visitedSchemas) {
         if (parameters != null) {
             for (Parameter p : parameters) {
                 Parameter parameter = getReferencedParameter(openAPI, p);
@@ -303,7 +274,7 @@ public class ModelUtils {
         }
     }
 
-    private static void visitContent(OpenAPI openAPI, Content content, OpenAPISchemaVisitor visitor, List<String> visitedSchemas) {
+    private static void visitContent(OpenAPI openAPI, Content content, OpenAPISchemaVisitor visitor, Set<String> visitedSchemas) {
         if (content != null) {
             for (Entry<String, MediaType> e : content.entrySet()) {
                 if (e.getValue().getSchema() != null) {
@@ -322,10 +293,10 @@ public class ModelUtils {
      * @param openAPI        the OpenAPI document that contains schema objects.
      * @param schema         the root schema object to be visited.
      * @param mimeType       the mime type. TODO: does not seem to be used in a meaningful way.
-     * @param visitedSchemas the list of referenced schemas that have been visited.
+     * @param visitedSchemas the names of the referenced schemas that have been visited.
      * @param visitor        the visitor function which is invoked for every visited schema.
      */
-    private static void visitSchema(OpenAPI openAPI, Schema schema, String mimeType, List<String> visitedSchemas, OpenAPISchemaVisitor visitor) {
+    private static void visitSchema(OpenAPI openAPI, Schema schema, String mimeType, Set<String> visitedSchemas, OpenAPISchemaVisitor visitor) {
         if (schema == null) {
             return;
         }
@@ -333,8 +304,7 @@ public class ModelUtils {
         visitor.visit(schema, mimeType);
         if (schema.get$ref() != null) {
             String ref = getSimpleRef(schema.get$ref());
-            if (!visitedSchemas.contains(ref)) {
-                visitedSchemas.add(ref);
+            if (visitedSchemas.add(ref)) {
                 Schema referencedSchema = getSchemas(openAPI).get(ref);
                 if (referencedSchema != null) {
                     visitSchema(openAPI, referencedSchema, mimeType, visitedSchemas, visitor);
@@ -342,22 +312,11 @@ public class ModelUtils {
             }
         }
         if (isComposedSchema(schema)) {
-            List<Schema> oneOf = schema.getOneOf();
-            if (oneOf != null) {
-                for (Schema s : oneOf) {
-                    visitSchema(openAPI, s, mimeType, visitedSchemas, visitor);
-                }
-            }
-            List<Schema> allOf = schema.getAllOf();
-            if (allOf != null) {
-                for (Schema s : allOf) {
-                    visitSchema(openAPI, s, mimeType, visitedSchemas, visitor);
-                }
-            }
-            List<Schema> anyOf = schema.getAnyOf();
-            if (anyOf != null) {
-                for (Schema s : anyOf) {
-                    visitSchema(openAPI, s, mimeType, visitedSchemas, visitor);
+            for (List<Schema> composed : Arrays.asList(schema.getOneOf(), schema.getAllOf(), schema.getAnyOf())) {
+                if (composed != null) {
+                    for (Schema s : composed) {
+                        visitSchema(openAPI, s, mimeType, visitedSchemas, visitor);
+                    }
                 }
             }
         } else if (ModelUtils.isArraySchema(schema)) {
@@ -985,24 +944,26 @@ public class ModelUtils {
             return schema;
         }
 
+        SchemaGraph graph = SchemaGraph.of(openAPI);
+        Schema referencedSchema = graph != null ?
+                graph.getReferencedSchema(schema.get$ref(), ref -> getReferencedSchema(openAPI, ref)) :
+                getReferencedSchema(openAPI, schema.get$ref());
+        return referencedSchema != null ? referencedSchema : schema;
+    }
+
+    private static Schema getReferencedSchema(OpenAPI openAPI, String ref) {
         try {
-            Schema refSchema = getSchemaFromRefToSchemaWithProperties(openAPI, schema.get$ref());
+            Schema refSchema = getSchemaFromRefToSchemaWithProperties(openAPI, ref);
             if (refSchema != null) {
                 // it's ref to schema's properties, #/components/schemas/Pet/properties/category for example
                 return refSchema;
             }
         } catch (Exception e) {
-            LOGGER.warn("Failed to parse $ref {}. Please report the issue to openapi-generator GitHub repo.", schema.get$ref());
+            LOGGER.warn("Failed to parse $ref {}. Please report the issue to openapi-generator GitHub repo.", ref);
         }
 
         // a simple ref, e.g. #/components/schemas/Pet
-        String name = getSimpleRef(schema.get$ref());
-        Schema referencedSchema = getSchema(openAPI, name);
-        if (referencedSchema != null) {
-            return referencedSchema;
-        }
-
-        return schema;
+        return getSchema(openAPI, getSimpleRef(ref));
     }
 
     /**
@@ -1079,7 +1040,7 @@ public class ModelUtils {
      */
     public static List<Schema> getAllSchemas(OpenAPI openAPI) {
         List<Schema> allSchemas = new ArrayList<Schema>();
-        List<String> refSchemas = new ArrayList<String>();
+        Set<String> refSchemas = new HashSet<>();
         getSchemas(openAPI).forEach((key, schema) -> {
             // Invoke visitSchema to recursively visit all schema objects, included inlined and composed schemas.
             // Use the OpenAPISchemaVisitor visitor function
@@ -1365,6 +1326,21 @@ public class ModelUtils {
     public static Schema unaliasSchema(OpenAPI openAPI,
                                        Schema schema,
                                        Map<String, String> schemaMappings) {
+        if (schema != null && schemaMappings.isEmpty() && StringUtils.isNotEmpty(schema.get$ref())) {
+            SchemaGraph graph = SchemaGraph.of(openAPI);
+            String simpleRef = getSimpleRef(schema.get$ref());
+            Schema referenced = graph != null ? getSchemas(openAPI).get(simpleRef) : null;
+            if (referenced != null && graph.getName(referenced) != null) {
+                String key = simpleRef + ":" + isGenerateAliasAsModel() + ":" + isDisallowAdditionalPropertiesIfNotPresent();
+                return graph.unalias(schema, simpleRef, key, s -> unaliasReferencedSchema(openAPI, s, schemaMappings));
+            }
+        }
+        return unaliasReferencedSchema(openAPI, schema, schemaMappings);
+    }
+
+    private static Schema unaliasReferencedSchema(OpenAPI openAPI,
+                                                  Schema schema,
+                                                  Map<String, String> schemaMappings) {
         Map<String, Schema> allSchemas = getSchemas(openAPI);
         if (allSchemas == null || allSchemas.isEmpty()) {
             // skip the warning as the spec can have no model defined
@@ -1509,6 +1485,13 @@ public class ModelUtils {
     }
 
     public static Map<String, List<String>> getChildrenMap(OpenAPI openAPI) {
+        SchemaGraph graph = SchemaGraph.of(openAPI);
+        if (graph != null && graph.getChildrenMap() != null) {
+            Map<String, List<String>> childrenMap = new HashMap<>();
+            graph.getChildrenMap().forEach((parent, children) -> childrenMap.put(parent, new ArrayList<>(children)));
+            return childrenMap;
+        }
+
         Map<String, Schema> allSchemas = getSchemas(openAPI);
 
         Map<String, List<Entry<String, Schema>>> groupedByParent = allSchemas.entrySet().stream()
@@ -1568,6 +1551,12 @@ public class ModelUtils {
      * @return the name of the parent model
      */
     public static String getParentName(Schema composedSchema, Map<String, Schema> allSchemas) {
+        SchemaGraph graph = SchemaGraph.of(allSchemas);
+        String name = graph != null ? graph.getName(composedSchema) : null;
+        if (name != null && graph.hasParentNames(name)) {
+            return graph.getParentName(name);
+        }
+
         List<Schema> interfaces = getInterfaces(composedSchema);
         int nullSchemaChildrenCount = 0;
         boolean hasAmbiguousParents = false;
@@ -1627,6 +1616,11 @@ public class ModelUtils {
      * @return the name of the parent model
      */
     public static List<String> getAllParentsName(Schema composedSchema, Map<String, Schema> allSchemas, boolean includeAncestors) {
+        SchemaGraph graph = SchemaGraph.of(allSchemas);
+        String name = graph != null ? graph.getName(composedSchema) : null;
+        if (name != null && graph.hasParentNames(name)) {
+            return new ArrayList<>(graph.getAllParentsName(name, includeAncestors));
+        }
         return getAllParentsName(composedSchema, allSchemas, includeAncestors, new HashSet<>());
     }
 
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * An index of the schemas under /components/schemas of an OAS document, answering the questions {@link ModelUtils}
+ * otherwise answers by walking $refs: parent and children names, referenced schemas and aliases.
+ * <p>
+ * The index is built by {@link #index(OpenAPI)} once the document is no longer modified, which is the case once
+ * it is set on a {@link org.openapitools.codegen.CodegenConfig}. The codegen holds the index and builds a new one
+ * whenever a document is set, the index is only registered for {@link ModelUtils} lookups while the codegen
+ * holding it is in use. Lookups fall back to walking the document once a schema is added, removed or replaced
+ * under /components/schemas, or once a schema an answer depends on is modified in place. Modifications are told by
+ * a stamp of the fields of the schema read by these lookups, e.g. its $ref, type, compositions and properties.
+ */
+public class SchemaGraph {
+    // weak keys are compared by identity, the values are held by the codegen which indexed the document
+    private static final Cache<Map<String, Schema>, SchemaGraph> INDEXES = Caffeine.newBuilder().weakKeys().weakValues().build();
+    private static final String SCHEMAS_REF_PREFIX = "#/components/schemas/";
+
+    private final Map<String, Schema> schemas;
+    private final int size;
+    private final Map<Schema, String> names = new IdentityHashMap<>();
+    private final Map<String, Long> stamps = new HashMap<>();
+    // the schemas the parents of a schema are resolved from, i.e. the schemas its compositions refer to, transitively
+    private final Map<String, Set<String>> compositionClosures = new HashMap<>();
+    private final Map<String, List<String>> allOfChildren = new HashMap<>();
+    private final Map<String, String> parentNames = new HashMap<>();
+    private final Map<String, List<String>> directParentNames = new HashMap<>();
+    private final Map<String, List<String>> allParentNames = new HashMap<>();
+    private final Map<String, List<String>> childrenMap;
+    private final Map<String, Resolved> referencedSchemas = new ConcurrentHashMap<>();
+    private final Map<String, Resolved> aliases = new ConcurrentHashMap<>();
+
+    private SchemaGraph(Map<String, Schema> schemas) {
+        this.schemas = schemas;
+        this.size = schemas.size();
+        Map<String, List<String>> children = new HashMap<>();
+        Map<String, Set<String>> compositionRefs = new HashMap<>();
+        boolean childrenResolved = true;
+        for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+            String name = entry.getKey();
+            Schema schema = entry.getValue();
+            if (schema == null) {
+                continue;
+            }
+            names.put(schema, name);
+            stamps.put(name, stamp(schema));
+            compositionRefs.put(name, compositionRefs(schema));
+            if (ModelUtils.isComposedSchema(schema) && schema.getAllOf() != null) {
+                Set<String> allOfParents = new LinkedHashSet<>();
+                for (Object parent : schema.getAllOf()) {
+                    String ref = ((Schema) parent).get$ref();
+                    if (ref != null && allOfParents.add(ModelUtils.getSimpleRef(ref))) {
+                        allOfChildren.computeIfAbsent(ModelUtils.getSimpleRef(ref), k -> new ArrayList<>()).add(name);
+                    }
+                }
+            }
+            try {
+                String parentName = ModelUtils.getParentName(schema, schemas);
+                parentNames.put(name, parentName);
+                directParentNames.put(name, Collections.unmodifiableList(ModelUtils.getAllParentsName(schema, schemas, false)));
+                allParentNames.put(name, Collections.unmodifiableList(ModelUtils.getAllParentsName(schema, schemas, true)));
+                if (parentName != null && ModelUtils.isComposedSchema(schema)) {
+                    children.computeIfAbsent(parentName, k -> new ArrayList<>()).add(name);
+                }
+            } catch (RuntimeException e) {
+                // left to the document walk, which reports the failure to the caller
+                parentNames.remove(name);
+                directParentNames.remove(name);
+                allParentNames.remove(name);
+                childrenResolved = false;
+            }
+        }
+        for (String name : compositionRefs.keySet()) {
+            Set<String> closure = new LinkedHashSet<>();
+            Deque<String> pending = new ArrayDeque<>();
+            pending.add(name);
+            while (!pending.isEmpty()) {
+                String next = pending.poll();
+                if (closure.add(next)) {
+                    pending.addAll(compositionRefs.getOrDefault(next, Collections.emptySet()));
+                }
+            }
+            compositionClosures.put(name, closure);
+        }
+        children.replaceAll((k, v) -> Collections.unmodifiableList(v));
+        allOfChildren.replaceAll((k, v) -> Collections.unmodifiableList(v));
+        this.childrenMap = childrenResolved ? Collections.unmodifiableMap(children) : null;
+    }
+
+    /**
+     * Builds the index of the schemas of an OAS document and uses it for subsequent {@link ModelUtils} lookups, as
+     * long as the returned index is referenced.
+     *
+     * @param openAPI the OpenAPI document, which should not be modified afterwards
+     * @return the index, or null if the document has no schemas
+     */
+    public static SchemaGraph index(OpenAPI openAPI) {
+        Map<String, Schema> schemas = ModelUtils.getSchemas(openAPI);
+        if (schemas.isEmpty()) {
+            return null;
+        }
+        INDEXES.invalidate(schemas);
+        SchemaGraph graph = new SchemaGraph(schemas);
+        INDEXES.put(schemas, graph);
+        return graph;
+    }
+
+    /**
+     * @param openAPI the OpenAPI document
+     * @return the index of the schemas of the document, or null if it was not indexed or changed since
+     */
+    public static SchemaGraph of(OpenAPI openAPI) {
+        return of(ModelUtils.getSchemas(openAPI));
+    }
+
+    /**
+     * @param schemas the schemas under /components/schemas of an OpenAPI document
+     * @return the index of the schemas, or null if they were not indexed or changed since
+     */
+    public static SchemaGraph of(Map<String, Schema> schemas) {
+        if (schemas == null || schemas.isEmpty()) {
+            return null;
+        }
+        SchemaGraph graph = INDEXES.getIfPresent(schemas);
+        if (graph != null && graph.size != schemas.size()) {
+            INDEXES.invalidate(schemas);
+            return null;
+        }
+        return graph;
+    }
+
+    /**
+     * @param schema a schema
+     * @return the name of the schema under /components/schemas, or null if it is not defined there
+     */
+    public String getName(Schema schema) {
+        String name = names.get(schema);
+        // the schema was replaced under its name since it was indexed
+        return name != null && schemas.get(name) == schema ? name : null;
+    }
+
+    /**
+     * @param name the name of a schema under /components/schemas
+     * @return true if the parent names of the schema are indexed, and the schemas they depend on are unchanged
+     */
+    public boolean hasParentNames(String name) {
+        return parentNames.containsKey(name) && isUnchanged(compositionClosures.get(name));
+    }
+
+    /**
+     * @param name the name of a schema under /components/schemas
+     * @return the result of {@link ModelUtils#getParentName(Schema, Map)} for the schema
+     */
+    public String getParentName(String name) {
+        return parentNames.get(name);
+    }
+
+    /**
+     * @param name             the name of a schema under /components/schemas
+     * @param includeAncestors whether indirect ancestors are included
+     * @return the result of {@link ModelUtils#getAllParentsName(Schema, Map, boolean)} for the schema
+     */
+    public List<String> getAllParentsName(String name, boolean includeAncestors) {
+        return includeAncestors ? allParentNames.get(name) : directParentNames.get(name);
+    }
+
+    /**
+     * @return the names of the composed schemas by the name of their parent, or null if they could not be indexed
+     */
+    public Map<String, List<String>> getChildrenMap() {
+        return childrenMap != null && isUnchanged() ? childrenMap : null;
+    }
+
+    /**
+     * @param name the name of a schema under /components/schemas
+     * @return the names of the schemas with an allOf $ref to the schema, in the order of /components/schemas
+     */
+    public List<String> getAllOfChildren(String name) {
+        return allOfChildren.getOrDefault(name, Collections.emptyList());
+    }
+
+    /**
+     * @return true if no schema was replaced or modified under /components/schemas since the document was indexed
+     */
+    public boolean isUnchanged() {
+        return isUnchanged(stamps.keySet());
+    }
+
+    private boolean isUnchanged(Collection<String> dependencies) {
+        for (String name : dependencies) {
+            Schema schema = schemas.get(name);
+            Long stamp = stamps.get(name);
+            if (stamp == null ? schema != null : schema == null || !name.equals(names.get(schema)) || stamp != stamp(schema)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the schema referenced by a $ref, resolving it once.
+     *
+     * @param ref      the $ref
+     * @param resolver resolves the $ref, returning null if it cannot be resolved
+     * @return the referenced schema, or null if it cannot be resolved
+     */
+    public Schema getReferencedSchema(String ref, Function<String, Schema> resolver) {
+        String name = getSchemaName(ref);
+        if (name == null || !stamps.containsKey(name)) {
+            return resolver.apply(ref);
+        }
+        Resolved resolved = referencedSchemas.get(ref);
+        if (resolved == null || !isUnchanged(resolved.dependencies)) {
+            Schema schema = resolver.apply(ref);
+            if (schema == null) {
+                return null;
+            }
+            resolved = new Resolved(schema, Collections.singleton(name));
+            referencedSchemas.put(ref, resolved);
+        }
+        return resolved.schema;
+    }
+
+    /**
+     * Returns the actual schema of an alias, unaliasing it once per referenced schema.
+     *
+     * @param schema   a schema with a $ref to a schema under /components/schemas
+     * @param name     the name of the referenced schema
+     * @param key      identifies the referenced schema and the settings affecting unaliasing
+     * @param resolver unaliases the schema
+     * @return the actual schema
+     */
+    public Schema unalias(Schema schema, String name, String key, UnaryOperator<Schema> resolver) {
+        Resolved resolved = aliases.get(key);
+        if (resolved == null || !isUnchanged(resolved.dependencies)) {
+            Schema actual = resolver.apply(schema);
+            // the schema itself is returned when it is not an alias, which is the same for every $ref to it
+            aliases.put(key, new Resolved(actual == schema ? null : actual, aliasChain(name)));
+            return actual;
+        }
+        return resolved.schema == null ? schema : resolved.schema;
+    }
+
+    /**
+     * @return the names of the schemas followed when unaliasing the schema with the given name
+     */
+    private List<String> aliasChain(String name) {
+        List<String> chain = new ArrayList<>();
+        for (String next = name; next != null && stamps.containsKey(next) && !chain.contains(next); ) {
+            chain.add(next);
+            String ref = schemas.get(next).get$ref();
+            next = ref != null ? getSchemaName(ref) : null;
+        }
+        return chain;
+    }
+
+    /**
+     * @return the name of the schema under /components/schemas a $ref points into, or null if it points elsewhere
+     */
+    private static String getSchemaName(String ref) {
+        if (ref == null || !ref.startsWith(SCHEMAS_REF_PREFIX)) {
+            return null;
+        }
+        int end = ref.indexOf('/', SCHEMAS_REF_PREFIX.length());
+        return ModelUtils.getSimpleRef(end < 0 ? ref : ref.substring(0, end));
+    }
+
+    private static Set<String> compositionRefs(Schema schema) {
+        Set<String> refs = new LinkedHashSet<>();
+        for (List<?> composition : Arrays.asList(schema.getAllOf(), schema.getOneOf(), schema.getAnyOf())) {
+            if (composition != null) {
+                for (Object item : composition) {
+                    String name = item instanceof Schema ? getSchemaName(((Schema) item).get$ref()) : null;
+                    if (name != null) {
+                        refs.add(name);
+                    }
+                }
+            }
+        }
+        String name = getSchemaName(schema.get$ref());
+        if (name != null) {
+            refs.add(name);
+        }
+        return refs;
+    }
+
+    /**
+     * A stamp of the fields of a schema read by the lookups of this index. Nested schemas are stamped by identity,
+     * except for the $ref of composed schemas, which parent lookups read.
+     */
+    static long stamp(Schema schema) {
+        long stamp = 1;
+        stamp = 31 * stamp + Objects.hashCode(schema.get$ref());
+        stamp = 31 * stamp + Objects.hashCode(schema.getType());
+        stamp = 31 * stamp + Objects.hashCode(schema.getTypes());
+        stamp = 31 * stamp + Objects.hashCode(schema.getFormat());
+        stamp = 31 * stamp + Objects.hashCode(schema.getNullable());
+        for (List<?> composition : Arrays.asList(schema.getAllOf(), schema.getOneOf(), schema.getAnyOf())) {
+            stamp = 31 * stamp + System.identityHashCode(composition);
+            if (composition != null) {
+                for (Object item : composition) {
+                    stamp = 31 * stamp + System.identityHashCode(item);
+                    stamp = 31 * stamp + (item instanceof Schema ? Objects.hashCode(((Schema) item).get$ref()) : 0);
+                }
+            }
+        }
+        stamp = 31 * stamp + System.identityHashCode(schema.getNot());
+        stamp = 31 * stamp + System.identityHashCode(schema.getItems());
+        Object additionalProperties = schema.getAdditionalProperties();
+        stamp = 31 * stamp + (additionalProperties instanceof Boolean ? additionalProperties.hashCode() : System.identityHashCode(additionalProperties));
+        Map<String, Schema> properties = schema.getProperties();
+        stamp = 31 * stamp + System.identityHashCode(properties);
+        if (properties != null) {
+            for (Map.Entry<String, Schema> property : properties.entrySet()) {
+                stamp = 31 * stamp + property.getKey().hashCode();
+                stamp = 31 * stamp + System.identityHashCode(property.getValue());
+            }
+        }
+        Discriminator discriminator = schema.getDiscriminator();
+        stamp = 31 * stamp + System.identityHashCode(discriminator);
+        if (discriminator != null) {
+            stamp = 31 * stamp + Objects.hashCode(discriminator.getPropertyName());
+            stamp = 31 * stamp + Objects.hashCode(discriminator.getMapping());
+        }
+        List<?> enumValues = schema.getEnum();
+        stamp = 31 * stamp + System.identityHashCode(enumValues);
+        stamp = 31 * stamp + (enumValues != null ? enumValues.size() : -1);
+        Map<String, Object> extensions = schema.getExtensions();
+        stamp = 31 * stamp + System.identityHashCode(extensions);
+        if (extensions != null) {
+            for (Map.Entry<String, Object> extension : extensions.entrySet()) {
+                stamp = 31 * stamp + extension.getKey().hashCode();
+                stamp = 31 * stamp + System.identityHashCode(extension.getValue());
+            }
+        }
+        return stamp;
+    }
+
+    /**
+     * A schema resolved from the index, and the names of the schemas under /components/schemas it was resolved from.
+     */
+    private static final class Resolved {
+        private final Schema schema;
+        private final Collection<String> dependencies;
+
+        private Resolved(Schema schema, Collection<String> dependencies) {
+            this.schema = schema;
+            this.dependencies = dependencies;
+        }
+    }
+}
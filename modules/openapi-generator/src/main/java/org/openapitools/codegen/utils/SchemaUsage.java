@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 OpenAPI-Generator Contributors (https://openapi-generator.tech)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openapitools.codegen.utils;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * The usage of the schemas in the 'components/schemas' section by the paths of an OpenAPI document, collected by
+ * a single traversal in {@link ModelUtils#getSchemaUsage(OpenAPI)}.
+ */
+public class SchemaUsage {
+    private final OpenAPI openAPI;
+    private final Set<String> refs;
+    private final List<String> formParamRefs;
+    private final Set<String> otherRefs;
+
+    SchemaUsage(OpenAPI openAPI, Set<String> refs, List<String> formParamRefs, Set<String> otherRefs) {
+        this.openAPI = openAPI;
+        this.refs = refs;
+        this.formParamRefs = formParamRefs;
+        this.otherRefs = otherRefs;
+    }
+
+    /**
+     * @return the referenced schemas, in the order they are referenced, each followed by its children
+     */
+    public List<String> getUsedSchemas() {
+        Map<String, List<String>> childrenMap = ModelUtils.getChildrenMap(openAPI);
+        Set<String> usedSchemas = new LinkedHashSet<>();
+        for (String ref : refs) {
+            usedSchemas.add(ref);
+            usedSchemas.addAll(childrenMap.getOrDefault(ref, Collections.emptyList()));
+        }
+        return new ArrayList<>(usedSchemas);
+    }
+
+    /**
+     * @return the schemas which are neither referenced nor children of a referenced schema
+     */
+    public List<String> getUnusedSchemas() {
+        Map<String, List<String>> childrenMap;
+        try {
+            childrenMap = ModelUtils.getChildrenMap(openAPI);
+        } catch (NullPointerException npe) {
+            // in rare cases, such as a spec document with only one top-level oneOf schema and multiple referenced schemas,
+            // the stream used in getChildrenMap will raise an NPE. Rather than modify getChildrenMap which is used by getAllUsedSchemas,
+            // we'll catch here as a workaround for this edge case.
+            childrenMap = new HashMap<>();
+        }
+
+        Set<String> usedSchemas = new HashSet<>();
+        for (String ref : refs) {
+            usedSchemas.add(ref);
+            usedSchemas.addAll(childrenMap.getOrDefault(ref, Collections.emptyList()));
+        }
+        return ModelUtils.getSchemas(openAPI).keySet().stream()
+                .filter(name -> !usedSchemas.contains(name))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the schemas referenced only in a 'application/x-www-form-urlencoded' or 'multipart/form-data' mime type
+     */
+    public List<String> getSchemasUsedOnlyInFormParam() {
+        return formParamRefs.stream().filter(n -> !otherRefs.contains(n)).collect(Collectors.toList());
+    }
+}
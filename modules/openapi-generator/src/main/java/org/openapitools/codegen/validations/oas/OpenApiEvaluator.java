@@ -8,6 +8,7 @@ import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.tags.Tag;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.SchemaUsage;
 import org.openapitools.codegen.validation.*;
 
 import java.util.*;
@@ -35,6 +36,17 @@ public class OpenApiEvaluator implements Validator<OpenAPI> {
      */
     @Override
     public ValidationResult validate(OpenAPI specification) {
+        return validate(specification, null);
+    }
+
+    /**
+     * Validates input, reusing the usage of its schemas when the caller already computed it.
+     *
+     * @param specification The {@link OpenAPI} object instance to be validated.
+     * @param schemaUsage   The usage of the schemas of the specification, see {@link ModelUtils#getSchemaUsage(OpenAPI)}, or null to compute it when needed.
+     * @return A {@link ValidationResult} which details the success, error, and warning validation results.
+     */
+    public ValidationResult validate(OpenAPI specification, SchemaUsage schemaUsage) {
         ValidationResult validationResult = new ValidationResult();
         if (specification == null) return validationResult;
 
@@ -45,7 +57,8 @@ public class OpenApiEvaluator implements Validator<OpenAPI> {
 
         if (ruleConfiguration.isEnableUnusedSchemasRecommendation()) {
             ValidationRule unusedSchema = ValidationRule.create(Severity.WARNING, "Unused schema", "A schema was determined to be unused.", s -> ValidationRule.Pass.empty());
-            ModelUtils.getUnusedSchemas(specification).forEach(schemaName -> validationResult.addResult(Validated.invalid(unusedSchema, "Unused model: " + schemaName)));
+            SchemaUsage usage = schemaUsage != null ? schemaUsage : ModelUtils.getSchemaUsage(specification);
+            usage.getUnusedSchemas().forEach(schemaName -> validationResult.addResult(Validated.invalid(unusedSchema, "Unused model: " + schemaName)));
         }
 
         // Get list of all schemas under /components/schemas, including nested schemas defined inline and composed schema.
@@ -0,0 +1,56 @@
+package org.openapitools.codegen;
+
+import org.openapitools.codegen.languages.JavaClientCodegen;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class CodegenConfigIndexTest {
+
+    @Test
+    public void testIndexIsUpToDate() throws IOException {
+        StringWriter expected = new StringWriter();
+        CodegenConfigIndex.write(CodegenConfigIndex.registered(), expected);
+        String actual = new String(Files.readAllBytes(Paths.get("src/main/resources").resolve(CodegenConfigIndex.LOCATION)),
+                StandardCharsets.UTF_8);
+
+        Assert.assertEquals(actual, expected.toString(), "The generator index is out of date, run "
+                + CodegenConfigIndex.class.getName() + " with src/main/resources as argument to update it");
+    }
+
+    @Test
+    public void testForNameUsesTheIndex() {
+        Map<String, CodegenConfigIndex.Entry> index = CodegenConfigIndex.getEntries();
+        Assert.assertFalse(index.isEmpty());
+        for (CodegenConfigIndex.Entry entry : index.values()) {
+            CodegenConfig config = CodegenConfigLoader.forName(entry.getName());
+            Assert.assertEquals(config.getClass().getName(), entry.getClassName());
+            Assert.assertEquals(config.getName(), entry.getName());
+        }
+
+        // class names are still supported
+        Assert.assertTrue(CodegenConfigLoader.forName(JavaClientCodegen.class.getName()) instanceof JavaClientCodegen);
+    }
+
+    @Test
+    public void testAllEntriesMatchTheRegisteredGenerators() {
+        List<String> registered = CodegenConfigIndex.registered().stream()
+                .map(CodegenConfigIndex.Entry::getName).sorted().collect(Collectors.toList());
+        List<String> entries = CodegenConfigLoader.getAllEntries().stream()
+                .map(CodegenConfigIndex.Entry::getName).sorted().collect(Collectors.toList());
+        Assert.assertEquals(entries, registered);
+    }
+
+    @Test(expectedExceptions = GeneratorNotFoundException.class)
+    public void testUnknownGenerator() {
+        CodegenConfigLoader.forName("does-not-exist");
+    }
+}
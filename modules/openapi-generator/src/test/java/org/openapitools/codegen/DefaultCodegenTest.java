@@ -1942,6 +1942,65 @@ public class DefaultCodegenTest {
         assertTrue(property.isNullable);
     }
 
+    @Test
+    public void testJsonSchemaIsComputedOnFirstAccess() {
+        final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/examples.yaml");
+        final DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setOpenAPI(openAPI);
+        Schema userSchema = openAPI.getComponents().getSchemas().get("User");
+
+        CodegenModel model = codegen.fromModel("User", userSchema);
+        CodegenProperty property = model.getVars().get(0);
+
+        assertNull(model.modelJson);
+        assertNull(property.jsonSchema);
+
+        String rendered = com.samskivert.mustache.Mustache.compiler()
+                .compile("{{#vars}}{{#-first}}{{jsonSchema}}{{/-first}}{{/vars}}|{{modelJson}}")
+                .execute(model);
+
+        assertNull(model.modelJson);
+        assertNull(property.jsonSchema);
+        assertEquals(property.getJsonSchema(), io.swagger.v3.core.util.Json.pretty(io.swagger.v3.core.util.Json.mapper().convertValue(userSchema.getProperties().get(property.baseName), TreeMap.class)));
+        assertEquals(model.getModelJson(), io.swagger.v3.core.util.Json.pretty(userSchema));
+        assertEquals(rendered, com.samskivert.mustache.Mustache.compiler().compile("{{a}}|{{b}}").execute(Map.of("a", property.getJsonSchema(), "b", model.getModelJson())));
+    }
+
+    @Test
+    public void testJsonSchemaIsNotComputedByEqualsHashCodeAndToString() {
+        final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/examples.yaml");
+        final DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setOpenAPI(openAPI);
+        Schema userSchema = openAPI.getComponents().getSchemas().get("User");
+        java.util.function.Supplier<String> failingSupplier = () -> {
+            throw new AssertionError("the JSON schema should not be computed");
+        };
+
+        CodegenModel model = codegen.fromModel("User", userSchema);
+        CodegenModel otherModel = codegen.fromModel("User", userSchema);
+        model.setModelJsonSupplier(failingSupplier);
+        otherModel.setModelJsonSupplier(failingSupplier);
+        CodegenProperty property = model.getVars().get(0);
+        CodegenProperty otherProperty = otherModel.getVars().get(0);
+        property.setJsonSchemaSupplier(failingSupplier);
+        otherProperty.setJsonSchemaSupplier(failingSupplier);
+        CodegenParameter parameter = new CodegenParameter();
+        parameter.setJsonSchemaSupplier(failingSupplier);
+        CodegenResponse response = new CodegenResponse();
+        CodegenResponse otherResponse = new CodegenResponse();
+        response.setJsonSchemaSupplier(failingSupplier);
+        otherResponse.setJsonSchemaSupplier(failingSupplier);
+
+        assertEquals(model, otherModel);
+        assertEquals(property, otherProperty);
+        assertEquals(parameter, parameter.copy());
+        assertEquals(response, otherResponse);
+        for (Object codegenObject : List.of(model, property, parameter, response)) {
+            assertNotNull(codegenObject.toString());
+            codegenObject.hashCode();
+        }
+    }
+
     @Test
     public void testDeprecatedModel() {
         final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/component-deprecated.yml");
@@ -2499,6 +2558,37 @@ public class DefaultCodegenTest {
         assertFalse(roundCOut.isCircularReference);
     }
 
+    @Test
+    public void testCircularReferencesDetectionOnLongChain() {
+        // given a chain Node0 -> Node1 -> ... -> NodeN-1 -> Node0, and NodeN-1 -> Leaf
+        DefaultCodegen codegen = new DefaultCodegen();
+        final int size = 5000;
+        final Map<String, CodegenModel> models = new HashMap<>();
+        final List<CodegenProperty> nextProperties = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final CodegenProperty next = new CodegenProperty();
+            next.baseName = "next";
+            next.dataType = "Node" + ((i + 1) % size);
+            nextProperties.add(next);
+            final CodegenModel model = new CodegenModel();
+            model.setDataType("Node" + i);
+            model.setAllVars(Collections.singletonList(next));
+            models.put("Node" + i, model);
+        }
+        final CodegenProperty leaf = new CodegenProperty();
+        leaf.baseName = "leaf";
+        leaf.dataType = "Leaf";
+        models.get("Node" + (size - 1)).setAllVars(Arrays.asList(nextProperties.get(size - 1), leaf));
+        models.put("Leaf", new CodegenModel());
+
+        // when
+        codegen.setCircularReferences(models);
+
+        // then
+        nextProperties.forEach(next -> assertTrue(next.isCircularReference));
+        assertFalse(leaf.isCircularReference);
+    }
+
     @Test
     public void testUseOneOfInterfaces() {
         final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/composed-oneof.yaml");
@@ -5053,6 +5143,17 @@ public class DefaultCodegenTest {
         return getNames(model.getRequiredVars());
     }
 
+    @Test
+    public void sanitizeNameDependsOnTheGeneratorOptions() {
+        DefaultCodegen ascii = new DefaultCodegen();
+        DefaultCodegen unicode = new DefaultCodegen();
+        unicode.setAllowUnicodeIdentifiers(true);
+
+        Assert.assertEquals(ascii.sanitizeName("naïve"), "nave");
+        Assert.assertEquals(unicode.sanitizeName("naïve"), "naïve");
+        Assert.assertEquals(ascii.sanitizeName("naïve"), "nave");
+    }
+
     private List<String> getNames(List<CodegenProperty> props) {
         if (props == null) return null;
         return props.stream().map(v -> v.name).collect(Collectors.toList());
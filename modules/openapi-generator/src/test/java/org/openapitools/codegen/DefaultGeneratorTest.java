@@ -11,14 +11,19 @@ import io.swagger.v3.oas.models.parameters.QueryParameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.openapitools.codegen.config.CodegenConfigurator;
 import org.openapitools.codegen.config.GlobalSettings;
 import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
 import org.openapitools.codegen.model.OperationsMap;
 import org.openapitools.codegen.utils.ModelUtils;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -26,6 +31,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 public class DefaultGeneratorTest {
 
@@ -115,6 +123,184 @@ public class DefaultGeneratorTest {
         }
     }
 
+    @Test
+    public void testParallelGenerationMatchesSequentialGeneration() throws IOException {
+        Path sequentialTarget = Files.createTempDirectory("test-sequential");
+        Path parallelTarget = Files.createTempDirectory("test-parallel");
+        try {
+            List<File> sequentialFiles = generatePetstore(sequentialTarget, CodegenConstants.PARALLEL_GENERATION, "false");
+            List<File> parallelFiles = generatePetstore(parallelTarget, CodegenConstants.PARALLEL_GENERATION, "4");
+
+            Assert.assertEquals(relativize(parallelTarget, parallelFiles), relativize(sequentialTarget, sequentialFiles));
+            for (File file : sequentialFiles) {
+                Path relative = sequentialTarget.relativize(file.toPath().toAbsolutePath());
+                Assert.assertEquals(Files.readAllBytes(parallelTarget.resolve(relative)), Files.readAllBytes(file.toPath()), relative.toString());
+            }
+        } finally {
+            sequentialTarget.toFile().deleteOnExit();
+            parallelTarget.toFile().deleteOnExit();
+        }
+    }
+
+    @Test
+    public void testStreamModelsMatchesDefaultGeneration() throws IOException {
+        Path defaultTarget = Files.createTempDirectory("test-default");
+        Path streamingTarget = Files.createTempDirectory("test-streaming");
+        try {
+            List<File> defaultFiles = generatePetstore(defaultTarget, CodegenConstants.STREAM_MODELS, "false");
+            List<File> streamingFiles = generatePetstore(streamingTarget, CodegenConstants.STREAM_MODELS, "true");
+
+            Assert.assertEquals(relativize(streamingTarget, streamingFiles), relativize(defaultTarget, defaultFiles));
+            for (File file : defaultFiles) {
+                Path relative = defaultTarget.relativize(file.toPath().toAbsolutePath());
+                Assert.assertEquals(Files.readAllBytes(streamingTarget.resolve(relative)), Files.readAllBytes(file.toPath()), relative.toString());
+            }
+        } finally {
+            defaultTarget.toFile().deleteOnExit();
+            streamingTarget.toFile().deleteOnExit();
+        }
+    }
+
+    @Test
+    public void testIncrementalGenerationOnlyRegeneratesChangedFiles() throws IOException, InterruptedException {
+        Path target = Files.createTempDirectory("test-incremental");
+        Path spec = target.resolve("petstore.yaml");
+        try {
+            Files.copy(java.nio.file.Paths.get("src/test/resources/3_0/petstore.yaml"), spec);
+            generatePetstore(target, spec, CodegenConstants.INCREMENTAL_GENERATION, "true");
+            Path fingerprints = target.resolve(".openapi-generator/FINGERPRINTS");
+            Assert.assertTrue(Files.exists(fingerprints));
+
+            File tag = target.resolve("src/main/java/org/openapitools/client/model/Tag.java").toFile();
+            File category = target.resolve("src/main/java/org/openapitools/client/model/Category.java").toFile();
+            File petApi = target.resolve("src/main/java/org/openapitools/client/api/PetApi.java").toFile();
+            long tagModified = tag.lastModified();
+            long categoryModified = category.lastModified();
+            Files.write(petApi.toPath(), "edited".getBytes(StandardCharsets.UTF_8));
+
+            // ensure rewritten files get a different modification time
+            Thread.sleep(1100);
+            String contents = new String(Files.readAllBytes(spec), StandardCharsets.UTF_8);
+            Files.write(spec, contents.replace("description: A tag for a pet", "description: A label for a pet").getBytes(StandardCharsets.UTF_8));
+            List<File> regenerated = generatePetstore(target, spec, CodegenConstants.INCREMENTAL_GENERATION, "true");
+
+            // up-to-date files are still reported as generated
+            TestUtils.ensureContainsFile(regenerated, target.toFile(), "src/main/java/org/openapitools/client/model/Tag.java");
+            TestUtils.ensureContainsFile(regenerated, target.toFile(), "src/main/java/org/openapitools/client/model/Category.java");
+            TestUtils.ensureContainsFile(regenerated, target.toFile(), "src/main/java/org/openapitools/client/api/PetApi.java");
+            TestUtils.ensureContainsFile(regenerated, target.toFile(), "README.md");
+            // only the model whose schema changed is rendered again
+            Assert.assertNotEquals(tag.lastModified(), tagModified);
+            Assert.assertEquals(category.lastModified(), categoryModified);
+            TestUtils.assertFileContains(tag.toPath(), "A label for a pet");
+            // a file modified since the previous generation is rendered again
+            TestUtils.assertFileContains(petApi.toPath(), "public class PetApi");
+        } finally {
+            FileUtils.deleteDirectory(target.toFile());
+        }
+    }
+
+    @Test
+    public void testArchiveMatchesDefaultGeneration() throws IOException {
+        Path defaultTarget = Files.createTempDirectory("test-default");
+        Path archiveTarget = Files.createTempDirectory("test-archive").resolve("out");
+        try {
+            List<File> defaultFiles = generatePetstore(defaultTarget, CodegenConstants.PARALLEL_GENERATION, "false");
+
+            final CodegenConfigurator configurator = new CodegenConfigurator()
+                    .setGeneratorName("java")
+                    .setInputSpec("src/test/resources/3_0/petstore.yaml")
+                    .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                    .setOutputDir(archiveTarget.toAbsolutePath().toString());
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            List<File> archivedFiles;
+            try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+                DefaultGenerator generator = new DefaultGenerator(false);
+                generator.setArchive(zip, "petstore");
+                archivedFiles = generator.opts(configurator.toClientOptInput()).generate();
+            }
+
+            // nothing is written to disk
+            Assert.assertFalse(Files.exists(archiveTarget));
+            Assert.assertEquals(relativize(archiveTarget, archivedFiles), relativize(defaultTarget, defaultFiles));
+
+            Map<String, byte[]> entries = new HashMap<>();
+            try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                ZipEntry entry;
+                while ((entry = zip.getNextEntry()) != null) {
+                    entries.put(entry.getName(), IOUtils.toByteArray(zip));
+                }
+            }
+            Assert.assertEquals(entries.size(), defaultFiles.size());
+            for (File file : defaultFiles) {
+                String relative = defaultTarget.relativize(file.toPath().toAbsolutePath()).toString().replace(File.separatorChar, '/');
+                Assert.assertEquals(entries.get("petstore/" + relative), Files.readAllBytes(file.toPath()), relative);
+            }
+        } finally {
+            FileUtils.deleteDirectory(defaultTarget.toFile());
+            FileUtils.deleteDirectory(archiveTarget.getParent().toFile());
+        }
+    }
+
+    @Test
+    public void testStreamModelsHooksSeeAdditionalProperties() throws IOException {
+        Path target = Files.createTempDirectory("test-stream-hooks");
+        OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/petstore.yaml");
+        List<Map<String, Object>> copies = new ArrayList<>();
+        DefaultCodegen config = new DefaultCodegen() {
+            @Override
+            public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+                for (ModelsMap models : objs.values()) {
+                    Map<String, Object> iterated = new HashMap<>();
+                    for (Map.Entry<String, Object> entry : models.entrySet()) {
+                        iterated.put(entry.getKey(), entry.getValue());
+                    }
+                    Assert.assertEquals(iterated, new HashMap<>(models));
+                    Assert.assertEquals(iterated.size(), models.size());
+                    copies.add(iterated);
+                }
+                return super.postProcessAllModels(objs);
+            }
+        };
+        config.setOutputDir(target.toAbsolutePath().toString());
+        config.additionalProperties().put("sharedProperty", "shared");
+
+        DefaultGenerator generator = new DefaultGenerator(true);
+        generator.setGeneratorPropertyDefault(CodegenConstants.STREAM_MODELS, "true");
+        generator.opts(new ClientOptInput().openAPI(openAPI).config(config)).generate();
+
+        Assert.assertFalse(copies.isEmpty());
+        for (Map<String, Object> copy : copies) {
+            Assert.assertEquals(copy.get("sharedProperty"), "shared");
+            Assert.assertTrue(copy.containsKey("classname"));
+        }
+    }
+
+    private static List<File> generatePetstore(Path target, String generatorProperty, String value) {
+        return generatePetstore(target, java.nio.file.Paths.get("src/test/resources/3_0/petstore.yaml"), generatorProperty, value);
+    }
+
+    private static List<File> generatePetstore(Path target, Path spec, String generatorProperty, String value) {
+        final CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec(spec.toString())
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setOutputDir(target.toAbsolutePath().toString());
+
+        final ClientOptInput clientOptInput = configurator.toClientOptInput();
+        DefaultGenerator generator = new DefaultGenerator(false);
+        generator.setGeneratorPropertyDefault(generatorProperty, value);
+        return generator.opts(clientOptInput).generate();
+    }
+
+    private static List<Path> relativize(Path root, List<File> files) {
+        List<Path> relative = new ArrayList<>();
+        for (File file : files) {
+            relative.add(root.relativize(file.toPath().toAbsolutePath()));
+        }
+        return relative;
+    }
+
     @SuppressWarnings("ResultOfMethodCallIgnored")
     @Test
     public void testFilesAreNeverOverwritten() throws IOException {
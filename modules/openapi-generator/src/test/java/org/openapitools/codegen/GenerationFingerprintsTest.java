@@ -0,0 +1,66 @@
+package org.openapitools.codegen;
+
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class GenerationFingerprintsTest {
+
+    @Test
+    public void testLazyValuesAreNotComputed() {
+        AtomicInteger calls = new AtomicInteger();
+        CodegenModel model = new CodegenModel();
+        model.setModelJsonSupplier(() -> {
+            calls.incrementAndGet();
+            return "{}";
+        });
+
+        String first = fingerprints().fingerprint("model.mustache", Collections.singletonMap("model", model));
+        String second = fingerprints().fingerprint("model.mustache", Collections.singletonMap("model", model));
+
+        Assert.assertEquals(calls.get(), 0);
+        Assert.assertEquals(first, second);
+    }
+
+    @Test
+    public void testPrettyJsonSourceIsFingerprinted() {
+        StringSchema schema = new StringSchema();
+        schema.setDescription("A tag for a pet");
+        CodegenModel model = new CodegenModel();
+        model.setModelJsonSupplier(PrettyJson.of(schema));
+
+        String before = fingerprints().fingerprint("model.mustache", Collections.singletonMap("model", model));
+        schema.setDescription("A label for a pet");
+        String after = fingerprints().fingerprint("model.mustache", Collections.singletonMap("model", model));
+
+        Assert.assertNotEquals(before, after);
+        Assert.assertTrue(model.getModelJson().contains("A label for a pet"));
+    }
+
+    @Test
+    public void testPublicPropertiesAreFingerprinted() {
+        CodegenProperty property = new CodegenProperty();
+        property.setName("tag");
+        CodegenModel model = new CodegenModel();
+        model.setVars(Collections.singletonList(property));
+
+        String before = fingerprints().fingerprint("model.mustache", Collections.singletonMap("model", model));
+        property.setDataType("String");
+        String afterField = fingerprints().fingerprint("model.mustache", Collections.singletonMap("model", model));
+        property.setMaxProperties(3);
+        String afterGetter = fingerprints().fingerprint("model.mustache", Collections.singletonMap("model", model));
+
+        Assert.assertNotEquals(before, afterField);
+        Assert.assertNotEquals(afterField, afterGetter);
+    }
+
+    private static GenerationFingerprints fingerprints() {
+        Path outputDir = Paths.get("target", "fingerprints");
+        return GenerationFingerprints.load(outputDir, outputDir.resolve(GenerationFingerprints.FILENAME), "run");
+    }
+}
@@ -1205,4 +1205,50 @@ public class InlineModelResolverTest {
         assertNotNull(allOfRefWithDescriptionAndReadonly.getAllOf());
         assertEquals(numberRangeRef, ((Schema) allOfRefWithDescriptionAndReadonly.getAllOf().get(0)).get$ref());
     }
+
+    @Test
+    public void reuseIdenticalInlineSchemas() {
+        OpenAPI openapi = new OpenAPI();
+        openapi.setComponents(new Components());
+        openapi.getComponents().addSchemas("User", new ObjectSchema()
+                .addProperty("address", addressSchema()));
+        openapi.getComponents().addSchemas("Company", new ObjectSchema()
+                .addProperty("address", addressSchema()));
+
+        new InlineModelResolver().flatten(openapi);
+
+        Schema userAddress = (Schema) openapi.getComponents().getSchemas().get("User").getProperties().get("address");
+        Schema companyAddress = (Schema) openapi.getComponents().getSchemas().get("Company").getProperties().get("address");
+        assertEquals(userAddress.get$ref(), companyAddress.get$ref());
+        assertNull(openapi.getComponents().getSchemas().get("Company_address"));
+    }
+
+    @Test
+    public void doNotReuseNearlyIdenticalInlineSchemas() {
+        OpenAPI openapi = new OpenAPI();
+        openapi.setComponents(new Components());
+        openapi.getComponents().addSchemas("User", new ObjectSchema()
+                .addProperty("address", addressSchema()));
+        openapi.getComponents().addSchemas("Company", new ObjectSchema()
+                .addProperty("address", addressSchema().addRequiredItem("street")));
+        openapi.getComponents().addSchemas("Shop", new ObjectSchema()
+                .addProperty("address", addressSchema().addProperty("city", new IntegerSchema())));
+
+        new InlineModelResolver().flatten(openapi);
+
+        Map<String, Schema> schemas = openapi.getComponents().getSchemas();
+        assertEquals("#/components/schemas/User_address", ((Schema) schemas.get("User").getProperties().get("address")).get$ref());
+        assertEquals("#/components/schemas/Company_address", ((Schema) schemas.get("Company").getProperties().get("address")).get$ref());
+        assertEquals("#/components/schemas/Shop_address", ((Schema) schemas.get("Shop").getProperties().get("address")).get$ref());
+        assertNull(schemas.get("User_address").getRequired());
+        assertEquals(List.of("street"), schemas.get("Company_address").getRequired());
+        assertTrue(schemas.get("Shop_address").getProperties().get("city") instanceof IntegerSchema);
+    }
+
+    private static ObjectSchema addressSchema() {
+        ObjectSchema address = new ObjectSchema();
+        address.addProperty("street", new StringSchema());
+        address.addProperty("city", new StringSchema());
+        return address;
+    }
 }
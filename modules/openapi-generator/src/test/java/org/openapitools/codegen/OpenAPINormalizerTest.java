@@ -1296,6 +1296,29 @@ public class OpenAPINormalizerTest {
         assertNotNull(inlinePropertyAfter.getProperties().get("nestedNumber"));
     }
 
+    @Test
+    public void testRuleTimings() {
+        OpenAPI openAPI = TestUtils.parseSpec("src/test/resources/3_0/simplifyOneOfAnyOf_test.yaml");
+
+        Map<String, String> options = new HashMap<>();
+        options.put("SIMPLIFY_ANYOF_STRING_AND_ENUM_STRING", "true");
+        OpenAPINormalizer openAPINormalizer = new OpenAPINormalizer(openAPI, options);
+        assertTrue(openAPINormalizer.getRuleTimings().isEmpty());
+        openAPINormalizer.normalize();
+
+        Map<String, Long> ruleTimings = openAPINormalizer.getRuleTimings();
+        assertTrue(ruleTimings.containsKey("SIMPLIFY_ONEOF_ANYOF"));
+        assertTrue(ruleTimings.containsKey("SIMPLIFY_ANYOF_STRING_AND_ENUM_STRING"));
+        // disabled rules are not timed
+        assertFalse(ruleTimings.containsKey(REF_AS_PARENT_IN_ALLOF));
+        ruleTimings.values().forEach(nanos -> assertTrue(nanos >= 0));
+        // most expensive first
+        List<Long> nanos = new ArrayList<>(ruleTimings.values());
+        for (int i = 1; i < nanos.size(); i++) {
+            assertTrue(nanos.get(i - 1) >= nanos.get(i));
+        }
+    }
+
     public static class RemoveRequiredNormalizer extends OpenAPINormalizer {
 
         public RemoveRequiredNormalizer(OpenAPI openAPI, Map<String, String> inputRules) {
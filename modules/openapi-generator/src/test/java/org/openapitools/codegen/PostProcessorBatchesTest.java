@@ -0,0 +1,97 @@
+package org.openapitools.codegen;
+
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.*;
+
+public class PostProcessorBatchesTest {
+
+    @Test
+    public void testFilesAreBatchedByCommandAndFileType() {
+        final List<List<String>> commands = Collections.synchronizedList(new ArrayList<>());
+        final PostProcessorBatches batches = new PostProcessorBatches(2, 3);
+
+        batches.setFileType("model");
+        for (String file : Arrays.asList("a.go", "b.go", "c.go", "d.go", "e.go")) {
+            batches.add(new String[]{"gofmt", "-w", file}, command -> commands.add(Arrays.asList(command)));
+        }
+        batches.setFileType("api");
+        batches.add(new String[]{"gofmt", "-w", "api.go"}, command -> commands.add(Arrays.asList(command)));
+        batches.add(new String[]{"goimports", "-w", "other.go"}, command -> commands.add(Arrays.asList(command)));
+
+        assertTrue(batches.finish());
+
+        Set<List<String>> expected = new HashSet<>(Arrays.asList(
+                Arrays.asList("gofmt", "-w", "a.go", "b.go"),
+                Arrays.asList("gofmt", "-w", "c.go", "d.go"),
+                Arrays.asList("gofmt", "-w", "e.go"),
+                Arrays.asList("gofmt", "-w", "api.go"),
+                Arrays.asList("goimports", "-w", "other.go")));
+        assertEquals(new HashSet<>(commands), expected);
+        assertEquals(commands.size(), expected.size());
+
+        Map<String, Integer> processedFiles = batches.getProcessedFiles();
+        assertEquals(processedFiles.get("model"), Integer.valueOf(5));
+        assertEquals(processedFiles.get("api"), Integer.valueOf(2));
+    }
+
+    @Test
+    public void testFailedCommandIsReported() {
+        final PostProcessorBatches batches = new PostProcessorBatches(10, 1);
+        batches.add(new String[]{"fmt", "a"}, command -> true);
+        batches.add(new String[]{"lint", "a"}, command -> false);
+
+        assertFalse(batches.finish());
+    }
+
+    @Test
+    public void testFailedCommandDoesNotStopOthers() {
+        final List<String> completed = Collections.synchronizedList(new ArrayList<>());
+        final PostProcessorBatches batches = new PostProcessorBatches(1, 3);
+        batches.add(new String[]{"fmt", "a"}, command -> {
+            throw new IllegalStateException("fmt failed");
+        });
+        for (String file : Arrays.asList("b", "c", "d")) {
+            batches.add(new String[]{"lint", file}, command -> {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                completed.add(command[1]);
+                return true;
+            });
+        }
+
+        assertFalse(batches.finish());
+        assertEquals(new HashSet<>(completed), new HashSet<>(Arrays.asList("b", "c", "d")));
+    }
+
+    @Test
+    public void testExecutePostProcessorIsBatched() {
+        final List<String> files = Collections.synchronizedList(new ArrayList<>());
+        final DefaultCodegen codegen = new DefaultCodegen() {
+            @Override
+            public void postProcessFile(java.io.File file, String fileType) {
+                assertTrue(executePostProcessor(new String[]{"binary_does_not_exist", file.getName()}));
+                files.add(file.getName());
+            }
+        };
+        final PostProcessorBatches batches = new PostProcessorBatches(2, 1);
+        codegen.setPostProcessorBatches(batches);
+
+        batches.setFileType("model");
+        codegen.postProcessFile(new java.io.File("a.txt"), "model");
+        codegen.postProcessFile(new java.io.File("b.txt"), "model");
+        codegen.postProcessFile(new java.io.File("c.txt"), "model");
+
+        // commands are only run, and fail, in batches
+        assertFalse(batches.finish());
+        assertEquals(files.stream().sorted().collect(Collectors.toList()), Arrays.asList("a.txt", "b.txt", "c.txt"));
+        assertEquals(batches.getProcessedFiles().get("model"), Integer.valueOf(3));
+    }
+}
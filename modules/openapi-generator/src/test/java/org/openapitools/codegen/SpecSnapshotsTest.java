@@ -0,0 +1,189 @@
+package org.openapitools.codegen;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Json31;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.openapitools.codegen.config.CodegenConfigurator;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+public class SpecSnapshotsTest {
+
+    private static ParseOptions options() {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        options.setResolveResponses(true);
+        return options;
+    }
+
+    @DataProvider(name = "specs")
+    public Object[][] specs() {
+        return new Object[][]{
+                {"src/test/resources/3_0/petstore-with-fake-endpoints-models-for-testing.yaml"},
+                {"src/test/resources/3_0/allOf_composition_discriminator.yaml"},
+                {"src/test/resources/3_0/oneOfDiscriminator.yaml"},
+                {"src/test/resources/3_1/petstore.yaml"},
+                {"src/test/resources/3_1/composed-schema.yaml"}
+        };
+    }
+
+    @Test(dataProvider = "specs")
+    public void readsBackTheParsedSpec(String spec) throws IOException {
+        SwaggerParseResult parsed = new OpenAPIParser().readLocation(spec, null, options());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SpecSnapshots.write(parsed, bytes);
+        SwaggerParseResult read = (SwaggerParseResult) SpecSnapshots.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+        Assert.assertEquals(read.getMessages(), parsed.getMessages());
+        Assert.assertEquals(read.isOpenapi31(), parsed.isOpenapi31());
+        Assert.assertEquals(read.getOpenAPI().getSpecVersion(), parsed.getOpenAPI().getSpecVersion());
+        Assert.assertEquals(toJson(read.getOpenAPI()), toJson(parsed.getOpenAPI()));
+        for (Map.Entry<String, Schema> schema : parsed.getOpenAPI().getComponents().getSchemas().entrySet()) {
+            Assert.assertEquals(read.getOpenAPI().getComponents().getSchemas().get(schema.getKey()).getClass(), schema.getValue().getClass());
+        }
+    }
+
+    @Test(dataProvider = "specs")
+    public void generatesTheSameCodeFromSnapshots(String spec) throws IOException {
+        Path output = Files.createTempDirectory("test");
+        Path snapshots = Files.createTempDirectory("snapshots");
+        try {
+            Map<String, String> expected = generate(spec, output, null);
+            Assert.assertEquals(generate(spec, output, snapshots), expected);
+            List<Path> files = list(snapshots);
+            // pre-processed OAS 3.1 specs are not snapshotted
+            Assert.assertEquals(files.size(), spec.contains("3_1") ? 1 : 2);
+            Map<Path, Long> modified = new HashMap<>();
+            for (Path file : files) {
+                modified.put(file, Files.getLastModifiedTime(file).toMillis());
+            }
+
+            Assert.assertEquals(generate(spec, output, snapshots), expected);
+            Assert.assertEquals(list(snapshots), files);
+            for (Path file : files) {
+                Assert.assertEquals(Files.getLastModifiedTime(file).toMillis(), (long) modified.get(file), "snapshot written again");
+            }
+        } finally {
+            FileUtils.deleteDirectory(output.toFile());
+            FileUtils.deleteDirectory(snapshots.toFile());
+        }
+    }
+
+    @Test
+    public void specKeysCoverReferredFiles() throws IOException {
+        Path dir = Files.createTempDirectory("specs");
+        try {
+            Path spec = dir.resolve("spec.yaml");
+            Path models = dir.resolve("models").resolve("pet.yaml");
+            Files.createDirectories(models.getParent());
+            Files.write(spec, "schema:\n  $ref: './models/pet.yaml#/Pet'\n".getBytes(StandardCharsets.UTF_8));
+            Files.write(models, "Pet:\n  type: object\n".getBytes(StandardCharsets.UTF_8));
+
+            String key = SpecSnapshots.specKey(spec.toString(), null, options());
+            Assert.assertNotNull(key);
+            Assert.assertEquals(SpecSnapshots.specKey(spec.toString(), null, options()), key);
+
+            Files.write(models, "Pet:\n  type: string\n".getBytes(StandardCharsets.UTF_8));
+            Assert.assertNotEquals(SpecSnapshots.specKey(spec.toString(), null, options()), key);
+
+            ParseOptions flatten = options();
+            flatten.setFlatten(true);
+            Assert.assertNotEquals(SpecSnapshots.specKey(spec.toString(), null, flatten),
+                    SpecSnapshots.specKey(spec.toString(), null, options()));
+
+            Files.write(models, "Pet:\n  $ref: 'https://example.com/pet.yaml'\n".getBytes(StandardCharsets.UTF_8));
+            Assert.assertNull(SpecSnapshots.specKey(spec.toString(), null, options()));
+            Assert.assertNull(SpecSnapshots.specKey("https://example.com/spec.yaml", null, options()));
+        } finally {
+            FileUtils.deleteDirectory(dir.toFile());
+        }
+    }
+
+    @Test
+    public void preprocessedOpenAPI31SpecsAreNotSaved() throws IOException {
+        Path dir = Files.createTempDirectory("snapshots");
+        try {
+            SpecSnapshots snapshots = new SpecSnapshots(dir);
+            OpenAPI openAPI = new OpenAPIParser().readLocation("src/test/resources/3_1/petstore.yaml", null, options()).getOpenAPI();
+            snapshots.saveOpenAPI("key", openAPI);
+
+            Assert.assertEquals(list(dir), Collections.emptyList());
+            Assert.assertNull(snapshots.loadOpenAPI("key"));
+        } finally {
+            FileUtils.deleteDirectory(dir.toFile());
+        }
+    }
+
+    @Test
+    public void invalidSnapshotsAreIgnored() throws IOException {
+        Path dir = Files.createTempDirectory("snapshots");
+        try {
+            SpecSnapshots snapshots = new SpecSnapshots(dir);
+            Files.write(dir.resolve("key.snapshot"), new byte[]{1, 2, 3});
+
+            Assert.assertNull(snapshots.loadOpenAPI("key"));
+            Assert.assertEquals(list(dir), Collections.emptyList());
+        } finally {
+            FileUtils.deleteDirectory(dir.toFile());
+        }
+    }
+
+    private static Map<String, String> generate(String spec, Path output, Path snapshots) throws IOException {
+        CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec(spec)
+                .setValidateSpec(false)
+                .setOutputDir(output.toAbsolutePath().toString())
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+        if (snapshots != null) {
+            configurator.addGlobalProperty(CodegenConstants.SPEC_SNAPSHOT_DIR, snapshots.toString());
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            DefaultGenerator generator = new DefaultGenerator(false);
+            generator.setArchive(zip, null);
+            generator.opts(configurator.toClientOptInput()).generate();
+        }
+
+        Map<String, String> files = new TreeMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                files.put(entry.getName(), IOUtils.toString(zip, "UTF-8"));
+            }
+        }
+        return files;
+    }
+
+    private static List<Path> list(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static String toJson(OpenAPI openAPI) throws IOException {
+        return (openAPI.getSpecVersion() == SpecVersion.V31 ? Json31.mapper() : Json.mapper()).writeValueAsString(openAPI);
+    }
+}
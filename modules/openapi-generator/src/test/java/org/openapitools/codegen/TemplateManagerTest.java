@@ -56,6 +56,29 @@ public class TemplateManagerTest {
         fail("Expected an exception that did not occur");
     }
 
+    @Test
+    public void loadTemplateContentsRereadsModifiedUserTemplate() throws IOException {
+        Path templateDir = Files.createTempDirectory("test-templatemanager-templates");
+        try {
+            File template = new File(templateDir.toFile(), "user.mustache");
+            Files.write(template.toPath(), "{{name}}".getBytes(StandardCharsets.UTF_8));
+            TemplatePathLocator userLocator = relativeTemplateFile -> new File(templateDir.toFile(), relativeTemplateFile).getAbsolutePath();
+
+            TemplateManagerOptions opts = new TemplateManagerOptions(false, false);
+            TemplateManager manager = new TemplateManager(opts, mustacheEngineAdapter, new TemplatePathLocator[]{userLocator});
+
+            assertEquals(manager.getFullTemplateContents("user.mustache"), "{{name}}");
+            assertEquals(manager.getFullTemplateContents("user.mustache"), "{{name}}");
+
+            Files.write(template.toPath(), "{{name}} and {{age}}".getBytes(StandardCharsets.UTF_8));
+            template.setLastModified(template.lastModified() + 2000L);
+
+            assertEquals(manager.getFullTemplateContents("user.mustache"), "{{name}} and {{age}}");
+        } finally {
+            templateDir.toFile().deleteOnExit();
+        }
+    }
+
     @Test
     public void readTemplate() {
         TemplateManagerOptions opts = new TemplateManagerOptions(false, false);
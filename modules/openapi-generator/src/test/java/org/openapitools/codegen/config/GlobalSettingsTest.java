@@ -4,6 +4,10 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
@@ -38,4 +42,44 @@ public class GlobalSettingsTest {
         assertThatNoException().isThrownBy(GlobalSettings::log);
     }
 
+    @Test
+    public void childThreadsDoNotChangeTheSettingsOfTheirParent() throws InterruptedException {
+        GlobalSettings.setProperty("inherited", "parent");
+        try {
+            AtomicReference<String> inherited = new AtomicReference<>();
+            Thread child = new Thread(() -> {
+                inherited.set(GlobalSettings.getProperty("inherited"));
+                GlobalSettings.setProperty("inherited", "child");
+            });
+            child.start();
+            child.join();
+
+            assertThat(inherited.get()).isEqualTo("parent");
+            assertThat(GlobalSettings.getProperty("inherited")).isEqualTo("parent");
+        } finally {
+            GlobalSettings.clearProperty("inherited");
+        }
+    }
+
+    @Test
+    public void propagateRunsTasksWithTheSettingsOfTheSubmitter() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> GlobalSettings.setProperty("propagated", "pool")).get();
+
+            GlobalSettings.setProperty("propagated", "submitter");
+            Callable<String> task = GlobalSettings.propagate(() -> {
+                String value = GlobalSettings.getProperty("propagated");
+                GlobalSettings.setProperty("propagated", "task");
+                return value;
+            });
+            assertThat(executor.submit(task).get()).isEqualTo("submitter");
+            assertThat(executor.submit(() -> GlobalSettings.getProperty("propagated")).get()).isEqualTo("pool");
+            assertThat(GlobalSettings.getProperty("propagated")).isEqualTo("submitter");
+        } finally {
+            GlobalSettings.clearProperty("propagated");
+            executor.shutdownNow();
+        }
+    }
+
 }
@@ -0,0 +1,131 @@
+package org.openapitools.codegen.config;
+
+import org.apache.commons.io.FileUtils;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.GeneratorNotFoundException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class MultiTargetGenerationTest {
+    private static final String SPEC = "src/test/resources/3_0/petstore.yaml";
+
+    private static CodegenConfigurator configurator(String generatorName, Path output) {
+        return new CodegenConfigurator()
+                .setGeneratorName(generatorName)
+                .setInputSpec(SPEC)
+                .setOutputDir(output.toAbsolutePath().toString())
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .addTypeMapping("DateTime", "string");
+    }
+
+    @Test
+    public void generatesEachTargetLikeASingleGeneration() throws IOException {
+        List<String> targets = Arrays.asList("java", "typescript-fetch", "python");
+        Path expected = Files.createTempDirectory("expected");
+        Path output = Files.createTempDirectory("output");
+        try {
+            for (String target : targets) {
+                new DefaultGenerator().opts(configurator(target, expected.resolve(target)).toClientOptInput()).generate();
+            }
+
+            Map<String, List<File>> files = new MultiTargetGeneration(configurator(null, output), targets).generate();
+
+            Assert.assertEquals(new ArrayList<>(files.keySet()), targets);
+            for (String target : targets) {
+                Assert.assertFalse(files.get(target).isEmpty());
+                Assert.assertEquals(read(output.resolve(target)), read(expected.resolve(target)), target);
+            }
+        } finally {
+            FileUtils.deleteDirectory(expected.toFile());
+            FileUtils.deleteDirectory(output.toFile());
+        }
+    }
+
+    @Test
+    public void targetsKeepTheSharedSettings() {
+        CodegenConfigurator configurator = configurator("java", Path.of("out"));
+        CodegenConfigurator target = configurator.forTarget("kotlin");
+        target.addAdditionalProperty("targetOnly", true);
+
+        Context<?> context = target.toContext();
+        Assert.assertEquals(context.getGeneratorSettings().getGeneratorName(), "kotlin");
+        Assert.assertEquals(context.getWorkflowSettings().getOutputDir(), new File(Path.of("out").toAbsolutePath().toFile(), "kotlin").getPath());
+        Assert.assertEquals(context.getGeneratorSettings().getAdditionalProperties().get(CodegenConstants.HIDE_GENERATION_TIMESTAMP), true);
+        Assert.assertEquals(context.getGeneratorSettings().getTypeMappings().get("DateTime"), "string");
+
+        Context<?> original = configurator.toContext();
+        Assert.assertEquals(original.getGeneratorSettings().getGeneratorName(), "java");
+        Assert.assertFalse(original.getGeneratorSettings().getAdditionalProperties().containsKey("targetOnly"));
+    }
+
+    @Test
+    public void customizesEachTarget() throws IOException {
+        Path output = Files.createTempDirectory("output");
+        try {
+            Set<String> customized = Collections.synchronizedSet(new TreeSet<>());
+            new MultiTargetGeneration(configurator(null, output), Arrays.asList("java", "python"))
+                    .dryRun(true)
+                    .customize(input -> customized.add(input.getConfig().getName()))
+                    .generate();
+
+            Assert.assertEquals(customized, new TreeSet<>(Arrays.asList("java", "python")));
+        } finally {
+            FileUtils.deleteDirectory(output.toFile());
+        }
+    }
+
+    @Test
+    public void targetsUseTheGlobalSettingsOfTheCaller() throws IOException {
+        Path output = Files.createTempDirectory("output");
+        GlobalSettings.setProperty(CodegenConstants.MODELS, "Pet");
+        try {
+            Map<String, List<File>> files = new MultiTargetGeneration(configurator(null, output), Arrays.asList("java", "python"))
+                    .dryRun(true)
+                    .generate();
+
+            for (Map.Entry<String, List<File>> target : files.entrySet()) {
+                Assert.assertFalse(target.getValue().isEmpty(), target.getKey());
+                for (File file : target.getValue()) {
+                    Assert.assertTrue(file.getName().toLowerCase(Locale.ROOT).contains("pet"), file.getPath());
+                    Assert.assertFalse(file.getName().toLowerCase(Locale.ROOT).contains("api"), file.getPath());
+                }
+            }
+            Assert.assertEquals(GlobalSettings.getProperty(CodegenConstants.MODELS), "Pet");
+        } finally {
+            GlobalSettings.reset();
+            FileUtils.deleteDirectory(output.toFile());
+        }
+    }
+
+    @Test
+    public void unknownTargetsFailBeforeGenerating() throws IOException {
+        Path output = Files.createTempDirectory("output");
+        try {
+            MultiTargetGeneration generation = new MultiTargetGeneration(configurator(null, output), Arrays.asList("java", "unknown"));
+            Assert.assertThrows(GeneratorNotFoundException.class, generation::generate);
+            Assert.assertEquals(read(output), Collections.emptyMap());
+        } finally {
+            FileUtils.deleteDirectory(output.toFile());
+        }
+    }
+
+    private static Map<String, String> read(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            Map<String, String> contents = new TreeMap<>();
+            for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                contents.put(dir.relativize(file).toString(), new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+            }
+            return contents;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.openapitools.codegen.config;
+
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Json31;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.apache.commons.io.IOUtils;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.auth.AuthParser;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+public class ParsedSpecCacheTest {
+
+    private static ParseOptions options() {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        options.setResolveResponses(true);
+        return options;
+    }
+
+    @DataProvider(name = "specs")
+    public Object[][] specs() {
+        return new Object[][]{
+                {"src/test/resources/3_0/petstore-with-fake-endpoints-models-for-testing.yaml"},
+                {"src/test/resources/3_0/allOf_composition_discriminator.yaml"},
+                {"src/test/resources/3_0/oneOfDiscriminator.yaml"},
+                {"src/test/resources/3_0/issue_7651.yaml"},
+                {"src/test/resources/3_1/petstore.yaml"},
+                {"src/test/resources/3_1/composed-schema.yaml"}
+        };
+    }
+
+    @Test(dataProvider = "specs")
+    public void copiesAreEqualToTheParsedSpec(String spec) throws IOException {
+        ParsedSpecCache cache = new ParsedSpecCache();
+        SwaggerParseResult parsed = new OpenAPIParser().readLocation(spec, null, options());
+        SwaggerParseResult first = cache.readLocation(spec, null, options());
+        SwaggerParseResult second = cache.readLocation("./" + spec, null, options());
+
+        Assert.assertEquals(cache.getParses(), 1);
+        Assert.assertEquals(cache.getHits(), 1);
+        Assert.assertNotSame(first.getOpenAPI(), second.getOpenAPI());
+        Assert.assertEquals(first.getMessages(), parsed.getMessages());
+        Assert.assertEquals(first.getOpenAPI().getSpecVersion(), parsed.getOpenAPI().getSpecVersion());
+        Assert.assertEquals(toJson(first.getOpenAPI()), toJson(parsed.getOpenAPI()));
+        Assert.assertEquals(toJson(second.getOpenAPI()), toJson(parsed.getOpenAPI()));
+    }
+
+    @Test
+    public void copiesAreIndependent() {
+        String spec = "src/test/resources/3_0/petstore.yaml";
+        ParsedSpecCache cache = new ParsedSpecCache();
+        OpenAPI first = cache.readLocation(spec, null, options()).getOpenAPI();
+        first.getComponents().getSchemas().get("Pet").addProperty("added", new StringSchema());
+        first.getComponents().getSchemas().remove("Tag");
+
+        OpenAPI second = cache.readLocation(spec, null, options()).getOpenAPI();
+        Assert.assertFalse(second.getComponents().getSchemas().get("Pet").getProperties().containsKey("added"));
+        Assert.assertTrue(second.getComponents().getSchemas().containsKey("Tag"));
+    }
+
+    @Test
+    public void specsAreKeyedByParseOptions() {
+        String spec = "src/test/resources/3_0/petstore.yaml";
+        ParsedSpecCache cache = new ParsedSpecCache();
+        cache.readLocation(spec, null, options());
+        ParseOptions flatten = options();
+        flatten.setFlatten(true);
+        cache.readLocation(spec, null, flatten);
+        cache.readLocation("src/test/resources/3_0/petstore-with-fake-endpoints-models-for-testing.yaml", null, options());
+
+        Assert.assertEquals(cache.getParses(), 3);
+        Assert.assertEquals(cache.getHits(), 0);
+    }
+
+    @Test
+    public void specsAreKeyedByAuthorizationValues() {
+        String spec = "src/test/resources/3_0/petstore.yaml";
+        ParsedSpecCache cache = new ParsedSpecCache();
+        cache.readLocation(spec, AuthParser.parse("X-Api-Key:secret"), options());
+        cache.readLocation(spec, AuthParser.parse("X-Api-Key:secret"), options());
+        cache.readLocation(spec, AuthParser.parse("X-Api-Key:other"), options());
+
+        Assert.assertEquals(cache.getParses(), 2);
+        Assert.assertEquals(cache.getHits(), 1);
+        Assert.assertFalse(cache.keyOf(spec, AuthParser.parse("X-Api-Key:secret"), options()).contains("secret"));
+        Assert.assertEquals(cache.keyOf(spec, AuthParser.parse("X-Api-Key:secret"), options()),
+                cache.keyOf(spec, AuthParser.parse("X-Api-Key:secret"), options()));
+    }
+
+    @Test
+    public void concurrentRequestsParseOnce() throws Exception {
+        String spec = "src/test/resources/3_0/petstore-with-fake-endpoints-models-for-testing.yaml";
+        ParsedSpecCache cache = new ParsedSpecCache();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<SwaggerParseResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.readLocation(spec, null, options())));
+            }
+            Set<OpenAPI> specs = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<SwaggerParseResult> result : results) {
+                specs.add(result.get(1, TimeUnit.MINUTES).getOpenAPI());
+            }
+            Assert.assertEquals(specs.size(), 8);
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(cache.getParses(), 1);
+        Assert.assertEquals(cache.getHits(), 7);
+    }
+
+    @Test
+    public void preprocessesOnce() throws IOException {
+        String spec = "src/test/resources/3_0/petstore.yaml";
+        ParsedSpecCache cache = new ParsedSpecCache();
+        String key = cache.keyOf(spec, null, options());
+        Assert.assertEquals(cache.keyOf("./" + spec, null, options()), key);
+
+        List<String> preprocessed = new ArrayList<>();
+        OpenAPI first = cache.readLocation(spec, null, options()).getOpenAPI();
+        OpenAPI firstResult = cache.preprocess(key, first, openAPI -> {
+            preprocessed.add(openAPI.getInfo().getTitle());
+            openAPI.getComponents().getSchemas().get("Pet").addProperty("added", new StringSchema());
+        });
+        Assert.assertSame(firstResult, first);
+        // modified after the pre-processing, e.g. by the generator
+        first.getComponents().getSchemas().remove("Tag");
+
+        OpenAPI second = cache.preprocess(key, cache.readLocation(spec, null, options()).getOpenAPI(), openAPI -> preprocessed.add("again"));
+        Assert.assertEquals(preprocessed, Collections.singletonList("OpenAPI Petstore"));
+        Assert.assertTrue(second.getComponents().getSchemas().get("Pet").getProperties().containsKey("added"));
+        Assert.assertTrue(second.getComponents().getSchemas().containsKey("Tag"));
+        Assert.assertNotSame(second.getComponents().getSchemas().get("Pet"), first.getComponents().getSchemas().get("Pet"));
+
+        cache.preprocess(key + "other", cache.readLocation(spec, null, options()).getOpenAPI(), openAPI -> preprocessed.add("other"));
+        Assert.assertEquals(preprocessed, Arrays.asList("OpenAPI Petstore", "other"));
+    }
+
+    @Test(dataProvider = "specs")
+    public void generatesTheSameCodeFromCopies(String spec) throws IOException {
+        Path output = Files.createTempDirectory("test");
+        try {
+            Map<String, String> expected = generate(spec, output, null);
+            ParsedSpecCache cache = new ParsedSpecCache();
+            Assert.assertEquals(generate(spec, output, cache), expected);
+            Assert.assertEquals(generate(spec, output, cache), expected);
+            Assert.assertEquals(cache.getParses(), 1);
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    private static Map<String, String> generate(String spec, Path output, ParsedSpecCache cache) throws IOException {
+        CodegenConfigurator configurator = new CodegenConfigurator()
+                .setGeneratorName("java")
+                .setInputSpec(spec)
+                .setValidateSpec(false)
+                .setOutputDir(output.toAbsolutePath().toString())
+                .addAdditionalProperty(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true)
+                .setParsedSpecCache(cache);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            DefaultGenerator generator = new DefaultGenerator(false);
+            generator.setArchive(zip, null);
+            generator.opts(configurator.toClientOptInput()).generate();
+        }
+
+        Map<String, String> files = new TreeMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                files.put(entry.getName(), IOUtils.toString(zip, "UTF-8"));
+            }
+        }
+        return files;
+    }
+
+    private static String toJson(OpenAPI openAPI) throws IOException {
+        return (openAPI.getSpecVersion() == SpecVersion.V31 ? Json31.mapper() : Json.mapper()).writeValueAsString(openAPI);
+    }
+}
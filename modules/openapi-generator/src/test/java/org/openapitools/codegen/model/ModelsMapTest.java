@@ -0,0 +1,86 @@
+package org.openapitools.codegen.model;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+public class ModelsMapTest {
+
+    @Test
+    public void testUpdatesCopyParentEntries() {
+        Map<String, Object> parent = parent();
+        ModelsMap models = models(parent);
+
+        Assert.assertEquals(models.putIfAbsent("shared", "own"), "inherited");
+        Assert.assertEquals(models.merge("shared", "-merged", (a, b) -> a.toString() + b), "inherited-merged");
+        Assert.assertEquals(models.compute("counter", (k, v) -> (Integer) v + 1), 2);
+        Assert.assertEquals(models.computeIfPresent("counter", (k, v) -> (Integer) v + 1), 3);
+        Assert.assertEquals(models.computeIfAbsent("counter", k -> 0), 3);
+
+        Assert.assertEquals(models.get("shared"), "inherited-merged");
+        Assert.assertEquals(models.get("counter"), 3);
+        Assert.assertEquals(models.size(), 3);
+        Assert.assertEquals(parent, parent());
+    }
+
+    @Test
+    public void testRemovalHidesParentEntries() {
+        Map<String, Object> parent = parent();
+        ModelsMap models = models(parent);
+
+        Assert.assertEquals(models.remove("shared"), "inherited");
+        Assert.assertFalse(models.containsKey("shared"));
+        Assert.assertNull(models.get("shared"));
+        Assert.assertNull(models.putIfAbsent("shared", "own"));
+        Assert.assertEquals(models.get("shared"), "own");
+
+        Assert.assertNull(models.compute("counter", (k, v) -> null));
+        Assert.assertFalse(models.containsKey("counter"));
+        Assert.assertEquals(models.size(), 2);
+        Assert.assertEquals(new HashMap<>(models), Map.of("models", "own", "shared", "own"));
+        Assert.assertEquals(parent, parent());
+    }
+
+    @Test
+    public void testIteratorRemovesParentEntries() {
+        Map<String, Object> parent = parent();
+        ModelsMap models = models(parent);
+
+        for (Iterator<Map.Entry<String, Object>> it = models.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Object> entry = it.next();
+            if (entry.getKey().equals("counter")) {
+                entry.setValue(5);
+            } else {
+                // reading ahead must not change which entry is removed
+                it.hasNext();
+                it.remove();
+            }
+        }
+
+        Assert.assertEquals(new HashMap<>(models), Map.of("counter", 5));
+        Assert.assertEquals(models.size(), 1);
+        Assert.assertEquals(parent, parent());
+
+        models = models(parent);
+        Assert.assertTrue(models.keySet().remove("shared"));
+        Assert.assertTrue(models.values().remove(1));
+        Assert.assertEquals(new HashMap<>(models), Map.of("models", "own"));
+    }
+
+    private static Map<String, Object> parent() {
+        Map<String, Object> parent = new HashMap<>();
+        parent.put("shared", "inherited");
+        parent.put("counter", 1);
+        return parent;
+    }
+
+    private static ModelsMap models(Map<String, Object> parent) {
+        ModelsMap models = new ModelsMap();
+        models.put("models", "own");
+        models.setParent(parent);
+        return models;
+    }
+}
@@ -0,0 +1,71 @@
+package org.openapitools.codegen.templating;
+
+import org.mockito.Mockito;
+import org.openapitools.codegen.CodegenConfig;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class GeneratorTemplateContentLocatorTest {
+    @Test(description = "templates added to or removed from the user template directory are found again")
+    public void testUserTemplateDirectoryIsRechecked() throws IOException {
+        // Given
+        Path templateDir = Files.createTempDirectory("templates");
+        GeneratorTemplateContentLocator locator = new GeneratorTemplateContentLocator(config(templateDir));
+        String userTemplate = templateDir + File.separator + "pojo.mustache";
+        String embeddedTemplate = "Java" + File.separator + "pojo.mustache";
+        age(templateDir);
+        assertEquals(locator.getFullTemplatePath("pojo.mustache"), embeddedTemplate);
+
+        // When
+        Files.write(templateDir.resolve("pojo.mustache"), "custom".getBytes(StandardCharsets.UTF_8));
+
+        // Then
+        assertEquals(locator.getFullTemplatePath("pojo.mustache"), userTemplate);
+
+        // When
+        age(templateDir);
+        assertEquals(locator.getFullTemplatePath("pojo.mustache"), userTemplate);
+        Files.delete(templateDir.resolve("pojo.mustache"));
+
+        // Then
+        assertEquals(locator.getFullTemplatePath("pojo.mustache"), embeddedTemplate);
+    }
+
+    @Test(description = "templates missing from the user template directory are not remembered as missing")
+    public void testMissingUserTemplateIsNotCached() throws IOException {
+        // Given
+        Path templateDir = Files.createTempDirectory("templates");
+        GeneratorTemplateContentLocator locator = new GeneratorTemplateContentLocator(config(templateDir));
+        age(templateDir);
+        assertNull(locator.getFullTemplatePath("custom.mustache"));
+
+        // When
+        Files.write(templateDir.resolve("custom.mustache"), "custom".getBytes(StandardCharsets.UTF_8));
+        // a modification time left unchanged must not hide the new template either
+        age(templateDir);
+
+        // Then
+        assertEquals(locator.getFullTemplatePath("custom.mustache"), templateDir + File.separator + "custom.mustache");
+    }
+
+    private static CodegenConfig config(Path templateDir) {
+        CodegenConfig config = Mockito.mock(CodegenConfig.class);
+        Mockito.when(config.templateDir()).thenReturn(templateDir.toString());
+        Mockito.when(config.embeddedTemplateDir()).thenReturn("Java");
+        return config;
+    }
+
+    // moves the modification time out of the range where changes could go unnoticed
+    private static void age(Path directory) throws IOException {
+        Files.setLastModifiedTime(directory, FileTime.fromMillis(System.currentTimeMillis() - 60_000L));
+    }
+}
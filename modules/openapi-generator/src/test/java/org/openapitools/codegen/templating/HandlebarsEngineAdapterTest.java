@@ -1,5 +1,6 @@
 package org.openapitools.codegen.templating;
 
+import com.github.jknack.handlebars.Template;
 import org.mockito.Mockito;
 import org.openapitools.codegen.api.TemplatingExecutor;
 import org.testng.annotations.DataProvider;
@@ -9,6 +10,8 @@ import java.io.IOException;
 import java.util.Map;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 
 public class HandlebarsEngineAdapterTest {
     @Test(dataProvider = "handlesFileExpectations")
@@ -54,6 +57,44 @@ public class HandlebarsEngineAdapterTest {
         assertEquals(generatedFile, "Contents: 'Specific contents'");
     }
 
+    @Test(description = "compiled templates are reused and recompiled only when their content changes")
+    public void testTemplateCacheInvalidatedByContent() throws IOException {
+        // Given
+        HandlebarsEngineAdapter adapter = new HandlebarsEngineAdapter();
+        TemplatingExecutor executorMock = Mockito.mock(TemplatingExecutor.class);
+        Mockito.when(executorMock.getFullTemplateContents("model.hbs")).thenReturn("A {{name}}", "A {{name}}", "B {{name}}");
+
+        // When
+        Template first = adapter.getTemplate(executorMock, "model.hbs");
+        Template second = adapter.getTemplate(executorMock, "model.hbs");
+        Template third = adapter.getTemplate(executorMock, "model.hbs");
+
+        // Then
+        assertSame(second, first);
+        assertNotSame(third, first);
+        assertEquals(first.apply(Map.of("name", "Pet")), "A Pet");
+        assertEquals(second.apply(Map.of("name", "Order")), "A Order");
+        assertEquals(third.apply(Map.of("name", "Pet")), "B Pet");
+    }
+
+    @Test(description = "compiled templates are reused across files rendered with different data")
+    public void testCompiledTemplateIsReused() throws IOException {
+        // Given
+        HandlebarsEngineAdapter adapter = new HandlebarsEngineAdapter();
+        TemplatingExecutor executorMock = Mockito.mock(TemplatingExecutor.class);
+        Mockito.when(executorMock.getFullTemplateContents("model.hbs")).thenReturn("Model: {{name}}");
+
+        // When
+        String first = adapter.compileTemplate(executorMock, Map.of("name", "Pet"), "model.hbs");
+        Template compiled = adapter.getTemplate(executorMock, "model.hbs");
+        String second = adapter.compileTemplate(executorMock, Map.of("name", "Order"), "model.hbs");
+
+        // Then
+        assertEquals(first, "Model: Pet");
+        assertEquals(second, "Model: Order");
+        assertSame(adapter.getTemplate(executorMock, "model.hbs"), compiled);
+    }
+
     @Test(description = "should prioritize public getters over breaking encapsulation")
     public void testResolverPriority() throws IOException {
         // Given
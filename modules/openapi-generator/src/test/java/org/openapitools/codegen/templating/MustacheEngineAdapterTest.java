@@ -0,0 +1,77 @@
+package org.openapitools.codegen.templating;
+
+import com.samskivert.mustache.Mustache;
+import org.mockito.Mockito;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.api.TemplatingExecutor;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+
+public class MustacheEngineAdapterTest {
+    @Test(description = "compiled templates and their partials are reused across files")
+    public void testCompiledTemplateIsCached() throws IOException {
+        // Given
+        MustacheEngineAdapter adapter = new MustacheEngineAdapter();
+        TemplatingExecutor executorMock = Mockito.mock(TemplatingExecutor.class);
+        Mockito.when(executorMock.getFullTemplateContents("model.mustache")).thenReturn("Model: {{name}} {{>partial}}");
+        Mockito.when(executorMock.getFullTemplateContents("partial.mustache")).thenReturn("({{name}})");
+
+        // When
+        String first = adapter.compileTemplate(executorMock, bundle("Pet"), "model.mustache");
+        String second = adapter.compileTemplate(executorMock, bundle("Order"), "model.mustache");
+
+        // Then
+        assertEquals(first, "Model: Pet (Pet)");
+        assertEquals(second, "Model: Order (Order)");
+        assertEquals(adapter.getTemplateCache().getMisses(), 1);
+        assertEquals(adapter.getTemplateCache().getHits(), 1);
+        Mockito.verify(executorMock, Mockito.times(1)).getFullTemplateContents("partial.mustache");
+    }
+
+    @Test(description = "a changed template content is recompiled")
+    public void testChangedTemplateIsRecompiled() throws IOException {
+        // Given
+        MustacheEngineAdapter adapter = new MustacheEngineAdapter();
+        TemplatingExecutor executorMock = Mockito.mock(TemplatingExecutor.class);
+        Mockito.when(executorMock.getFullTemplateContents("api.mustache")).thenReturn("A {{name}}", "B {{name}}");
+
+        // When
+        String first = adapter.compileTemplate(executorMock, bundle("Pet"), "api.mustache");
+        String second = adapter.compileTemplate(executorMock, bundle("Pet"), "api.mustache");
+
+        // Then
+        assertEquals(first, "A Pet");
+        assertEquals(second, "B Pet");
+        assertEquals(adapter.getTemplateCache().getMisses(), 2);
+        assertEquals(adapter.getTemplateCache().getHits(), 0);
+    }
+
+    @Test(description = "replacing the compiler invalidates compiled templates")
+    public void testSetCompilerClearsCache() throws IOException {
+        // Given
+        MustacheEngineAdapter adapter = new MustacheEngineAdapter();
+        TemplatingExecutor executorMock = Mockito.mock(TemplatingExecutor.class);
+        Mockito.when(executorMock.getFullTemplateContents("api.mustache")).thenReturn("{{name}}");
+        adapter.compileTemplate(executorMock, bundle("<Pet>"), "api.mustache");
+
+        // When
+        adapter.setCompiler(Mustache.compiler().escapeHTML(false));
+        String generated = adapter.compileTemplate(executorMock, bundle("<Pet>"), "api.mustache");
+
+        // Then
+        assertEquals(generated, "<Pet>");
+        assertEquals(adapter.getTemplateCache().getMisses(), 2);
+    }
+
+    private static Map<String, Object> bundle(String name) {
+        Map<String, Object> bundle = new HashMap<>();
+        bundle.put("name", name);
+        bundle.put(CodegenConstants.MUSTACHE_PARENT_CONTEXT, new Object());
+        return bundle;
+    }
+}
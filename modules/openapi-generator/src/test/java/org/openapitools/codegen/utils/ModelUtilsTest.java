@@ -119,6 +119,19 @@ public class ModelUtilsTest {
         Assert.assertTrue(unusedSchemas.contains("SomeObj7"), "contains 'SomeObj7'");
     }
 
+    @Test
+    public void testSchemaUsageMatchesSeparateLookups() {
+        final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/unusedSchemas.yaml");
+        SchemaUsage schemaUsage = ModelUtils.getSchemaUsage(openAPI);
+        Assert.assertEquals(schemaUsage.getUsedSchemas(), ModelUtils.getAllUsedSchemas(openAPI));
+        Assert.assertEquals(schemaUsage.getUnusedSchemas(), ModelUtils.getUnusedSchemas(openAPI));
+        Assert.assertEquals(schemaUsage.getSchemasUsedOnlyInFormParam(), ModelUtils.getSchemasUsedOnlyInFormParam(openAPI));
+
+        List<String> used = schemaUsage.getUsedSchemas();
+        List<String> unused = schemaUsage.getUnusedSchemas();
+        Assert.assertEquals(used.size() + unused.size(), ModelUtils.getSchemas(openAPI).size());
+    }
+
     @Test
     public void testNestedFormParameter() {
         final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/2_0/nestedFormParameter.yaml");
@@ -0,0 +1,176 @@
+package org.openapitools.codegen.utils;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.openapitools.codegen.CodegenDiscriminator;
+import org.openapitools.codegen.DefaultCodegen;
+import org.openapitools.codegen.TestUtils;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class SchemaGraphTest {
+
+    @Test
+    public void testIndexMatchesDocumentWalk() {
+        final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/allOf_composition_discriminator_recursive.yaml");
+        final Map<String, Schema> schemas = ModelUtils.getSchemas(openAPI);
+
+        // walked before the document is indexed
+        final Map<String, List<String>> childrenMap = ModelUtils.getChildrenMap(openAPI);
+        final List<String> usedSchemas = ModelUtils.getAllUsedSchemas(openAPI);
+        final Map<String, String> parentNames = new java.util.HashMap<>();
+        final Map<String, List<String>> ancestors = new java.util.HashMap<>();
+        final Map<String, Boolean> selfReferences = new java.util.HashMap<>();
+        schemas.forEach((name, schema) -> {
+            parentNames.put(name, ModelUtils.getParentName(schema, schemas));
+            ancestors.put(name, ModelUtils.getAllParentsName(schema, schemas, true));
+            selfReferences.put(name, ModelUtils.hasSelfReference(openAPI, schema));
+        });
+
+        final SchemaGraph graph = SchemaGraph.index(openAPI);
+        assertNotNull(graph);
+        assertSame(SchemaGraph.of(openAPI), graph);
+
+        assertEquals(ModelUtils.getChildrenMap(openAPI), childrenMap);
+        assertEquals(ModelUtils.getAllUsedSchemas(openAPI), usedSchemas);
+        schemas.forEach((name, schema) -> {
+            assertEquals(graph.getName(schema), name);
+            assertEquals(ModelUtils.getParentName(schema, schemas), parentNames.get(name), name);
+            assertEquals(ModelUtils.getAllParentsName(schema, schemas, true), ancestors.get(name), name);
+            assertEquals(ModelUtils.hasSelfReference(openAPI, schema), (boolean) selfReferences.get(name), name);
+        });
+    }
+
+    @Test
+    public void testUnaliasSchemaMatchesDocumentWalk() {
+        final OpenAPI openAPI = TestUtils.createOpenAPI();
+        openAPI.getComponents().addSchemas("Model", new ObjectSchema().addProperty("id", new Schema<>().type("integer")));
+        openAPI.getComponents().addSchemas("Alias", new Schema<>().$ref("#/components/schemas/Model"));
+        openAPI.getComponents().addSchemas("Text", new Schema<>().type("string"));
+        openAPI.getComponents().addSchemas("TextAlias", new Schema<>().$ref("#/components/schemas/Text"));
+        final Schema modelRef = new Schema<>().$ref("#/components/schemas/Model");
+        final Schema aliasRef = new Schema<>().$ref("#/components/schemas/Alias");
+        final Schema textAliasRef = new Schema<>().$ref("#/components/schemas/TextAlias");
+        final Schema alias = ModelUtils.unaliasSchema(openAPI, aliasRef);
+        final Schema textAlias = ModelUtils.unaliasSchema(openAPI, textAliasRef);
+        SchemaGraph.index(openAPI);
+
+        for (int i = 0; i < 2; i++) {
+            assertSame(ModelUtils.unaliasSchema(openAPI, modelRef), modelRef);
+            assertSame(ModelUtils.unaliasSchema(openAPI, aliasRef), alias);
+            assertSame(ModelUtils.unaliasSchema(openAPI, textAliasRef), textAlias);
+        }
+        final Schema otherModelRef = new Schema<>().$ref("#/components/schemas/Model");
+        assertSame(ModelUtils.unaliasSchema(openAPI, otherModelRef), otherModelRef);
+    }
+
+    @Test
+    public void testAddingSchemaDiscardsIndex() {
+        final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/allOf_composition_discriminator.yaml");
+        assertNotNull(SchemaGraph.index(openAPI));
+
+        openAPI.getComponents().addSchemas("Added", new ObjectSchema());
+
+        assertNull(SchemaGraph.of(openAPI));
+    }
+
+    @Test
+    public void testReplacingSchemaDiscardsLookups() {
+        final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/allOf_composition_discriminator.yaml");
+        final Map<String, Schema> schemas = ModelUtils.getSchemas(openAPI);
+        final SchemaGraph graph = SchemaGraph.index(openAPI);
+        final String name = schemas.keySet().iterator().next();
+        final Schema schema = schemas.get(name);
+        assertNotNull(graph.getChildrenMap());
+        assertEquals(graph.getName(schema), name);
+
+        schemas.put(name, new ObjectSchema());
+
+        assertSame(SchemaGraph.of(openAPI), graph);
+        assertNull(graph.getName(schema));
+        assertNull(graph.getName(schemas.get(name)));
+        assertNull(graph.getChildrenMap());
+    }
+
+    @Test
+    public void testModifyingSchemaInPlaceDiscardsLookups() {
+        final OpenAPI openAPI = TestUtils.createOpenAPI();
+        openAPI.getComponents().addSchemas("Pet", new ObjectSchema()
+                .addProperty("petType", new StringSchema())
+                .discriminator(new Discriminator().propertyName("petType")));
+        openAPI.getComponents().addSchemas("Dog", new ComposedSchema()
+                .addAllOfItem(new Schema<>().$ref("#/components/schemas/Pet"))
+                .addAllOfItem(new ObjectSchema().addProperty("bark", new StringSchema())));
+        openAPI.getComponents().addSchemas("Text", new Schema<>().type("string"));
+        openAPI.getComponents().addSchemas("Count", new Schema<>().type("integer"));
+        openAPI.getComponents().addSchemas("Alias", new Schema<>().$ref("#/components/schemas/Text"));
+        final Map<String, Schema> schemas = ModelUtils.getSchemas(openAPI);
+        final Schema dog = schemas.get("Dog");
+        final Schema aliasRef = new Schema<>().$ref("#/components/schemas/Alias");
+        final Schema petTypeRef = new Schema<>().$ref("#/components/schemas/Pet/properties/petType");
+        final SchemaGraph graph = SchemaGraph.index(openAPI);
+        assertEquals(ModelUtils.getParentName(dog, schemas), "Pet");
+        assertEquals(ModelUtils.unaliasSchema(openAPI, aliasRef), schemas.get("Text"));
+        assertTrue(ModelUtils.getReferencedSchema(openAPI, petTypeRef) instanceof StringSchema);
+
+        // an ancestor no longer has a discriminator
+        schemas.get("Pet").setDiscriminator(null);
+        assertFalse(graph.hasParentNames("Dog"));
+        assertNull(graph.getChildrenMap());
+        assertEquals(ModelUtils.getParentName(dog, schemas), null);
+
+        schemas.get("Alias").set$ref("#/components/schemas/Count");
+        assertSame(ModelUtils.unaliasSchema(openAPI, aliasRef), schemas.get("Count"));
+
+        schemas.get("Pet").getProperties().put("petType", new IntegerSchema());
+        assertTrue(ModelUtils.getReferencedSchema(openAPI, petTypeRef) instanceof IntegerSchema);
+        assertSame(SchemaGraph.of(openAPI), graph);
+    }
+
+    @Test
+    public void testSetOpenAPIRebuildsIndex() {
+        final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/allOf_composition_discriminator.yaml");
+        final DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setOpenAPI(openAPI);
+        final SchemaGraph graph = SchemaGraph.of(openAPI);
+        assertNotNull(graph);
+
+        openAPI.getComponents().addSchemas("Added", new ObjectSchema());
+        assertNull(SchemaGraph.of(openAPI));
+
+        codegen.setOpenAPI(openAPI);
+        assertNotNull(SchemaGraph.of(openAPI));
+        assertNotSame(SchemaGraph.of(openAPI), graph);
+    }
+
+    @Test
+    public void testAllOfDescendantsMatchDocumentWalk() {
+        final OpenAPI openAPI = TestUtils.parseFlattenSpec("src/test/resources/3_0/allOf_composition_discriminator.yaml");
+        final Map<String, Schema> schemas = ModelUtils.getSchemas(openAPI);
+        class DescendantsCodegen extends DefaultCodegen {
+            @Override
+            public List<CodegenDiscriminator.MappedModel> getAllOfDescendants(String thisSchemaName) {
+                return super.getAllOfDescendants(thisSchemaName);
+            }
+        }
+        final DescendantsCodegen codegen = new DescendantsCodegen();
+        codegen.setOpenAPI(openAPI);
+        final Map<String, List<CodegenDiscriminator.MappedModel>> indexed = new java.util.HashMap<>();
+        schemas.keySet().forEach(name -> indexed.put(name, codegen.getAllOfDescendants(name)));
+        assertTrue(indexed.values().stream().anyMatch(descendants -> !descendants.isEmpty()));
+
+        // a new schema discards the index
+        openAPI.getComponents().addSchemas("Added", new ObjectSchema());
+        assertNull(SchemaGraph.of(openAPI));
+        indexed.forEach((name, descendants) -> assertEquals(codegen.getAllOfDescendants(name), descendants, name));
+    }
+}